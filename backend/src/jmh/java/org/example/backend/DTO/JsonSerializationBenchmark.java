@@ -0,0 +1,94 @@
+package org.example.backend.DTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Sérialisation Jackson avec l'ObjectMapper de l'application (JacksonConfig)
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final String CLAIM_CREATED_JSON = """
+            {
+              "messageId": "msg-bench-01",
+              "messageType": "CLAIM_CREATED",
+              "timestamp": "2026-01-01T12:00:00Z",
+              "version": "1.0",
+              "claimId": "claim-uuid-bench-01",
+              "claimNumber": "REC-BENCH-001",
+              "correlationId": "corr-001",
+              "user": {"id": "user-1", "email": "driver@example.com", "name": "Driver", "phone": "0612345678"},
+              "claim": {
+                "serviceType": "PARKING",
+                "title": "Capteur bloqué",
+                "description": "La place P-12 reste occupée alors qu'elle est libre.",
+                "priority": "HIGH",
+                "location": {"address": "Avenue Mohammed V", "latitude": 35.5785, "longitude": -5.3684},
+                "attachments": [{"url": "https://example.org/p12.jpg", "fileName": "p12.jpg", "fileType": "image/jpeg"}],
+                "extraData": {"spotNumber": "P-12"}
+              }
+            }
+            """;
+
+    private ObjectMapper objectMapper;
+    private ParkingDetectionResponse detectionResponse;
+    private ClaimCreatedDto claimCreated;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+        detectionResponse = ParkingDetectionResponse.builder()
+                .action("exit_detected")
+                .spotId(12L)
+                .spotNumber("P-12")
+                .zoneName("Zone Centre")
+                .sessionId(4242L)
+                .startTime(start)
+                .endTime(start.plusMinutes(95))
+                .duration("95 minutes")
+                .hourlyRate(10.0)
+                .totalCost(20.0)
+                .hasReservation(true)
+                .driverId("user_2abc")
+                .spotStatus("FREE")
+                .message("Sortie enregistrée")
+                .build();
+
+        claimCreated = objectMapper.readValue(CLAIM_CREATED_JSON, ClaimCreatedDto.class);
+    }
+
+    @Benchmark
+    public String serializeParkingDetectionResponse() throws Exception {
+        return objectMapper.writeValueAsString(detectionResponse);
+    }
+
+    @Benchmark
+    public String serializeClaimCreatedDto() throws Exception {
+        return objectMapper.writeValueAsString(claimCreated);
+    }
+
+    @Benchmark
+    public ClaimCreatedDto deserializeClaimCreatedDto() throws Exception {
+        return objectMapper.readValue(CLAIM_CREATED_JSON, ClaimCreatedDto.class);
+    }
+}
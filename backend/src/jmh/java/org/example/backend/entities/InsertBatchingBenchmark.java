@@ -0,0 +1,133 @@
+package org.example.backend.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Insertion de N pièces jointes dans une transaction (ClaimService.saveAttachments) :
+// ids IDENTITY (un aller-retour par INSERT) contre pooled-lo + lots JDBC (hibernate.jdbc.batch_size).
+// H2 en mémoire par défaut ; sur MySQL, où l'écart se mesure vraiment (réseau, rewriteBatchedStatements) :
+//   BENCH_JDBC_URL=jdbc:mysql://localhost:3306/parking_bench BENCH_JDBC_USER=root BENCH_JDBC_PASSWORD= \
+//       mvn -Pjmh test-compile exec:exec -Djmh.includes=InsertBatching
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    @Param({"identity", "pooled"})
+    public String idGeneration;
+
+    @Param({"1", "10", "100"})
+    public int rowsPerTransaction;
+
+    private SessionFactory sessionFactory;
+    private Class<?> entity;
+
+    @Setup
+    public void setUp() {
+        String url = System.getenv().getOrDefault("BENCH_JDBC_URL", "jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1");
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityAttachment.class)
+                .addAnnotatedClass(PooledAttachment.class)
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", System.getenv().getOrDefault("BENCH_JDBC_USER", "sa"))
+                .setProperty("hibernate.connection.password", System.getenv().getOrDefault("BENCH_JDBC_PASSWORD", ""))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                // Réglages de application.properties
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .buildSessionFactory();
+        entity = "identity".equals(idGeneration) ? IdentityAttachment.class : PooledAttachment.class;
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // Table vidée entre itérations : la taille de l'index ne biaise pas les dernières mesures
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session ->
+                session.createMutationQuery("delete from " + entity.getSimpleName()).executeUpdate());
+    }
+
+    @Benchmark
+    public void insert() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rowsPerTransaction; i++) {
+                session.persist(entity == IdentityAttachment.class
+                        ? new IdentityAttachment("https://example.org/claims/photo-" + i + ".jpg")
+                        : new PooledAttachment("https://example.org/claims/photo-" + i + ".jpg"));
+            }
+        });
+    }
+
+    @Entity(name = "IdentityAttachment")
+    @Table(name = "bench_identity_attachments")
+    public static class IdentityAttachment {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(nullable = false)
+        String url;
+
+        protected IdentityAttachment() {
+        }
+
+        IdentityAttachment(String url) {
+            this.url = url;
+        }
+    }
+
+    @Entity(name = "PooledAttachment")
+    @Table(name = "bench_pooled_attachments")
+    public static class PooledAttachment {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_pooled_attachments_seq")
+        @SequenceGenerator(name = "bench_pooled_attachments_seq", sequenceName = "bench_pooled_attachments_seq", allocationSize = 50)
+        Long id;
+
+        @Column(nullable = false)
+        String url;
+
+        protected PooledAttachment() {
+        }
+
+        PooledAttachment(String url) {
+            this.url = url;
+        }
+    }
+}
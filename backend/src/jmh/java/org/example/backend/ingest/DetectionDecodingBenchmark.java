@@ -0,0 +1,58 @@
+package org.example.backend.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.config.JacksonConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Corps de /api/parking/detect : Jackson + parseTimestamp contre DetectionPayloadDecoder (lancer avec -prof gc)
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectionDecodingBenchmark {
+
+    private static final byte[] PAYLOAD = """
+            {"sensorId":"SENSOR-3-7","status":"occupied","timestamp":"2026-03-14T09:26:53.589","sequence":42}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private DetectionPayloadDecoder decoder;
+    private DetectionFrame frame;
+    private DetectionPayloadDecoder.AsciiView view;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        decoder = new DetectionPayloadDecoder();
+        frame = new DetectionFrame();
+        view = new DetectionPayloadDecoder.AsciiView();
+    }
+
+    @Benchmark
+    public long jackson() throws Exception {
+        ParkingDetectionRequest request = objectMapper.readValue(PAYLOAD, ParkingDetectionRequest.class);
+        return DetectionTimestamps.parse(request.getTimestamp());
+    }
+
+    @Benchmark
+    public long decoder() {
+        decoder.decode(PAYLOAD, PAYLOAD.length, frame, view);
+        return frame.timestampMillis();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.backend.service;
+
+import org.example.backend.DTO.SpotStateDTO;
+import org.example.backend.DTO.ZoneNameDTO;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Données synthétiques partagées par les benchmarks (seed fixe : mêmes données à chaque exécution)
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<ParkingSpot> spots(int count, int zoneCount) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<ParkingZone> zones = new ArrayList<>(zoneCount);
+        for (long z = 0; z < zoneCount; z++) {
+            zones.add(ParkingZone.builder()
+                    .id(z + 1)
+                    .name("Zone " + (z + 1))
+                    .latitude(35.5 + random.nextDouble(0.1))
+                    .longitude(-5.4 + random.nextDouble(0.1))
+                    .hourlyRate(BigDecimal.valueOf(5 + random.nextInt(10)))
+                    .capacity(count / zoneCount)
+                    .build());
+        }
+
+        List<ParkingSpot> spots = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            spots.add(ParkingSpot.builder()
+                    .id(i + 1)
+                    .spotNumber("P-" + (i + 1))
+                    .sensorId("SENSOR-" + (i + 1))
+                    .status(random.nextInt(100) < 60)
+                    .zone(zones.get((int) (i % zoneCount)))
+                    .build());
+        }
+        return spots;
+    }
+
+    // Repository en mémoire : seul findAll() est utilisé par les services mesurés
+    static ParkingSpotRepository spotRepository(List<ParkingSpot> spots) {
+        return repository(ParkingSpotRepository.class, Map.of("findAll", spots));
+    }
+
+    // État en mémoire des places (ParkingStatusService.getParkingStatus), chargé depuis les mêmes données
+    static SpotStateStore spotStateStore(List<ParkingSpot> spots) {
+        Map<Long, ZoneNameDTO> zones = new LinkedHashMap<>();
+        List<SpotStateDTO> states = new ArrayList<>(spots.size());
+        for (ParkingSpot spot : spots) {
+            states.add(new SpotStateDTO(spot.getId(), spot.getZone().getId(), spot.getStatus()));
+            zones.putIfAbsent(spot.getZone().getId(), new ZoneNameDTO(spot.getZone().getId(), spot.getZone().getName()));
+        }
+        SpotStateStore store = new SpotStateStore(
+                repository(ParkingSpotRepository.class, Map.of("findAllStates", states)),
+                repository(ParkingZoneRepository.class, Map.of("findAllNames", new ArrayList<>(zones.values()))));
+        store.rebuild();
+        return store;
+    }
+
+    // Proxy de repository : chaque méthode nommée renvoie son résultat fixe, les autres échouent
+    private static <T> T repository(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result = results.get(method.getName());
+                    if (result == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return result;
+                }));
+    }
+}
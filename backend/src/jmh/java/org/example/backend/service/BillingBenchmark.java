@@ -0,0 +1,45 @@
+package org.example.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Calcul du coût à la sortie (handleCarExit) : minimum facturé, heure entamée, grandes durées
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingBenchmark {
+
+    @Param({"1", "59", "61", "600", "10080"})
+    public long minutes;
+
+    @Param({"2.50", "10.00"})
+    public String hourlyRate;
+
+    private BigDecimal rate;
+
+    @Setup
+    public void setUp() {
+        rate = new BigDecimal(hourlyRate);
+    }
+
+    @Benchmark
+    public BigDecimal computeCost() {
+        return ParkingDetectionService.computeCost(minutes, rate);
+    }
+}
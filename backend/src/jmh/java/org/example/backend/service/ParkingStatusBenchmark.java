@@ -0,0 +1,49 @@
+package org.example.backend.service;
+
+import org.example.backend.entities.ParkingSpot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Agrégation de ParkingStatusService.getParkingStatus (global + par zone), servie par SpotStateStore
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParkingStatusBenchmark {
+
+    @Param({"10000", "50000", "100000"})
+    public int spotCount;
+
+    @Param({"100"})
+    public int zoneCount;
+
+    private ParkingStatusService service;
+
+    @Setup
+    public void setUp() {
+        List<ParkingSpot> spots = BenchmarkFixtures.spots(spotCount, zoneCount);
+        service = new ParkingStatusService(BenchmarkFixtures.spotRepository(spots), null,
+                BenchmarkFixtures.spotStateStore(spots));
+    }
+
+    @Benchmark
+    public Map<String, Object> getParkingStatus() {
+        return service.getParkingStatus();
+    }
+}
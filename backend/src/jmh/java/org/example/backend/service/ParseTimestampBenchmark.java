@@ -0,0 +1,42 @@
+package org.example.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// ParkingDetectionService.parseTimestamp sur chaque format accepté (et les cas de repli)
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseTimestampBenchmark {
+
+    @Param({
+            "2026-03-14T09:26:53Z",          // UTC
+            "2026-03-14T09:26:53+01:00",     // offset
+            "2026-03-14T09:26:53.589",       // local avec fraction
+            "2026-03-14T09:26:53",           // local
+            "2026-03-14 09:26:53",           // date + heure séparées par un espace
+            "",                              // vide -> now()
+            "not-a-timestamp"                // invalide -> now()
+    })
+    public String timestamp;
+
+    @Benchmark
+    public LocalDateTime parseTimestamp() {
+        return ParkingDetectionService.parseTimestamp(timestamp);
+    }
+}
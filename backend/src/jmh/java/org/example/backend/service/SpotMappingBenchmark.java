@@ -0,0 +1,50 @@
+package org.example.backend.service;
+
+import org.example.backend.DTO.ParkingSpotDTO;
+import org.example.backend.DTO.SensorInfoDTO;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.mappers.ParkingSpotMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapping entité -> DTO : ParkingSpotMapper.toDTO et SensorService.convertToSensorInfoDTO
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpotMappingBenchmark {
+
+    private ParkingSpot spot;
+    private ParkingSpotMapper spotMapper;
+    private SensorService sensorService;
+
+    @Setup
+    public void setUp() {
+        spot = BenchmarkFixtures.spots(1, 1).get(0);
+        spotMapper = new ParkingSpotMapper();
+        sensorService = new SensorService(null);
+    }
+
+    @Benchmark
+    public ParkingSpotDTO parkingSpotMapperToDTO() {
+        return spotMapper.toDTO(spot);
+    }
+
+    @Benchmark
+    public SensorInfoDTO sensorServiceConvertToSensorInfoDTO() {
+        return sensorService.convertToSensorInfoDTO(spot);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latences (HdrHistogram, précision 3 chiffres) et erreurs par endpoint
+
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder applicationErrors = new LongAdder();
+    }
+
+    void record(String endpoint, long nanos, boolean error) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    // Réponse 2xx mais refus applicatif (ex. détection "action": "error")
+    void recordApplicationError(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).applicationErrors.increment();
+    }
+
+    List<Map<String, Object>> report(Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencies;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", name);
+            row.put("requests", h.getTotalCount());
+            row.put("errors", stats.errors.sum());
+            row.put("applicationErrors", stats.applicationErrors.sum());
+            row.put("throughputPerSecond", round(h.getTotalCount() / seconds));
+            row.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            row.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(h.getMaxValue()));
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.backend.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invariants vérifiés en base une fois le trafic terminé (toutes les visites sont ressorties).
+ * Chaque violation est décrite par une ligne du rapport ; le harness sort en erreur s'il y en a.
+ */
+final class InvariantChecker {
+
+    private final JdbcTemplate jdbc;
+
+    InvariantChecker(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    List<String> check() {
+        List<String> violations = new ArrayList<>();
+
+        jdbc.query("""
+                SELECT spot_id, COUNT(*) AS sessions FROM parking_sessions
+                WHERE status = 'ACTIVE' GROUP BY spot_id HAVING COUNT(*) > 1
+                """, rs -> {
+            violations.add("Spot " + rs.getLong("spot_id") + " has " + rs.getLong("sessions") + " ACTIVE sessions");
+        });
+
+        jdbc.query("""
+                SELECT driver_id, COUNT(*) AS sessions FROM parking_sessions
+                WHERE status = 'ACTIVE' AND driver_id <> 'anonymous' GROUP BY driver_id HAVING COUNT(*) > 1
+                """, rs -> {
+            violations.add("Driver " + rs.getString("driver_id") + " has " + rs.getLong("sessions")
+                    + " ACTIVE sessions");
+        });
+
+        jdbc.query("""
+                SELECT s.id FROM parking_spots s
+                JOIN parking_sessions ps ON ps.spot_id = s.id AND ps.status = 'ACTIVE'
+                WHERE s.status = true
+                """, rs -> {
+            violations.add("Spot " + rs.getLong("id") + " is FREE but has an ACTIVE session");
+        });
+
+        // Toutes les visites sont terminées : plus aucune session ne doit rester ouverte
+        Long leaked = jdbc.queryForObject("SELECT COUNT(*) FROM parking_sessions WHERE status = 'ACTIVE'", Long.class);
+        if (leaked != null && leaked > 0) {
+            violations.add(leaked + " ACTIVE sessions left after all visits ended");
+        }
+
+        Long occupied = jdbc.queryForObject("SELECT COUNT(*) FROM parking_spots WHERE status = false", Long.class);
+        if (occupied != null && occupied > 0) {
+            violations.add(occupied + " spots still OCCUPIED after all visits ended");
+        }
+
+        return violations;
+    }
+}
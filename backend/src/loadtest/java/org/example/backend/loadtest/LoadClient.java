@@ -0,0 +1,68 @@
+package org.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Client HTTP du harness : chaque appel est chronométré et rangé sous un nom d'endpoint stable
+ * ("POST /api/parking/detect", "GET /api/spots/my-active-session", ...).
+ */
+final class LoadClient {
+
+    record Response(int status, String body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private static final Response FAILED = new Response(-1, "");
+
+    private final URI baseUri;
+    private final EndpointStats stats;
+    private final HttpClient http;
+
+    LoadClient(URI baseUri, EndpointStats stats) {
+        this.baseUri = baseUri;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Response get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(baseUri.resolve(path)).GET());
+    }
+
+    Response post(String endpoint, String path, String json) {
+        return send(endpoint, HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    void recordApplicationError(String endpoint) {
+        stats.recordApplicationError(endpoint);
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Response result = new Response(response.statusCode(), response.body());
+            stats.record(endpoint, System.nanoTime() - start, !result.ok());
+            return result;
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, true);
+            return FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FAILED;
+        }
+    }
+}
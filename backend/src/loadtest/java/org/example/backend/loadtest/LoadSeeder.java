@@ -0,0 +1,90 @@
+package org.example.backend.loadtest;
+
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.entities.Utilisateur;
+import org.example.backend.enums.Role;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.geo.GeoBox;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.repository.UtilisateurRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crée les zones (grille sur Tétouan), les places avec leur capteur et les conducteurs (clerkId connu,
+ * nécessaire au check-in manuel), puis déclenche la reconstruction des index en mémoire.
+ */
+final class LoadSeeder {
+
+    static final GeoBox AREA = new GeoBox(35.55, -5.40, 35.62, -5.30);
+
+    record SeededSpot(Long id, String sensorId) {}
+
+    record SeededData(List<SeededSpot> spots, List<String> driverIds, GeoBox area) {}
+
+    private final ApplicationContext context;
+
+    LoadSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    SeededData seed(LoadTestOptions options) {
+        ParkingZoneRepository zoneRepository = context.getBean(ParkingZoneRepository.class);
+        ParkingSpotRepository spotRepository = context.getBean(ParkingSpotRepository.class);
+        UtilisateurRepository utilisateurRepository = context.getBean(UtilisateurRepository.class);
+
+        int side = (int) Math.ceil(Math.sqrt(options.zones()));
+        double latStep = (AREA.maxLat() - AREA.minLat()) / side;
+        double lonStep = (AREA.maxLon() - AREA.minLon()) / side;
+
+        List<ParkingZone> zones = new ArrayList<>(options.zones());
+        for (int z = 0; z < options.zones(); z++) {
+            zones.add(ParkingZone.builder()
+                    .name("LT Zone " + z)
+                    .latitude(AREA.minLat() + (z / side + 0.5) * latStep)
+                    .longitude(AREA.minLon() + (z % side + 0.5) * lonStep)
+                    .hourlyRate(BigDecimal.valueOf(5 + z % 6))
+                    .capacity(options.spotsPerZone())
+                    .build());
+        }
+        zones = zoneRepository.saveAll(zones);
+
+        List<ParkingSpot> spots = new ArrayList<>(options.zones() * options.spotsPerZone());
+        for (ParkingZone zone : zones) {
+            for (int s = 0; s < options.spotsPerZone(); s++) {
+                spots.add(ParkingSpot.builder()
+                        .spotNumber("LT-" + zone.getId() + "-" + s)
+                        .sensorId("LT-SENSOR-" + zone.getId() + "-" + s)
+                        .status(true)
+                        .zone(zone)
+                        .build());
+            }
+        }
+        List<SeededSpot> seededSpots = spotRepository.saveAll(spots).stream()
+                .map(spot -> new SeededSpot(spot.getId(), spot.getSensorId()))
+                .toList();
+
+        List<Utilisateur> drivers = new ArrayList<>(options.drivers());
+        for (int d = 0; d < options.drivers(); d++) {
+            Utilisateur driver = new Utilisateur();
+            driver.setNom("Conducteur " + d);
+            driver.setEmail("driver" + d + "@loadtest.local");
+            driver.setRole(Role.CONDUCTEUR);
+            driver.setClerkId("loadtest_driver_" + d);
+            drivers.add(driver);
+        }
+        List<String> driverIds = utilisateurRepository.saveAll(drivers).stream()
+                .map(Utilisateur::getClerkId)
+                .toList();
+
+        // L'index spatial et les clusters ont été construits au démarrage, sur une base vide
+        context.publishEvent(new ParkingZonesChangedEvent("loadtest-seed"));
+
+        return new SeededData(seededSpots, driverIds, AREA);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test de charge du backend : démarre l'application en local (profil "loadtest", base H2 en mémoire),
+ * crée zones / places / conducteurs, rejoue un trafic réaliste pendant la durée demandée puis affiche
+ * débit et latences p50 / p99 / p999 par endpoint et les invariants violés.
+ *
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--zones=50 --spots-per-zone=200 --arrival-rate=200"
+ *
+ * Le rapport JSON (--report, target/loadtest-report.json par défaut) se compare d'un commit à l'autre.
+ * Code de sortie 1 si un invariant est violé.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode;
+
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            LoadSeeder.SeededData data = new LoadSeeder(context).seed(options);
+            System.out.printf("Seeded %d zones, %d spots, %d drivers%n",
+                    options.zones(), data.spots().size(), data.driverIds().size());
+
+            EndpointStats stats = new EndpointStats();
+            TrafficSimulator simulator = new TrafficSimulator(options,
+                    new LoadClient(URI.create("http://localhost:" + port), stats), data);
+
+            Instant start = Instant.now();
+            simulator.run();
+            Duration elapsed = Duration.between(start, Instant.now());
+
+            List<String> violations = new InvariantChecker(context.getBean(JdbcTemplate.class)).check();
+            List<Map<String, Object>> endpoints = stats.report(elapsed);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("options", options.toString());
+            report.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+            report.put("visits", simulator.visits.sum());
+            report.put("arrivalsRejectedLotFull", simulator.lotFull.sum());
+            report.put("endpoints", endpoints);
+            report.put("invariantViolations", violations);
+
+            print(report, endpoints, violations);
+            Files.createDirectories(options.report().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(options.report().toFile(), report);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+
+            exitCode = violations.isEmpty() ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+
+    private static void print(Map<String, Object> report, List<Map<String, Object>> endpoints,
+                              List<String> violations) {
+        System.out.printf("%nElapsed %ss, %s visits, %s arrivals rejected (lot full)%n",
+                report.get("elapsedSeconds"), report.get("visits"), report.get("arrivalsRejectedLotFull"));
+        System.out.printf("%-40s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "appErr", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map<String, Object> row : endpoints) {
+            System.out.printf("%-40s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("applicationErrors"),
+                    row.get("throughputPerSecond"), row.get("p50Ms"), row.get("p99Ms"), row.get("p999Ms"),
+                    row.get("maxMs"));
+        }
+        System.out.printf("%nInvariant violations: %d%n", violations.size());
+        violations.stream().limit(50).forEach(v -> System.out.println("  - " + v));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paramètres du test de charge, passés en {@code --cle=valeur} (un argument peut en contenir plusieurs,
+ * séparés par des espaces, pour -Dloadtest.args="--zones=50 --duration=120").
+ */
+record LoadTestOptions(
+        int zones,
+        int spotsPerZone,
+        int drivers,
+        Duration duration,
+        double arrivalsPerSecond,
+        double reservationRatio,
+        double checkInRatio,
+        Duration meanDwell,
+        int pollers,
+        Duration pollInterval,
+        Path report
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            for (String token : arg.trim().split("\\s+")) {
+                if (!token.startsWith("--")) {
+                    continue;
+                }
+                int eq = token.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Option sans valeur: " + token);
+                }
+                values.put(token.substring(2, eq), token.substring(eq + 1));
+            }
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("zones", "20")),
+                Integer.parseInt(values.getOrDefault("spots-per-zone", "50")),
+                Integer.parseInt(values.getOrDefault("drivers", "500")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                Double.parseDouble(values.getOrDefault("arrival-rate", "50")),
+                Double.parseDouble(values.getOrDefault("reservation-ratio", "0.2")),
+                Double.parseDouble(values.getOrDefault("checkin-ratio", "0.1")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("mean-dwell-ms", "10000"))),
+                Integer.parseInt(values.getOrDefault("pollers", "20")),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("poll-interval-ms", "1000"))),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+    }
+}
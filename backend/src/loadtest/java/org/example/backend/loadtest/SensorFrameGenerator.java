@@ -0,0 +1,238 @@
+package org.example.backend.loadtest;
+
+import org.example.backend.ingest.GatewayProtocol;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Générateur de lectures capteurs au format binaire des passerelles (GatewayProtocol), pour tester
+ * SensorGateway en local. Chaque passerelle simulée tire au hasard des places de la plage
+ * --spot-ids, envoie ses lots au débit demandé et attend l'ack de chaque lot ; sans ack (UDP perdu)
+ * ou sur ACK_RETRY le même lot est renvoyé à l'identique.
+ *
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.main=org.example.backend.loadtest.SensorFrameGenerator \
+ *       -Dloadtest.args="--transport=udp --port=9740 --spot-ids=1-1000 --gateways=4 --rate=20000 --batch=64"
+ *
+ * Backend lancé avec sensor-gateway.enabled=true ; les places doivent exister et avoir un capteur.
+ */
+public final class SensorFrameGenerator {
+
+    private final String host;
+    private final int port;
+    private final boolean tcp;
+    private final long firstSpotId;
+    private final long lastSpotId;
+    private final int batchFrames;
+    private final double framesPerSecondPerGateway;
+    private final Duration ackTimeout;
+
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder batchesAcked = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder unknownSensors = new LongAdder();
+
+    private SensorFrameGenerator(Map<String, String> options, int gateways) {
+        host = options.getOrDefault("host", "localhost");
+        tcp = "tcp".equals(options.getOrDefault("transport", "udp"));
+        port = Integer.parseInt(options.getOrDefault("port", tcp ? "9741" : "9740"));
+        String[] spotIds = options.getOrDefault("spot-ids", "1-100").split("-");
+        firstSpotId = Long.parseLong(spotIds[0]);
+        lastSpotId = Long.parseLong(spotIds[spotIds.length - 1]);
+        batchFrames = Integer.parseInt(options.getOrDefault("batch", "64"));
+        framesPerSecondPerGateway = Double.parseDouble(options.getOrDefault("rate", "1000")) / gateways;
+        ackTimeout = Duration.ofMillis(Long.parseLong(options.getOrDefault("ack-timeout-ms", "1000")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int gateways = Integer.parseInt(options.getOrDefault("gateways", "4"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        SensorFrameGenerator generator = new SensorFrameGenerator(options, gateways);
+
+        List<Thread> threads = new ArrayList<>();
+        List<long[]> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int g = 1; g <= gateways; g++) {
+            int gatewayId = g;
+            long[] samples = new long[1 << 20];
+            latencies.add(samples);
+            threads.add(Thread.ofVirtual().name("gateway-" + g).start(() -> generator.runGateway(gatewayId, deadline, samples)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        generator.report(duration, latencies);
+    }
+
+    private void runGateway(int gatewayId, long deadline, long[] latencySamples) {
+        // Séquence propre à chaque place simulée, comme le compteur d'un capteur
+        Map<Long, long[]> sequences = new HashMap<>();
+        ByteBuffer batch = ByteBuffer.allocate(GatewayProtocol.batchBytes(batchFrames));
+        ByteBuffer ack = ByteBuffer.allocate(GatewayProtocol.HEADER_BYTES);
+        long nanosPerBatch = (long) (batchFrames * 1e9 / framesPerSecondPerGateway);
+        long nextSend = System.nanoTime();
+        long batchSequence = 0;
+        int sampled = 0;
+
+        try (Link link = tcp ? new TcpLink() : new UdpLink()) {
+            while (System.nanoTime() < deadline) {
+                batch.clear();
+                GatewayProtocol.putHeader(batch, GatewayProtocol.TYPE_BATCH, batchFrames, (short) 0, gatewayId, ++batchSequence);
+                long now = System.currentTimeMillis();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < batchFrames; i++) {
+                    long spotId = random.nextLong(firstSpotId, lastSpotId + 1);
+                    long sequence = ++sequences.computeIfAbsent(spotId, id -> new long[1])[0];
+                    GatewayProtocol.putFrame(batch, (int) spotId, random.nextBoolean(), now, sequence);
+                }
+
+                long sentAt = System.nanoTime();
+                while (!sendAndAwaitAck(link, batch, ack, batchSequence)) {
+                    retries.increment();
+                }
+                if (sampled < latencySamples.length) {
+                    latencySamples[sampled++] = System.nanoTime() - sentAt;
+                }
+                framesSent.add(batchFrames);
+                batchesAcked.increment();
+
+                nextSend += nanosPerBatch;
+                long wait = nextSend - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(Duration.ofNanos(wait));
+                }
+            }
+        } catch (IOException e) {
+            System.err.printf("Gateway %d stopped: %s%n", gatewayId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Vrai si le lot est acquitté OK ; faux s'il faut le renvoyer (ack perdu, ACK_RETRY)
+    private boolean sendAndAwaitAck(Link link, ByteBuffer batch, ByteBuffer ack, long batchSequence) throws IOException {
+        link.send(batch.array(), batch.position());
+        while (true) {
+            try {
+                link.receiveAck(ack.array());
+            } catch (SocketTimeoutException e) {
+                return false;
+            }
+            if (!GatewayProtocol.isHeader(ack, 0, GatewayProtocol.TYPE_ACK)
+                    || GatewayProtocol.batchSequence(ack, 0) != batchSequence) {
+                // Ack tardif d'un envoi précédent du même lot, ou d'un lot déjà acquitté
+                continue;
+            }
+            unknownSensors.add(GatewayProtocol.count(ack, 0));
+            return GatewayProtocol.status(ack, 0) == GatewayProtocol.ACK_OK;
+        }
+    }
+
+    private interface Link extends Closeable {
+        void send(byte[] bytes, int length) throws IOException;
+
+        // Lit un ack complet ; SocketTimeoutException au-delà de ack-timeout-ms
+        void receiveAck(byte[] ack) throws IOException;
+    }
+
+    private final class UdpLink implements Link {
+        private final DatagramSocket socket = new DatagramSocket();
+
+        UdpLink() throws IOException {
+            socket.connect(new InetSocketAddress(host, port));
+            socket.setSoTimeout((int) ackTimeout.toMillis());
+        }
+
+        @Override
+        public void send(byte[] bytes, int length) throws IOException {
+            socket.send(new DatagramPacket(bytes, length));
+        }
+
+        @Override
+        public void receiveAck(byte[] ack) throws IOException {
+            DatagramPacket packet = new DatagramPacket(ack, ack.length);
+            do {
+                socket.receive(packet);
+            } while (packet.getLength() < ack.length);
+        }
+
+        @Override
+        public void close() {
+            socket.close();
+        }
+    }
+
+    private final class TcpLink implements Link {
+        private final Socket socket = new Socket();
+        private final DataInputStream in;
+
+        TcpLink() throws IOException {
+            socket.connect(new InetSocketAddress(host, port));
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout((int) ackTimeout.toMillis());
+            in = new DataInputStream(socket.getInputStream());
+        }
+
+        @Override
+        public void send(byte[] bytes, int length) throws IOException {
+            socket.getOutputStream().write(bytes, 0, length);
+        }
+
+        @Override
+        public void receiveAck(byte[] ack) throws IOException {
+            in.readFully(ack);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private void report(Duration duration, List<long[]> latencies) {
+        long[] all = latencies.stream()
+                .flatMapToLong(samples -> Arrays.stream(samples).takeWhile(v -> v > 0))
+                .sorted()
+                .toArray();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("Frames sent: %d (%.0f/s), batches acked: %d, retries: %d, unknown sensors: %d%n",
+                framesSent.sum(), framesSent.sum() / seconds, batchesAcked.sum(), retries.sum(), unknownSensors.sum());
+        if (all.length > 0) {
+            System.out.printf("Ack latency ms: p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            for (String token : arg.trim().split("\\s+")) {
+                int eq = token.indexOf('=');
+                if (token.startsWith("--") && eq > 0) {
+                    values.put(token.substring(2, eq), token.substring(eq + 1));
+                }
+            }
+        }
+        return values;
+    }
+}
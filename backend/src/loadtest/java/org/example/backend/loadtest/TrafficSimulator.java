@@ -0,0 +1,208 @@
+package org.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trafic réaliste, sur le modèle du flow Node-RED "Générateur réaliste (Entrée + Sortie)" mais à grande échelle :
+ * - arrivées poissonniennes (arrival-rate / s), chacune dans un thread virtuel : capteur "occupied",
+ *   stationnement de durée exponentielle (mean-dwell-ms), capteur "free" ;
+ * - une part des arrivées réserve d'abord la place (reservation-ratio), une autre fait un check-in /
+ *   check-out manuel (checkin-ratio) ;
+ * - des clients qui interrogent en boucle le statut, la carte et leur session active (pollers).
+ * Comme le simulateur Node-RED, le harness tient sa propre liste de places libres : une place n'est jamais
+ * utilisée par deux visites à la fois.
+ */
+final class TrafficSimulator {
+
+    private static final String DETECT = "POST /api/parking/detect";
+    private static final String RESERVE = "POST /api/reservations/create";
+    private static final String CHECK_IN = "POST /api/spots/{id}/check-in";
+    private static final String CHECK_OUT = "POST /api/spots/check-out";
+
+    private final LoadTestOptions options;
+    private final LoadClient client;
+    private final LoadSeeder.SeededData data;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BlockingQueue<LoadSeeder.SeededSpot> freeSpots;
+    private final BlockingQueue<String> idleDrivers;
+
+    final LongAdder visits = new LongAdder();
+    final LongAdder lotFull = new LongAdder();
+
+    private volatile long deadlineNanos;
+
+    TrafficSimulator(LoadTestOptions options, LoadClient client, LoadSeeder.SeededData data) {
+        this.options = options;
+        this.client = client;
+        this.data = data;
+
+        List<LoadSeeder.SeededSpot> spots = new ArrayList<>(data.spots());
+        Collections.shuffle(spots);
+        this.freeSpots = new LinkedBlockingQueue<>(spots);
+        this.idleDrivers = new LinkedBlockingQueue<>(data.driverIds());
+    }
+
+    void run() throws InterruptedException {
+        deadlineNanos = System.nanoTime() + options.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < options.pollers(); p++) {
+                executor.submit(this::poll);
+            }
+
+            // Processus de Poisson : intervalles exponentiels de moyenne 1 / arrival-rate
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (remainingNanos() > 0) {
+                double intervalSeconds = -Math.log(1 - random.nextDouble()) / options.arrivalsPerSecond();
+                sleep((long) (intervalSeconds * 1_000_000_000L));
+                if (remainingNanos() > 0) {
+                    executor.submit(this::visit);
+                }
+            }
+            // close() attend la fin des visites en cours (elles écourtent leur stationnement à l'échéance)
+        }
+    }
+
+    private void visit() {
+        LoadSeeder.SeededSpot spot = freeSpots.poll();
+        if (spot == null) {
+            lotFull.increment();
+            return;
+        }
+        visits.increment();
+
+        try {
+            double kind = ThreadLocalRandom.current().nextDouble();
+            if (kind < options.reservationRatio()) {
+                reservedVisit(spot);
+            } else if (kind < options.reservationRatio() + options.checkInRatio()) {
+                manualVisit(spot);
+            } else {
+                sensorVisit(spot);
+            }
+        } finally {
+            freeSpots.offer(spot);
+        }
+    }
+
+    private void sensorVisit(LoadSeeder.SeededSpot spot) {
+        detect(spot, "occupied");
+        sleep(dwellNanos());
+        detect(spot, "free");
+    }
+
+    private void reservedVisit(LoadSeeder.SeededSpot spot) {
+        String driverId = idleDrivers.poll();
+        if (driverId == null) {
+            sensorVisit(spot);
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            String body = String.format(Locale.ROOT,
+                    "{\"spotId\":%d,\"driverId\":\"%s\",\"startTime\":\"%s\",\"endTime\":\"%s\"}",
+                    spot.id(), driverId, now, now.plusHours(2));
+            client.post(RESERVE, "/api/reservations/create", body);
+
+            // Trajet jusqu'à la place, puis la détection capteur active la réservation
+            sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(200, 2000)),
+                    remainingNanos()));
+            sensorVisit(spot);
+        } finally {
+            idleDrivers.offer(driverId);
+        }
+    }
+
+    private void manualVisit(LoadSeeder.SeededSpot spot) {
+        String driverId = idleDrivers.poll();
+        if (driverId == null) {
+            sensorVisit(spot);
+            return;
+        }
+        try {
+            LoadClient.Response checkIn = client.post(CHECK_IN, "/api/spots/" + spot.id() + "/check-in",
+                    "{\"userId\":\"" + driverId + "\"}");
+            if (checkIn.ok()) {
+                sleep(dwellNanos());
+                client.post(CHECK_OUT, "/api/spots/check-out?userId=" + driverId, "");
+            }
+        } finally {
+            idleDrivers.offer(driverId);
+        }
+    }
+
+    private void detect(LoadSeeder.SeededSpot spot, String status) {
+        LoadClient.Response response = client.post(DETECT, "/api/parking/detect",
+                "{\"sensorId\":\"" + spot.sensorId() + "\",\"status\":\"" + status + "\",\"timestamp\":\""
+                        + LocalDateTime.now().withNano(0) + "\"}");
+        if (response.ok() && isDetectionError(response.body())) {
+            client.recordApplicationError(DETECT);
+        }
+    }
+
+    private boolean isDetectionError(String body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            return "error".equals(json.path("action").asText());
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private void poll() {
+        String bbox = String.format(Locale.ROOT, "%f,%f,%f,%f",
+                data.area().minLat(), data.area().minLon(), data.area().maxLat(), data.area().maxLon());
+        int round = 0;
+        while (remainingNanos() > 0) {
+            switch (round++ % 5) {
+                case 0 -> client.get("GET /api/parking/spots/status", "/api/parking/spots/status");
+                case 1 -> client.get("GET /api/parking/status", "/api/parking/status");
+                case 2 -> client.get("GET /api/map/clusters", "/api/map/clusters?bbox=" + bbox + "&zoom=14");
+                case 3 -> client.get("GET /api/zones/rates", "/api/zones/rates");
+                default -> {
+                    String driverId = data.driverIds().get(
+                            ThreadLocalRandom.current().nextInt(data.driverIds().size()));
+                    client.get("GET /api/spots/my-active-session", "/api/spots/my-active-session?userId=" + driverId);
+                }
+            }
+            sleep(options.pollInterval().toNanos());
+        }
+    }
+
+    // Durée de stationnement exponentielle, écourtée à l'échéance du test
+    private long dwellNanos() {
+        double dwell = -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * options.meanDwell().toNanos();
+        return Math.min((long) dwell, remainingNanos());
+    }
+
+    private long remainingNanos() {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
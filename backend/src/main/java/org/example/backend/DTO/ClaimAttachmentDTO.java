@@ -0,0 +1,17 @@
+package org.example.backend.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ClaimAttachmentDTO {
+    private Long id;
+    private String url;
+    private String fileName;
+    private String fileType;
+    private String source;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,35 @@
+package org.example.backend.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Réclamation sans ses collections (messages, historique, pièces jointes ont leurs propres endpoints)
+
+@Data
+@Builder
+public class ClaimDTO {
+    private Long id;
+    private String messageId;
+    private String claimUuid;
+    private String claimNumber;
+    private String correlationUuid;
+    private String userId;
+    private String userEmail;
+    private String userName;
+    private String userPhone;
+    private String serviceType;
+    private String title;
+    private String description;
+    private String priority;
+    private String address;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Long zoneId;
+    private String extraData;
+    private String currentStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package org.example.backend.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Message d'une réclamation tel que renvoyé par l'API (ClaimMessageDto est le message Kafka entrant)
+
+@Data
+@Builder
+public class ClaimMessageViewDTO {
+    private Long id;
+    private String messageId;
+    private String messageType;
+    private String messageTimestamp;
+    private String senderType;
+    private String senderId;
+    private String senderName;
+    private String message;
+    private String attachments;
+    private String serviceReference;
+    private LocalDateTime createdAt;
+}
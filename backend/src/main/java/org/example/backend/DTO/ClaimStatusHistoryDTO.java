@@ -0,0 +1,21 @@
+package org.example.backend.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class ClaimStatusHistoryDTO {
+    private Long id;
+    private String messageId;
+    private String messageTimestamp;
+    private String previousStatus;
+    private String newStatus;
+    private String reason;
+    private String assignedTo;
+    private String resolution;
+    private String serviceReference;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package org.example.backend.DTO;
+
+import java.util.List;
+
+// Une page d'historique ; nextCursor (KeysetCursor encodé) est null sur la dernière page.
+// Les contrôleurs renvoient items en corps et nextCursor dans l'en-tête X-Next-Cursor
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+}
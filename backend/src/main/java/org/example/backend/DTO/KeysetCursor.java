@@ -0,0 +1,40 @@
+package org.example.backend.DTO;
+
+import org.example.backend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+// Position dans une liste triée par (date, id) décroissants : la page suivante commence strictement avant.
+// Transmis au client sous forme opaque (base64url de "date|id")
+
+public record KeysetCursor(LocalDateTime time, long id) {
+
+    // Avant toute ligne : première page
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public static final Comparator<KeysetCursor> NEWEST_FIRST =
+            Comparator.comparing(KeysetCursor::time).thenComparingLong(KeysetCursor::id).reversed();
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((time + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Curseur de pagination invalide");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.backend.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class MapClusterDTO {
+    private double latitude;
+    private double longitude;
+    private int zoneCount;
+    private int totalSpots;
+    private int freeSpots;
+    // Renseignés seulement quand le cluster ne contient qu'une zone
+    private Long zoneId;
+    private String zoneName;
+}
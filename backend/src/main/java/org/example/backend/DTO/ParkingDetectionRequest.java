@@ -7,4 +7,5 @@ public class ParkingDetectionRequest {
     private String sensorId;
     private String status; // "occupied" ou "free"
     private String timestamp;
-}
\ No newline at end of file
+    private Long sequence; // optionnel : numéro croissant par capteur (doublons et lectures désordonnées ignorés)
+}
@@ -0,0 +1,30 @@
+package org.example.backend.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.SessionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Vue à plat d'une session (bandeau "session active" et historique), chargée par projection JPQL
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkingSessionDTO {
+    private Long id;
+    private String driverId;
+    private Long spotId;
+    private String spotNumber;
+    private Long zoneId;
+    private String zoneName;
+    private BigDecimal hourlyRate;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal totalCost;
+    private SessionStatus status;
+}
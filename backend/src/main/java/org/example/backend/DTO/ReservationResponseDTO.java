@@ -1,12 +1,17 @@
 package org.example.backend.DTO;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// Constructeur complet : projection JPQL des listes de réservations
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReservationResponseDTO {
     private Long id;
     private Long spotId;
@@ -0,0 +1,6 @@
+package org.example.backend.DTO;
+
+// Identifiant de place -> capteur, pour les passerelles binaires qui désignent un capteur par l'id de sa place
+
+public record SensorIndexDTO(Long spotId, String sensorId) {
+}
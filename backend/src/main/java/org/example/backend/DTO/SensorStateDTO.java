@@ -0,0 +1,6 @@
+package org.example.backend.DTO;
+
+// Statut persisté de la place d'un capteur (true = libre), pour amorcer l'anti-rebond
+
+public record SensorStateDTO(String sensorId, Boolean status) {
+}
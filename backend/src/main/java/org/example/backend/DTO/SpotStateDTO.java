@@ -0,0 +1,6 @@
+package org.example.backend.DTO;
+
+// Statut et zone d'une place, sans charger l'entité (état en mémoire des places)
+
+public record SpotStateDTO(Long spotId, Long zoneId, Boolean status) {
+}
@@ -0,0 +1,6 @@
+package org.example.backend.DTO;
+
+// Identifiant et nom d'une zone, sans charger l'emprise ni les autres colonnes
+
+public record ZoneNameDTO(Long zoneId, String name) {
+}
@@ -0,0 +1,8 @@
+package org.example.backend.DTO;
+
+import java.math.BigDecimal;
+
+// Revenu des sessions terminées par zone sur une période, calculé en une seule requête GROUP BY
+
+public record ZoneRevenueDTO(Long zoneId, BigDecimal revenue) {
+}
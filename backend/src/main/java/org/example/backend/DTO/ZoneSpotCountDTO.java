@@ -0,0 +1,6 @@
+package org.example.backend.DTO;
+
+// Nombre de places (total / libres) par zone, calculé en une seule requête GROUP BY
+
+public record ZoneSpotCountDTO(Long zoneId, Long totalSpots, Long freeSpots) {
+}
@@ -0,0 +1,182 @@
+package org.example.backend.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.AdmissionControlProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contrôle d'admission des endpoints /api, avant la sécurité (pas de JWT décodé ni d'utilisateur chargé
+ * pour une requête qui sera rejetée). Deux niveaux :
+ * - par classe (RequestClass) : ConcurrencyLimiter, adaptatif selon la latence observée ;
+ * - global : une classe n'est admise que tant que le total en cours reste sous globalLimit * globalShare.
+ *   Les capteurs et les conducteurs (share 1.0) gardent ainsi la marge laissée par le polling et l'admin.
+ * Une requête refusée reçoit tout de suite un 503 avec Retry-After, au lieu d'attendre un thread Tomcat
+ * puis une connexion JDBC jusqu'au timeout. Ce filtre passant avant celui de CORS, le 503 porte lui-même les
+ * en-têtes CORS (même configuration que la sécurité) : sinon le navigateur masque le 503 et son Retry-After
+ * derrière une erreur réseau. Les requêtes preflight (OPTIONS) ne sont jamais rejetées.
+ *
+ * Métriques : parking.admission.limit / parking.admission.inflight (class), parking.admission.inflight.global,
+ * parking.admission.rejected (class, reason = limit|priority).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlProperties properties;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final Map<RequestClass, ConcurrencyLimiter> limiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Integer> globalCeilings = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> limitRejections = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> priorityRejections = new EnumMap<>(RequestClass.class);
+    private final AtomicInteger globalInflight = new AtomicInteger();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry,
+                                  @Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource) {
+        this.properties = properties;
+        this.corsConfigurationSource = corsConfigurationSource;
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdmissionControlProperties.ClassLimit config = config(requestClass);
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(config);
+            limiters.put(requestClass, limiter);
+            globalCeilings.put(requestClass, (int) Math.ceil(properties.getGlobalLimit() * config.getGlobalShare()));
+
+            Gauge.builder("parking.admission.limit", limiter, ConcurrencyLimiter::limit)
+                    .description("Limite de concurrence courante de la classe de requêtes")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            Gauge.builder("parking.admission.inflight", limiter, ConcurrencyLimiter::inflight)
+                    .description("Requêtes en cours de la classe")
+                    .tag("class", requestClass.tag())
+                    .register(meterRegistry);
+            limitRejections.put(requestClass, rejectedCounter(meterRegistry, requestClass, "limit"));
+            priorityRejections.put(requestClass, rejectedCounter(meterRegistry, requestClass, "priority"));
+        }
+        Gauge.builder("parking.admission.inflight.global", globalInflight, AtomicInteger::get)
+                .description("Requêtes /api en cours, toutes classes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestClass requestClass = RequestClass.of(request.getMethod(), request.getRequestURI());
+        if (requestClass == null || CorsUtils.isPreFlightRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ConcurrencyLimiter limiter = limiters.get(requestClass);
+        if (!limiter.tryAcquire()) {
+            reject(request, response, requestClass, limitRejections);
+            return;
+        }
+        if (!tryAcquireGlobal(globalCeilings.get(requestClass))) {
+            limiter.cancel();
+            reject(request, response, requestClass, priorityRejections);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            // 503 / 504 en aval : pool JDBC épuisé, timeout... même signal qu'une requête lente
+            int status = response.getStatus();
+            failed = status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            globalInflight.decrementAndGet();
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private boolean tryAcquireGlobal(int ceiling) {
+        while (true) {
+            int current = globalInflight.get();
+            if (current >= ceiling) {
+                return false;
+            }
+            if (globalInflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RequestClass requestClass,
+                        Map<RequestClass, Counter> rejections) throws IOException {
+        rejections.get(requestClass).increment();
+        log.debug("Request of class {} rejected: limit {}, inflight {}, global inflight {}", requestClass,
+                limiters.get(requestClass).limit(), limiters.get(requestClass).inflight(), globalInflight.get());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(config(requestClass).getRetryAfterSeconds()));
+        addCorsHeaders(request, response);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"message\":\"Service surchargé, réessayez plus tard\",\"status\":503}");
+    }
+
+    private void addCorsHeaders(HttpServletRequest request, HttpServletResponse response) {
+        if (!CorsUtils.isCorsRequest(request)) {
+            return;
+        }
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        String allowedOrigin = cors != null ? cors.checkOrigin(request.getHeader(HttpHeaders.ORIGIN)) : null;
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        if (allowedOrigin == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
+        if (Boolean.TRUE.equals(cors.getAllowCredentials())) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        if (cors.getExposedHeaders() != null && !cors.getExposedHeaders().isEmpty()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, String.join(", ", cors.getExposedHeaders()));
+        }
+    }
+
+    private AdmissionControlProperties.ClassLimit config(RequestClass requestClass) {
+        return switch (requestClass) {
+            case SENSOR -> properties.getSensor();
+            case DRIVER -> properties.getDriver();
+            case POLLING -> properties.getPolling();
+            case ADMIN -> properties.getAdmin();
+        };
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, RequestClass requestClass, String reason) {
+        return Counter.builder("parking.admission.rejected")
+                .description("Requêtes rejetées par le contrôle d'admission")
+                .tag("class", requestClass.tag())
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.backend.admission;
+
+import org.example.backend.config.AdmissionControlProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concurrence d'une classe de requêtes. En mode adaptatif (AIMD) :
+ * - requête lente (latencyThresholdMs) ou en échec : limite multipliée par backoffRatio ;
+ * - sinon, si la limite était utilisée au moins à moitié : +1 par "fenêtre" (1/limite par requête).
+ * La limite suit ainsi ce que la base et le pool de connexions absorbent réellement.
+ */
+final class ConcurrencyLimiter {
+
+    private final AdmissionControlProperties.ClassLimit config;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    ConcurrencyLimiter(AdmissionControlProperties.ClassLimit config) {
+        this.config = config;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs());
+        this.limit = config.getInitialLimit();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Sans effet sur la limite : requête admise par la classe mais refusée par la limite globale
+    void cancel() {
+        inflight.decrementAndGet();
+    }
+
+    void release(long latencyNanos, boolean failed) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (config.isAdaptive()) {
+            adjust(inflightBefore, latencyNanos, failed);
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    private synchronized void adjust(int inflightBefore, long latencyNanos, boolean failed) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+        } else if (inflightBefore * 2 >= limit) {
+            limit = Math.min(config.getMaxLimit(), limit + 1.0 / limit);
+        }
+    }
+}
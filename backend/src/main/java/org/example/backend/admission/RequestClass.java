@@ -0,0 +1,47 @@
+package org.example.backend.admission;
+
+/**
+ * Classes de requêtes /api pour le contrôle d'admission, de la plus prioritaire à la moins prioritaire.
+ */
+public enum RequestClass {
+
+    // POST /api/parking/detect
+    SENSOR,
+    // Check-in / check-out, réservations, authentification
+    DRIVER,
+    // Consultation de l'état des places et de la carte (rafraîchie en boucle par les clients)
+    POLLING,
+    // Back-office : statistiques, réclamations, synchro des zones, tarifs
+    ADMIN;
+
+    private final String tag = name().toLowerCase();
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Classe de la requête, ou null pour les chemins hors contrôle d'admission (webhooks, actuator...).
+     */
+    public static RequestClass of(String method, String uri) {
+        if (uri.equals("/api/parking/detect")) {
+            return SENSOR;
+        }
+        if (uri.startsWith("/api/spots/") || uri.startsWith("/api/reservations/") || uri.startsWith("/api/auth/")) {
+            return DRIVER;
+        }
+        if (uri.startsWith("/api/admin/") || uri.startsWith("/api/parking-zones/")
+                || uri.startsWith("/api/claims") || uri.startsWith("/api/notifications/")) {
+            return ADMIN;
+        }
+        boolean read = "GET".equals(method);
+        if (uri.startsWith("/api/zones")) {
+            // Mise à jour des tarifs : back-office
+            return read ? POLLING : ADMIN;
+        }
+        if (read && (uri.startsWith("/api/parking/") || uri.startsWith("/api/map/") || uri.startsWith("/api/sensors"))) {
+            return POLLING;
+        }
+        return null;
+    }
+}
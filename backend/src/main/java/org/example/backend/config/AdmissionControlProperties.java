@@ -0,0 +1,48 @@
+package org.example.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Contrôle d'admission des endpoints /api : limite de concurrence par classe de requêtes, rejet rapide en 503
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // Requêtes simultanées toutes classes confondues (sous le pool de threads Tomcat, 200 par défaut)
+    private int globalLimit = 160;
+
+    // Les capteurs attendent l'application du journal (detection-log.response-timeout-ms) avant la réponse :
+    // seule une détection restée en file au-delà de ce délai est un signal de surcharge
+    private ClassLimit sensor = new ClassLimit(true, 40, 10, 120, 2000, 0.9, 1.0, 1);
+    private ClassLimit driver = new ClassLimit(true, 40, 10, 100, 1000, 0.9, 1.0, 1);
+    private ClassLimit polling = new ClassLimit(true, 30, 4, 80, 300, 0.9, 0.8, 2);
+    private ClassLimit admin = new ClassLimit(false, 4, 1, 10, 5000, 0.9, 0.5, 10);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClassLimit {
+
+        // Faux : limite fixe (initialLimit) ; vrai : AIMD entre minLimit et maxLimit
+        private boolean adaptive;
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        // Au-delà, une requête terminée compte comme signal de surcharge (la limite baisse)
+        private long latencyThresholdMs;
+        private double backoffRatio;
+
+        // Part de globalLimit au-delà de laquelle la classe est rejetée : les classes prioritaires gardent la marge
+        private double globalShare;
+
+        private int retryAfterSeconds;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Archivage des sessions terminées et des réservations finies vers les tables *_archive partitionnées par mois
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+
+    // Désactivé : aucune ligne déplacée, les tables d'archive restent lues par l'historique et les revenus
+    private boolean enabled = true;
+
+    // Une ligne terminale plus ancienne que ce délai quitte les tables chaudes.
+    // Ne pas le réduire puis l'augmenter : les lignes déjà archivées resteraient hors de l'horizon des requêtes
+    private int retentionDays = 90;
+
+    // Lignes déplacées par transaction, pause entre deux lots (verrous courts, réplication qui suit)
+    private int batchSize = 1000;
+    private long batchPauseMs = 200;
+
+    // Un passage s'arrête après ce nombre de lots par table ; le suivant reprend où il s'est arrêté
+    private int maxBatchesPerRun = 500;
+
+    private long runIntervalMinutes = 60;
+
+    // Création des partitions mensuelles (MySQL uniquement : ALTER TABLE ... REORGANIZE PARTITION)
+    private boolean managePartitions = true;
+}
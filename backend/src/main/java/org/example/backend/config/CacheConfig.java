@@ -0,0 +1,53 @@
+package org.example.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caches de lecture bornés en taille et en durée. Les statistiques Caffeine sont activées :
+ * l'actuator publie cache.gets{cache, result=hit|miss}, cache.evictions et cache.size pour chacun.
+ * Les valeurs sont partagées entre requêtes et ne doivent pas être modifiées par les appelants.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String ZONES = "zones";
+    public static final String ZONE_SPOTS = "zoneSpots";
+    public static final String SENSORS = "sensors";
+    public static final String ZONE_RATES = "zoneRates";
+
+    @Bean
+    public CacheManager cacheManager(ReadCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            log.info("Read caches disabled");
+            return new NoOpCacheManager();
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                cache(ZONES, properties.getZones()),
+                cache(ZONE_SPOTS, properties.getZoneSpots()),
+                cache(SENSORS, properties.getSensors()),
+                cache(ZONE_RATES, properties.getZoneRates())));
+        return cacheManager;
+    }
+
+    private static CaffeineCache cache(String name, ReadCacheProperties.Spec spec) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .recordStats()
+                .build());
+    }
+}
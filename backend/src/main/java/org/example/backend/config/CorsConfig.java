@@ -1,7 +1,9 @@
 package org.example.backend.config;
 
+import org.example.backend.DTO.CursorPage;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -18,6 +20,8 @@ public class CorsConfig {
         config.setAllowedOriginPatterns(Arrays.asList("*")); // Allow all origins
         config.setAllowedHeaders(Arrays.asList("*")); // Allow all headers
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
+        // Lisibles par le frontend (autre origine) : curseur de la page suivante, délai après un 503 d'admission
+        config.setExposedHeaders(Arrays.asList(CursorPage.NEXT_CURSOR_HEADER, HttpHeaders.RETRY_AFTER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
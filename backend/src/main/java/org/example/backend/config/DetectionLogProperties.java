@@ -0,0 +1,35 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Journal local des détections capteurs (write-ahead log) appliqué ensuite à la base
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "detection-log")
+public class DetectionLogProperties {
+
+    // Désactivé : /api/parking/detect traite la détection directement en base, sans journal
+    private boolean enabled = true;
+
+    // Répertoire des segments et du checkpoint (un répertoire par instance)
+    private String directory = "detection-log";
+
+    // Taille d'un segment mappé en mémoire
+    private int segmentSizeMb = 64;
+
+    // force() sur disque avant d'acquitter une détection ; false : survit à un crash du process, pas de la machine
+    private boolean fsync = true;
+
+    // Attente maximale du fsync d'une détection ; au-delà (disque bloqué) l'ajout est refusé (503) au lieu de bloquer
+    private long durableTimeoutMs = 5000;
+
+    // Attente maximale du résultat par l'appelant HTTP ; au-delà la détection reste en file (202)
+    private long responseTimeoutMs = 2000;
+
+    // Reprise quand la base est indisponible : délai initial puis doublé jusqu'au maximum
+    private long retryInitialBackoffMs = 200;
+    private long retryMaxBackoffMs = 10000;
+}
@@ -0,0 +1,19 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Pagination par curseur de l'historique des sessions et des réservations d'un conducteur
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "history-page")
+public class HistoryPageProperties {
+
+    // Taille d'une page quand le client n'en demande pas
+    private int defaultSize = 20;
+
+    // Plafond : un size plus grand est ramené à cette valeur
+    private int maxSize = 100;
+}
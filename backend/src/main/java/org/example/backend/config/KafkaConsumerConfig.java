@@ -3,7 +3,9 @@ package org.example.backend.config;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.example.backend.metrics.ParkingMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,14 +13,24 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 //this file is to configure Kafka Consumer by specifying the broker address, group id, key and value deserializers
 
 @Configuration
 @EnableKafka
+@Slf4j
 public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
+    @Value("${kafka.sensor-events.concurrency:3}")
+    private int sensorEventsConcurrency;
+    @Value("${kafka.sensor-events.max-poll-records:500}")
+    private int sensorEventsMaxPollRecords;
+    @Value("${kafka.sensor-events.retry-max-elapsed-ms:600000}")
+    private long sensorEventsRetryMaxElapsedMs;
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -37,4 +49,41 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
+
+    // Lectures capteurs (parking.sensor-events) : écoute par lots, offsets commités par le conteneur
+    // une fois le lot traité, donc après le commit en base de chaque détection
+    @Bean
+    public ConsumerFactory<String, String> sensorEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, sensorEventsMaxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> sensorEventListenerContainerFactory(ParkingMetrics parkingMetrics) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(sensorEventConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(sensorEventsConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        // Base indisponible : offsets des lectures déjà appliquées commités, reprise à la lecture en échec
+        // avec backoff exponentiel borné ; au-delà de retry-max-elapsed-ms la lecture est abandonnée (journalisée
+        // et comptée) plutôt que de bloquer la partition sans fin
+        ExponentialBackOff backOff = new ExponentialBackOff(200, 2.0);
+        backOff.setMaxInterval(10_000);
+        backOff.setMaxElapsedTime(sensorEventsRetryMaxElapsedMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler((record, e) -> {
+            log.error("Sensor event at partition {} offset {} abandoned after {} ms of retries",
+                    record.partition(), record.offset(), sensorEventsRetryMaxElapsedMs, e);
+            parkingMetrics.sensorEvent("abandoned");
+        }, backOff));
+        return factory;
+    }
 }
\ No newline at end of file
@@ -43,4 +43,11 @@ public class KafkaProducerConfig {
         return new NewTopic("reclamation-responses", 1, (short) 1);
     }
 
+    // Lectures capteurs, clé = sensorId : l'ordre par place vient du partitionnement
+    @Bean
+    public NewTopic sensorEventsTopic(@Value("${kafka.topic.sensor-events:parking.sensor-events}") String topic,
+                                      @Value("${kafka.sensor-events.partitions:12}") int partitions) {
+        return new NewTopic(topic, partitions, (short) 1);
+    }
+
 }
\ No newline at end of file
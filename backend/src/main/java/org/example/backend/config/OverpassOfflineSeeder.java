@@ -0,0 +1,30 @@
+package org.example.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.service.ParkingZoneSyncService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// En mode offline, alimente les zones depuis le cache Overpass au démarrage (environnements sans accès réseau, tests)
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "overpass.offline", havingValue = "true")
+public class OverpassOfflineSeeder {
+
+    private final ParkingZoneSyncService syncService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedZonesFromCache() {
+        try {
+            ParkingZoneSyncService.SyncResult result = syncService.syncParkingZonesFromOverpass();
+            log.info("Zones seeded from Overpass cache: {} created, {} updated", result.created(), result.updated());
+        } catch (Exception e) {
+            log.warn("Failed to seed zones from Overpass cache: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Configuration de l'ingestion Overpass (régions, découpage en tuiles, requêtes "hedged")
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "overpass")
+public class OverpassProperties {
+
+    // Miroirs Overpass, dans l'ordre de préférence (le premier reçoit la requête principale)
+    private List<String> endpoints = new ArrayList<>(List.of(
+            "https://overpass-api.de/api/interpreter",
+            "https://overpass.kumi.systems/api/interpreter",
+            "https://maps.mail.ru/osm/tools/overpass/api/interpreter"
+    ));
+
+    // Régions à synchroniser : nom -> bbox "south,west,north,east"
+    private Map<String, String> regions = new LinkedHashMap<>();
+
+    // Taille d'une tuile en degrés (une région est découpée en grille)
+    private double tileSizeDegrees = 0.05;
+
+    // Nombre maximum de tuiles en cours de téléchargement, toutes régions confondues
+    private int maxConcurrency = 4;
+
+    // Délai après lequel une requête de secours est envoyée au miroir suivant
+    private long hedgeDelayMs = 2000;
+
+    // Timeout d'une requête HTTP vers un miroir
+    private long requestTimeoutMs = 30000;
+
+    // Répertoire du cache disque des réponses brutes (une entrée par région et par tuile)
+    private String cacheDir = "overpass-cache";
+
+    // Durée pendant laquelle une tuile en cache est servie sans retélécharger
+    private long cacheTtlMinutes = 24 * 60;
+
+    // Mode offline : aucune requête réseau, les zones sont alimentées par le cache au démarrage
+    private boolean offline = false;
+}
@@ -0,0 +1,33 @@
+package org.example.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Caches Caffeine des services de lecture (zones, places d'une zone, capteurs, tarif d'une zone)
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "read-cache")
+public class ReadCacheProperties {
+
+    // Désactivé : NoOpCacheManager, chaque appel relit la base
+    private boolean enabled = true;
+
+    // Les entrées sont invalidées à chaque changement (ReadCacheInvalidator) ; le TTL ne borne que les écritures
+    // qui échappent aux événements (modification directe en base, revenu glissant sur 30 jours)
+    private Spec zones = new Spec(1, 600);
+    private Spec zoneSpots = new Spec(2000, 60);
+    private Spec sensors = new Spec(1, 30);
+    private Spec zoneRates = new Spec(2000, 300);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private long maximumSize;
+        private long ttlSeconds;
+    }
+}
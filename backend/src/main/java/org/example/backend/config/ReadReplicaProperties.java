@@ -0,0 +1,35 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Réplique MySQL en lecture : transactions @Transactional(readOnly = true) routées vers read-replica.url
+// (pool Hikari configuré sous read-replica.hikari.*), tout le reste sur spring.datasource.url
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "read-replica")
+public class ReadReplicaProperties {
+
+    // Désactivé : une seule source de données, celle de Spring Boot
+    private boolean enabled = false;
+
+    private String url;
+    private String username;
+    private String password;
+
+    // Retard de réplication au-delà duquel les lectures repartent sur le primaire
+    private long maxLagSeconds = 2;
+    private long lagCheckIntervalMs = 1000;
+
+    // Requête de supervision exécutée sur la réplique et colonne du retard en secondes (NULL = réplication arrêtée)
+    private String lagQuery = "SHOW REPLICA STATUS";
+    private String lagColumn = "Seconds_Behind_Source";
+
+    // Faux : une base sans réplication configurée (requête vide) est considérée à jour, pour tester avec deux instances locales
+    private boolean requireReplication = true;
+
+    // Après son check-in / sa réservation, un conducteur relit sur le primaire pendant ce délai
+    private long readYourWritesSeconds = 10;
+}
@@ -0,0 +1,30 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Anti-rebond des capteurs : une lecture n'est transmise qu'une fois stable pendant le délai de confirmation
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sensor-debounce")
+public class SensorDebounceProperties {
+
+    // Désactivé (ou journal local désactivé) : chaque lecture est traitée immédiatement
+    private boolean enabled = true;
+
+    // Hystérésis : durée de stabilité exigée avant de confirmer une place occupée / libérée
+    private long occupiedSettleMs = 3000;
+    private long freeSettleMs = 5000;
+
+    // Durée maximale d'un épisode : un capteur qui ne se stabilise jamais est tranché sur sa dernière lecture
+    private long maxEpisodeMs = 60_000;
+
+    // Roue temporelle : résolution d'un tick et nombre de cases (puissance de 2)
+    private long tickMs = 100;
+    private int wheelSize = 512;
+
+    // Capteurs suivis au plus : au-delà, les lectures des nouveaux capteurs sont appliquées telles quelles
+    private int maxSensors = 262_144;
+}
@@ -0,0 +1,26 @@
+package org.example.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Passerelle binaire des capteurs (UDP et/ou TCP), en plus de POST /api/parking/detect
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sensor-gateway")
+public class SensorGatewayProperties {
+
+    private boolean enabled = false;
+    private String bindAddress = "0.0.0.0";
+
+    // 0 : transport désactivé
+    private int udpPort = 9740;
+    private int tcpPort = 9741;
+
+    // Lectures par lot au plus ; un lot UDP doit tenir dans un datagramme (2728 lectures)
+    private int maxBatchFrames = 1024;
+
+    // SO_RCVBUF du socket UDP : absorbe les rafales pendant le fsync d'un lot
+    private int receiveBufferKb = 4096;
+}
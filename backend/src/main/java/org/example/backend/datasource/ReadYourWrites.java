@@ -0,0 +1,92 @@
+package org.example.backend.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.config.ReadReplicaProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture de ses propres écritures : après un check-in, un check-out ou une réservation, les lectures du
+ * conducteur restent sur le primaire pendant read-replica.read-your-writes-seconds, le temps que la
+ * réplique rattrape son retard.
+ *
+ * Les écritures sont mémorisées par instance : avec plusieurs backends, l'épinglage suppose que les
+ * requêtes d'un conducteur reviennent sur la même instance (affinité du répartiteur).
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWrites {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final ReadReplicaProperties properties;
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    /**
+     * Écriture du conducteur dans la transaction courante, prise en compte à son commit.
+     */
+    public void recordWrite(String driverId) {
+        if (!properties.isEnabled() || driverId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(driverId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(driverId);
+            }
+        });
+    }
+
+    /**
+     * À appeler en tête d'une méthode @Transactional(readOnly = true), avant la première requête :
+     * la connexion physique n'est choisie qu'à ce moment (LazyConnectionDataSourceProxy).
+     */
+    public void pinIfRecentWrite(String driverId) {
+        if (!properties.isEnabled() || driverId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long writtenAt = lastWriteNanos.get(driverId);
+        if (writtenAt == null) {
+            return;
+        }
+        if (System.nanoTime() - writtenAt > windowNanos()) {
+            lastWriteNanos.remove(driverId, writtenAt);
+            return;
+        }
+        PINNED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PINNED.remove();
+            }
+        });
+    }
+
+    static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    private void record(String driverId) {
+        long now = System.nanoTime();
+        lastWriteNanos.put(driverId, now);
+        if (lastWriteNanos.size() > SWEEP_THRESHOLD) {
+            // Conducteurs qui n'ont pas relu dans la fenêtre : jamais retirés par pinIfRecentWrite
+            long window = windowNanos();
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > window);
+        }
+    }
+
+    private long windowNanos() {
+        return TimeUnit.SECONDS.toNanos(properties.getReadYourWritesSeconds());
+    }
+}
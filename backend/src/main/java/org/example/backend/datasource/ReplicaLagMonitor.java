@@ -0,0 +1,100 @@
+package org.example.backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.ReadReplicaProperties;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retard de la réplique, relevé toutes les lagCheckIntervalMs par read-replica.lag-query.
+ * La réplique n'est utilisable que si le dernier relevé a réussi et reste sous maxLagSeconds :
+ * réplication arrêtée (retard NULL), réplique injoignable ou en retard => lectures sur le primaire.
+ *
+ * Métriques : parking.datasource.replica.lag (secondes, -1 si inconnu), parking.datasource.replica.usable (0|1).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final ReadReplicaProperties properties;
+
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource replica, ReadReplicaProperties properties, MeterRegistry registry) {
+        this.replica = replica;
+        this.properties = properties;
+        Gauge.builder("parking.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Retard de réplication de la réplique en lecture")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("parking.datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Lectures en transaction readOnly routées vers la réplique")
+                .register(registry);
+    }
+
+    public void start() {
+        check();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::check, properties.getLagCheckIntervalMs(),
+                properties.getLagCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    // Connexion refusée par le pool de la réplique : écartée jusqu'au prochain relevé réussi
+    void markFailed(SQLException e) {
+        update(false, -1, "connection failed: " + e.getMessage());
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+            if (!rs.next()) {
+                boolean standalone = !properties.isRequireReplication();
+                update(standalone, standalone ? 0 : -1, "replication not configured");
+                return;
+            }
+            long lag = rs.getLong(properties.getLagColumn());
+            if (rs.wasNull()) {
+                update(false, -1, "replication stopped");
+                return;
+            }
+            update(lag <= properties.getMaxLagSeconds(), lag, "lag " + lag + "s");
+        } catch (SQLException | RuntimeException e) {
+            update(false, -1, "lag check failed: " + e.getMessage());
+        }
+    }
+
+    private void update(boolean nowUsable, long lag, String reason) {
+        lagSeconds = lag;
+        if (nowUsable != usable) {
+            usable = nowUsable;
+            if (nowUsable) {
+                log.info("Read replica back in use ({})", reason);
+            } else {
+                log.warn("Read replica unusable, read-only transactions fall back to the primary ({})", reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Transactions readOnly vers la réplique, tout le reste (écritures, hors transaction) vers le primaire.
+ * À placer derrière un LazyConnectionDataSourceProxy : le drapeau readOnly de la transaction n'est
+ * connu qu'après son ouverture, donc à la première requête et non à l'ouverture.
+ *
+ * Métrique : parking.datasource.reads{target = replica|primary_pinned|primary_fallback}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.replicaReads = readCounter(registry, "replica");
+        this.pinnedReads = readCounter(registry, "primary_pinned");
+        this.fallbackReads = readCounter(registry, "primary_fallback");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (ReadYourWrites.isPinned()) {
+            pinnedReads.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            fallbackReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // Pool de la réplique épuisé ou réplique tombée : la lecture n'échoue pas pour autant
+            lagMonitor.markFailed(e);
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("parking.datasource.reads")
+                .description("Connexions ouvertes par les transactions readOnly")
+                .tag("target", target)
+                .register(registry);
+    }
+}
@@ -9,7 +9,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "claims")
+@Table(name = "claims", indexes = {
+        @Index(name = "idx_claims_current_status", columnList = "current_status"),
+        @Index(name = "idx_claims_user", columnList = "user_id"),
+        @Index(name = "idx_claims_claim_number", columnList = "claim_number"),
+        @Index(name = "idx_claims_service_type", columnList = "service_type")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +23,8 @@ import java.util.List;
 public class Claim {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claims_seq")
+    @SequenceGenerator(name = "claims_seq", sequenceName = "claims_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "message_id", nullable = false)
@@ -69,6 +75,10 @@ public class Claim {
     @Column(precision = 11, scale = 8)
     private BigDecimal longitude;
 
+    // Zone de parking résolue à partir de la géolocalisation (null si hors zone)
+    @Column(name = "zone_id")
+    private Long zoneId;
+
     // Extra Data
     @Column(name = "extraData", columnDefinition = "JSON")
     private String extraData;
@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claim_attachments")
+@Table(name = "claim_attachments", indexes = {
+        @Index(name = "idx_claim_attachments_claim_source", columnList = "claim_id, source")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +18,8 @@ import java.time.LocalDateTime;
 public class ClaimAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_attachments_seq")
+    @SequenceGenerator(name = "claim_attachments_seq", sequenceName = "claim_attachments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
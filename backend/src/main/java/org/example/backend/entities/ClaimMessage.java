@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claim_messages")
+@Table(name = "claim_messages", indexes = {
+        @Index(name = "idx_claim_messages_claim_created", columnList = "claim_id, created_at"),
+        @Index(name = "idx_claim_messages_claim_sender_created", columnList = "claim_id, sender_type, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.time.LocalDateTime;
 public class ClaimMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_messages_seq")
+    @SequenceGenerator(name = "claim_messages_seq", sequenceName = "claim_messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -7,7 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claim_status_history")
+@Table(name = "claim_status_history", indexes = {
+        @Index(name = "idx_claim_status_history_claim_created", columnList = "claim_id, created_at"),
+        @Index(name = "idx_claim_status_history_new_status", columnList = "new_status")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,8 @@ import java.time.LocalDateTime;
 public class ClaimStatusHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_status_history_seq")
+    @SequenceGenerator(name = "claim_status_history_seq", sequenceName = "claim_status_history_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
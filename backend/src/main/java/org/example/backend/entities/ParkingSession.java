@@ -6,12 +6,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.backend.enums.SessionStatus;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "parking_sessions")
+// Index créés par db/migration/V2__id_sequences_and_query_indexes.sql, repris ici pour le schéma H2 des tests
+@Table(name = "parking_sessions", indexes = {
+        @Index(name = "idx_sessions_spot_status", columnList = "spot_id, status"),
+        @Index(name = "idx_sessions_driver_status_end", columnList = "driver_id, status, end_time"),
+        @Index(name = "idx_sessions_status_end_cost", columnList = "status, end_time, total_cost, spot_id"),
+        @Index(name = "idx_sessions_end_cost", columnList = "end_time, total_cost")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +26,10 @@ import java.time.LocalDateTime;
 public class ParkingSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Identifiants réservés par blocs de 50 (pooled-lo, table émulée sous MySQL) : les INSERT restent groupables en lot JDBC,
+    // ce qu'IDENTITY empêche (Hibernate doit exécuter chaque INSERT pour connaître l'id)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parking_sessions_seq")
+    @SequenceGenerator(name = "parking_sessions_seq", sequenceName = "parking_sessions_seq", allocationSize = 50)
     private Long id;
 
     private String driverId; // ID venant de Clerk (User Token)
@@ -39,4 +49,8 @@ public class ParkingSession {
     @Enumerated(EnumType.STRING)
     @Column(length = 50)
     private SessionStatus status;
+
+    // Renseigné par Hibernate à chaque écriture : relecture incrémentale de l'état des places au démarrage
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
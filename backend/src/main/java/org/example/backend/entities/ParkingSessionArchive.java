@@ -0,0 +1,57 @@
+package org.example.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.SessionStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Session terminée (COMPLETED / CANCELLED) déplacée par HistoryArchiver. Table partitionnée par mois de closedAt
+// sous MySQL (V3__history_archive.sql) ; la place et la zone sont recopiées, sans clé étrangère. Lecture seule côté JPA.
+@Entity
+@Table(name = "parking_sessions_archive", indexes = {
+        @Index(name = "idx_sessions_archive_driver_status_end", columnList = "driver_id, status, end_time"),
+        @Index(name = "idx_sessions_archive_closed_status", columnList = "closed_at, status, total_cost, zone_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParkingSessionArchive {
+
+    @Id
+    private Long id;
+
+    private String driverId;
+
+    private Long spotId;
+    private String spotNumber;
+    private Long zoneId;
+
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private BigDecimal totalCost;
+
+    // VARCHAR et non ENUM MySQL (V3__history_archive) : un nouveau statut ne demande pas d'ALTER de la table partitionnée
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 50)
+    private SessionStatus status;
+
+    private LocalDateTime updatedAt;
+
+    // Clé de partition : endTime, ou updatedAt pour une session annulée avant son début
+    @Column(nullable = false)
+    private LocalDateTime closedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -5,15 +5,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "parking_spots")
+// Index créé par db/migration/V5__spot_state_reconcile_index.sql, repris ici pour le schéma H2 des tests
+@Table(name = "parking_spots", indexes = {
+        @Index(name = "idx_spots_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Seule la résolution sensorId -> id est mise en cache : le statut change à chaque détection,
+// l'entité elle-même est toujours relue en base (plusieurs instances écrivent les places)
+@NaturalIdCache(region = "parking-spot-sensor-ids")
 public class ParkingSpot {
 
     @Id
@@ -23,6 +33,7 @@ public class ParkingSpot {
     @Column(nullable = false, unique = true)
     private String spotNumber; // Ex: "P-101"
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String sensorId;   // Lien avec IoT (ex: "SENSOR-XYZ")
 
@@ -34,4 +45,8 @@ public class ParkingSpot {
     @ManyToOne
     @JoinColumn(name = "zone_id")
     private ParkingZone zone;
+
+    // Renseigné par Hibernate à chaque écriture : relecture incrémentale de l'état des places au démarrage
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
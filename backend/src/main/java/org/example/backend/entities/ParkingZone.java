@@ -3,12 +3,17 @@ package org.example.backend.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
 
+// Cache de second niveau : les zones sont relues à chaque place chargée (ManyToOne EAGER) et ne changent que quelques fois par jour
 @Entity
 @Table(name = "parking_zones")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "parking-zones")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +33,13 @@ public class ParkingZone {
     private Double latitude;
     private Double longitude;
     private Integer capacity;
+
+    // Emprise du parking (polygone OSM), encodée par PolygonCodec. Null pour un simple noeud OSM.
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    @JsonIgnore
+    private byte[] footprint;
+
     @OneToMany(mappedBy = "zone", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude // Empêche Lombok de faire une boucle infinie
     @JsonIgnore       // Empêche l'API de renvoyer la liste complète (trop lourd) si on demande juste la zone
@@ -10,14 +10,20 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_spot_status_period", columnList = "spot_id, status, start_time, end_time"),
+        @Index(name = "idx_reservations_driver_spot_status", columnList = "driver_id, spot_id, status, start_time"),
+        @Index(name = "idx_reservations_status_end", columnList = "status, end_time"),
+        @Index(name = "idx_reservations_driver_start", columnList = "driver_id, start_time")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
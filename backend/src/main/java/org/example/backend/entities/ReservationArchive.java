@@ -0,0 +1,47 @@
+package org.example.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Réservation finie (COMPLETED / CANCELLED) déplacée par HistoryArchiver, partitionnée par mois de endTime sous MySQL
+@Entity
+@Table(name = "reservations_archive", indexes = {
+        @Index(name = "idx_reservations_archive_driver_start", columnList = "driver_id, start_time")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "spot_id")
+    private Long spotId;
+
+    @Column(name = "spot_number")
+    private String spotNumber;
+
+    @Column(name = "driver_id")
+    private String driverId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -7,7 +7,9 @@ import org.example.backend.enums.Role;
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Entity
-@Table(name = "utilisateur")
+@Table(name = "utilisateur", indexes = {
+        @Index(name = "idx_utilisateur_role", columnList = "role")
+})
 @Data
 public class Utilisateur {
 
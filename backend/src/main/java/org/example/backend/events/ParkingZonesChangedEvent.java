@@ -0,0 +1,9 @@
+package org.example.backend.events;
+
+/**
+ * Publié quand des zones sont créées ou modifiées (synchro Overpass). Un changement de tarif seul
+ * publie ZoneRatesChangedEvent.
+ * Les index et caches en mémoire construits à partir des zones s'y abonnent.
+ */
+public record ParkingZonesChangedEvent(String source) {
+}
@@ -0,0 +1,19 @@
+package org.example.backend.events;
+
+import org.example.backend.entities.ParkingSpot;
+
+/**
+ * Publié quand le statut d'une place change (true = libre, false = occupée).
+ * Les abonnés l'écoutent après commit pour mettre à jour leurs compteurs en mémoire.
+ */
+public record SpotStatusChangedEvent(Long spotId, Long zoneId, Boolean previousStatus, Boolean newStatus) {
+
+    public static SpotStatusChangedEvent of(ParkingSpot spot, Boolean previousStatus) {
+        return new SpotStatusChangedEvent(spot.getId(),
+                spot.getZone() != null ? spot.getZone().getId() : null, previousStatus, spot.getStatus());
+    }
+
+    public boolean changed() {
+        return !Boolean.valueOf(Boolean.TRUE.equals(previousStatus)).equals(Boolean.TRUE.equals(newStatus));
+    }
+}
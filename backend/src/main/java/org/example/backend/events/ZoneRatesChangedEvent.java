@@ -0,0 +1,11 @@
+package org.example.backend.events;
+
+import java.util.Collection;
+
+/**
+ * Publié quand le tarif horaire de zones change (une fois par mise à jour, unitaire ou en masse).
+ * Seuls les caches de lecture qui exposent le tarif s'y abonnent : la géométrie et les places des zones
+ * sont inchangées, les index en mémoire (ParkingZonesChangedEvent) ne sont pas reconstruits.
+ */
+public record ZoneRatesChangedEvent(Collection<Long> zoneIds) {
+}
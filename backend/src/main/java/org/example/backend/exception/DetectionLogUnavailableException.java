@@ -0,0 +1,8 @@
+package org.example.backend.exception;
+
+// Journal des détections bloqué (DetectionLogApplier) : la détection n'est pas acceptée, l'émetteur doit réessayer
+public class DetectionLogUnavailableException extends RuntimeException {
+    public DetectionLogUnavailableException(String message) {
+        super(message);
+    }
+}
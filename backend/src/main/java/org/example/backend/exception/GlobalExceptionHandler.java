@@ -26,4 +26,23 @@ public class GlobalExceptionHandler {
                         "status", 401
                 ));
     }
+
+    // Uniquement les entrées invalides : une IllegalArgumentException interne reste une erreur 500
+    @ExceptionHandler(InvalidGeometryException.class)
+    public ResponseEntity<?> handleInvalidGeometry(InvalidGeometryException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "message", ex.getMessage(),
+                        "status", 400
+                ));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "message", ex.getMessage(),
+                        "status", 400
+                ));
+    }
 }
@@ -0,0 +1,8 @@
+package org.example.backend.exception;
+
+// Curseur de pagination (X-Next-Cursor) illisible ou modifié par le client : 400 côté API
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.exception;
+
+// Géométrie fournie par le client ou par Overpass invalide (bbox, emprise de zone) : 400 côté API
+public class InvalidGeometryException extends RuntimeException {
+    public InvalidGeometryException(String message) {
+        super(message);
+    }
+}
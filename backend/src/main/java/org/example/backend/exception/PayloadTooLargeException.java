@@ -0,0 +1,8 @@
+package org.example.backend.exception;
+
+// Corps de requête au-delà de la taille admise, rejeté avant d'être entièrement lu : 413 côté API
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
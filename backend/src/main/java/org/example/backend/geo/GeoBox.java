@@ -0,0 +1,69 @@
+package org.example.backend.geo;
+
+import org.example.backend.exception.InvalidGeometryException;
+
+/**
+ * Rectangle géographique (bbox) en degrés.
+ */
+public record GeoBox(double minLat, double minLon, double maxLat, double maxLon) {
+
+    /**
+     * Parse une bbox au format Overpass/Leaflet "south,west,north,east".
+     */
+    public static GeoBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new InvalidGeometryException("BBox invalide (attendu south,west,north,east): " + bbox);
+        }
+        double south = coordinate(parts[0], bbox);
+        double west = coordinate(parts[1], bbox);
+        double north = coordinate(parts[2], bbox);
+        double east = coordinate(parts[3], bbox);
+        if (south > north || west > east) {
+            throw new InvalidGeometryException("BBox invalide (south > north ou west > east): " + bbox);
+        }
+        return new GeoBox(south, west, north, east);
+    }
+
+    private static double coordinate(String part, String bbox) {
+        try {
+            double value = Double.parseDouble(part.trim());
+            if (Double.isFinite(value)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // message commun ci-dessous
+        }
+        throw new InvalidGeometryException("BBox invalide (coordonnée non numérique): " + bbox);
+    }
+
+    public static GeoBox ofPoint(double lat, double lon) {
+        return new GeoBox(lat, lon, lat, lon);
+    }
+
+    public boolean intersects(GeoBox other) {
+        return minLat <= other.maxLat && maxLat >= other.minLat
+                && minLon <= other.maxLon && maxLon >= other.minLon;
+    }
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+
+    public GeoBox union(GeoBox other) {
+        return new GeoBox(Math.min(minLat, other.minLat), Math.min(minLon, other.minLon),
+                Math.max(maxLat, other.maxLat), Math.max(maxLon, other.maxLon));
+    }
+
+    public double area() {
+        return (maxLat - minLat) * (maxLon - minLon);
+    }
+
+    public double centerLat() {
+        return (minLat + maxLat) / 2;
+    }
+
+    public double centerLon() {
+        return (minLon + maxLon) / 2;
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.geo;
+
+/**
+ * Anneau extérieur d'un polygone, coordonnées en 1e-7 degrés (comme OSM).
+ * Le dernier point n'est pas répété.
+ */
+public record Polygon(int[] latE7, int[] lonE7) {
+
+    static final double E7 = 1e7;
+
+    public int size() {
+        return latE7.length;
+    }
+
+    public GeoBox bounds() {
+        int minLat = Integer.MAX_VALUE, minLon = Integer.MAX_VALUE;
+        int maxLat = Integer.MIN_VALUE, maxLon = Integer.MIN_VALUE;
+        for (int i = 0; i < latE7.length; i++) {
+            minLat = Math.min(minLat, latE7[i]);
+            maxLat = Math.max(maxLat, latE7[i]);
+            minLon = Math.min(minLon, lonE7[i]);
+            maxLon = Math.max(maxLon, lonE7[i]);
+        }
+        return new GeoBox(minLat / E7, minLon / E7, maxLat / E7, maxLon / E7);
+    }
+
+    /**
+     * Test point-dans-polygone (ray casting), en entiers pour éviter les erreurs d'arrondi.
+     */
+    public boolean contains(double lat, double lon) {
+        long y = Math.round(lat * E7);
+        long x = Math.round(lon * E7);
+        boolean inside = false;
+
+        for (int i = 0, j = latE7.length - 1; i < latE7.length; j = i++) {
+            long yi = latE7[i], xi = lonE7[i];
+            long yj = latE7[j], xj = lonE7[j];
+            if ((yi > y) != (yj > y)) {
+                // x < xi + (y - yi) * (xj - xi) / (yj - yi), sans division
+                long lhs = (x - xi) * (yj - yi);
+                long rhs = (y - yi) * (xj - xi);
+                if (yj > yi ? lhs < rhs : lhs > rhs) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.backend.geo;
+
+import org.example.backend.exception.InvalidGeometryException;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encodage compact des emprises de zones : coordonnées en 1e-7 degrés, delta par rapport
+ * au point précédent, puis varint zigzag. Un parking de 20 sommets tient en ~60 octets
+ * au lieu de 320 en doubles.
+ */
+public final class PolygonCodec {
+
+    private PolygonCodec() {
+    }
+
+    public static byte[] encode(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new InvalidGeometryException("lats/lons de tailles différentes");
+        }
+        int n = lats.length;
+        // Anneau fermé à la OSM : on ne stocke pas le point de fermeture
+        if (n > 1 && lats[0] == lats[n - 1] && lons[0] == lons[n - 1]) {
+            n--;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + n * 4);
+        writeVarint(out, n);
+        int prevLat = 0, prevLon = 0;
+        for (int i = 0; i < n; i++) {
+            int lat = (int) Math.round(lats[i] * Polygon.E7);
+            int lon = (int) Math.round(lons[i] * Polygon.E7);
+            writeVarint(out, zigzag(lat - prevLat));
+            writeVarint(out, zigzag(lon - prevLon));
+            prevLat = lat;
+            prevLon = lon;
+        }
+        return out.toByteArray();
+    }
+
+    public static Polygon decode(byte[] data) {
+        int[] pos = {0};
+        int n = readVarint(data, pos);
+        int[] lats = new int[n];
+        int[] lons = new int[n];
+        int lat = 0, lon = 0;
+        for (int i = 0; i < n; i++) {
+            lat += unzigzag(readVarint(data, pos));
+            lon += unzigzag(readVarint(data, pos));
+            lats[i] = lat;
+            lons[i] = lon;
+        }
+        return new Polygon(lats, lons);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] pos) {
+        int result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = data[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.backend.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * R-tree statique construit par Sort-Tile-Recursive. Immuable une fois construit :
+ * on reconstruit un nouvel arbre quand les zones changent (quelques fois par jour).
+ */
+public final class STRtree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final Node<T> root;
+    private final int size;
+
+    private record Node<T>(GeoBox box, List<Node<T>> children, T item) {
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    public STRtree(List<T> items, Function<T, GeoBox> boxOf) {
+        List<Node<T>> level = new ArrayList<>(items.size());
+        for (T item : items) {
+            level.add(new Node<>(boxOf.apply(item), null, item));
+        }
+        this.size = items.size();
+
+        if (level.isEmpty()) {
+            this.root = null;
+            return;
+        }
+        while (level.size() > 1) {
+            level = packLevel(level);
+        }
+        this.root = level.get(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void search(GeoBox query, Consumer<T> visitor) {
+        if (root != null && root.box().intersects(query)) {
+            search(root, query, visitor);
+        }
+    }
+
+    public void searchPoint(double lat, double lon, Consumer<T> visitor) {
+        search(GeoBox.ofPoint(lat, lon), visitor);
+    }
+
+    private void search(Node<T> node, GeoBox query, Consumer<T> visitor) {
+        if (node.isLeaf()) {
+            visitor.accept(node.item());
+            return;
+        }
+        for (Node<T> child : node.children()) {
+            if (child.box().intersects(query)) {
+                search(child, query, visitor);
+            }
+        }
+    }
+
+    // Tri par longitude en tranches verticales, puis par latitude dans chaque tranche
+    private static <T> List<Node<T>> packLevel(List<Node<T>> nodes) {
+        int parentCount = (int) Math.ceil(nodes.size() / (double) NODE_CAPACITY);
+        int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<Node<T>> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingDouble(n -> n.box().centerLon()));
+
+        List<Node<T>> parents = new ArrayList<>(parentCount);
+        for (int s = 0; s < sorted.size(); s += sliceSize) {
+            List<Node<T>> slice = new ArrayList<>(sorted.subList(s, Math.min(s + sliceSize, sorted.size())));
+            slice.sort(Comparator.comparingDouble(n -> n.box().centerLat()));
+
+            for (int c = 0; c < slice.size(); c += NODE_CAPACITY) {
+                List<Node<T>> children = List.copyOf(slice.subList(c, Math.min(c + NODE_CAPACITY, slice.size())));
+                GeoBox box = children.get(0).box();
+                for (Node<T> child : children) {
+                    box = box.union(child.box());
+                }
+                parents.add(new Node<>(box, children, null));
+            }
+        }
+        return parents;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.backend.ingest;
+
+import org.example.backend.DTO.ParkingDetectionRequest;
+
+/**
+ * Lecture capteur décodée, réutilisée d'un message à l'autre (une instance par thread de réception).
+ * Le capteur est une chaîne canonique partagée, le statut un octet, l'horodatage des millisecondes
+ * locales (DetectionTimestamps) : filtrer une lecture en double ou un rebond n'alloue rien.
+ */
+public final class DetectionFrame {
+
+    public static final byte STATUS_INVALID = -1;
+    public static final byte STATUS_FREE = 0;
+    public static final byte STATUS_OCCUPIED = 1;
+    public static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+    String sensorId;
+    byte status;
+    long timestampMillis;
+    long sequence;
+
+    void reset() {
+        sensorId = null;
+        status = STATUS_INVALID;
+        timestampMillis = DetectionTimestamps.INVALID;
+        sequence = NO_SEQUENCE;
+    }
+
+    public String sensorId() {
+        return sensorId;
+    }
+
+    public byte status() {
+        return status;
+    }
+
+    public long timestampMillis() {
+        return timestampMillis;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Requête complète, pour les lectures qui vont jusqu'à la base (journal, service de détection).
+     */
+    public ParkingDetectionRequest toRequest() {
+        ParkingDetectionRequest request = new ParkingDetectionRequest();
+        request.setSensorId(sensorId);
+        request.setStatus(status == STATUS_OCCUPIED ? "occupied" : "free");
+        request.setTimestamp(DetectionTimestamps.format(timestampMillis));
+        request.setSequence(sequence != NO_SEQUENCE ? sequence : null);
+        return request;
+    }
+
+    public static byte parseStatus(String status) {
+        if ("occupied".equalsIgnoreCase(status)) {
+            return STATUS_OCCUPIED;
+        }
+        if ("free".equalsIgnoreCase(status)) {
+            return STATUS_FREE;
+        }
+        return STATUS_INVALID;
+    }
+}
@@ -0,0 +1,448 @@
+package org.example.backend.ingest;
+
+import org.example.backend.exception.PayloadTooLargeException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Décodage sans allocation des corps JSON de /api/parking/detect
+ * ({@code {"sensorId": "...", "status": "occupied|free", "timestamp": "...", "sequence": 42}}).
+ *
+ * Lecture octet par octet dans un tampon réutilisé par thread ; les champs inconnus sont sautés.
+ * Les identifiants de capteur sont résolus vers une chaîne canonique (table partagée) : une chaîne
+ * n'est créée qu'à la première lecture d'un capteur. Tout ce qui sort de ce cadre (échappements,
+ * caractères non ASCII, statut ou horodatage invalide) renvoie false : l'appelant repasse par Jackson.
+ *
+ * Bornes : un corps au-delà de MAX_PAYLOAD_BYTES est refusé (le tampon d'un thread n'en dépasse jamais
+ * la taille), et au-delà de MAX_SENSOR_IDS identifiants distincts les nouveaux ne sont plus mis en table
+ * (chaîne allouée à chaque lecture) : des identifiants arbitraires ne font pas grossir la mémoire.
+ */
+@Component
+public class DetectionPayloadDecoder {
+
+    private static final byte[] SENSOR_ID = ascii("sensorId");
+    private static final byte[] STATUS = ascii("status");
+    private static final byte[] TIMESTAMP = ascii("timestamp");
+    private static final byte[] SEQUENCE = ascii("sequence");
+    private static final byte[] OCCUPIED = ascii("occupied");
+    private static final byte[] FREE = ascii("free");
+
+    // Une détection fait moins de 200 octets ; au-delà de 4 Ko ce n'en est pas une
+    public static final int MAX_PAYLOAD_BYTES = 4096;
+    static final int MAX_SENSOR_IDS = 1 << 17;
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+    private final SensorIdTable sensorIds = new SensorIdTable(MAX_SENSOR_IDS);
+
+    /**
+     * Tampon de réception et lecture décodée d'un thread, réutilisés à chaque message.
+     */
+    public static final class Buffer {
+        private byte[] bytes = new byte[512];
+        private int length;
+        private final DetectionFrame frame = new DetectionFrame();
+        private final AsciiView view = new AsciiView();
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public DetectionFrame frame() {
+            return frame;
+        }
+    }
+
+    /**
+     * Lit le corps entier dans le tampon du thread courant.
+     *
+     * @throws PayloadTooLargeException au-delà de MAX_PAYLOAD_BYTES
+     */
+    public Buffer read(InputStream body) throws IOException {
+        Buffer buffer = buffers.get();
+        int length = 0;
+        int n;
+        while ((n = body.read(buffer.bytes, length, buffer.bytes.length - length)) > 0) {
+            length += n;
+            if (length == buffer.bytes.length) {
+                if (length == MAX_PAYLOAD_BYTES) {
+                    if (body.read() >= 0) {
+                        throw new PayloadTooLargeException("Corps de détection au-delà de " + MAX_PAYLOAD_BYTES + " octets");
+                    }
+                    break;
+                }
+                buffer.bytes = Arrays.copyOf(buffer.bytes, Math.min(buffer.bytes.length * 2, MAX_PAYLOAD_BYTES));
+            }
+        }
+        buffer.length = length;
+        return buffer;
+    }
+
+    public boolean decode(Buffer buffer) {
+        return decode(buffer.bytes, buffer.length, buffer.frame, buffer.view);
+    }
+
+    boolean decode(byte[] in, int length, DetectionFrame frame, AsciiView view) {
+        frame.reset();
+        boolean timestampSeen = false;
+
+        int i = skipWhitespace(in, 0, length);
+        if (i >= length || in[i] != '{') {
+            return false;
+        }
+        i = skipWhitespace(in, i + 1, length);
+        if (i < length && in[i] == '}') {
+            return false;
+        }
+
+        while (i < length) {
+            if (in[i] != '"') {
+                return false;
+            }
+            int keyStart = i + 1;
+            int keyEnd = endOfString(in, keyStart, length);
+            if (keyEnd < 0) {
+                return false;
+            }
+            i = skipWhitespace(in, keyEnd + 1, length);
+            if (i >= length || in[i] != ':') {
+                return false;
+            }
+            i = skipWhitespace(in, i + 1, length);
+            if (i >= length) {
+                return false;
+            }
+
+            if (equals(in, keyStart, keyEnd, SENSOR_ID)) {
+                int end = in[i] == '"' ? endOfString(in, i + 1, length) : -1;
+                if (end < 0) {
+                    return false;
+                }
+                frame.sensorId = sensorIds.canonical(in, i + 1, end);
+                i = end + 1;
+            } else if (equals(in, keyStart, keyEnd, STATUS)) {
+                int end = in[i] == '"' ? endOfString(in, i + 1, length) : -1;
+                if (end < 0) {
+                    return false;
+                }
+                if (equalsIgnoreCase(in, i + 1, end, OCCUPIED)) {
+                    frame.status = DetectionFrame.STATUS_OCCUPIED;
+                } else if (equalsIgnoreCase(in, i + 1, end, FREE)) {
+                    frame.status = DetectionFrame.STATUS_FREE;
+                } else {
+                    return false;
+                }
+                i = end + 1;
+            } else if (equals(in, keyStart, keyEnd, TIMESTAMP)) {
+                if (in[i] == 'n') {
+                    i = skipLiteral(in, i, length);
+                } else {
+                    int end = in[i] == '"' ? endOfString(in, i + 1, length) : -1;
+                    if (end < 0) {
+                        return false;
+                    }
+                    frame.timestampMillis = DetectionTimestamps.parse(view.wrap(in, i + 1, end));
+                    if (frame.timestampMillis == DetectionTimestamps.INVALID) {
+                        return false;
+                    }
+                    timestampSeen = true;
+                    i = end + 1;
+                }
+            } else if (equals(in, keyStart, keyEnd, SEQUENCE)) {
+                if (in[i] == 'n') {
+                    i = skipLiteral(in, i, length);
+                } else {
+                    int end = endOfInteger(in, i, length);
+                    if (end < 0) {
+                        return false;
+                    }
+                    frame.sequence = parseLong(in, i, end);
+                    i = end;
+                }
+            } else {
+                i = skipValue(in, i, length);
+            }
+            if (i < 0) {
+                return false;
+            }
+
+            i = skipWhitespace(in, i, length);
+            if (i >= length) {
+                return false;
+            }
+            if (in[i] == '}') {
+                break;
+            }
+            if (in[i] != ',') {
+                return false;
+            }
+            i = skipWhitespace(in, i + 1, length);
+        }
+
+        if (frame.sensorId == null || frame.status == DetectionFrame.STATUS_INVALID) {
+            return false;
+        }
+        if (!timestampSeen) {
+            frame.timestampMillis = DetectionTimestamps.nowLocal();
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------------
+    // Lecture JSON
+    // ------------------------------------------------------------------------
+
+    private static int skipWhitespace(byte[] in, int i, int length) {
+        while (i < length && (in[i] == ' ' || in[i] == '\n' || in[i] == '\r' || in[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    // Indice du guillemet fermant ; -1 si échappement ou caractère non ASCII (repli sur Jackson)
+    private static int endOfString(byte[] in, int i, int length) {
+        while (i < length) {
+            byte b = in[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\' || b < 0x20) {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int endOfInteger(byte[] in, int i, int length) {
+        if (i < length && in[i] == '-') {
+            i++;
+        }
+        int digitsStart = i;
+        while (i < length && in[i] >= '0' && in[i] <= '9') {
+            i++;
+        }
+        int digits = i - digitsStart;
+        return digits == 0 || digits > 18 ? -1 : i;
+    }
+
+    private static long parseLong(byte[] in, int from, int to) {
+        boolean negative = in[from] == '-';
+        long value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            value = value * 10 + (in[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private static int skipLiteral(byte[] in, int i, int length) {
+        while (i < length && in[i] >= 'a' && in[i] <= 'z') {
+            i++;
+        }
+        return i;
+    }
+
+    // Saute une valeur quelconque (objets et tableaux imbriqués compris)
+    private static int skipValue(byte[] in, int i, int length) {
+        int depth = 0;
+        while (i < length) {
+            byte b = in[i];
+            if (b == '"') {
+                i++;
+                while (i < length && in[i] != '"') {
+                    i += in[i] == '\\' ? 2 : 1;
+                }
+                if (i >= length) {
+                    return -1;
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            } else if (b == ',' && depth == 0) {
+                return i;
+            }
+            i++;
+            if (depth == 0 && (b == '"' || b == '}' || b == ']')) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean equals(byte[] in, int from, int to, byte[] expected) {
+        if (to - from != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (in[from + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] in, int from, int to, byte[] expectedLowerCase) {
+        if (to - from != expectedLowerCase.length) {
+            return false;
+        }
+        for (int i = 0; i < expectedLowerCase.length; i++) {
+            byte b = in[from + i];
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != expectedLowerCase[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    }
+
+    // ------------------------------------------------------------------------
+    // Vue CharSequence réutilisable sur un intervalle ASCII du tampon
+    // ------------------------------------------------------------------------
+
+    static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+        private int offset;
+        private int length;
+
+        AsciiView wrap(byte[] bytes, int from, int to) {
+            this.bytes = bytes;
+            this.offset = from;
+            this.length = to - from;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, offset + start, end - start, java.nio.charset.StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, java.nio.charset.StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Identifiants de capteur canoniques
+    // ------------------------------------------------------------------------
+
+    /**
+     * Table à adressage ouvert octets -> String. Lecture sans verrou (une entrée publiée est une
+     * String immuable) ; insertion et agrandissement sous verrou, le tableau agrandi est republié.
+     * Pleine (maxEntries), elle rend des chaînes non canoniques sans plus grossir.
+     */
+    static final class SensorIdTable {
+
+        private final int maxEntries;
+        private volatile String[] table = new String[4096];
+        private int size;
+
+        SensorIdTable(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        String canonical(byte[] in, int from, int to) {
+            int hash = hash(in, from, to);
+            String found = lookup(table, in, from, to, hash);
+            return found != null ? found : insert(in, from, to, hash);
+        }
+
+        private synchronized String insert(byte[] in, int from, int to, int hash) {
+            String found = lookup(table, in, from, to, hash);
+            if (found != null) {
+                return found;
+            }
+            String sensorId = new String(in, from, to - from, java.nio.charset.StandardCharsets.ISO_8859_1);
+            if (size >= maxEntries) {
+                return sensorId;
+            }
+            String[] current = table;
+            if ((size + 1) * 2 > current.length) {
+                String[] grown = new String[current.length * 2];
+                for (String existing : current) {
+                    if (existing != null) {
+                        grown[freeSlot(grown, existing.hashCode())] = existing;
+                    }
+                }
+                current = grown;
+            }
+            current[freeSlot(current, hash)] = sensorId;
+            size++;
+            table = current;
+            return sensorId;
+        }
+
+        private static String lookup(String[] table, byte[] in, int from, int to, int hash) {
+            int mask = table.length - 1;
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                String candidate = table[slot];
+                if (candidate == null) {
+                    return null;
+                }
+                if (matches(candidate, in, from, to)) {
+                    return candidate;
+                }
+            }
+        }
+
+        private static int freeSlot(String[] table, int hash) {
+            int mask = table.length - 1;
+            int slot = spread(hash) & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static boolean matches(String candidate, byte[] in, int from, int to) {
+            if (candidate.length() != to - from) {
+                return false;
+            }
+            for (int i = 0; i < candidate.length(); i++) {
+                if (candidate.charAt(i) != (char) (in[from + i] & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Même valeur que String.hashCode() pour une chaîne ASCII : l'agrandissement peut rehacher les String
+        private static int hash(byte[] in, int from, int to) {
+            int h = 0;
+            for (int i = from; i < to; i++) {
+                h = 31 * h + (in[i] & 0xFF);
+            }
+            return h;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
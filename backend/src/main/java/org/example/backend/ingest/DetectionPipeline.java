@@ -0,0 +1,105 @@
+package org.example.backend.ingest;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.wal.DetectionLogApplier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chemin d'une lecture capteur jusqu'à la base : déduplication par séquence (SensorSequenceWatermarks)
+ * -> journal local (DetectionLog) -> anti-rebond (SensorDebounceFilter, dans DetectionLogApplier)
+ * -> ParkingDetectionService.
+ * Toutes les sources de détections (REST, passerelles binaires, ...) passent par ici,
+ * en requête Jackson ou en DetectionFrame décodée.
+ */
+@Component
+@RequiredArgsConstructor
+public class DetectionPipeline {
+
+    private final SensorSequenceWatermarks sequenceWatermarks;
+    private final DetectionLogApplier detectionLogApplier;
+
+    /**
+     * Résultat de la détection, ou vide si elle est acceptée mais appliquée plus tard
+     * (transition en attente de confirmation, base trop lente).
+     */
+    public Optional<ParkingDetectionResponse> submit(ParkingDetectionRequest request) throws InterruptedException {
+        long sequence = request.getSequence() != null ? request.getSequence() : DetectionFrame.NO_SEQUENCE;
+        long[] previous = new long[1];
+        SensorSequenceWatermarks.Verdict verdict = sequenceWatermarks.check(request.getSensorId(), sequence, previous, 0);
+        if (verdict != SensorSequenceWatermarks.Verdict.ACCEPTED) {
+            return Optional.of(ignored(verdict, sequence));
+        }
+        try {
+            return detectionLogApplier.submit(request);
+        } catch (RuntimeException | InterruptedException e) {
+            // Refusée ou issue inconnue : le renvoi doit être accepté (au pire journalisé deux fois, jamais perdu)
+            sequenceWatermarks.rewind(request.getSensorId(), sequence, previous[0]);
+            throw e;
+        }
+    }
+
+    /**
+     * Même chemin pour une lecture déjà décodée (DetectionPayloadDecoder) : les doublons sont écartés
+     * sans construire de requête, celle-ci ne l'est que si la lecture va jusqu'au journal.
+     */
+    public Optional<ParkingDetectionResponse> submit(DetectionFrame frame) throws InterruptedException {
+        long[] previous = new long[1];
+        SensorSequenceWatermarks.Verdict verdict = sequenceWatermarks.check(frame.sensorId(), frame.sequence(), previous, 0);
+        if (verdict != SensorSequenceWatermarks.Verdict.ACCEPTED) {
+            return Optional.of(ignored(verdict, frame.sequence()));
+        }
+        try {
+            return detectionLogApplier.submit(frame.toRequest());
+        } catch (RuntimeException | InterruptedException e) {
+            sequenceWatermarks.rewind(frame.sensorId(), frame.sequence(), previous[0]);
+            throw e;
+        }
+    }
+
+    /**
+     * Lot de lectures d'une passerelle binaire : chaque lecture est filtrée, les survivantes sont
+     * journalisées ensemble (un seul fsync) sans attendre la base. Renvoie le nombre journalisé.
+     */
+    public int enqueueBatch(DetectionFrame[] frames, int count) throws InterruptedException {
+        List<ParkingDetectionRequest> journaled = new ArrayList<>(count);
+        // Seuil remplacé par chaque lecture acceptée, dans l'ordre du lot
+        long[] previous = new long[count];
+        for (int i = 0; i < count; i++) {
+            DetectionFrame frame = frames[i];
+            if (sequenceWatermarks.check(frame.sensorId(), frame.sequence(), previous, journaled.size())
+                    != SensorSequenceWatermarks.Verdict.ACCEPTED) {
+                continue;
+            }
+            journaled.add(frame.toRequest());
+        }
+        try {
+            detectionLogApplier.enqueueAll(journaled);
+        } catch (RuntimeException | InterruptedException e) {
+            // Lot refusé : ses lectures doivent rester acceptables quand la passerelle le renverra.
+            // En ordre inverse, chaque capteur retrouve le seuil qu'il avait avant le lot.
+            for (int k = journaled.size() - 1; k >= 0; k--) {
+                ParkingDetectionRequest request = journaled.get(k);
+                sequenceWatermarks.rewind(request.getSensorId(),
+                        request.getSequence() != null ? request.getSequence() : DetectionFrame.NO_SEQUENCE, previous[k]);
+            }
+            throw e;
+        }
+        return journaled.size();
+    }
+
+    // Réponse positive : la passerelle ne doit pas réessayer une lecture déjà prise en compte
+    private static ParkingDetectionResponse ignored(SensorSequenceWatermarks.Verdict verdict, long sequence) {
+        return ParkingDetectionResponse.builder()
+                .action("ignored")
+                .message(verdict == SensorSequenceWatermarks.Verdict.DUPLICATE
+                        ? "Lecture déjà reçue (séquence " + sequence + ")"
+                        : "Lecture plus ancienne que la dernière reçue (séquence " + sequence + ")")
+                .build();
+    }
+}
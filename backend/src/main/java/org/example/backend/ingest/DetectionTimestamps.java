@@ -0,0 +1,176 @@
+package org.example.backend.ingest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+/**
+ * Horodatages des capteurs en millisecondes "locales" (heure murale lue comme si elle était UTC),
+ * sans allocation ni exception. Formes acceptées :
+ * - {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} suivi éventuellement de {@code Z} ou d'un décalage
+ *   {@code ±HH[:MM]} — le décalage est ignoré, l'heure murale est conservée ;
+ * - {@code yyyy-MM-dd[ ...]} : la date, avec l'heure courante ;
+ * - vide ou absent : maintenant.
+ * Toute autre forme renvoie {@link #INVALID}.
+ */
+public final class DetectionTimestamps {
+
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final TimeZone ZONE = TimeZone.getDefault();
+
+    private DetectionTimestamps() {
+    }
+
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            return nowLocal();
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return nowLocal();
+        }
+        if (end - start < 10) {
+            return INVALID;
+        }
+
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') {
+            return INVALID;
+        }
+        long dayMillis = daysFromCivil(year, month, day) * MILLIS_PER_DAY;
+
+        int i = start + 10;
+        if (i == end || text.charAt(i) == ' ') {
+            // Date seule : heure courante (comportement historique de la détection)
+            return dayMillis + Math.floorMod(nowLocal(), MILLIS_PER_DAY);
+        }
+        if (text.charAt(i) != 'T' || end - i < 6) {
+            return INVALID;
+        }
+
+        int hour = digits(text, i + 1, 2);
+        int minute = digits(text, i + 4, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || text.charAt(i + 3) != ':') {
+            return INVALID;
+        }
+        i += 6;
+
+        int second = 0;
+        int millis = 0;
+        if (i < end && text.charAt(i) == ':') {
+            if (end - i < 3 || (second = digits(text, i + 1, 2)) < 0 || second > 59) {
+                return INVALID;
+            }
+            i += 3;
+            if (i < end && text.charAt(i) == '.') {
+                i++;
+                int fractionStart = i;
+                while (i < end && isDigit(text.charAt(i))) {
+                    if (i - fractionStart < 3) {
+                        millis = millis * 10 + (text.charAt(i) - '0');
+                    }
+                    i++;
+                }
+                int fractionDigits = i - fractionStart;
+                if (fractionDigits == 0 || fractionDigits > 9) {
+                    return INVALID;
+                }
+                for (int d = fractionDigits; d < 3; d++) {
+                    millis *= 10;
+                }
+            }
+        }
+
+        if (i < end && !isOffset(text, i, end)) {
+            return INVALID;
+        }
+        return dayMillis + hour * 3_600_000L + minute * 60_000L + second * 1000L + millis;
+    }
+
+    public static long nowLocal() {
+        return fromEpochMillis(System.currentTimeMillis());
+    }
+
+    // Epoch millis UTC (passerelles binaires) -> heure murale du serveur, comme les horodatages texte
+    public static long fromEpochMillis(long epochMillis) {
+        return epochMillis + ZONE.getOffset(epochMillis);
+    }
+
+    public static LocalDateTime toLocalDateTime(long localMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000),
+                (int) Math.floorMod(localMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public static String format(long localMillis) {
+        return toLocalDateTime(localMillis).toString();
+    }
+
+    // Z, ±HH, ±HHMM ou ±HH:MM jusqu'à la fin du texte
+    private static boolean isOffset(CharSequence text, int i, int end) {
+        char sign = text.charAt(i);
+        if (sign == 'Z' || sign == 'z') {
+            return i + 1 == end;
+        }
+        if (sign != '+' && sign != '-') {
+            return false;
+        }
+        int length = end - i - 1;
+        if (length == 2) {
+            return digits(text, i + 1, 2) >= 0;
+        }
+        if (length == 4) {
+            return digits(text, i + 1, 4) >= 0;
+        }
+        return length == 5 && text.charAt(i + 3) == ':'
+                && digits(text, i + 1, 2) >= 0 && digits(text, i + 4, 2) >= 0;
+    }
+
+    private static int digits(CharSequence text, int from, int count) {
+        if (from + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Jours depuis 1970-01-01 (algorithme "days from civil" de H. Hinnant)
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
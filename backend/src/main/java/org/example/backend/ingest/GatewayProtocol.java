@@ -0,0 +1,107 @@
+package org.example.backend.ingest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Format binaire des passerelles capteurs (gros-boutiste, tailles fixes).
+ *
+ * En-tête, 24 octets :
+ *   0  short magic 'PK'   2 byte version   3 byte type (BATCH | ACK)
+ *   4  short count        lot : nombre de lectures ; ack : lectures rejetées (capteur inconnu)
+ *   6  short status       lot : 0 ; ack : ACK_OK ou ACK_RETRY (lot non journalisé, à renvoyer)
+ *   8  int   gatewayId
+ *   12 long  batchSequence
+ *   20 int   réservé
+ * Lecture, 24 octets, {@code count} fois après l'en-tête d'un lot :
+ *   0  int   sensorIndex  id de la place (ParkingSpot.id)
+ *   4  byte  flags        bit 0 : occupée
+ *   5  3 octets réservés
+ *   8  long  epochMillis  UTC, 0 : heure de réception
+ *   16 long  sequence     numéro de lecture du capteur, négatif : pas de numérotation
+ *
+ * UDP : un lot par datagramme. TCP : lots enchaînés, la longueur découle du champ count.
+ * Chaque lot reçoit un ack portant son batchSequence ; sans ack, la passerelle renvoie le même lot
+ * (les lectures déjà reçues sont écartées par leur séquence).
+ */
+public final class GatewayProtocol {
+
+    public static final short MAGIC = 0x504B;
+    public static final byte VERSION = 1;
+    public static final byte TYPE_BATCH = 1;
+    public static final byte TYPE_ACK = 2;
+    public static final short ACK_OK = 0;
+    public static final short ACK_RETRY = 1;
+
+    public static final int HEADER_BYTES = 24;
+    public static final int FRAME_BYTES = 24;
+    public static final int MAX_UDP_PAYLOAD = 65_507;
+    public static final int MAX_UDP_FRAMES = (MAX_UDP_PAYLOAD - HEADER_BYTES) / FRAME_BYTES;
+
+    private static final byte FLAG_OCCUPIED = 1;
+
+    private GatewayProtocol() {
+    }
+
+    public static void putHeader(ByteBuffer out, byte type, int count, short status, int gatewayId, long batchSequence) {
+        out.putShort(MAGIC)
+                .put(VERSION)
+                .put(type)
+                .putShort((short) count)
+                .putShort(status)
+                .putInt(gatewayId)
+                .putLong(batchSequence)
+                .putInt(0);
+    }
+
+    public static void putFrame(ByteBuffer out, int sensorIndex, boolean occupied, long epochMillis, long sequence) {
+        out.putInt(sensorIndex)
+                .put(occupied ? FLAG_OCCUPIED : 0)
+                .put((byte) 0).put((byte) 0).put((byte) 0)
+                .putLong(epochMillis)
+                .putLong(sequence);
+    }
+
+    // ------------------------------------------------------------------------
+    // Lecture absolue : aucune copie, la position du tampon n'est pas modifiée
+    // ------------------------------------------------------------------------
+
+    public static boolean isHeader(ByteBuffer in, int offset, byte type) {
+        return in.getShort(offset) == MAGIC && in.get(offset + 2) == VERSION && in.get(offset + 3) == type;
+    }
+
+    public static int count(ByteBuffer in, int offset) {
+        return in.getShort(offset + 4) & 0xFFFF;
+    }
+
+    public static short status(ByteBuffer in, int offset) {
+        return in.getShort(offset + 6);
+    }
+
+    public static int gatewayId(ByteBuffer in, int offset) {
+        return in.getInt(offset + 8);
+    }
+
+    public static long batchSequence(ByteBuffer in, int offset) {
+        return in.getLong(offset + 12);
+    }
+
+    public static int batchBytes(int count) {
+        return HEADER_BYTES + count * FRAME_BYTES;
+    }
+
+    public static long sensorIndex(ByteBuffer in, int frameOffset) {
+        return in.getInt(frameOffset) & 0xFFFF_FFFFL;
+    }
+
+    public static boolean occupied(ByteBuffer in, int frameOffset) {
+        return (in.get(frameOffset + 4) & FLAG_OCCUPIED) != 0;
+    }
+
+    public static long epochMillis(ByteBuffer in, int frameOffset) {
+        return in.getLong(frameOffset + 8);
+    }
+
+    public static long sequence(ByteBuffer in, int frameOffset) {
+        return in.getLong(frameOffset + 16);
+    }
+}
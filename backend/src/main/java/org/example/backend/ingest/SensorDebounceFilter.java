@@ -0,0 +1,327 @@
+package org.example.backend.ingest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.config.SensorDebounceProperties;
+import org.example.backend.metrics.ParkingMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Anti-rebond des capteurs magnétiques : pendant une manœuvre un capteur alterne occupied / free
+ * plusieurs fois. Une lecture qui s'écarte de l'état confirmé ouvre un épisode ; l'épisode se referme
+ * quand la dernière lecture est restée stable pendant le délai de confirmation (plus long pour
+ * "free" que pour "occupied" : hystérésis). Seule la transition confirmée est transmise, datée de
+ * la première lecture de l'épisode : la session démarre à l'arrivée réelle du véhicule.
+ *
+ * Placé derrière le journal local, dans le thread d'application (DetectionLogApplier) : chaque lecture
+ * est durable avant d'être filtrée. Un épisode en cours retient le checkpoint à la séquence de sa
+ * première lecture ({@link #heldSequence()}) ; après un arrêt brutal le journal est relu depuis là
+ * et l'épisode reconstruit, rien n'est perdu. Utilisé par ce seul thread : aucun verrou.
+ *
+ * État par capteur en tableaux primitifs indexés, échéances dans une roue temporelle (liste chaînée
+ * intrusive par case, annulation paresseuse : une relecture ne fait que repousser l'échéance).
+ * L'heure est fournie par l'appelant. Au-delà de max-sensors capteurs les tableaux ne grossissent plus :
+ * les lectures des nouveaux capteurs passent sans anti-rebond.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorDebounceFilter {
+
+    private static final byte UNKNOWN = DetectionFrame.STATUS_INVALID;
+    private static final byte OCCUPIED = DetectionFrame.STATUS_OCCUPIED;
+    private static final byte FREE = DetectionFrame.STATUS_FREE;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    private static final long NO_SEQUENCE = Long.MAX_VALUE;
+    private static final int NIL = -1;
+
+    private final SensorDebounceProperties properties;
+    private final ParkingMetrics parkingMetrics;
+
+    // Index d'un capteur dans les tableaux ci-dessous
+    private final Map<String, Integer> sensorIndex = new HashMap<>();
+    private int sensorCount;
+    private String[] sensorIds = new String[0];
+    private byte[] confirmed = new byte[0];
+    // UNKNOWN : pas d'épisode en cours
+    private byte[] candidate = new byte[0];
+    private long[] deadlines = new long[0];
+    private int[] edges = new int[0];
+    // Horodatage (millisecondes locales) et séquence du journal de la première lecture de l'épisode
+    private long[] firstEdgeMillis = new long[0];
+    private long[] firstEdgeSequences = new long[0];
+    // Heure locale d'ouverture de l'épisode : au-delà de max-episode-ms l'échéance n'est plus repoussée
+    private long[] openedAtMillis = new long[0];
+
+    // Épisodes dans l'ordre d'ouverture (file circulaire, entrées périmées ignorées en tête) :
+    // la tête valide donne la plus ancienne séquence retenue
+    private long[] openedSequences = new long[16];
+    private int[] openedSensors = new int[16];
+    private int openedHead;
+    private int openedSize;
+
+    // Roue temporelle : tête de liste par case, chaînage par capteur
+    private int[] slotHeads;
+    private int[] nextInSlot = new int[0];
+    private boolean[] linked = new boolean[0];
+    private long processedTick;
+    private boolean fullReported;
+
+    /**
+     * Prépare la roue ; faux si l'anti-rebond est désactivé. Appelé par le thread d'application au démarrage.
+     */
+    public boolean start(long nowMillis) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        if (Integer.bitCount(properties.getWheelSize()) != 1) {
+            throw new IllegalStateException("sensor-debounce.wheel-size doit être une puissance de 2");
+        }
+        slotHeads = new int[properties.getWheelSize()];
+        Arrays.fill(slotHeads, NIL);
+        processedTick = tickOf(nowMillis);
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return slotHeads != null;
+    }
+
+    public long tickMs() {
+        return properties.getTickMs();
+    }
+
+    /**
+     * Vrai si la lecture journalisée {@code sequence} est retenue (épisode ouvert ou prolongé) ou écartée
+     * (répétition de l'état confirmé). Faux si elle n'est pas filtrable (statut ou horodatage illisible) :
+     * elle doit être appliquée telle quelle.
+     */
+    public boolean offer(ParkingDetectionRequest request, long sequence, long nowMillis) {
+        long timestampMillis = DetectionTimestamps.parse(request.getTimestamp());
+        if (timestampMillis == DetectionTimestamps.INVALID) {
+            // Horodatage illisible : le service de détection applique son repli habituel
+            return false;
+        }
+        return offer(request.getSensorId(), DetectionFrame.parseStatus(request.getStatus()), timestampMillis,
+                sequence, nowMillis);
+    }
+
+    public boolean offer(String sensorId, byte status, long timestampMillis, long sequence, long nowMillis) {
+        if (status == UNKNOWN || sensorId == null) {
+            return false;
+        }
+        int i = indexOf(sensorId);
+        if (i == NIL) {
+            return false;
+        }
+        if (candidate[i] == UNKNOWN) {
+            if (status == confirmed[i]) {
+                // Répétition de l'état confirmé (relecture, heartbeat) : rien à faire
+                parkingMetrics.debounce("suppressed", 1);
+                return true;
+            }
+            firstEdgeMillis[i] = timestampMillis;
+            firstEdgeSequences[i] = sequence;
+            openedAtMillis[i] = nowMillis;
+            edges[i] = 0;
+            opened(i, sequence);
+        }
+        candidate[i] = status;
+        edges[i]++;
+        // Capteur qui bat sans fin : l'épisode est tranché à l'échéance en cours, le checkpoint n'est pas retenu indéfiniment
+        if (nowMillis - openedAtMillis[i] < properties.getMaxEpisodeMs()) {
+            schedule(i, nowMillis + (status == OCCUPIED ? properties.getOccupiedSettleMs() : properties.getFreeSettleMs()));
+        }
+        return true;
+    }
+
+    /**
+     * Fait avancer la roue jusqu'à {@code nowMillis} et ajoute les transitions confirmées à {@code transitions}.
+     * Leurs épisodes cessent aussitôt de retenir le checkpoint : l'appelant les applique avant de l'avancer.
+     */
+    public void expire(long nowMillis, List<ParkingDetectionRequest> transitions) {
+        long currentTick = tickOf(nowMillis);
+        // Rattrape les ticks manqués (GC, base lente) sans refaire plus d'un tour de roue
+        long from = Math.max(processedTick + 1, currentTick - slotHeads.length + 1);
+        for (long t = from; t <= currentTick; t++) {
+            // Avant l'expiration : une échéance repoussée est rangée au plus tôt au tick suivant
+            processedTick = t;
+            expireSlot((int) (t & (slotHeads.length - 1)), nowMillis, transitions);
+        }
+    }
+
+    /**
+     * Plus ancienne séquence du journal encore retenue par un épisode ouvert, ou Long.MAX_VALUE.
+     */
+    public long heldSequence() {
+        while (openedSize > 0) {
+            int i = openedSensors[openedHead];
+            long sequence = openedSequences[openedHead];
+            if (candidate[i] != UNKNOWN && firstEdgeSequences[i] == sequence) {
+                return sequence;
+            }
+            openedHead = (openedHead + 1) % openedSequences.length;
+            openedSize--;
+        }
+        return NO_SEQUENCE;
+    }
+
+    /**
+     * Amorce l'état confirmé avec le statut persisté des places (true = libre), au démarrage et après
+     * {@link #reset()} : une lecture rejouée qui répète une transition déjà appliquée est écartée au lieu
+     * d'ouvrir un épisode. Un capteur absent reste inconnu.
+     */
+    public void seed(Map<String, Boolean> statuses) {
+        if (!isEnabled()) {
+            return;
+        }
+        statuses.forEach((sensorId, free) -> {
+            int i = indexOf(sensorId);
+            if (i != NIL && free != null) {
+                confirmed[i] = free ? FREE : OCCUPIED;
+            }
+        });
+    }
+
+    /**
+     * Oublie les épisodes en cours et l'état confirmé : le thread d'application relit le journal
+     * depuis le checkpoint, qui précède toutes leurs lectures, et les reconstruit après un nouvel amorçage ({@link #seed}).
+     */
+    public void reset() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < sensorCount; i++) {
+            confirmed[i] = UNKNOWN;
+            candidate[i] = UNKNOWN;
+            deadlines[i] = NO_DEADLINE;
+            linked[i] = false;
+        }
+        Arrays.fill(slotHeads, NIL);
+        openedSize = 0;
+    }
+
+    // ------------------------------------------------------------------------
+    // Roue temporelle
+    // ------------------------------------------------------------------------
+
+    private void expireSlot(int slot, long now, List<ParkingDetectionRequest> transitions) {
+        int i = slotHeads[slot];
+        slotHeads[slot] = NIL;
+        while (i != NIL) {
+            int next = nextInSlot[i];
+            linked[i] = false;
+            if (deadlines[i] != NO_DEADLINE) {
+                if (deadlines[i] <= now) {
+                    settle(i, transitions);
+                } else {
+                    // Échéance repoussée depuis l'insertion : on la range dans sa nouvelle case
+                    link(i);
+                }
+            }
+            i = next;
+        }
+    }
+
+    private void schedule(int i, long deadline) {
+        deadlines[i] = deadline;
+        if (!linked[i]) {
+            link(i);
+        }
+    }
+
+    private void link(int i) {
+        long tick = Math.max(tickOf(deadlines[i]), processedTick + 1);
+        int slot = (int) (tick & (slotHeads.length - 1));
+        nextInSlot[i] = slotHeads[slot];
+        slotHeads[slot] = i;
+        linked[i] = true;
+    }
+
+    private long tickOf(long millis) {
+        return millis / properties.getTickMs();
+    }
+
+    // ------------------------------------------------------------------------
+    // Épisodes
+    // ------------------------------------------------------------------------
+
+    private void opened(int i, long sequence) {
+        if (openedSize == openedSequences.length) {
+            long[] sequences = new long[openedSize * 2];
+            int[] sensors = new int[openedSize * 2];
+            for (int k = 0; k < openedSize; k++) {
+                int from = (openedHead + k) % openedSequences.length;
+                sequences[k] = openedSequences[from];
+                sensors[k] = openedSensors[from];
+            }
+            openedSequences = sequences;
+            openedSensors = sensors;
+            openedHead = 0;
+        }
+        int tail = (openedHead + openedSize) % openedSequences.length;
+        openedSequences[tail] = sequence;
+        openedSensors[tail] = i;
+        openedSize++;
+    }
+
+    private void settle(int i, List<ParkingDetectionRequest> transitions) {
+        if (candidate[i] != confirmed[i]) {
+            ParkingDetectionRequest transition = new ParkingDetectionRequest();
+            transition.setSensorId(sensorIds[i]);
+            transition.setStatus(candidate[i] == OCCUPIED ? "occupied" : "free");
+            transition.setTimestamp(DetectionTimestamps.format(firstEdgeMillis[i]));
+            transitions.add(transition);
+            confirmed[i] = candidate[i];
+            parkingMetrics.debounce("confirmed", 1);
+            parkingMetrics.debounce("suppressed", edges[i] - 1);
+        } else {
+            parkingMetrics.debounce("suppressed", edges[i]);
+        }
+        candidate[i] = UNKNOWN;
+        deadlines[i] = NO_DEADLINE;
+        edges[i] = 0;
+    }
+
+    private int indexOf(String sensorId) {
+        Integer existing = sensorIndex.get(sensorId);
+        if (existing != null) {
+            return existing;
+        }
+        if (sensorCount >= properties.getMaxSensors()) {
+            if (!fullReported) {
+                fullReported = true;
+                log.warn("Sensor debounce table full ({} sensors), new sensors are not debounced", sensorCount);
+            }
+            return NIL;
+        }
+        int i = sensorCount++;
+        if (i == sensorIds.length) {
+            int capacity = Math.min(Math.max(16, i * 2), properties.getMaxSensors());
+            sensorIds = Arrays.copyOf(sensorIds, capacity);
+            confirmed = Arrays.copyOf(confirmed, capacity);
+            candidate = Arrays.copyOf(candidate, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            edges = Arrays.copyOf(edges, capacity);
+            firstEdgeMillis = Arrays.copyOf(firstEdgeMillis, capacity);
+            firstEdgeSequences = Arrays.copyOf(firstEdgeSequences, capacity);
+            openedAtMillis = Arrays.copyOf(openedAtMillis, capacity);
+            nextInSlot = Arrays.copyOf(nextInSlot, capacity);
+            linked = Arrays.copyOf(linked, capacity);
+        }
+
+        sensorIds[i] = sensorId;
+        confirmed[i] = UNKNOWN;
+        candidate[i] = UNKNOWN;
+        deadlines[i] = NO_DEADLINE;
+        nextInSlot[i] = NIL;
+        sensorIndex.put(sensorId, i);
+        return i;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.backend.ingest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.SensorIndexDTO;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Id de place -> identifiant de capteur, pour les passerelles binaires (GatewayProtocol) qui
+ * désignent un capteur par un entier. Tableaux triés, recherche dichotomique sans allocation ;
+ * chargé au premier usage, rechargé quand les zones changent ou qu'un id inconnu arrive
+ * (au plus une fois toutes les REFRESH_INTERVAL_MS : une passerelle mal configurée ne doit pas marteler la base).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorDirectory {
+
+    private static final long REFRESH_INTERVAL_MS = 30_000;
+
+    private final ParkingSpotRepository spotRepository;
+
+    private record Table(long[] spotIds, String[] sensorIds) {}
+
+    private volatile Table table;
+    private volatile boolean stale = true;
+    private long lastRefreshMillis;
+
+    @EventListener
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        stale = true;
+    }
+
+    /**
+     * Capteur de la place, ou null si la place n'existe pas ou n'a pas de capteur.
+     */
+    public String sensorId(long spotId) {
+        if (stale) {
+            refresh(true);
+        }
+        String sensorId = lookup(table, spotId);
+        if (sensorId == null && refresh(false)) {
+            sensorId = lookup(table, spotId);
+        }
+        return sensorId;
+    }
+
+    private synchronized boolean refresh(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - lastRefreshMillis < REFRESH_INTERVAL_MS) {
+            return false;
+        }
+        if (force && !stale) {
+            // Rechargé par un autre thread entre-temps
+            return true;
+        }
+        stale = false;
+        lastRefreshMillis = now;
+
+        List<SensorIndexDTO> rows = spotRepository.findSensorIndex();
+        long[] spotIds = new long[rows.size()];
+        String[] sensorIds = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            spotIds[i] = rows.get(i).spotId();
+            sensorIds[i] = rows.get(i).sensorId();
+        }
+        table = new Table(spotIds, sensorIds);
+        log.info("Sensor directory loaded: {} sensors", spotIds.length);
+        return true;
+    }
+
+    private static String lookup(Table table, long spotId) {
+        if (table == null) {
+            return null;
+        }
+        int i = Arrays.binarySearch(table.spotIds(), spotId);
+        return i >= 0 ? table.sensorIds()[i] : null;
+    }
+}
@@ -0,0 +1,279 @@
+package org.example.backend.ingest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.SensorGatewayProperties;
+import org.example.backend.metrics.ParkingMetrics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passerelle binaire des capteurs (format GatewayProtocol) : un thread, un Selector, UDP et/ou TCP.
+ * Les lectures sont décodées directement dans les tampons directs de réception (aucune copie),
+ * traduites en DetectionFrame réutilisées puis passées par lot au DetectionPipeline : le lot entier
+ * est journalisé avec un seul fsync, puis acquitté. Le fsync est attendu sur le thread du Selector ;
+ * pendant ce temps les lectures s'accumulent dans les tampons du noyau (SO_RCVBUF).
+ *
+ * Désactivée par défaut (sensor-gateway.enabled) ; générateur de lectures local :
+ * src/loadtest/java/.../SensorFrameGenerator.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorGateway {
+
+    private final SensorGatewayProperties properties;
+    private final DetectionPipeline detectionPipeline;
+    private final SensorDirectory sensorDirectory;
+    private final ParkingMetrics parkingMetrics;
+
+    private Selector selector;
+    private DatagramChannel udp;
+    private ServerSocketChannel tcp;
+    private Thread worker;
+    private volatile boolean running;
+
+    // Utilisés par le seul thread de la passerelle, réutilisés d'un lot à l'autre
+    private ByteBuffer datagram;
+    private final ByteBuffer ack = ByteBuffer.allocateDirect(GatewayProtocol.HEADER_BYTES);
+    private DetectionFrame[] frames;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int maxFrames = properties.getMaxBatchFrames();
+        if (maxFrames < 1 || maxFrames > GatewayProtocol.MAX_UDP_FRAMES) {
+            throw new IllegalStateException("sensor-gateway.max-batch-frames doit être entre 1 et " + GatewayProtocol.MAX_UDP_FRAMES);
+        }
+        frames = new DetectionFrame[maxFrames];
+        for (int i = 0; i < maxFrames; i++) {
+            frames[i] = new DetectionFrame();
+        }
+        datagram = ByteBuffer.allocateDirect(GatewayProtocol.MAX_UDP_PAYLOAD);
+
+        selector = Selector.open();
+        if (properties.getUdpPort() > 0) {
+            udp = DatagramChannel.open();
+            udp.setOption(StandardSocketOptions.SO_RCVBUF, properties.getReceiveBufferKb() * 1024);
+            udp.bind(new InetSocketAddress(properties.getBindAddress(), properties.getUdpPort()));
+            udp.configureBlocking(false);
+            udp.register(selector, SelectionKey.OP_READ);
+        }
+        if (properties.getTcpPort() > 0) {
+            tcp = ServerSocketChannel.open();
+            tcp.bind(new InetSocketAddress(properties.getBindAddress(), properties.getTcpPort()));
+            tcp.configureBlocking(false);
+            tcp.register(selector, SelectionKey.OP_ACCEPT);
+        }
+
+        running = true;
+        worker = Thread.ofPlatform().name("sensor-gateway").daemon().start(this::selectLoop);
+        log.info("Sensor gateway listening on {} (udp {}, tcp {}), batches up to {} frames",
+                properties.getBindAddress(), properties.getUdpPort(), properties.getTcpPort(), maxFrames);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Sensor gateway select loop failed", e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws InterruptedException {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+            } else if (key.channel() == udp) {
+                receiveDatagrams();
+            } else {
+                readConnection(key);
+            }
+        } catch (IOException e) {
+            if (key.channel() instanceof SocketChannel) {
+                close(key, e.getMessage());
+            } else {
+                log.error("Sensor gateway I/O error", e);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Transports
+    // ------------------------------------------------------------------------
+
+    private void receiveDatagrams() throws IOException, InterruptedException {
+        SocketAddress sender;
+        while ((sender = udp.receive(datagram.clear())) != null) {
+            int length = datagram.position();
+            if (length < GatewayProtocol.HEADER_BYTES || !isBatchHeader(datagram, 0)
+                    || GatewayProtocol.batchBytes(GatewayProtocol.count(datagram, 0)) > length) {
+                parkingMetrics.gatewayBatch("malformed");
+                log.debug("Malformed datagram ({} bytes) from {}", length, sender);
+                continue;
+            }
+            handleBatch(datagram, 0);
+            udp.send(ack, sender);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = tcp.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        // Tampon de réception par connexion : un lot complet au plus
+        channel.register(selector, SelectionKey.OP_READ,
+                ByteBuffer.allocateDirect(GatewayProtocol.batchBytes(properties.getMaxBatchFrames())));
+        log.info("Sensor gateway connected from {}", channel.getRemoteAddress());
+    }
+
+    private void readConnection(SelectionKey key) throws IOException, InterruptedException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer in = (ByteBuffer) key.attachment();
+        if (channel.read(in) < 0) {
+            close(key, "closed by gateway");
+            return;
+        }
+
+        int offset = 0;
+        while (in.position() - offset >= GatewayProtocol.HEADER_BYTES) {
+            if (!isBatchHeader(in, offset)) {
+                parkingMetrics.gatewayBatch("malformed");
+                close(key, "malformed batch header");
+                return;
+            }
+            int batchBytes = GatewayProtocol.batchBytes(GatewayProtocol.count(in, offset));
+            if (in.position() - offset < batchBytes) {
+                break;
+            }
+            handleBatch(in, offset);
+            channel.write(ack);
+            if (ack.hasRemaining()) {
+                // La passerelle ne lit plus ses acks : on coupe plutôt que de bufferiser sans fin
+                close(key, "gateway not reading acks");
+                return;
+            }
+            offset += batchBytes;
+        }
+        // Le lot incomplet éventuel repasse en tête du tampon
+        in.flip().position(offset);
+        in.compact();
+    }
+
+    private void close(SelectionKey key, String reason) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            log.debug("Failed to close gateway connection", e);
+        }
+        log.info("Sensor gateway connection closed: {}", reason);
+    }
+
+    // ------------------------------------------------------------------------
+    // Lots
+    // ------------------------------------------------------------------------
+
+    private boolean isBatchHeader(ByteBuffer in, int offset) {
+        return GatewayProtocol.isHeader(in, offset, GatewayProtocol.TYPE_BATCH)
+                && GatewayProtocol.count(in, offset) <= frames.length;
+    }
+
+    // Décode le lot à offset, le transmet au pipeline et prépare l'ack dans {@code ack}
+    private void handleBatch(ByteBuffer in, int offset) throws InterruptedException {
+        int count = GatewayProtocol.count(in, offset);
+        int gatewayId = GatewayProtocol.gatewayId(in, offset);
+        long batchSequence = GatewayProtocol.batchSequence(in, offset);
+
+        int decoded = 0;
+        int unknown = 0;
+        for (int i = 0; i < count; i++) {
+            int at = offset + GatewayProtocol.HEADER_BYTES + i * GatewayProtocol.FRAME_BYTES;
+            String sensorId = sensorDirectory.sensorId(GatewayProtocol.sensorIndex(in, at));
+            if (sensorId == null) {
+                unknown++;
+                continue;
+            }
+            DetectionFrame frame = frames[decoded++];
+            frame.sensorId = sensorId;
+            frame.status = GatewayProtocol.occupied(in, at) ? DetectionFrame.STATUS_OCCUPIED : DetectionFrame.STATUS_FREE;
+            long epochMillis = GatewayProtocol.epochMillis(in, at);
+            frame.timestampMillis = epochMillis > 0
+                    ? DetectionTimestamps.fromEpochMillis(epochMillis)
+                    : DetectionTimestamps.nowLocal();
+            long sequence = GatewayProtocol.sequence(in, at);
+            frame.sequence = sequence >= 0 ? sequence : DetectionFrame.NO_SEQUENCE;
+        }
+        if (unknown > 0) {
+            // Compté dans parking.gateway.frames{outcome=unknown_sensor} ; renvoyé à la passerelle dans l'ack
+            log.debug("Batch {} from gateway {}: {} frames for unknown sensors", batchSequence, gatewayId, unknown);
+        }
+
+        short status;
+        try {
+            int journaled = detectionPipeline.enqueueBatch(frames, decoded);
+            parkingMetrics.gatewayFrames("journaled", journaled);
+            parkingMetrics.gatewayFrames("filtered", decoded - journaled);
+            parkingMetrics.gatewayFrames("unknown_sensor", unknown);
+            parkingMetrics.gatewayBatch("acked");
+            status = GatewayProtocol.ACK_OK;
+        } catch (RuntimeException e) {
+            // Journal fermé ou base indisponible : la passerelle renverra le même lot
+            log.warn("Batch {} from gateway {} not journaled, asking for retry: {}", batchSequence, gatewayId, e.getMessage());
+            parkingMetrics.gatewayBatch("retry");
+            status = GatewayProtocol.ACK_RETRY;
+        }
+
+        ack.clear();
+        GatewayProtocol.putHeader(ack, GatewayProtocol.TYPE_ACK, unknown, status, gatewayId, batchSequence);
+        ack.flip();
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.backend.ingest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.metrics.ParkingMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plus grand numéro de séquence accepté par capteur. Une lecture dont la séquence ne dépasse pas
+ * ce seuil est un doublon (réémission d'une passerelle) ou arrive après une lecture plus récente :
+ * elle est écartée avant tout accès à la base.
+ *
+ * Table à adressage ouvert (clés String, valeurs long sans boxing), sondage linéaire.
+ * Les seuils ne sont pas persistés : après un redémarrage, la première lecture de chaque capteur est acceptée.
+ * Au-delà de max-sensors capteurs la table ne grossit plus : les nouveaux capteurs sont acceptés sans
+ * déduplication (des identifiants arbitraires ne doivent pas épuiser la mémoire).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorSequenceWatermarks {
+
+    public enum Verdict { ACCEPTED, DUPLICATE, STALE }
+
+    // Seuil d'un capteur jamais vu (ou remis à cet état par rewind) : toute séquence est acceptée
+    public static final long NO_WATERMARK = Long.MIN_VALUE;
+
+    private final ParkingMetrics parkingMetrics;
+
+    // Écart au-delà duquel une séquence plus petite est un redémarrage du capteur (compteur remis à zéro)
+    @Value("${sensor-sequence.reset-gap:100000}")
+    private long resetGap;
+
+    // Capteurs suivis au plus
+    @Value("${sensor-sequence.max-sensors:262144}")
+    private int maxSensors = 262_144;
+
+    private String[] keys = new String[1024];
+    private long[] watermarks = new long[1024];
+    private int size;
+    private boolean fullReported;
+
+    public Verdict check(String sensorId, Long sequence) {
+        return check(sensorId, sequence != null ? sequence : DetectionFrame.NO_SEQUENCE);
+    }
+
+    public Verdict check(String sensorId, long sequence) {
+        return check(sensorId, sequence, null, 0);
+    }
+
+    /**
+     * Comme {@link #check(String, long)} ; une lecture acceptée range dans {@code previous[index]} le seuil
+     * qu'elle remplace, à rendre à {@link #rewind(String, long, long)} si elle ne peut pas être journalisée.
+     */
+    public Verdict check(String sensorId, long sequence, long[] previous, int index) {
+        if (sensorId == null || sequence == DetectionFrame.NO_SEQUENCE) {
+            // Capteur sans numérotation : pas de déduplication possible
+            return Verdict.ACCEPTED;
+        }
+        Verdict verdict = advance(sensorId, sequence, previous, index);
+        if (verdict != Verdict.ACCEPTED) {
+            parkingMetrics.detectionDropped(verdict == Verdict.DUPLICATE ? "duplicate" : "stale");
+        }
+        return verdict;
+    }
+
+    /**
+     * Annule l'acceptation d'une lecture qui n'a pas pu être journalisée en rétablissant le seuil qu'elle
+     * avait remplacé : renvoyée par son émetteur, elle sera de nouveau acceptée. Sans effet si une séquence
+     * plus récente est arrivée entre-temps.
+     */
+    public synchronized void rewind(String sensorId, long sequence, long previous) {
+        if (sensorId == null || sequence == DetectionFrame.NO_SEQUENCE) {
+            return;
+        }
+        int slot = slotOf(sensorId, keys);
+        if (keys[slot] != null && watermarks[slot] == sequence) {
+            watermarks[slot] = previous;
+        }
+    }
+
+    private synchronized Verdict advance(String sensorId, long sequence, long[] previous, int index) {
+        int slot = slotOf(sensorId, keys);
+        if (keys[slot] == null) {
+            if (previous != null) {
+                previous[index] = NO_WATERMARK;
+            }
+            if (size >= maxSensors) {
+                if (!fullReported) {
+                    fullReported = true;
+                    log.warn("Sensor sequence table full ({} sensors), new sensors are not deduplicated", maxSensors);
+                }
+                return Verdict.ACCEPTED;
+            }
+            keys[slot] = sensorId;
+            watermarks[slot] = sequence;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return Verdict.ACCEPTED;
+        }
+
+        long watermark = watermarks[slot];
+        if (sequence > watermark || (watermark != NO_WATERMARK && watermark - sequence > resetGap)) {
+            watermarks[slot] = sequence;
+            if (previous != null) {
+                previous[index] = watermark;
+            }
+            return Verdict.ACCEPTED;
+        }
+        return sequence == watermark ? Verdict.DUPLICATE : Verdict.STALE;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        long[] oldWatermarks = watermarks;
+        keys = new String[oldKeys.length * 2];
+        watermarks = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slotOf(oldKeys[i], keys);
+                keys[slot] = oldKeys[i];
+                watermarks[slot] = oldWatermarks[i];
+            }
+        }
+    }
+
+    private static int slotOf(String sensorId, String[] table) {
+        int mask = table.length - 1;
+        int h = sensorId.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (table[slot] != null && !table[slot].equals(sensorId)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
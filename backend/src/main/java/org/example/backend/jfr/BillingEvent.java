@@ -0,0 +1,53 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.example.backend.entities.ParkingSession;
+
+import java.math.BigDecimal;
+
+// Facturation d'une session à la sortie (capteur ou check-out manuel)
+
+@Name("org.example.backend.Billing")
+@Label("Billing")
+@Category({"Parking", "Billing"})
+@Description("Calcul du coût et clôture d'une session de stationnement")
+@StackTrace(false)
+public class BillingEvent extends Event {
+
+    // "sensor" (handleCarExit) ou "manual" (checkOutManual)
+    @Label("Source")
+    public String source;
+
+    @Label("Session Id")
+    public long sessionId;
+
+    @Label("Spot Id")
+    public long spotId;
+
+    @Label("Parked Minutes")
+    public long parkedMinutes;
+
+    @Label("Hourly Rate")
+    public double hourlyRate;
+
+    @Label("Total Cost")
+    public double totalCost;
+
+    public void complete(ParkingSession session, long minutes, BigDecimal rate) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        sessionId = session.getId() != null ? session.getId() : -1;
+        spotId = session.getSpot() != null && session.getSpot().getId() != null ? session.getSpot().getId() : -1;
+        parkedMinutes = minutes;
+        hourlyRate = rate != null ? rate.doubleValue() : 0;
+        totalCost = session.getTotalCost() != null ? session.getTotalCost().doubleValue() : 0;
+        commit();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Traitement d'un message Kafka de réclamation (parsing + écriture en base)
+
+@Name("org.example.backend.ClaimKafkaMessage")
+@Label("Claim Kafka Message")
+@Category({"Parking", "Claims"})
+@Description("Traitement d'un message Kafka de réclamation")
+@StackTrace(false)
+public class ClaimKafkaEvent extends Event {
+
+    @Label("Message Type")
+    public String messageType;
+
+    @Label("Claim Id")
+    public String claimId;
+
+    @Label("Payload Size")
+    @DataAmount
+    public long payloadBytes;
+
+    @Label("Outcome")
+    public String outcome;
+}
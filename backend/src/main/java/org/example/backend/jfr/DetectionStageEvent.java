@@ -0,0 +1,31 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Une étape du traitement d'une détection capteur (durée = begin/end de l'événement)
+
+@Name("org.example.backend.DetectionStage")
+@Label("Detection Stage")
+@Category({"Parking", "Detection"})
+@Description("Étape du traitement d'une détection capteur")
+@StackTrace(false)
+public class DetectionStageEvent extends Event {
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Sensor Id")
+    public String sensorId;
+
+    // -1 si la place n'est pas encore résolue
+    @Label("Spot Id")
+    public long spotId;
+
+    @Label("Outcome")
+    public String outcome;
+}
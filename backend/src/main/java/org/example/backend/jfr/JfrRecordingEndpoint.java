@@ -0,0 +1,104 @@
+package org.example.backend.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Enregistrement JFR à la demande, sans agent, via JMX (org.springframework.boot:type=Endpoint,name=Jfr) :
+ * start(durationSeconds) démarre, stop() arrête et écrit le fichier, status() donne l'état.
+ * Pas d'accès HTTP : l'opération écrit sur le disque du serveur et l'API n'a pas de rôle admin
+ * (SecurityConfig refuse /actuator/jfr). Durée et taille sont plafonnées par la configuration.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private final long maxDurationSeconds;
+    private final long maxSizeMb;
+    private final Path directory;
+
+    private Recording recording;
+    private Path destination;
+
+    public JfrRecordingEndpoint(@Value("${jfr.recording.max-duration-seconds:300}") long maxDurationSeconds,
+                                @Value("${jfr.recording.max-size-mb:100}") long maxSizeMb,
+                                @Value("${jfr.recording.directory:jfr-recordings}") String directory) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeMb = maxSizeMb;
+        this.directory = Path.of(directory);
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("name", recording.getName());
+            status.put("startTime", recording.getStartTime());
+            status.put("duration", recording.getDuration());
+        }
+        status.put("file", destination != null ? destination.toAbsolutePath().toString() : null);
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long durationSeconds) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Un enregistrement JFR est déjà en cours: " + recording.getName());
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        long seconds = durationSeconds != null && durationSeconds > 0
+                ? Math.min(durationSeconds, maxDurationSeconds)
+                : maxDurationSeconds;
+
+        Files.createDirectories(directory);
+        String name = "parking-" + Instant.now().toEpochMilli();
+        destination = directory.resolve(name + ".jfr");
+
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName(name);
+        recording.enable(DetectionStageEvent.class);
+        recording.enable(BillingEvent.class);
+        recording.enable(ClaimKafkaEvent.class);
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        // Avec une destination, JFR écrit le fichier à l'arrêt (manuel ou fin de durée)
+        recording.setDuration(Duration.ofSeconds(seconds));
+        recording.setDestination(destination);
+        recording.start();
+
+        log.info("JFR recording {} started for {}s -> {}", name, seconds, destination);
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording {} stopped -> {}", recording.getName(), destination);
+        }
+        return status();
+    }
+}
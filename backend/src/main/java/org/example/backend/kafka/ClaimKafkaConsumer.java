@@ -5,10 +5,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.DTO.ClaimCreatedDto;
 import org.example.backend.DTO.ClaimMessageDto;
+import org.example.backend.jfr.ClaimKafkaEvent;
 import org.example.backend.service.ClaimService;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j // Logger for logging information and errors Optional just to help in debugging
@@ -23,9 +26,16 @@ public class ClaimKafkaConsumer {
         log.info("RAW Kafka message received: {}", message);
         log.info("========================================");
 
+        ClaimKafkaEvent event = new ClaimKafkaEvent();
+        event.begin();
+        String messageType = null;
+        String claimId = null;
+        String outcome = "error";
+
         try {
             var jsonNode = objectMapper.readTree(message);
-            String messageType = jsonNode.path("messageType").asText();
+            messageType = jsonNode.path("messageType").asText();
+            claimId = jsonNode.path("claimId").asText(null);
 
             log.info("Message type detected: {}", messageType);
 
@@ -43,10 +53,20 @@ public class ClaimKafkaConsumer {
                 default:
                     log.warn("Unknown message type: {}", messageType);
             }
+            outcome = "success";
 
         } catch (Exception e) {
             log.error("ERROR processing Kafka message", e);
             e.printStackTrace();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.messageType = messageType;
+                event.claimId = claimId;
+                event.payloadBytes = message.getBytes(StandardCharsets.UTF_8).length;
+                event.outcome = outcome;
+                event.commit();
+            }
         }
     }
 
@@ -0,0 +1,105 @@
+package org.example.backend.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.ingest.DetectionFrame;
+import org.example.backend.ingest.SensorSequenceWatermarks;
+import org.example.backend.metrics.ParkingMetrics;
+import org.example.backend.service.ParkingDetectionService;
+import org.example.backend.wal.DetectionLogApplier;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lectures capteurs publiées sur parking.sensor-events (clé = sensorId, valeur = ParkingDetectionRequest en JSON).
+ * Toutes les lectures d'une place sont dans la même partition, lue par une seule instance du backend :
+ * l'ordre par place ne dépend plus de la répartition HTTP, et ajouter des instances répartit les partitions.
+ *
+ * Chaque lecture est appliquée dans sa propre transaction ; le conteneur ne commite les offsets du lot
+ * qu'au retour de cette méthode. Seule une base indisponible fait relire le lot depuis la lecture en échec ;
+ * une lecture en erreur pour elle-même (capteur inconnu, bug) est journalisée, comptée et sautée. Kafka tient lieu de journal : pas de DetectionLog ni d'anti-rebond
+ * (une transition différée serait commitée avant d'être en base), seule la déduplication par séquence s'applique.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SensorEventKafkaConsumer {
+
+    private final ParkingDetectionService detectionService;
+    private final SensorSequenceWatermarks sequenceWatermarks;
+    private final ObjectMapper objectMapper;
+    private final ParkingMetrics parkingMetrics;
+
+    @KafkaListener(id = "sensor-events",
+            topics = "${kafka.topic.sensor-events:parking.sensor-events}",
+            groupId = "${kafka.sensor-events.group-id:parking-service-sensors}",
+            containerFactory = "sensorEventListenerContainerFactory",
+            autoStartup = "${kafka.sensor-events.enabled:false}")
+    public void consume(List<ConsumerRecord<String, String>> records) {
+        long[] previous = new long[1];
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, String> record = records.get(i);
+            ParkingDetectionRequest request = parse(record);
+            if (request == null) {
+                parkingMetrics.sensorEvent("invalid");
+                continue;
+            }
+
+            long sequence = request.getSequence() != null ? request.getSequence() : DetectionFrame.NO_SEQUENCE;
+            if (sequenceWatermarks.check(request.getSensorId(), sequence, previous, 0) != SensorSequenceWatermarks.Verdict.ACCEPTED) {
+                parkingMetrics.sensorEvent("dropped");
+                continue;
+            }
+
+            ParkingDetectionResponse response;
+            try {
+                response = detectionService.handleDetection(request);
+            } catch (RuntimeException e) {
+                if (!DetectionLogApplier.isDatabaseUnavailable(e)) {
+                    // Erreur propre à la lecture : relue, elle échouerait de nouveau et bloquerait la partition
+                    log.error("Sensor event from {} at partition {} offset {} rejected, skipping",
+                            request.getSensorId(), record.partition(), record.offset(), e);
+                    parkingMetrics.sensorEvent("failed");
+                    continue;
+                }
+                // Base indisponible : la lecture sera relue, elle ne doit pas passer pour un doublon
+                sequenceWatermarks.rewind(request.getSensorId(), sequence, previous[0]);
+                parkingMetrics.sensorEvent("retry");
+                throw new BatchListenerFailedException("Detection from sensor " + request.getSensorId()
+                        + " not applied (partition " + record.partition() + ", offset " + record.offset() + ")", e, i);
+            }
+            // Capteur inconnu, statut invalide : réponse d'erreur du service, la lecture est sautée
+            parkingMetrics.sensorEvent("error".equals(response.getAction()) ? "rejected" : "applied");
+        }
+    }
+
+    private ParkingDetectionRequest parse(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            log.warn("Empty sensor event at partition {} offset {}", record.partition(), record.offset());
+            return null;
+        }
+        try {
+            ParkingDetectionRequest request = objectMapper.readValue(record.value(), ParkingDetectionRequest.class);
+            if (request.getSensorId() == null) {
+                // Producteur minimal : le capteur n'est que dans la clé
+                request.setSensorId(record.key());
+            } else if (record.key() != null && !record.key().equals(request.getSensorId())) {
+                log.warn("Sensor event key {} does not match sensorId {} (partition {} offset {})",
+                        record.key(), request.getSensorId(), record.partition(), record.offset());
+            }
+            return request.getSensorId() != null ? request : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable sensor event at partition {} offset {}: {}",
+                    record.partition(), record.offset(), e.getOriginalMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.backend.mappers;
+
+import org.example.backend.DTO.ClaimAttachmentDTO;
+import org.example.backend.DTO.ClaimDTO;
+import org.example.backend.DTO.ClaimMessageViewDTO;
+import org.example.backend.DTO.ClaimStatusHistoryDTO;
+import org.example.backend.entities.Claim;
+import org.example.backend.entities.ClaimAttachment;
+import org.example.backend.entities.ClaimMessage;
+import org.example.backend.entities.ClaimStatusHistory;
+import org.springframework.stereotype.Service;
+
+// Ne lit que les colonnes des entités : aucune association LAZY n'est touchée
+
+@Service
+public class ClaimMapper {
+
+    public ClaimDTO toDTO(Claim entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ClaimDTO.builder()
+                .id(entity.getId())
+                .messageId(entity.getMessageId())
+                .claimUuid(entity.getClaimUuid())
+                .claimNumber(entity.getClaimNumber())
+                .correlationUuid(entity.getCorrelationUuid())
+                .userId(entity.getUserId())
+                .userEmail(entity.getUserEmail())
+                .userName(entity.getUserName())
+                .userPhone(entity.getUserPhone())
+                .serviceType(entity.getServiceType())
+                .title(entity.getTitle())
+                .description(entity.getDescription())
+                .priority(entity.getPriority())
+                .address(entity.getAddress())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .zoneId(entity.getZoneId())
+                .extraData(entity.getExtraData())
+                .currentStatus(entity.getCurrentStatus())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+
+    public ClaimMessageViewDTO toDTO(ClaimMessage entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ClaimMessageViewDTO.builder()
+                .id(entity.getId())
+                .messageId(entity.getMessageId())
+                .messageType(entity.getMessageType())
+                .messageTimestamp(entity.getMessageTimestamp())
+                .senderType(entity.getSenderType())
+                .senderId(entity.getSenderId())
+                .senderName(entity.getSenderName())
+                .message(entity.getMessage())
+                .attachments(entity.getAttachments())
+                .serviceReference(entity.getServiceReference())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+
+    public ClaimStatusHistoryDTO toDTO(ClaimStatusHistory entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ClaimStatusHistoryDTO.builder()
+                .id(entity.getId())
+                .messageId(entity.getMessageId())
+                .messageTimestamp(entity.getMessageTimestamp())
+                .previousStatus(entity.getPreviousStatus())
+                .newStatus(entity.getNewStatus())
+                .reason(entity.getReason())
+                .assignedTo(entity.getAssignedTo())
+                .resolution(entity.getResolution())
+                .serviceReference(entity.getServiceReference())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+
+    public ClaimAttachmentDTO toDTO(ClaimAttachment entity) {
+        if (entity == null) {
+            return null;
+        }
+        return ClaimAttachmentDTO.builder()
+                .id(entity.getId())
+                .url(entity.getUrl())
+                .fileName(entity.getFileName())
+                .fileType(entity.getFileType())
+                .source(entity.getSource())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
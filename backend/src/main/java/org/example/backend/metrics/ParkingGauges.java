@@ -0,0 +1,90 @@
+package org.example.backend.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ZoneSpotCountDTO;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Jauges d'état du parking :
+ * - parking.sessions.active       : sessions ACTIVE (COUNT évalué à chaque scrape)
+ * - parking.zone.spots.free{zone} : places libres par zone, tenues à jour par SpotStatusChangedEvent
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingGauges {
+
+    private final MeterRegistry registry;
+    private final ParkingSessionRepository sessionRepository;
+    private final ParkingSpotRepository spotRepository;
+
+    private final Map<Long, AtomicLong> freeSpotsByZone = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        Gauge.builder("parking.sessions.active", sessionRepository,
+                        repository -> repository.countByStatus(SessionStatus.ACTIVE))
+                .description("Sessions de stationnement actives")
+                .register(registry);
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotStatusChanged(SpotStatusChangedEvent event) {
+        if (!event.changed() || event.zoneId() == null) {
+            return;
+        }
+        AtomicLong free = freeSpotsByZone.get(event.zoneId());
+        if (free != null) {
+            free.addAndGet(Boolean.TRUE.equals(event.newStatus()) ? 1 : -1);
+        }
+    }
+
+    public synchronized void rebuild() {
+        Set<Long> seen = new HashSet<>();
+        for (ZoneSpotCountDTO count : spotRepository.countSpotsPerZone()) {
+            seen.add(count.zoneId());
+            zoneGauge(count.zoneId()).set(count.freeSpots() != null ? count.freeSpots() : 0L);
+        }
+        // Zones supprimées ou vidées : la jauge reste enregistrée mais retombe à 0
+        freeSpotsByZone.forEach((zoneId, free) -> {
+            if (!seen.contains(zoneId)) {
+                free.set(0);
+            }
+        });
+        log.info("Free spot gauges refreshed for {} zones", seen.size());
+    }
+
+    private AtomicLong zoneGauge(Long zoneId) {
+        return freeSpotsByZone.computeIfAbsent(zoneId, id -> {
+            AtomicLong free = new AtomicLong();
+            Gauge.builder("parking.zone.spots.free", free, AtomicLong::get)
+                    .description("Places libres par zone")
+                    .tag("zone", String.valueOf(id))
+                    .register(registry);
+            return free;
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.backend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.jfr.DetectionStageEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Métriques du chemin critique détection / réservation.
+ * - parking.detection            : durée totale de handleDetection (type = entry|exit|error, driver = reservation|anonymous|unknown)
+ * - parking.detection.stage      : durée de chaque étape (recherche capteur, réservation, écriture session, ...)
+ * - parking.detection.errors     : détections en erreur, par cause (classe de l'exception)
+ * - parking.reservation          : durée des créations / annulations de réservation (outcome = success|error)
+ * - parking.detection.debounce   : lectures capteur après anti-rebond (outcome = confirmed|suppressed)
+ * - parking.detection.dropped    : lectures écartées par numéro de séquence (reason = duplicate|stale)
+ * - parking.gateway.frames       : lectures reçues des passerelles binaires (outcome = journaled|filtered|unknown_sensor)
+ * - parking.gateway.batches      : lots des passerelles binaires (outcome = acked|retry|malformed)
+ * - parking.kafka.sensor-events  : lectures du topic parking.sensor-events (outcome = applied|dropped|invalid|retry)
+ * Chaque étape émet aussi un événement JFR DetectionStageEvent (coût quasi nul hors enregistrement).
+ */
+@Component
+@RequiredArgsConstructor
+public class ParkingMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Counter> debounceCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> droppedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> gatewayFrameCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> gatewayBatchCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sensorEventCounters = new ConcurrentHashMap<>();
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void recordDetection(Timer.Sample sample, ParkingDetectionResponse response) {
+        String type = switch (String.valueOf(response.getAction())) {
+            case "entry_detected" -> "entry";
+            case "exit_detected" -> "exit";
+            default -> "error";
+        };
+        String driver;
+        if ("error".equals(type) || response.getHasReservation() == null) {
+            driver = "unknown";
+        } else {
+            driver = response.getHasReservation() ? "reservation" : "anonymous";
+        }
+
+        sample.stop(Timer.builder("parking.detection")
+                .description("Traitement d'une détection capteur")
+                .tag("type", type)
+                .tag("driver", driver)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void detectionError(Exception e) {
+        registry.counter("parking.detection.errors", "cause", e.getClass().getSimpleName()).increment();
+    }
+
+    public void debounce(String outcome, long count) {
+        if (count > 0) {
+            counter(debounceCounters, "parking.detection.debounce", "outcome", outcome).increment(count);
+        }
+    }
+
+    public void detectionDropped(String reason) {
+        counter(droppedCounters, "parking.detection.dropped", "reason", reason).increment();
+    }
+
+    public void gatewayFrames(String outcome, long count) {
+        if (count > 0) {
+            counter(gatewayFrameCounters, "parking.gateway.frames", "outcome", outcome).increment(count);
+        }
+    }
+
+    public void gatewayBatch(String outcome) {
+        counter(gatewayBatchCounters, "parking.gateway.batches", "outcome", outcome).increment();
+    }
+
+    public void sensorEvent(String outcome) {
+        counter(sensorEventCounters, "parking.kafka.sensor-events", "outcome", outcome).increment();
+    }
+
+    public <T> T stage(String stage, String sensorId, Long spotId, Supplier<T> action) {
+        DetectionStageEvent event = new DetectionStageEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(stageTimer(stage));
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.sensorId = sensorId;
+                event.spotId = spotId != null ? spotId : -1;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    public void stage(String stage, String sensorId, Long spotId, Runnable action) {
+        stage(stage, sensorId, spotId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T reservation(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(reservationTimer(operation, outcome));
+        }
+    }
+
+    public void reservation(String operation, Runnable action) {
+        reservation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Compteurs par lecture capteur : résolus une fois, puis sans allocation (registry.counter crée ses Tags à chaque appel)
+    private Counter counter(Map<String, Counter> cache, String name, String tag, String value) {
+        Counter counter = cache.get(value);
+        return counter != null ? counter : cache.computeIfAbsent(value, v -> registry.counter(name, tag, v));
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("parking.detection.stage")
+                .description("Étape du traitement d'une détection capteur")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer reservationTimer(String operation, String outcome) {
+        return Timer.builder("parking.reservation")
+                .description("Création / annulation de réservation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
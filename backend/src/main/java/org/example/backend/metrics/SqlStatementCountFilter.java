@@ -0,0 +1,64 @@
+package org.example.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Nombre de requêtes SQL émises par chaque appel /api :
+ * renvoyé dans l'en-tête X-SQL-Statement-Count et enregistré dans l'histogramme
+ * "http.server.requests.sql.statements" (tags method, uri = pattern du endpoint).
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+    public static final String METRIC = "http.server.requests.sql.statements";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Le corps est mis en tampon : l'en-tête doit être posé après le contrôleur mais avant l'envoi
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        counter.start();
+        int statements;
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            statements = counter.stop();
+        }
+
+        wrapper.setHeader(HEADER, String.valueOf(statements));
+        wrapper.copyBodyToResponse();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Requêtes SQL émises par requête HTTP")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
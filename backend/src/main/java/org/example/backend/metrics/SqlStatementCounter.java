@@ -0,0 +1,48 @@
+package org.example.backend.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant.
+ * Le comptage n'est actif qu'entre start() et stop() (une requête HTTP, voir SqlStatementCountFilter).
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    // Enregistre cette instance comme StatementInspector de la SessionFactory
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    public int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Files d'attente des canaux STOMP (executor.queued, executor.active, ... avec name = canal).
+ * Une file clientOutboundChannel qui grossit = les notifications WebSocket ne suivent pas.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketExecutorMetrics {
+
+    private static final List<String> CHANNEL_EXECUTORS = List.of(
+            "clientInboundChannelExecutor",
+            "clientOutboundChannelExecutor",
+            "brokerChannelExecutor"
+    );
+
+    private final MeterRegistry registry;
+    private final ApplicationContext context;
+
+    // Après le démarrage : les executors des canaux sont initialisés
+    @EventListener(ApplicationReadyEvent.class)
+    public void bind() {
+        for (String beanName : CHANNEL_EXECUTORS) {
+            if (context.containsBean(beanName)
+                    && context.getBean(beanName) instanceof ThreadPoolTaskExecutor executor) {
+                String channel = beanName.replace("Executor", "");
+                new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), channel, Tags.empty())
+                        .bindTo(registry);
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     Optional<Claim> findByClaimNumber(String claimNumber);
     List<Claim> findByUserId(String userId);
     List<Claim> findByCurrentStatus(String currentStatus);
+    long countByCurrentStatus(String currentStatus);
     List<Claim> findByServiceType(String serviceType);
     boolean existsByClaimUuid(String claimUuid);
 }
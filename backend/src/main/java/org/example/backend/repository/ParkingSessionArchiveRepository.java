@@ -0,0 +1,96 @@
+package org.example.backend.repository;
+
+import org.example.backend.DTO.ParkingSessionDTO;
+import org.example.backend.DTO.ZoneRevenueDTO;
+import org.example.backend.entities.ParkingSessionArchive;
+import org.example.backend.enums.SessionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ParkingSessionArchiveRepository extends JpaRepository<ParkingSessionArchive, Long> {
+
+    // Copie des sessions chaudes désignées, avec le numéro de place et la zone du moment (la place peut disparaître ensuite)
+    @Modifying
+    @Query(value = """
+        INSERT INTO parking_sessions_archive
+            (id, driver_id, spot_id, spot_number, zone_id, start_time, end_time, total_cost, status, updated_at, closed_at, archived_at)
+        SELECT ps.id, ps.driver_id, ps.spot_id, s.spot_number, s.zone_id, ps.start_time, ps.end_time, ps.total_cost,
+               ps.status, ps.updated_at, COALESCE(ps.end_time, ps.updated_at), :archivedAt
+        FROM parking_sessions ps
+        LEFT JOIN parking_spots s ON s.id = ps.spot_id
+        WHERE ps.id IN (:ids)
+    """, nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Même projection et même ordre que ParkingSessionRepository.findHistoryPage ; zone relue si elle existe encore.
+    // closedAt (= endTime d'une session terminée) écarte les partitions postérieures au curseur
+    @Query("""
+        SELECT new org.example.backend.DTO.ParkingSessionDTO(
+            a.id, a.driverId, a.spotId, a.spotNumber, a.zoneId, z.name, z.hourlyRate,
+            a.startTime, a.endTime, a.totalCost, a.status)
+        FROM ParkingSessionArchive a
+        LEFT JOIN ParkingZone z ON z.id = a.zoneId
+        WHERE a.driverId = :driverId AND a.status = :status
+        AND a.closedAt <= :beforeTime
+        AND (a.endTime < :beforeTime OR (a.endTime = :beforeTime AND a.id < :beforeId))
+        ORDER BY a.endTime DESC, a.id DESC
+    """)
+    List<ParkingSessionDTO> findHistoryPage(
+            @Param("driverId") String driverId,
+            @Param("status") SessionStatus status,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    // Bornes sur closedAt (= endTime d'une session terminée) : seules les partitions de la période sont lues
+    @Query("""
+        SELECT new org.example.backend.DTO.ZoneRevenueDTO(a.zoneId, SUM(a.totalCost))
+        FROM ParkingSessionArchive a
+        WHERE a.status = 'COMPLETED'
+        AND a.closedAt BETWEEN :startDate AND :endDate
+        AND a.zoneId IS NOT NULL
+        GROUP BY a.zoneId
+    """)
+    List<ZoneRevenueDTO> calculateRevenuePerZone(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query("""
+        SELECT SUM(a.totalCost) FROM ParkingSessionArchive a
+        WHERE a.zoneId = :zoneId
+        AND a.status = 'COMPLETED'
+        AND a.closedAt BETWEEN :startDate AND :endDate
+    """)
+    BigDecimal calculateRevenueForZone(
+            @Param("zoneId") Long zoneId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // Totaux sans borne de date, tables chaudes et archive en une seule requête
+    @Query(value = """
+        SELECT (SELECT COALESCE(SUM(total_cost), 0) FROM parking_sessions WHERE total_cost IS NOT NULL)
+             + (SELECT COALESCE(SUM(total_cost), 0) FROM parking_sessions_archive)
+    """, nativeQuery = true)
+    BigDecimal calculateTotalRevenueIncludingArchive();
+
+    @Query(value = """
+        SELECT (SELECT COUNT(*) FROM parking_sessions) + (SELECT COUNT(*) FROM parking_sessions_archive)
+    """, nativeQuery = true)
+    long countIncludingArchive();
+
+    @Query(value = """
+        SELECT (SELECT COUNT(*) FROM parking_sessions WHERE status = :status)
+             + (SELECT COUNT(*) FROM parking_sessions_archive WHERE status = :status)
+    """, nativeQuery = true)
+    long countByStatusIncludingArchive(@Param("status") String status);
+}
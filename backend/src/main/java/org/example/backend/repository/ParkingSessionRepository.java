@@ -1,7 +1,10 @@
 package org.example.backend.repository;
 
+import org.example.backend.DTO.ParkingSessionDTO;
+import org.example.backend.DTO.ZoneRevenueDTO;
 import org.example.backend.entities.ParkingSession;
 import org.example.backend.enums.SessionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,15 +26,15 @@ public interface ParkingSessionRepository extends JpaRepository<ParkingSession,
             @Param("status") SessionStatus status);
 
     // Compter par statut (méthode générée par Spring Data JPA)
-    long countByStatus(String status);
+    long countByStatus(SessionStatus status);
 
     // Revenu total
     @Query("SELECT SUM(p.totalCost) FROM ParkingSession p WHERE p.totalCost IS NOT NULL")
     BigDecimal calculateTotalRevenue();
 
-    // Revenu d'aujourd'hui
-    @Query("SELECT SUM(ps.totalCost) FROM ParkingSession ps WHERE DATE(ps.endTime) = CURRENT_DATE AND ps.totalCost IS NOT NULL")
-    BigDecimal calculateTodayRevenue();
+    // Revenu sur une période (ex. aujourd'hui : [minuit, minuit + 1 jour[)
+    @Query("SELECT SUM(ps.totalCost) FROM ParkingSession ps WHERE ps.endTime >= :start AND ps.endTime < :end AND ps.totalCost IS NOT NULL")
+    BigDecimal calculateRevenueBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     // Nouvelle méthode pour calculer le revenu par zone sur une période
     @Query("SELECT SUM(ps.totalCost) FROM ParkingSession ps " +
@@ -45,6 +49,21 @@ public interface ParkingSessionRepository extends JpaRepository<ParkingSession,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    // Revenu de toutes les zones sur une période en une seule requête
+    @Query("""
+        SELECT new org.example.backend.DTO.ZoneRevenueDTO(z.id, SUM(ps.totalCost))
+        FROM ParkingSession ps
+        JOIN ps.spot s
+        JOIN s.zone z
+        WHERE ps.status = 'COMPLETED'
+        AND ps.endTime BETWEEN :startDate AND :endDate
+        AND ps.totalCost IS NOT NULL
+        GROUP BY z.id
+    """)
+    List<ZoneRevenueDTO> calculateRevenuePerZone(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     // Méthode pour trouver toutes les sessions actives
     @Query("SELECT ps FROM ParkingSession ps WHERE ps.status = 'ACTIVE'")
     List<ParkingSession> findAllActiveSessions();
@@ -61,4 +80,52 @@ public interface ParkingSessionRepository extends JpaRepository<ParkingSession,
     Optional<ParkingSession> findByDriverIdAndStatus(String driverId, SessionStatus status);
 
     List<ParkingSession> findAllByDriverIdAndStatus(String driverId, SessionStatus status);
-}
\ No newline at end of file
+
+    // Projections à plat pour l'API : spot et zone joints dans la même requête, aucune entité chargée
+    @Query("""
+        SELECT new org.example.backend.DTO.ParkingSessionDTO(
+            ps.id, ps.driverId, s.id, s.spotNumber, z.id, z.name, z.hourlyRate,
+            ps.startTime, ps.endTime, ps.totalCost, ps.status)
+        FROM ParkingSession ps
+        LEFT JOIN ps.spot s
+        LEFT JOIN s.zone z
+        WHERE ps.driverId = :driverId AND ps.status = :status
+        ORDER BY ps.startTime DESC
+    """)
+    List<ParkingSessionDTO> findViewsByDriverIdAndStatus(
+            @Param("driverId") String driverId,
+            @Param("status") SessionStatus status);
+
+    // Historique paginé par curseur : (endTime, id) décroissants, strictement avant (beforeTime, beforeId).
+    // Parcours de idx_sessions_driver_status_end, qui se termine par l'id (clé primaire implicite)
+    @Query("""
+        SELECT new org.example.backend.DTO.ParkingSessionDTO(
+            ps.id, ps.driverId, s.id, s.spotNumber, z.id, z.name, z.hourlyRate,
+            ps.startTime, ps.endTime, ps.totalCost, ps.status)
+        FROM ParkingSession ps
+        LEFT JOIN ps.spot s
+        LEFT JOIN s.zone z
+        WHERE ps.driverId = :driverId AND ps.status = :status
+        AND (ps.endTime < :beforeTime OR (ps.endTime = :beforeTime AND ps.id < :beforeId))
+        ORDER BY ps.endTime DESC, ps.id DESC
+    """)
+    List<ParkingSessionDTO> findHistoryPage(
+            @Param("driverId") String driverId,
+            @Param("status") SessionStatus status,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
+    // Sessions à archiver (HistoryArchiver) : terminées avant la date, ou annulées sans fin et plus modifiées depuis.
+    // DISTINCT : un plan en union d'index (OR) peut rendre deux fois le même id ; ORDER BY id : lots stables
+    @Query("""
+        SELECT DISTINCT ps.id FROM ParkingSession ps
+        WHERE ps.status IN :statuses
+        AND (ps.endTime < :before OR (ps.endTime IS NULL AND ps.updatedAt < :before))
+        ORDER BY ps.id
+    """)
+    List<Long> findArchivableIds(
+            @Param("statuses") Collection<SessionStatus> statuses,
+            @Param("before") LocalDateTime before,
+            Pageable pageable);
+}
@@ -1,17 +1,29 @@
 package org.example.backend.repository;
 
+import org.example.backend.DTO.SensorIndexDTO;
+import org.example.backend.DTO.SensorStateDTO;
+import org.example.backend.DTO.SpotStateDTO;
+import org.example.backend.DTO.ZoneSpotCountDTO;
 import org.example.backend.entities.ParkingSpot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long> {
+public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>, ParkingSpotRepositoryCustom {
     List<ParkingSpot> findByZoneId(Long zoneId);
+
+    // Spots avec leur zone en une seule requête (évite un SELECT par zone)
+    @Query("SELECT s FROM ParkingSpot s LEFT JOIN FETCH s.zone")
+    List<ParkingSpot> findAllWithZone();
+
+    @Query("SELECT s FROM ParkingSpot s LEFT JOIN FETCH s.zone WHERE s.zone.id = :zoneId")
+    List<ParkingSpot> findByZoneIdWithZone(@Param("zoneId") Long zoneId);
     long countBySensorIdIsNotNull();
     Optional<ParkingSpot> findBySensorId(String sensorId);
     long countByZoneId(Long zoneId);
@@ -31,4 +43,33 @@ public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>
     long countAvailableSpotsByZoneId(@Param("zoneId") Long zoneId);
 
     long countByStatus(Boolean status);
+
+    // Total et places libres de chaque zone en une seule requête (clusters de la carte)
+    @Query("""
+        SELECT new org.example.backend.DTO.ZoneSpotCountDTO(
+            s.zone.id, COUNT(s), SUM(CASE WHEN s.status = true THEN 1L ELSE 0L END))
+        FROM ParkingSpot s
+        WHERE s.zone IS NOT NULL
+        GROUP BY s.zone.id
+    """)
+    List<ZoneSpotCountDTO> countSpotsPerZone();
+
+    // État des places pour le cache en mémoire : tout, ou seulement ce qui a changé depuis un instantané ou une réconciliation
+    @Query("SELECT new org.example.backend.DTO.SpotStateDTO(s.id, z.id, s.status) FROM ParkingSpot s LEFT JOIN s.zone z")
+    List<SpotStateDTO> findAllStates();
+
+    @Query("""
+        SELECT new org.example.backend.DTO.SpotStateDTO(s.id, z.id, s.status)
+        FROM ParkingSpot s LEFT JOIN s.zone z
+        WHERE s.updatedAt >= :since
+    """)
+    List<SpotStateDTO> findStatesChangedSince(@Param("since") LocalDateTime since);
+
+    // Annuaire des capteurs des passerelles binaires, trié par id de place
+    @Query("SELECT new org.example.backend.DTO.SensorIndexDTO(s.id, s.sensorId) FROM ParkingSpot s WHERE s.sensorId IS NOT NULL ORDER BY s.id")
+    List<SensorIndexDTO> findSensorIndex();
+
+    // Statut de chaque capteur : état confirmé de départ de l'anti-rebond
+    @Query("SELECT new org.example.backend.DTO.SensorStateDTO(s.sensorId, s.status) FROM ParkingSpot s WHERE s.sensorId IS NOT NULL")
+    List<SensorStateDTO> findSensorStates();
 }
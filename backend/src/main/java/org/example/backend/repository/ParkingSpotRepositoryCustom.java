@@ -0,0 +1,11 @@
+package org.example.backend.repository;
+
+import org.example.backend.entities.ParkingSpot;
+
+import java.util.Optional;
+
+public interface ParkingSpotRepositoryCustom {
+
+    // Place du capteur, résolue par l'identifiant naturel (sensorId -> id en cache de second niveau)
+    Optional<ParkingSpot> loadBySensorId(String sensorId);
+}
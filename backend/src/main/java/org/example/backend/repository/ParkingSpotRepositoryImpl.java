@@ -0,0 +1,22 @@
+package org.example.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.backend.entities.ParkingSpot;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+// Fragment de ParkingSpotRepository : les requêtes dérivées (findBySensorId) ne passent pas par le cache des identifiants naturels
+class ParkingSpotRepositoryImpl implements ParkingSpotRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ParkingSpot> loadBySensorId(String sensorId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(ParkingSpot.class)
+                .loadOptional(sensorId);
+    }
+}
@@ -1,12 +1,18 @@
 package org.example.backend.repository;
 
+import org.example.backend.DTO.ZoneNameDTO;
 import org.example.backend.entities.ParkingZone;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ParkingZoneRepository extends JpaRepository<ParkingZone, Long> {
     Optional<ParkingZone> findByName(String name);
+
+    @Query("SELECT new org.example.backend.DTO.ZoneNameDTO(z.id, z.name) FROM ParkingZone z")
+    List<ZoneNameDTO> findAllNames();
 }
@@ -0,0 +1,44 @@
+package org.example.backend.repository;
+
+import org.example.backend.DTO.ReservationResponseDTO;
+import org.example.backend.entities.ReservationArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchive, Long> {
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO reservations_archive
+            (id, spot_id, spot_number, driver_id, start_time, end_time, status, created_at, archived_at)
+        SELECT r.id, r.spot_id, s.spot_number, r.driver_id, r.start_time, r.end_time, r.status, r.created_at, :archivedAt
+        FROM reservations r
+        LEFT JOIN parking_spots s ON s.id = r.spot_id
+        WHERE r.id IN (:ids)
+    """, nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Même projection et même ordre que ReservationRepository.findPageByDriverId
+    @Query("""
+        SELECT new org.example.backend.DTO.ReservationResponseDTO(
+            a.id, a.spotId, a.spotNumber, a.driverId, a.startTime, a.endTime, a.status)
+        FROM ReservationArchive a
+        WHERE a.driverId = :driverId
+        AND (a.startTime < :beforeTime OR (a.startTime = :beforeTime AND a.id < :beforeId))
+        ORDER BY a.startTime DESC, a.id DESC
+    """)
+    List<ReservationResponseDTO> findPageByDriverId(
+            @Param("driverId") String driverId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+}
@@ -1,12 +1,15 @@
 package org.example.backend.repository;
 
+import org.example.backend.DTO.ReservationResponseDTO;
 import org.example.backend.entities.Reservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -115,6 +118,22 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findByDriverId(String driverId);
 
+    // Réservations d'un conducteur paginées par curseur : (startTime, id) décroissants, projection à plat sans entité
+    @Query("""
+        SELECT new org.example.backend.DTO.ReservationResponseDTO(
+            r.id, s.id, s.spotNumber, r.driverId, r.startTime, r.endTime, r.status)
+        FROM Reservation r
+        JOIN r.spot s
+        WHERE r.driverId = :driverId
+        AND (r.startTime < :beforeTime OR (r.startTime = :beforeTime AND r.id < :beforeId))
+        ORDER BY r.startTime DESC, r.id DESC
+    """)
+    List<ReservationResponseDTO> findPageByDriverId(
+            @Param("driverId") String driverId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+
     @Override
     Optional<Reservation> findById(Long id);
 
@@ -129,4 +148,11 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
+
+    // Réservations finies avant la date, à archiver (HistoryArchiver)
+    @Query("SELECT DISTINCT r.id FROM Reservation r WHERE r.status IN :statuses AND r.endTime < :before ORDER BY r.id")
+    List<Long> findArchivableIds(
+            @Param("statuses") Collection<String> statuses,
+            @Param("before") LocalDateTime before,
+            Pageable pageable);
 }
@@ -1,7 +1,9 @@
 package org.example.backend.security;
 
+import org.example.backend.DTO.CursorPage;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -27,6 +29,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Enregistrements JFR (écriture de fichiers) : JMX local uniquement, même si l'endpoint est exposé en HTTP
+                        .requestMatchers("/actuator/jfr/**").denyAll()
                         .requestMatchers("/ws/**").permitAll() // 🔥 WebSocket endpoint
                         .requestMatchers("/**").permitAll() // Tout est public pour le développement
                         .anyRequest().permitAll()
@@ -59,7 +63,11 @@ public class SecurityConfig {
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                // Curseur de la page suivante de l'historique (lu par le front)
+                CursorPage.NEXT_CURSOR_HEADER,
+                // Délai avant de réessayer une requête rejetée par le contrôle d'admission (503)
+                HttpHeaders.RETRY_AFTER
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
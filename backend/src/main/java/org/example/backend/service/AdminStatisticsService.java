@@ -2,13 +2,15 @@ package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.backend.entities.Claim;
 import org.example.backend.enums.Role;
+import org.example.backend.enums.SessionStatus;
 import org.example.backend.repository.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,8 +22,11 @@ public class AdminStatisticsService {
     private final ParkingZoneRepository zoneRepository;
     private final ParkingSpotRepository parkingSpotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
+    private final ParkingSessionArchiveRepository parkingSessionArchiveRepository;
     private final ClaimRepository claimRepository;
 
+    // Agrégats lourds : servis par la réplique quand elle est configurée
+    @Transactional(readOnly = true)
     public Map<String, Object> getStatistics() {
         log.info("Calcul des statistiques admin...");
 
@@ -77,22 +82,23 @@ public class AdminStatisticsService {
 
             // Statistiques sessions - VRAIES données
             Map<String, Object> sessionsStats = new HashMap<>();
-            long totalSessions = parkingSessionRepository.count();
+            // Totaux tables chaudes + archive (HistoryArchiver), chacun en une requête
+            long totalSessions = parkingSessionArchiveRepository.countIncludingArchive();
 
             long activeSessions = 0;
             long completedSessions = 0;
 
             try {
-                activeSessions = parkingSessionRepository.countByStatus("ACTIVE");
-                completedSessions = parkingSessionRepository.countByStatus("COMPLETED");
+                activeSessions = parkingSessionRepository.countByStatus(SessionStatus.ACTIVE);
+                completedSessions = parkingSessionArchiveRepository.countByStatusIncludingArchive(SessionStatus.COMPLETED.name());
             } catch (Exception e) {
                 // Calcul manuel si la méthode n'existe pas
                 log.warn("Méthode countByStatus non disponible pour les sessions");
                 activeSessions = parkingSessionRepository.findAll().stream()
-                        .filter(session -> "ACTIVE".equals(session.getStatus()))
+                        .filter(session -> session.getStatus() == SessionStatus.ACTIVE)
                         .count();
                 completedSessions = parkingSessionRepository.findAll().stream()
-                        .filter(session -> "COMPLETED".equals(session.getStatus()))
+                        .filter(session -> session.getStatus() == SessionStatus.COMPLETED)
                         .count();
             }
 
@@ -111,11 +117,9 @@ public class AdminStatisticsService {
             long resolvedClaims = 0;
 
             try {
-                // Essayez d'abord avec la méthode existante
-                List<Claim> pendingClaimsList = claimRepository.findByCurrentStatus("PENDING");
-                List<Claim> resolvedClaimsList = claimRepository.findByCurrentStatus("RESOLVED");
-                pendingClaims = pendingClaimsList != null ? pendingClaimsList.size() : 0;
-                resolvedClaims = resolvedClaimsList != null ? resolvedClaimsList.size() : 0;
+                // COUNT côté base : inutile de charger les réclamations pour les compter
+                pendingClaims = claimRepository.countByCurrentStatus("PENDING");
+                resolvedClaims = claimRepository.countByCurrentStatus("RESOLVED");
             } catch (Exception e) {
                 // Calcul manuel
                 log.warn("Méthode findByCurrentStatus non disponible");
@@ -158,7 +162,7 @@ public class AdminStatisticsService {
             Object result = null;
             try {
                 // Essayez d'abord la méthode du repository
-                result = parkingSessionRepository.calculateTotalRevenue();
+                result = parkingSessionArchiveRepository.calculateTotalRevenueIncludingArchive();
             } catch (Exception e) {
                 log.warn("Méthode calculateTotalRevenue non disponible, calcul manuel");
                 // Calcul manuel
@@ -179,7 +183,8 @@ public class AdminStatisticsService {
         try {
             Object result = null;
             try {
-                result = parkingSessionRepository.calculateTodayRevenue();
+                LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+                result = parkingSessionRepository.calculateRevenueBetween(startOfDay, startOfDay.plusDays(1));
             } catch (Exception e) {
                 log.warn("Méthode calculateTodayRevenue non disponible, calcul manuel");
                 // Calcul manuel simplifié (pour le développement)
@@ -4,13 +4,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ClaimAttachmentDTO;
 import org.example.backend.DTO.ClaimCreatedDto;
+import org.example.backend.DTO.ClaimDTO;
 import org.example.backend.DTO.ClaimMessageDto;
+import org.example.backend.DTO.ClaimMessageViewDTO;
+import org.example.backend.DTO.ClaimStatusHistoryDTO;
 import org.example.backend.DTO.StatusUpdateDto;
 import org.example.backend.entities.Claim;
 import org.example.backend.entities.ClaimAttachment;
 import org.example.backend.entities.ClaimMessage;
 import org.example.backend.entities.ClaimStatusHistory;
+import org.example.backend.mappers.ClaimMapper;
 import org.example.backend.repository.ClaimAttachmentRepository;
 import org.example.backend.repository.ClaimMessageRepository;
 import org.example.backend.repository.ClaimRepository;
@@ -18,8 +23,10 @@ import org.example.backend.repository.ClaimStatusHistoryRepository;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,9 +39,13 @@ public class ClaimService {
     private final ClaimStatusHistoryRepository statusHistoryRepository;
     private final ClaimAttachmentRepository attachmentRepository;
     private final ObjectMapper objectMapper;
+    private final ZoneSpatialIndex zoneSpatialIndex;
+    private final ClaimMapper claimMapper;
 
-    public List<Claim> getAllClaims() {
-        return claimRepository.findAll();
+    public List<ClaimDTO> getAllClaims() {
+        return claimRepository.findAll().stream()
+                .map(claimMapper::toDTO)
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -69,6 +80,11 @@ public Claim processClaimCreated(ClaimCreatedDto dto) {
             .currentStatus("submitted")
             .build();
 
+    if (claim.getLatitude() != null && claim.getLongitude() != null) {
+        zoneSpatialIndex.findZoneContaining(claim.getLatitude().doubleValue(), claim.getLongitude().doubleValue())
+                .ifPresent(claim::setZoneId);
+    }
+
     log.info("Saving claim to database...");
     claim = claimRepository.save(claim);
     log.info("Claim saved with ID: {}", claim.getId());
@@ -182,16 +198,18 @@ public Claim processClaimCreated(ClaimCreatedDto dto) {
     private void saveAttachments(Claim claim, List<ClaimCreatedDto.AttachmentDto> attachmentDtos, String source) {
         if (attachmentDtos == null || attachmentDtos.isEmpty()) return;
 
+        // Ids pré-alloués : les INSERT partent en un lot JDBC au flush
+        List<ClaimAttachment> attachments = new ArrayList<>(attachmentDtos.size());
         for (ClaimCreatedDto.AttachmentDto dto : attachmentDtos) {
-            ClaimAttachment attachment = ClaimAttachment.builder()
+            attachments.add(ClaimAttachment.builder()
                     .claim(claim)
                     .url(dto.getUrl())
                     .fileName(dto.getFileName())
                     .fileType(dto.getFileType())
                     .source(source)
-                    .build();
-            attachmentRepository.save(attachment);
+                    .build());
         }
+        attachmentRepository.saveAll(attachments);
     }
 
     private ClaimStatusHistory createStatusHistory(Claim claim, String previousStatus, 
@@ -226,15 +244,25 @@ public Claim processClaimCreated(ClaimCreatedDto dto) {
                 .orElseThrow(() -> new RuntimeException("Claim not found: " + claimUuid));
     }
 
-    public List<ClaimMessage> getClaimMessages(Long claimId) {
-        return messageRepository.findByClaimIdOrderByCreatedAtAsc(claimId);
+    public ClaimDTO getClaimDTOByUuid(String claimUuid) {
+        return claimMapper.toDTO(getClaimByUuid(claimUuid));
+    }
+
+    public List<ClaimMessageViewDTO> getClaimMessages(Long claimId) {
+        return messageRepository.findByClaimIdOrderByCreatedAtAsc(claimId).stream()
+                .map(claimMapper::toDTO)
+                .collect(Collectors.toList());
     }
 
-    public List<ClaimStatusHistory> getClaimStatusHistory(Long claimId) {
-        return statusHistoryRepository.findByClaimIdOrderByCreatedAtAsc(claimId);
+    public List<ClaimStatusHistoryDTO> getClaimStatusHistory(Long claimId) {
+        return statusHistoryRepository.findByClaimIdOrderByCreatedAtAsc(claimId).stream()
+                .map(claimMapper::toDTO)
+                .collect(Collectors.toList());
     }
 
-    public List<ClaimAttachment> getClaimAttachments(Long claimId) {
-        return attachmentRepository.findByClaimId(claimId);
+    public List<ClaimAttachmentDTO> getClaimAttachments(Long claimId) {
+        return attachmentRepository.findByClaimId(claimId).stream()
+                .map(claimMapper::toDTO)
+                .collect(Collectors.toList());
     }
 }
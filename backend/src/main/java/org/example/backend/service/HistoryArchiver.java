@@ -0,0 +1,228 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.ArchiveProperties;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.repository.ParkingSessionArchiveRepository;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ReservationArchiveRepository;
+import org.example.backend.repository.ReservationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Déplace les sessions terminées et les réservations finies plus anciennes que archive.retention-days
+ * vers parking_sessions_archive / reservations_archive : la taille des tables chaudes (profondeur des index,
+ * pages en buffer pool) suit l'activité récente et non tout l'historique.
+ *
+ * Par lots de archive.batch-size lignes, chacun dans sa propre transaction (copie INSERT ... SELECT puis DELETE) :
+ * une ligne est toujours dans exactement une des deux tables. Avec plusieurs instances, un lot déjà déplacé par
+ * une autre ne copie ni ne supprime rien. Avant chaque passage, les partitions mensuelles manquantes sont créées.
+ *
+ * Métrique : parking.archive.rows{table} (lignes déplacées).
+ */
+@Service
+@Slf4j
+public class HistoryArchiver {
+
+    private static final List<SessionStatus> TERMINAL_SESSION_STATUSES = List.of(SessionStatus.COMPLETED, SessionStatus.CANCELLED);
+    private static final List<String> TERMINAL_RESERVATION_STATUSES = List.of("COMPLETED", "CANCELLED");
+
+    // Premier mois géré : tout ce qui précède est dans la partition p_before (V3__history_archive.sql)
+    private static final YearMonth FIRST_MANAGED_MONTH = YearMonth.of(2025, 1);
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final ArchiveProperties properties;
+    private final ParkingSessionRepository sessionRepository;
+    private final ParkingSessionArchiveRepository sessionArchiveRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sessionRows;
+    private final Counter reservationRows;
+
+    private ScheduledExecutorService scheduler;
+
+    public HistoryArchiver(ArchiveProperties properties,
+                           ParkingSessionRepository sessionRepository,
+                           ParkingSessionArchiveRepository sessionArchiveRepository,
+                           ReservationRepository reservationRepository,
+                           ReservationArchiveRepository reservationArchiveRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry registry) {
+        this.properties = properties;
+        this.sessionRepository = sessionRepository;
+        this.sessionArchiveRepository = sessionArchiveRepository;
+        this.reservationRepository = reservationRepository;
+        this.reservationArchiveRepository = reservationArchiveRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionRows = rowsCounter(registry, "parking_sessions");
+        this.reservationRows = rowsCounter(registry, "reservations");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("history-archiver").daemon().factory());
+        // Premier passage décalé : le démarrage (relecture de l'état des places) passe avant
+        scheduler.scheduleWithFixedDelay(this::runQuietly, 1, properties.getRunIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Début de la période archivée : aucune ligne archivée ne s'est terminée après cette date.
+     * Une requête bornée qui commence après n'a besoin que des tables chaudes.
+     */
+    public LocalDateTime archiveHorizon() {
+        return LocalDate.now().minusDays(properties.getRetentionDays()).atStartOfDay();
+    }
+
+    public boolean reachesArchive(LocalDateTime from) {
+        return from.isBefore(archiveHorizon());
+    }
+
+    /**
+     * Un passage complet (ou limité à archive.max-batches-per-run lots par table) ; nombre de lignes déplacées.
+     */
+    public long archive() throws InterruptedException {
+        LocalDateTime cutoff = archiveHorizon();
+        LocalDateTime archivedAt = LocalDateTime.now();
+        if (properties.isManagePartitions()) {
+            YearMonth lastMonth = YearMonth.from(cutoff.minusNanos(1));
+            ensureMonthlyPartitions("parking_sessions_archive", lastMonth);
+            ensureMonthlyPartitions("reservations_archive", lastMonth);
+        }
+
+        long started = System.nanoTime();
+        long sessions = moveInBatches(sessionRows, () -> inTransaction(() -> moveSessions(cutoff, archivedAt)));
+        long reservations = moveInBatches(reservationRows, () -> inTransaction(() -> moveReservations(cutoff, archivedAt)));
+        if (sessions > 0 || reservations > 0) {
+            log.info("Archived {} sessions and {} reservations ended before {} in {} ms", sessions, reservations, cutoff,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return sessions + reservations;
+    }
+
+    private void runQuietly() {
+        try {
+            archive();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Lot annulé en entier : repris au prochain passage
+            log.warn("History archiving failed, retrying in {} min: {}", properties.getRunIntervalMinutes(), e.getMessage());
+        }
+    }
+
+    private long moveInBatches(Counter counter, IntSupplier batch) throws InterruptedException {
+        long moved = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            int rows = batch.getAsInt();
+            moved += rows;
+            counter.increment(rows);
+            if (rows < properties.getBatchSize()) {
+                break;
+            }
+            Thread.sleep(properties.getBatchPauseMs());
+        }
+        return moved;
+    }
+
+    private int inTransaction(IntSupplier batch) {
+        Integer rows = transactionTemplate.execute(status -> batch.getAsInt());
+        return rows != null ? rows : 0;
+    }
+
+    private int moveSessions(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<Long> ids = sessionRepository.findArchivableIds(TERMINAL_SESSION_STATUSES, cutoff,
+                PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Lignes réellement copiées, et non ids sélectionnés
+        int moved = sessionArchiveRepository.copyFromHot(ids, archivedAt);
+        sessionRepository.deleteAllByIdInBatch(ids);
+        return moved;
+    }
+
+    private int moveReservations(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<Long> ids = reservationRepository.findArchivableIds(TERMINAL_RESERVATION_STATUSES, cutoff,
+                PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Lignes réellement copiées, et non ids sélectionnés
+        int moved = reservationArchiveRepository.copyFromHot(ids, archivedAt);
+        reservationRepository.deleteAllByIdInBatch(ids);
+        return moved;
+    }
+
+    // Découpe p_future en partitions pYYYYMM jusqu'au mois donné inclus
+    private void ensureMonthlyPartitions(String table, YearMonth lastMonth) {
+        try {
+            List<String> partitions = jdbcTemplate.queryForList("""
+                    SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                    """, String.class, table);
+            YearMonth managedUntil = partitions.stream()
+                    .filter(name -> name.matches("p\\d{6}"))
+                    .map(name -> YearMonth.parse(name.substring(1), PARTITION_MONTH))
+                    .max(Comparator.naturalOrder())
+                    .orElse(FIRST_MANAGED_MONTH.minusMonths(1));
+
+            StringBuilder added = new StringBuilder();
+            for (YearMonth month = managedUntil.plusMonths(1); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                added.append("PARTITION p").append(month.format(PARTITION_MONTH))
+                        .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append(" 00:00:00'), ");
+            }
+            if (added.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION p_future INTO ("
+                    + added + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+            log.info("Archive table {} partitioned up to {}", table, lastMonth);
+        } catch (DataAccessException e) {
+            // Autre instance en train de créer les mêmes partitions : les lignes iront dans p_future en attendant
+            log.warn("Could not add monthly partitions to {}: {}", table, e.getMessage());
+        }
+    }
+
+    private static Counter rowsCounter(MeterRegistry registry, String table) {
+        return Counter.builder("parking.archive.rows")
+                .description("Lignes déplacées des tables chaudes vers les archives")
+                .tag("table", table)
+                .register(registry);
+    }
+}
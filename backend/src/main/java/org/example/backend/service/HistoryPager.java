@@ -0,0 +1,61 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.KeysetCursor;
+import org.example.backend.config.HistoryPageProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagination par curseur (keyset) d'un historique réparti entre table chaude et archive (HistoryArchiver).
+ * Chaque source renvoie au plus une page + 1 lignes strictement avant le curseur, dans l'ordre (date, id)
+ * décroissant ; les deux listes sont fusionnées. Toute ligne archivée est antérieure à l'horizon d'archivage :
+ * quand la page chaude est pleine et que sa dernière ligne est plus récente, l'archive n'est pas lue.
+ */
+@Component
+@RequiredArgsConstructor
+public class HistoryPager {
+
+    private final HistoryPageProperties properties;
+    private final HistoryArchiver historyArchiver;
+
+    @FunctionalInterface
+    public interface PageQuery<T> {
+        List<T> fetch(KeysetCursor before, Pageable limit);
+    }
+
+    public <T> CursorPage<T> page(String cursor, Integer size, Function<T, KeysetCursor> key,
+                                  PageQuery<T> hot, PageQuery<T> archive) {
+        int pageSize = pageSize(size);
+        KeysetCursor before = KeysetCursor.decode(cursor);
+        // Une ligne de plus que la page : indique s'il en existe une suivante
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<T> rows = hot.fetch(before, limit);
+        if (rows.size() <= pageSize || historyArchiver.reachesArchive(key.apply(rows.get(pageSize - 1)).time())) {
+            List<T> merged = new ArrayList<>(rows);
+            merged.addAll(archive.fetch(before, limit));
+            merged.sort(Comparator.comparing(key, KeysetCursor.NEWEST_FIRST));
+            rows = merged;
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        return new CursorPage<>(List.copyOf(rows.subList(0, pageSize)), key.apply(rows.get(pageSize - 1)).encode());
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return properties.getDefaultSize();
+        }
+        return Math.min(requested, properties.getMaxSize());
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.MapClusterDTO;
+import org.example.backend.DTO.ZoneSpotCountDTO;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.geo.GeoBox;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clusters de zones précalculés pour chaque niveau de zoom de la carte.
+ * Chaque zoom découpe le monde (projection Web Mercator) en cellules de CELL_SIZE_PX pixels ;
+ * les zones d'une même cellule forment un cluster. Une requête ne parcourt que les cellules
+ * du viewport : la taille de la réponse dépend de l'écran, pas de la ville.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MapClusterService {
+
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 20;
+    private static final int TILE_SIZE_PX = 256;
+    private static final int CELL_SIZE_PX = 64;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private final ParkingZoneRepository zoneRepository;
+    private final ParkingSpotRepository spotRepository;
+
+    private volatile ClusterIndex index = new ClusterIndex(emptyLevels(), Map.of());
+
+    private static final class Cluster {
+        final List<ParkingZone> zones = new ArrayList<>();
+        double latSum;
+        double lonSum;
+        final AtomicInteger totalSpots = new AtomicInteger();
+        final AtomicInteger freeSpots = new AtomicInteger();
+    }
+
+    // levels[zoom] : clé de cellule -> cluster ; clustersByZone : zoneId -> cluster de la zone à chaque zoom
+    private record ClusterIndex(List<Map<Long, Cluster>> levels, Map<Long, Cluster[]> clustersByZone) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Map<Long, ZoneSpotCountDTO> counts = new HashMap<>();
+        for (ZoneSpotCountDTO count : spotRepository.countSpotsPerZone()) {
+            counts.put(count.zoneId(), count);
+        }
+
+        List<Map<Long, Cluster>> levels = emptyLevels();
+        Map<Long, Cluster[]> clustersByZone = new HashMap<>();
+
+        for (ParkingZone zone : zoneRepository.findAll()) {
+            if (zone.getLatitude() == null || zone.getLongitude() == null) {
+                continue;
+            }
+            ZoneSpotCountDTO count = counts.get(zone.getId());
+            int total = count != null ? count.totalSpots().intValue() : 0;
+            int free = count != null && count.freeSpots() != null ? count.freeSpots().intValue() : 0;
+
+            Cluster[] zoneClusters = new Cluster[MAX_ZOOM + 1];
+            for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+                long key = cellKey(cellX(zone.getLongitude(), zoom), cellY(zone.getLatitude(), zoom));
+                Cluster cluster = levels.get(zoom).computeIfAbsent(key, k -> new Cluster());
+                cluster.zones.add(zone);
+                cluster.latSum += zone.getLatitude();
+                cluster.lonSum += zone.getLongitude();
+                cluster.totalSpots.addAndGet(total);
+                cluster.freeSpots.addAndGet(free);
+                zoneClusters[zoom] = cluster;
+            }
+            clustersByZone.put(zone.getId(), zoneClusters);
+        }
+
+        index = new ClusterIndex(levels, clustersByZone);
+        log.info("Map clusters rebuilt for {} zones", clustersByZone.size());
+    }
+
+    /**
+     * Mise à jour incrémentale : une place qui change de statut ne touche qu'un cluster par zoom.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotStatusChanged(SpotStatusChangedEvent event) {
+        if (!event.changed() || event.zoneId() == null) {
+            return;
+        }
+        Cluster[] zoneClusters = index.clustersByZone().get(event.zoneId());
+        if (zoneClusters == null) {
+            return;
+        }
+        int delta = Boolean.TRUE.equals(event.newStatus()) ? 1 : -1;
+        for (Cluster cluster : zoneClusters) {
+            cluster.freeSpots.addAndGet(delta);
+        }
+    }
+
+    public List<MapClusterDTO> getClusters(GeoBox viewport, int zoom) {
+        int z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        Map<Long, Cluster> level = index.levels().get(z);
+
+        int minX = cellX(viewport.minLon(), z);
+        int maxX = cellX(viewport.maxLon(), z);
+        // En Mercator, y croît vers le sud
+        int minY = cellY(viewport.maxLat(), z);
+        int maxY = cellY(viewport.minLat(), z);
+
+        List<MapClusterDTO> result = new ArrayList<>();
+        long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+
+        if (cellCount <= level.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cluster cluster = level.get(cellKey(x, y));
+                    if (cluster != null) {
+                        result.add(toDTO(cluster));
+                    }
+                }
+            }
+        } else {
+            // Viewport plus grand que le nombre de clusters : on filtre les clusters existants
+            for (Map.Entry<Long, Cluster> entry : level.entrySet()) {
+                int x = (int) (entry.getKey() >>> 32);
+                int y = (int) (long) entry.getKey();
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.add(toDTO(entry.getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private MapClusterDTO toDTO(Cluster cluster) {
+        int size = cluster.zones.size();
+        ParkingZone single = size == 1 ? cluster.zones.get(0) : null;
+        return MapClusterDTO.builder()
+                .latitude(cluster.latSum / size)
+                .longitude(cluster.lonSum / size)
+                .zoneCount(size)
+                .totalSpots(cluster.totalSpots.get())
+                .freeSpots(cluster.freeSpots.get())
+                .zoneId(single != null ? single.getId() : null)
+                .zoneName(single != null ? single.getName() : null)
+                .build();
+    }
+
+    private static List<Map<Long, Cluster>> emptyLevels() {
+        List<Map<Long, Cluster>> levels = new ArrayList<>(MAX_ZOOM + 1);
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+        return levels;
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static double cellsPerAxis(int zoom) {
+        return (double) (1L << zoom) * TILE_SIZE_PX / CELL_SIZE_PX;
+    }
+
+    static int cellX(double lon, int zoom) {
+        double n = cellsPerAxis(zoom);
+        double x = (lon + 180.0) / 360.0 * n;
+        return (int) Math.max(0, Math.min(n - 1, Math.floor(x)));
+    }
+
+    static int cellY(double lat, int zoom) {
+        double n = cellsPerAxis(zoom);
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double rad = Math.toRadians(clamped);
+        double y = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2 * n;
+        return (int) Math.max(0, Math.min(n - 1, Math.floor(y)));
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.OverpassProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache disque des réponses Overpass brutes, une entrée par région et par tuile :
+ * {@code <cacheDir>/<region>/r<row>_c<col>.json.gz} (corps gzippé) et
+ * {@code r<row>_c<col>.meta} (hash SHA-256 du corps, date de récupération, bbox).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverpassResponseCache {
+
+    private final OverpassProperties properties;
+
+    public record Entry(String body, String sha256, Instant fetchedAt) {}
+
+    public Optional<Entry> read(OverpassService.Tile tile) {
+        Path meta = metaPath(tile);
+        Path body = bodyPath(tile);
+        if (!Files.exists(meta) || !Files.exists(body)) {
+            return Optional.empty();
+        }
+
+        try {
+            Properties props = new Properties();
+            try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+            // La bbox change si la taille des tuiles est reconfigurée : l'entrée n'est plus valable
+            if (!tile.bbox().equals(props.getProperty("bbox"))) {
+                return Optional.empty();
+            }
+
+            String content;
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(body))) {
+                content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            String sha256 = props.getProperty("sha256");
+            if (!sha256(content).equals(sha256)) {
+                log.warn("Corrupted Overpass cache entry {}, ignoring", body);
+                return Optional.empty();
+            }
+            return Optional.of(new Entry(content, sha256, Instant.parse(props.getProperty("fetchedAt"))));
+        } catch (Exception e) {
+            log.warn("Failed to read Overpass cache entry {}: {}", body, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Entry write(OverpassService.Tile tile, String content) {
+        Entry entry = new Entry(content, sha256(content), Instant.now());
+        Path body = bodyPath(tile);
+        Path meta = metaPath(tile);
+
+        try {
+            Files.createDirectories(body.getParent());
+
+            Path tmpBody = Files.createTempFile(body.getParent(), "tile", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmpBody))) {
+                out.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Properties props = new Properties();
+            props.setProperty("sha256", entry.sha256());
+            props.setProperty("fetchedAt", entry.fetchedAt().toString());
+            props.setProperty("bbox", tile.bbox());
+            Path tmpMeta = Files.createTempFile(meta.getParent(), "tile", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmpMeta, StandardCharsets.UTF_8)) {
+                props.store(writer, "Overpass tile " + tile.region() + " " + tile.bbox());
+            }
+
+            // Le corps d'abord, puis les métadonnées : une entrée lisible est toujours cohérente
+            Files.move(tmpBody, body, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tmpMeta, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Le cache est une optimisation : un échec d'écriture ne doit pas faire échouer la synchro
+            log.warn("Failed to write Overpass cache entry {}: {}", body, e.getMessage());
+        }
+        return entry;
+    }
+
+    public boolean isFresh(Entry entry) {
+        Duration age = Duration.between(entry.fetchedAt(), Instant.now());
+        return age.compareTo(Duration.ofMinutes(properties.getCacheTtlMinutes())) < 0;
+    }
+
+    private Path bodyPath(OverpassService.Tile tile) {
+        return regionDir(tile).resolve("r" + tile.row() + "_c" + tile.col() + ".json.gz");
+    }
+
+    private Path metaPath(OverpassService.Tile tile) {
+        return regionDir(tile).resolve("r" + tile.row() + "_c" + tile.col() + ".meta");
+    }
+
+    private Path regionDir(OverpassService.Tile tile) {
+        return Path.of(properties.getCacheDir()).resolve(tile.region());
+    }
+
+    static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,92 +4,268 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.OverpassProperties;
+import org.example.backend.geo.GeoBox;
+import org.example.backend.geo.PolygonCodec;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OverpassService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final OverpassProperties properties;
+    private final OverpassResponseCache cache;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
 
-    // Overpass API endpoints for fallback
-    private static final String[] OVERPASS_ENDPOINTS = {
-            "https://overpass-api.de/api/interpreter",
-            "https://overpass.kumi.systems/api/interpreter",
-            "https://maps.mail.ru/osm/tools/overpass/api/interpreter"
-    };
-
-    // Tétouan bounding box
-    private static final String TETOUAN_BBOX = "35.52,-5.42,35.62,-5.28";
-
-    private static final String TETOUAN_PARKING_QUERY = """
+    private static final String PARKING_QUERY = """
             [out:json][timeout:30];
             (
-              node["amenity"="parking"](%s);
-              way["amenity"="parking"](%s);
-              relation["amenity"="parking"](%s);
+              node["amenity"="parking"](%1$s);
+              way["amenity"="parking"](%1$s);
+              relation["amenity"="parking"](%1$s);
             );
             out geom;
-            """.formatted(TETOUAN_BBOX, TETOUAN_BBOX, TETOUAN_BBOX);
+            """;
 
-    public List<ParkingData> fetchTetouanParkings() {
-        JsonNode response = fetchWithRetry();
-        return parseOverpassResponse(response);
+    /**
+     * Récupère les parkings de toutes les régions configurées.
+     */
+    public FetchResult fetchParkings() {
+        return fetchRegions(properties.getRegions().keySet());
     }
 
-    private JsonNode fetchWithRetry() {
-        Exception lastError = null;
+    /**
+     * Récupère les parkings d'une seule région (onboarding d'une nouvelle ville).
+     */
+    public FetchResult fetchRegion(String region) {
+        if (!properties.getRegions().containsKey(region)) {
+            throw new IllegalArgumentException("Région inconnue: " + region);
+        }
+        return fetchRegions(List.of(region));
+    }
+
+    private FetchResult fetchRegions(Collection<String> regions) {
+        List<Tile> tiles = new ArrayList<>();
+        for (String region : regions) {
+            tiles.addAll(splitIntoTiles(region, properties.getRegions().get(region)));
+        }
+        log.info("Fetching {} tiles for regions {}", tiles.size(), regions);
+
+        // Toutes les tuiles partent en parallèle, le sémaphore borne le nombre de tuiles en vol
+        Semaphore permits = new Semaphore(Math.max(1, properties.getMaxConcurrency()));
+        Map<String, ParkingData> byOsmId = new LinkedHashMap<>();
+        StringBuilder tileHashes = new StringBuilder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<OverpassResponseCache.Entry>> futures = new ArrayList<>();
+            for (Tile tile : tiles) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return loadTile(tile);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Tile tile = tiles.get(i);
+                OverpassResponseCache.Entry entry = getTileResult(tile, futures.get(i));
+                if (entry == null) {
+                    tileHashes.append(tile.region()).append(':').append(tile.bbox()).append("=missing;");
+                    continue;
+                }
+                tileHashes.append(tile.region()).append(':').append(tile.bbox()).append('=').append(entry.sha256()).append(';');
+
+                // Un parking à cheval sur deux tuiles est renvoyé deux fois
+                for (ParkingData data : parseOverpassResponse(entry.body())) {
+                    byOsmId.putIfAbsent(data.getOsmType() + "/" + data.getOsmId(), data);
+                }
+            }
+        }
 
-        for (String endpoint : OVERPASS_ENDPOINTS) {
-            for (int attempt = 0; attempt <= 2; attempt++) {
-                try {
-                    log.info("Fetching from {}, attempt {}", endpoint, attempt + 1);
+        log.info("Merged {} distinct parking areas from {} tiles", byOsmId.size(), tiles.size());
+        return new FetchResult(new ArrayList<>(byOsmId.values()), OverpassResponseCache.sha256(tileHashes.toString()));
+    }
 
-                    String body = "data=" + java.net.URLEncoder.encode(TETOUAN_PARKING_QUERY, "UTF-8");
+    /**
+     * Sert la tuile depuis le cache disque si elle est encore fraîche (ou en mode offline),
+     * sinon la télécharge et met le cache à jour. Si le téléchargement échoue, une entrée
+     * expirée est préférée à une erreur.
+     */
+    private OverpassResponseCache.Entry loadTile(Tile tile) throws InterruptedException {
+        Optional<OverpassResponseCache.Entry> cached = cache.read(tile);
+
+        if (properties.isOffline()) {
+            if (cached.isEmpty()) {
+                log.warn("Offline mode: no cached response for tile {} of region {}", tile.bbox(), tile.region());
+            }
+            return cached.orElse(null);
+        }
+        if (cached.isPresent() && cache.isFresh(cached.get())) {
+            log.debug("Using cached response for tile {} of region {}", tile.bbox(), tile.region());
+            return cached.get();
+        }
 
-                    org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-                    headers.set("Content-Type", "application/x-www-form-urlencoded");
+        try {
+            return cache.write(tile, fetchTile(tile));
+        } catch (RuntimeException e) {
+            if (cached.isPresent()) {
+                log.warn("Tile {} fetch failed, falling back to stale cache from {}", tile.bbox(), cached.get().fetchedAt());
+                return cached.get();
+            }
+            throw e;
+        }
+    }
 
-                    org.springframework.http.HttpEntity<String> request =
-                        new org.springframework.http.HttpEntity<>(body, headers);
+    private OverpassResponseCache.Entry getTileResult(Tile tile, Future<OverpassResponseCache.Entry> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Overpass fetch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to fetch tile " + tile.bbox() + " of region " + tile.region(), e.getCause());
+        }
+    }
 
-                    org.springframework.http.ResponseEntity<String> response =
-                        restTemplate.postForEntity(endpoint, request, String.class);
+    List<Tile> splitIntoTiles(String region, String bbox) {
+        GeoBox box = GeoBox.parse(bbox);
+        double south = box.minLat();
+        double west = box.minLon();
+        double north = box.maxLat();
+        double east = box.maxLon();
+
+        double step = properties.getTileSizeDegrees();
+        int rows = Math.max(1, (int) Math.ceil((north - south) / step - 1e-9));
+        int cols = Math.max(1, (int) Math.ceil((east - west) / step - 1e-9));
+
+        List<Tile> tiles = new ArrayList<>(rows * cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                tiles.add(new Tile(region, row, col,
+                        south + row * step,
+                        west + col * step,
+                        Math.min(north, south + (row + 1) * step),
+                        Math.min(east, west + (col + 1) * step)));
+            }
+        }
+        return tiles;
+    }
 
-                    if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                        JsonNode jsonNode = objectMapper.readTree(response.getBody());
-                        log.info("Success! Found {} parking elements",
-                            jsonNode.has("elements") ? jsonNode.get("elements").size() : 0);
-                        return jsonNode;
-                    }
-                } catch (Exception e) {
-                    lastError = e;
-                    log.warn("Attempt failed: {}", e.getMessage());
-
-                    if (attempt < 2) {
-                        try {
-                            Thread.sleep(1000L * (attempt + 1));
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                        }
+    /**
+     * Envoie la requête au premier miroir, puis à chaque miroir suivant si aucune réponse
+     * n'est arrivée après {@code hedgeDelayMs} (ou dès qu'une tentative échoue).
+     * La première réponse valide l'emporte, les autres requêtes sont annulées.
+     */
+    String fetchTile(Tile tile) throws InterruptedException {
+        List<String> endpoints = properties.getEndpoints();
+        String body = "data=" + URLEncoder.encode(PARKING_QUERY.formatted(tile.bbox()), StandardCharsets.UTF_8);
+
+        BlockingQueue<Object> outcomes = new LinkedBlockingQueue<>();
+        List<CompletableFuture<?>> attempts = new ArrayList<>();
+        int launched = 0;
+        int failed = 0;
+        Throwable lastError = null;
+
+        try {
+            attempts.add(sendAsync(endpoints.get(launched++), body, outcomes));
+
+            while (true) {
+                Object outcome = launched < endpoints.size()
+                        ? outcomes.poll(properties.getHedgeDelayMs(), TimeUnit.MILLISECONDS)
+                        : outcomes.take();
+
+                if (outcome instanceof String json) {
+                    return json;
+                }
+                if (outcome instanceof Throwable error) {
+                    lastError = error;
+                    failed++;
+                    log.warn("Tile {} attempt failed: {}", tile.bbox(), error.getMessage());
+                    if (failed == endpoints.size()) {
+                        throw new RuntimeException("All Overpass API endpoints failed for tile " + tile.bbox(), lastError);
                     }
                 }
+                // Hedge : délai écoulé sans réponse, ou toutes les tentatives en vol ont échoué
+                if (launched < endpoints.size() && (outcome == null || failed == launched)) {
+                    log.info("Hedging tile {} to {}", tile.bbox(), endpoints.get(launched));
+                    attempts.add(sendAsync(endpoints.get(launched++), body, outcomes));
+                }
             }
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
         }
+    }
+
+    private CompletableFuture<?> sendAsync(String endpoint, String body, BlockingQueue<Object> outcomes) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint))
+                .timeout(Duration.ofMillis(properties.getRequestTimeoutMs()))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2 || response.body() == null) {
+                        throw new IllegalStateException(endpoint + " returned HTTP " + response.statusCode());
+                    }
+                    // Les miroirs surchargés répondent parfois 200 avec une page HTML
+                    if (!response.body().stripLeading().startsWith("{")) {
+                        throw new IllegalStateException(endpoint + " returned a non-JSON body");
+                    }
+                    return response.body();
+                })
+                .whenComplete((json, error) -> outcomes.add(error != null ? unwrap(error) : json));
+    }
 
-        throw new RuntimeException("All Overpass API endpoints failed", lastError);
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
-    private List<ParkingData> parseOverpassResponse(JsonNode response) {
+    private List<ParkingData> parseOverpassResponse(String body) {
         List<ParkingData> parkings = new ArrayList<>();
 
+        JsonNode response;
+        try {
+            response = objectMapper.readTree(body);
+        } catch (Exception e) {
+            log.warn("Invalid Overpass response: {}", e.getMessage());
+            return parkings;
+        }
+
         if (!response.has("elements")) {
             return parkings;
         }
@@ -106,7 +282,7 @@ public class OverpassService {
             }
         }
 
-        log.info("Parsed {} parking areas from Overpass API", parkings.size());
+        log.debug("Parsed {} parking areas from Overpass API", parkings.size());
         return parkings;
     }
 
@@ -149,6 +325,7 @@ public class OverpassService {
                 .name(name)
                 .latitude(centroid[0])
                 .longitude(centroid[1])
+                .footprint(encodeFootprint(element))
                 .capacity(capacity)
                 .hourlyRate(hourlyRate)
                 .osmId(element.get("id").asLong())
@@ -159,6 +336,40 @@ public class OverpassService {
                 .build();
     }
 
+    /**
+     * Emprise d'un way (sa géométrie) ou d'une relation (son premier membre "outer").
+     */
+    private byte[] encodeFootprint(JsonNode element) {
+        JsonNode geometry = element.get("geometry");
+        if ("relation".equals(element.get("type").asText()) && element.has("members")) {
+            geometry = null;
+            for (JsonNode member : element.get("members")) {
+                if ("outer".equals(member.path("role").asText()) && member.has("geometry")) {
+                    geometry = member.get("geometry");
+                    break;
+                }
+            }
+        }
+        if (geometry == null || !geometry.isArray() || geometry.size() < 3) {
+            return null;
+        }
+
+        double[] lats = new double[geometry.size()];
+        double[] lons = new double[geometry.size()];
+        int count = 0;
+        for (JsonNode point : geometry) {
+            if (point.has("lat") && point.has("lon")) {
+                lats[count] = point.get("lat").asDouble();
+                lons[count] = point.get("lon").asDouble();
+                count++;
+            }
+        }
+        if (count < 3) {
+            return null;
+        }
+        return PolygonCodec.encode(Arrays.copyOf(lats, count), Arrays.copyOf(lons, count));
+    }
+
     private double[] calculateCentroid(JsonNode element) {
         String type = element.get("type").asText();
 
@@ -216,5 +427,18 @@ public class OverpassService {
         private String surface;
         private String access;
         private String parkingType;
+        private byte[] footprint;
+    }
+
+    /**
+     * @param contentHash hash des réponses brutes de toutes les tuiles : identique tant que
+     *                    les données OSM de la zone n'ont pas changé
+     */
+    public record FetchResult(List<ParkingData> parkings, String contentHash) {}
+
+    public record Tile(String region, int row, int col, double south, double west, double north, double east) {
+        public String bbox() {
+            return String.format(Locale.ROOT, "%.6f,%.6f,%.6f,%.6f", south, west, north, east);
+        }
     }
 }
@@ -1,27 +1,34 @@
 package org.example.backend.service;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.DTO.ParkingDetectionRequest;
 import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.DTO.SensorStateDTO;
 import org.example.backend.entities.ParkingSession;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.entities.Reservation;
 import org.example.backend.enums.SessionStatus;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.ingest.DetectionTimestamps;
+import org.example.backend.jfr.BillingEvent;
+import org.example.backend.metrics.ParkingMetrics;
 import org.example.backend.repository.ParkingSessionRepository;
 import org.example.backend.repository.ParkingSpotRepository;
 import org.example.backend.repository.ReservationRepository;
+import org.example.backend.wal.DetectionLogApplier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -34,6 +41,8 @@ public class ParkingDetectionService {
     private final ReservationRepository reservationRepository;
     private final ZoneRateService zoneRateService;
     private final WebSocketNotificationService webSocketService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ParkingMetrics parkingMetrics;
 
     private static final BigDecimal DEFAULT_HOURLY_RATE = new BigDecimal("10.00");
     private static final BigDecimal MINIMUM_PARKING_FEE = new BigDecimal("5.00");
@@ -43,12 +52,20 @@ public class ParkingDetectionService {
 
     @Transactional
     public ParkingDetectionResponse handleDetection(ParkingDetectionRequest request) {
+        Timer.Sample sample = parkingMetrics.start();
+        ParkingDetectionResponse response = detect(request);
+        parkingMetrics.recordDetection(sample, response);
+        return response;
+    }
+
+    private ParkingDetectionResponse detect(ParkingDetectionRequest request) {
 
         log.info("=== DÉTECTION REÇUE === SensorId={}, Status={}, Timestamp={}",
                 request.getSensorId(), request.getStatus(), request.getTimestamp());
 
         try {
-            ParkingSpot spot = spotRepository.findBySensorId(request.getSensorId())
+            ParkingSpot spot = parkingMetrics.stage("sensor_lookup", request.getSensorId(), null,
+                            () -> spotRepository.loadBySensorId(request.getSensorId()))
                     .orElseThrow(() -> new RuntimeException("Capteur non trouvé: " + request.getSensorId()));
 
             if ("occupied".equalsIgnoreCase(request.getStatus())) {
@@ -59,8 +76,14 @@ public class ParkingDetectionService {
 
             throw new IllegalArgumentException("Statut invalide: " + request.getStatus());
 
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            if (DetectionLogApplier.isDatabaseUnavailable(e)) {
+                // Base indisponible : la détection reste dans le journal local et sera rejouée
+                parkingMetrics.detectionError(e);
+                throw e;
+            }
             log.error("❌ Erreur dans handleDetection: ", e);
+            parkingMetrics.detectionError(e);
             return ParkingDetectionResponse.builder()
                     .action("error")
                     .message("Erreur interne: " + e.getMessage())
@@ -68,31 +91,14 @@ public class ParkingDetectionService {
         }
     }
 
-    private LocalDateTime parseTimestamp(String timestamp) {
-        try {
-            if (timestamp == null || timestamp.isBlank()) return LocalDateTime.now();
-
-            if (timestamp.endsWith("Z") || timestamp.contains("+")) {
-                return OffsetDateTime.parse(timestamp).toLocalDateTime();
-            }
-
-            if (timestamp.contains("T") && timestamp.contains(".")) {
-                return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            }
-
-            if (timestamp.contains("T")) {
-                return LocalDateTime.parse(timestamp);
-            }
-
-            String datePart = timestamp.split(" ")[0];
-            LocalDateTime now = LocalDateTime.now();
-            return LocalDateTime.parse(datePart + "T" +
-                    String.format("%02d:%02d:%02d", now.getHour(), now.getMinute(), now.getSecond()));
-
-        } catch (DateTimeParseException e) {
+    // Package-private et statiques : mesurées isolément par les benchmarks JMH (src/jmh)
+    static LocalDateTime parseTimestamp(String timestamp) {
+        long localMillis = DetectionTimestamps.parse(timestamp);
+        if (localMillis == DetectionTimestamps.INVALID) {
             log.warn("⚠️ Timestamp non reconnu: {}", timestamp);
-            return LocalDateTime.now();
+            localMillis = DetectionTimestamps.nowLocal();
         }
+        return DetectionTimestamps.toLocalDateTime(localMillis);
     }
 
     // ========================================================================
@@ -101,24 +107,25 @@ public class ParkingDetectionService {
     private ParkingDetectionResponse handleCarEntry(ParkingSpot spot, String timestamp) {
 
         log.info("🚗 ENTREE détectée spot {}", spot.getSpotNumber());
+
+        // Entrée déjà appliquée (journal rejoué, anti-rebond réinitialisé, capteur répété) : pas de seconde session
+        Optional<ParkingSession> activeSession = parkingMetrics.stage("session_lookup", spot.getSensorId(), spot.getId(),
+                () -> sessionRepository.findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE));
+        if (activeSession.isPresent()) {
+            log.warn("⚠️ Entrée sur le spot {} déjà occupé par la session {}", spot.getSpotNumber(), activeSession.get().getId());
+            if (!Boolean.FALSE.equals(spot.getStatus())) {
+                updateSpotStatus(spot, SPOT_OCCUPIED);
+            }
+            return buildErrorResponse(spot, "Entrée ignorée : session déjà active sur la place");
+        }
+
         LocalDateTime detectionTime = parseTimestamp(timestamp);
 
         // ... code de vérification existant (étapes 1-2) ...
 
         // 3) Chercher réservation CONFIRMED puis PENDING
-        Reservation reservation = null;
-
-        List<Reservation> confirmed = reservationRepository
-                .findConfirmedReservationsForSpotAtTime(spot.getId(), detectionTime);
-        if (!confirmed.isEmpty()) {
-            reservation = confirmed.get(0);
-        } else {
-            List<Reservation> pending = reservationRepository
-                    .findPendingReservationsForSpotAtTime(spot.getId(), detectionTime);
-            if (!pending.isEmpty()) {
-                reservation = pending.get(0);
-            }
-        }
+        Reservation reservation = parkingMetrics.stage("reservation_lookup", spot.getSensorId(), spot.getId(),
+                () -> findReservationAt(spot, detectionTime));
 
         boolean hasReservation = reservation != null;
         String driverId = "anonymous";
@@ -128,9 +135,11 @@ public class ParkingDetectionService {
             log.info("✅ Réservation trouvée ID={} statut={}",
                     reservation.getId(), reservation.getStatus());
 
-            reservation.setStatus("ACTIVE");
-            reservationRepository.save(reservation);
-            reservationRepository.flush();
+            parkingMetrics.stage("reservation_update", spot.getSensorId(), spot.getId(), () -> {
+                reservation.setStatus("ACTIVE");
+                reservationRepository.save(reservation);
+                reservationRepository.flush();
+            });
 
             log.info("✅ Réservation {} passée à ACTIVE", reservation.getId());
 
@@ -139,12 +148,14 @@ public class ParkingDetectionService {
             }
 
             // 🔥 NOTIFIER LE FRONTEND VIA WEBSOCKET 🔥
-            webSocketService.notifyReservationActivated(
-                    reservation.getId(),
-                    driverId,
-                    spot.getSpotNumber(),
-                    detectionTime.toString()
-            );
+            String notifiedDriverId = driverId;
+            parkingMetrics.stage("notify", spot.getSensorId(), spot.getId(),
+                    () -> webSocketService.notifyReservationActivated(
+                            reservation.getId(),
+                            notifiedDriverId,
+                            spot.getSpotNumber(),
+                            detectionTime.toString()
+                    ));
 
             log.info("📡 WebSocket notification sent for reservation {}", reservation.getId());
         }
@@ -158,13 +169,14 @@ public class ParkingDetectionService {
                 .totalCost(BigDecimal.ZERO)
                 .build();
 
-        ParkingSession savedSession = sessionRepository.save(session);
-        sessionRepository.flush();
+        ParkingSession savedSession = parkingMetrics.stage("session_write", spot.getSensorId(), spot.getId(), () -> {
+            ParkingSession saved = sessionRepository.save(session);
+            sessionRepository.flush();
+            return saved;
+        });
 
         // 6) Mettre spot OCCUPÉ
-        spot.setStatus(SPOT_OCCUPIED);
-        spotRepository.save(spot);
-        spotRepository.flush();
+        updateSpotStatus(spot, SPOT_OCCUPIED);
 
         String msg = hasReservation ? "Entrée avec réservation → ACTIVE" : "Entrée sans réservation";
         return buildEntryResponse(spot, savedSession, hasReservation, msg);
@@ -177,14 +189,22 @@ public class ParkingDetectionService {
 
         log.info("🚪 SORTIE détectée spot {}", spot.getSpotNumber());
 
-        Optional<ParkingSession> activeSession = sessionRepository
-                .findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE);
+        Optional<ParkingSession> activeSession = parkingMetrics.stage("session_lookup", spot.getSensorId(), spot.getId(),
+                () -> sessionRepository.findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE));
 
         if (activeSession.isEmpty()) {
-            // ... gestion cas sans session active ...
+            // Sortie sans entrée (lecture perdue ou reçue dans le désordre) : le capteur fait foi pour la place
+            log.warn("⚠️ Sortie sans session active sur le spot {}", spot.getSpotNumber());
+            if (!Boolean.TRUE.equals(spot.getStatus())) {
+                updateSpotStatus(spot, SPOT_FREE);
+            }
+            return buildErrorResponse(spot, "Sortie ignorée : aucune session active sur la place");
         }
 
         ParkingSession session = activeSession.get();
+        BillingEvent billing = new BillingEvent();
+        billing.source = "sensor";
+        billing.begin();
         LocalDateTime exitTime = parseTimestamp(timestamp);
 
         if (exitTime.isBefore(session.getStartTime())) {
@@ -193,39 +213,36 @@ public class ParkingDetectionService {
 
         Duration duration = Duration.between(session.getStartTime(), exitTime);
         long minutes = Math.max(1, duration.toMinutes());
-        double hours = Math.ceil(minutes / 60.0);
 
         BigDecimal hourlyRate = getHourlyRate(spot);
-        BigDecimal totalCost = hourlyRate.multiply(BigDecimal.valueOf(hours));
-
-        if (totalCost.compareTo(MINIMUM_PARKING_FEE) < 0) {
-            totalCost = MINIMUM_PARKING_FEE;
-        }
-        totalCost = totalCost.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal totalCost = computeCost(minutes, hourlyRate);
 
         session.setEndTime(exitTime);
         session.setTotalCost(totalCost);
         session.setStatus(SessionStatus.COMPLETED);
-        sessionRepository.save(session);
-        sessionRepository.flush();
+        parkingMetrics.stage("session_write", spot.getSensorId(), spot.getId(), () -> {
+            sessionRepository.save(session);
+            sessionRepository.flush();
+        });
+        billing.complete(session, minutes, hourlyRate);
 
         // ✅ Si réservation : mettre COMPLETED + NOTIFIER VIA WEBSOCKET
         boolean hadReservation = session.getDriverId() != null
                 && !"anonymous".equals(session.getDriverId());
 
         if (hadReservation) {
-            updateReservationAfterExit(
-                    session.getDriverId(),
-                    spot.getId(),
-                    exitTime,
-                    totalCost.doubleValue(), // 🔥 Passer le coût
-                    spot.getSpotNumber()     // 🔥 Passer le numéro de spot
-            );
+            LocalDateTime completedAt = exitTime;
+            parkingMetrics.stage("reservation_update", spot.getSensorId(), spot.getId(),
+                    () -> updateReservationAfterExit(
+                            session.getDriverId(),
+                            spot.getId(),
+                            completedAt,
+                            totalCost.doubleValue(), // 🔥 Passer le coût
+                            spot.getSpotNumber()     // 🔥 Passer le numéro de spot
+                    ));
         }
 
-        spot.setStatus(SPOT_FREE);
-        spotRepository.save(spot);
-        spotRepository.flush();
+        updateSpotStatus(spot, SPOT_FREE);
 
         return buildExitResponse(spot, session, minutes, hourlyRate,
                 totalCost, hadReservation, "Sortie enregistrée");
@@ -274,6 +291,52 @@ public class ParkingDetectionService {
         log.info("📡 WebSocket EXIT notification sent for reservation {}", reservation.getId());
     }
 
+    /**
+     * Dernier statut persisté de chaque capteur (true = libre) : état confirmé de départ de l'anti-rebond,
+     * pour qu'une relecture du journal ne rejoue pas une transition déjà appliquée.
+     */
+    public Map<String, Boolean> sensorStatuses() {
+        Map<String, Boolean> statuses = new HashMap<>();
+        for (SensorStateDTO sensor : spotRepository.findSensorStates()) {
+            if (sensor.status() != null) {
+                statuses.put(sensor.sensorId(), sensor.status());
+            }
+        }
+        return statuses;
+    }
+
+    private Reservation findReservationAt(ParkingSpot spot, LocalDateTime detectionTime) {
+        List<Reservation> confirmed = reservationRepository
+                .findConfirmedReservationsForSpotAtTime(spot.getId(), detectionTime);
+        if (!confirmed.isEmpty()) {
+            return confirmed.get(0);
+        }
+        List<Reservation> pending = reservationRepository
+                .findPendingReservationsForSpotAtTime(spot.getId(), detectionTime);
+        return pending.isEmpty() ? null : pending.get(0);
+    }
+
+    private void updateSpotStatus(ParkingSpot spot, boolean status) {
+        parkingMetrics.stage("spot_update", spot.getSensorId(), spot.getId(), () -> {
+            Boolean previousStatus = spot.getStatus();
+            spot.setStatus(status);
+            spotRepository.save(spot);
+            spotRepository.flush();
+            eventPublisher.publishEvent(SpotStatusChangedEvent.of(spot, previousStatus));
+        });
+    }
+
+    // Toute heure entamée est due, avec un minimum de MINIMUM_PARKING_FEE
+    static BigDecimal computeCost(long minutes, BigDecimal hourlyRate) {
+        double hours = Math.ceil(minutes / 60.0);
+        BigDecimal totalCost = hourlyRate.multiply(BigDecimal.valueOf(hours));
+
+        if (totalCost.compareTo(MINIMUM_PARKING_FEE) < 0) {
+            totalCost = MINIMUM_PARKING_FEE;
+        }
+        return totalCost.setScale(2, RoundingMode.HALF_UP);
+    }
+
     private BigDecimal getHourlyRate(ParkingSpot spot) {
         if (spot.getHourlyRate() != null && spot.getHourlyRate().compareTo(BigDecimal.ZERO) > 0) {
             return spot.getHourlyRate();
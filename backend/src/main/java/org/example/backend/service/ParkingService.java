@@ -1,26 +1,37 @@
 package org.example.backend.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.KeysetCursor;
+import org.example.backend.DTO.ParkingSessionDTO;
+import org.example.backend.datasource.ReadYourWrites;
 import org.example.backend.entities.ParkingSession;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.enums.SessionStatus;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.jfr.BillingEvent;
+import org.example.backend.repository.ParkingSessionArchiveRepository;
 import org.example.backend.repository.ParkingSessionRepository;
 import org.example.backend.repository.ParkingSpotRepository;
 import org.example.backend.repository.UtilisateurRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ParkingService {
     private final ParkingSpotRepository spotRepository;
     private final ParkingSessionRepository sessionRepository;
+    private final ParkingSessionArchiveRepository sessionArchiveRepository;
     private final UtilisateurRepository utilisateurRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWrites readYourWrites;
+    private final HistoryPager historyPager;
 
     @Transactional
     public void checkIn(Long spotId, String clerkUserId) {
@@ -39,8 +50,10 @@ public class ParkingService {
         }
 
         // 3. Lock the Spot (Update status to Occupied)
+        Boolean previousStatus = spot.getStatus();
         spot.setStatus(false); // false = Occupied
         spotRepository.save(spot);
+        eventPublisher.publishEvent(SpotStatusChangedEvent.of(spot, previousStatus));
 
         // 4. Create the Session
         ParkingSession session = ParkingSession.builder()
@@ -51,20 +64,30 @@ public class ParkingService {
                 .build();
 
         sessionRepository.save(session);
+        readYourWrites.recordWrite(user.getClerkId());
 
         System.out.println("DEBUG: Created Session ID " + session.getId() + " for User " + clerkUserId);
     }
 
     // Affichage "Top of Map" ---
-    public ParkingSession getActiveSession(String userId) {
-        return sessionRepository.findByDriverIdAndStatus(userId, SessionStatus.ACTIVE)
+    @Transactional(readOnly = true)
+    public ParkingSessionDTO getActiveSession(String userId) {
+        // Relu juste après le check-in : sur le primaire tant que la réplique peut être en retard
+        readYourWrites.pinIfRecentWrite(userId);
+        return sessionRepository.findViewsByDriverIdAndStatus(userId, SessionStatus.ACTIVE).stream()
+                .findFirst()
                 .orElse(null);
     }
 
 
-    public List<ParkingSession> getUserCompletedHistory(String userId) {
-        // On demande explicitement le statut COMPLETED
-        return sessionRepository.findAllByDriverIdAndStatus(userId, SessionStatus.COMPLETED);
+    @Transactional(readOnly = true)
+    public CursorPage<ParkingSessionDTO> getUserCompletedHistory(String userId, String cursor, Integer size) {
+        readYourWrites.pinIfRecentWrite(userId);
+        // On demande explicitement le statut COMPLETED ; les sessions anciennes sont dans l'archive (HistoryArchiver)
+        return historyPager.page(cursor, size,
+                session -> new KeysetCursor(session.getEndTime(), session.getId()),
+                (before, limit) -> sessionRepository.findHistoryPage(userId, SessionStatus.COMPLETED, before.time(), before.id(), limit),
+                (before, limit) -> sessionArchiveRepository.findHistoryPage(userId, SessionStatus.COMPLETED, before.time(), before.id(), limit));
     }
 
     // "Terminer" ---
@@ -76,6 +99,9 @@ public class ParkingService {
                 .orElseThrow(() -> new RuntimeException("Aucune session active trouvée pour cet utilisateur."));
 
         // 2. Calculer le prix (Logique standard)
+        BillingEvent billing = new BillingEvent();
+        billing.source = "manual";
+        billing.begin();
         LocalDateTime endTime = LocalDateTime.now();
         session.setEndTime(endTime);
         session.setStatus(SessionStatus.COMPLETED);
@@ -91,10 +117,14 @@ public class ParkingService {
 
         // 3. Libérer la place
         ParkingSpot spot = session.getSpot();
+        Boolean previousStatus = spot.getStatus();
         spot.setStatus(true); // LIBRE
         spotRepository.save(spot);
+        eventPublisher.publishEvent(SpotStatusChangedEvent.of(spot, previousStatus));
 
         sessionRepository.save(session);
+        readYourWrites.recordWrite(userId);
+        billing.complete(session, minutes, hourlyRate);
     }
 
 }
@@ -1,10 +1,11 @@
 package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.ZoneSpotCountDTO;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.repository.ParkingSpotRepository;
-import org.example.backend.repository.ParkingSessionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -15,13 +16,12 @@ import java.util.Map;
 public class ParkingStatusService {
 
     private final ParkingSpotRepository spotRepository;
-    private final ParkingSessionRepository sessionRepository;
+    private final SpotStateStore spotStateStore;
 
+    // Compteurs servis par l'état en mémoire des places : aucune lecture de parking_spots par requête
     public Map<String, Object> getParkingStatus() {
-        List<ParkingSpot> allSpots = spotRepository.findAll();
-
-        long totalSpots = allSpots.size();
-        long occupiedSpots = allSpots.stream().filter(spot -> Boolean.FALSE.equals(spot.getStatus())).count();
+        long totalSpots = spotStateStore.totalSpots();
+        long occupiedSpots = spotStateStore.occupiedSpots();
         long freeSpots = totalSpots - occupiedSpots;
 
         Map<String, Object> status = new HashMap<>();
@@ -32,29 +32,29 @@ public class ParkingStatusService {
 
         // Statistiques par zone
         Map<Long, Map<String, Object>> zonesStatus = new HashMap<>();
-        allSpots.stream()
-                .collect(java.util.stream.Collectors.groupingBy(spot -> spot.getZone().getId()))
-                .forEach((zoneId, spots) -> {
-                    long zoneTotal = spots.size();
-                    long zoneOccupied = spots.stream().filter(spot -> Boolean.FALSE.equals(spot.getStatus())).count();
+        for (ZoneSpotCountDTO count : spotStateStore.countSpotsPerZone()) {
+            long zoneTotal = count.totalSpots();
+            long zoneOccupied = zoneTotal - count.freeSpots();
 
-                    Map<String, Object> zoneStatus = new HashMap<>();
-                    zoneStatus.put("zoneName", spots.get(0).getZone().getName());
-                    zoneStatus.put("totalSpots", zoneTotal);
-                    zoneStatus.put("occupiedSpots", zoneOccupied);
-                    zoneStatus.put("freeSpots", zoneTotal - zoneOccupied);
-                    zoneStatus.put("occupationRate", String.format("%.2f%%", (zoneOccupied * 100.0 / zoneTotal)));
+            Map<String, Object> zoneStatus = new HashMap<>();
+            zoneStatus.put("zoneName", spotStateStore.zoneName(count.zoneId()));
+            zoneStatus.put("totalSpots", zoneTotal);
+            zoneStatus.put("occupiedSpots", zoneOccupied);
+            zoneStatus.put("freeSpots", count.freeSpots());
+            zoneStatus.put("occupationRate", String.format("%.2f%%", (zoneOccupied * 100.0 / zoneTotal)));
 
-                    zonesStatus.put(zoneId, zoneStatus);
-                });
+            zonesStatus.put(count.zoneId(), zoneStatus);
+        }
 
         status.put("zones", zonesStatus);
 
         return status;
     }
 
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllSpotsStatus() {
-        List<ParkingSpot> spots = spotRepository.findAll();
+        // Zone chargée avec les places : pas une requête par zone pendant le mapping
+        List<ParkingSpot> spots = spotRepository.findAllWithZone();
 
         return spots.stream()
                 .map(spot -> {
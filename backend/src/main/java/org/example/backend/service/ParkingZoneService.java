@@ -2,12 +2,16 @@ package org.example.backend.service;
 
 import org.example.backend.DTO.ParkingSpotDTO;
 import org.example.backend.DTO.ParkingZoneDTO;
+import org.example.backend.config.CacheConfig;
 import org.example.backend.entities.ParkingZone;
+import org.example.backend.geo.GeoBox;
 import org.example.backend.mappers.ParkingSpotMapper;
 import org.example.backend.mappers.ParkingZoneMapper;
 import org.example.backend.repository.ParkingSpotRepository;
 import org.example.backend.repository.ParkingZoneRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,14 +23,19 @@ public class ParkingZoneService {
     private final ParkingZoneMapper mapper;
     private final ParkingSpotRepository spotRepository;
     private final ParkingSpotMapper spotMapper;
+    private final ZoneSpatialIndex spatialIndex;
 
-    public ParkingZoneService (ParkingZoneRepository parkingZoneRepository, ParkingZoneMapper parkingZoneMapper, ParkingSpotRepository spotRepository, ParkingSpotMapper spotMapper) {
+    public ParkingZoneService (ParkingZoneRepository parkingZoneRepository, ParkingZoneMapper parkingZoneMapper, ParkingSpotRepository spotRepository, ParkingSpotMapper spotMapper, ZoneSpatialIndex spatialIndex) {
         this.repository = parkingZoneRepository;
         this.mapper = parkingZoneMapper;
         this.spotRepository = spotRepository;
         this.spotMapper = spotMapper;
+        this.spatialIndex = spatialIndex;
     }
 
+    // En cache : vidé par ParkingZonesChangedEvent (ReadCacheInvalidator)
+    @Cacheable(CacheConfig.ZONES)
+    @Transactional(readOnly = true)
     public List<ParkingZoneDTO> getAllZones() {
         // 1. Récupérer toutes les entités de la BDD
         List<ParkingZone> zones = repository.findAll();
@@ -36,6 +45,31 @@ public class ParkingZoneService {
                 .map(mapper::toDTO)
                 .collect(Collectors.toList());
     }
+
+    // Zones visibles dans le viewport de la carte (résolu par l'index spatial, sans scan complet)
+    @Transactional(readOnly = true)
+    public List<ParkingZoneDTO> getZonesInViewport(GeoBox viewport) {
+        List<Long> ids = spatialIndex.findZonesIntersecting(viewport).stream()
+                .map(ZoneSpatialIndex.IndexedZone::id)
+                .collect(Collectors.toList());
+
+        return repository.findAllById(ids).stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Zone dont l'emprise contient le point (null si aucune)
+    @Transactional(readOnly = true)
+    public ParkingZoneDTO getZoneAt(double latitude, double longitude) {
+        return spatialIndex.findZoneContaining(latitude, longitude)
+                .flatMap(repository::findById)
+                .map(mapper::toDTO)
+                .orElse(null);
+    }
+
+    // En cache par zone : invalidé quand une place de la zone change de statut
+    @Cacheable(CacheConfig.ZONE_SPOTS)
+    @Transactional(readOnly = true)
     public List<ParkingSpotDTO> getSpotsByZone(Long zoneId) {
         // 1. On vérifie si la zone existe (optionnel mais propre)
         if (!repository.existsById(zoneId)) {
@@ -43,7 +77,7 @@ public class ParkingZoneService {
         }
 
         // 2. On récupère les places
-        return spotRepository.findByZoneId(zoneId).stream()
+        return spotRepository.findByZoneIdWithZone(zoneId).stream()
                 .map(spotMapper::toDTO)
                 .collect(Collectors.toList());
     }
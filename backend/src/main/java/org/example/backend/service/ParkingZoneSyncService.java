@@ -3,13 +3,19 @@ package org.example.backend.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.entities.ParkingZone;
+import org.example.backend.events.ParkingZonesChangedEvent;
 import org.example.backend.repository.ParkingZoneRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -18,17 +24,40 @@ public class ParkingZoneSyncService {
 
     private final OverpassService overpassService;
     private final ParkingZoneRepository parkingZoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Default values when not found in Overpass data
     private static final BigDecimal DEFAULT_HOURLY_RATE = new BigDecimal("10.00");
     private static final Integer DEFAULT_CAPACITY = 35;
 
+    private static final String ALL_REGIONS = "*";
+
+    // Hash du dernier jeu de données appliqué, par périmètre ("*" = toutes les régions).
+    // Volontairement en mémoire : après un redémarrage, la première synchro refait le diff complet.
+    private final Map<String, String> appliedContentHashes = new ConcurrentHashMap<>();
+
     @Transactional
     public SyncResult syncParkingZonesFromOverpass() {
         log.info("Starting parking zones sync from Overpass API");
+        return syncParkingZones(ALL_REGIONS, overpassService::fetchParkings);
+    }
+
+    @Transactional
+    public SyncResult syncRegionFromOverpass(String region) {
+        log.info("Starting parking zones sync from Overpass API for region {}", region);
+        return syncParkingZones(region, () -> overpassService.fetchRegion(region));
+    }
 
+    private SyncResult syncParkingZones(String scope, Supplier<OverpassService.FetchResult> fetcher) {
         try {
-            List<OverpassService.ParkingData> parkingDataList = overpassService.fetchTetouanParkings();
+            OverpassService.FetchResult fetchResult = fetcher.get();
+            List<OverpassService.ParkingData> parkingDataList = fetchResult.parkings();
+
+            // Données OSM identiques à la dernière synchro appliquée : rien à comparer en base
+            if (fetchResult.contentHash().equals(appliedContentHashes.get(scope))) {
+                log.info("Overpass data unchanged for {} (hash {}), skipping diff", scope, fetchResult.contentHash());
+                return new SyncResult(0, 0, parkingDataList.size(), parkingDataList.size(), true);
+            }
 
             int created = 0;
             int updated = 0;
@@ -52,6 +81,12 @@ public class ParkingZoneSyncService {
                             changed = true;
                         }
 
+                        // Update footprint if OSM geometry changed
+                        if (data.getFootprint() != null && !Arrays.equals(data.getFootprint(), existing.getFootprint())) {
+                            existing.setFootprint(data.getFootprint());
+                            changed = true;
+                        }
+
                         // Update capacity if provided and different
                         if (data.getCapacity() != null && !data.getCapacity().equals(existing.getCapacity())) {
                             existing.setCapacity(data.getCapacity());
@@ -79,6 +114,7 @@ public class ParkingZoneSyncService {
                                 .longitude(data.getLongitude())
                                 .hourlyRate(data.getHourlyRate() != null ? data.getHourlyRate() : DEFAULT_HOURLY_RATE)
                                 .capacity(data.getCapacity() != null ? data.getCapacity() : DEFAULT_CAPACITY)
+                                .footprint(data.getFootprint())
                                 .build();
 
                         parkingZoneRepository.save(newZone);
@@ -93,12 +129,16 @@ public class ParkingZoneSyncService {
 
             log.info("Sync completed: {} created, {} updated, {} skipped", created, updated, skipped);
 
-            return new SyncResult(created, updated, skipped, parkingDataList.size());
+            appliedContentHashes.put(scope, fetchResult.contentHash());
+            if (created > 0 || updated > 0) {
+                eventPublisher.publishEvent(new ParkingZonesChangedEvent("overpass-sync"));
+            }
+            return new SyncResult(created, updated, skipped, parkingDataList.size(), false);
         } catch (Exception e) {
             log.error("Parking zones sync failed", e);
             throw new RuntimeException("Failed to sync parking zones from Overpass API", e);
         }
     }
 
-    public record SyncResult(int created, int updated, int skipped, int total) {}
+    public record SyncResult(int created, int updated, int skipped, int total, boolean unchanged) {}
 }
@@ -0,0 +1,72 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.config.CacheConfig;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.events.ZoneRatesChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidation des caches de lecture, après commit :
+ * - zones modifiées (synchro Overpass) : tout est vidé, le tarif et le nom figurent dans chaque cache ;
+ * - tarif modifié : la liste des zones et des capteurs, les places et le tarif des zones concernées ;
+ * - place qui change de statut : les places et le tarif (occupation) de sa zone, et la liste des capteurs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReadCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        clear(CacheConfig.ZONES);
+        clear(CacheConfig.ZONE_SPOTS);
+        clear(CacheConfig.SENSORS);
+        clear(CacheConfig.ZONE_RATES);
+        log.debug("Read caches cleared ({})", event.source());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZoneRatesChanged(ZoneRatesChangedEvent event) {
+        clear(CacheConfig.ZONES);
+        clear(CacheConfig.SENSORS);
+        for (Long zoneId : event.zoneIds()) {
+            evict(CacheConfig.ZONE_SPOTS, zoneId);
+            evict(CacheConfig.ZONE_RATES, zoneId);
+        }
+        log.debug("Read caches cleared for the rates of {} zones", event.zoneIds().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotStatusChanged(SpotStatusChangedEvent event) {
+        if (!event.changed()) {
+            return;
+        }
+        if (event.zoneId() != null) {
+            evict(CacheConfig.ZONE_SPOTS, event.zoneId());
+            evict(CacheConfig.ZONE_RATES, event.zoneId());
+        }
+        clear(CacheConfig.SENSORS);
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String name, Object key) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -1,31 +1,45 @@
 package org.example.backend.service;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.KeysetCursor;
 import org.example.backend.DTO.ReservationRequestDTO;
 import org.example.backend.DTO.ReservationResponseDTO;
+import org.example.backend.datasource.ReadYourWrites;
 import org.example.backend.entities.ParkingSession;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.entities.Reservation;
 import org.example.backend.enums.SessionStatus;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.metrics.ParkingMetrics;
 import org.example.backend.repository.ParkingSessionRepository;
 import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ReservationArchiveRepository;
 import org.example.backend.repository.ReservationRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationService {
 
     private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
     private final ParkingSpotRepository spotRepository;
     private final ParkingSessionRepository sessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ParkingMetrics parkingMetrics;
+    private final ReadYourWrites readYourWrites;
+    private final HistoryPager historyPager;
 
     @Transactional
     public ReservationResponseDTO createReservation(ReservationRequestDTO request) {
+        return parkingMetrics.reservation("create", () -> reserveSpot(request));
+    }
+
+    private ReservationResponseDTO reserveSpot(ReservationRequestDTO request) {
         // Vérifier que le spot existe
         ParkingSpot spot = spotRepository.findById(request.getSpotId())
                 .orElseThrow(() -> new RuntimeException("Spot non trouvé avec l'ID: " + request.getSpotId()));
@@ -36,8 +50,10 @@ public class ReservationService {
         }
 
         // Marquer le spot comme réservé (0/false)
+        Boolean previousStatus = spot.getStatus();
         spot.setStatus(false);
         spotRepository.save(spot);
+        eventPublisher.publishEvent(SpotStatusChangedEvent.of(spot, previousStatus));
 
         // Empêcher plusieurs sessions PENDING pour un même spot
         // (Le capteur va ensuite transformer PENDING -> ACTIVE)
@@ -67,6 +83,7 @@ public class ReservationService {
                 .status(SessionStatus.PENDING)
                 .build();
         ParkingSession savedSession = sessionRepository.save(pendingSession);
+        readYourWrites.recordWrite(savedReservation.getDriverId());
         System.out.println("✅ ParkingSession (PENDING) saved with ID: " + savedSession.getId());
 
         return ReservationResponseDTO.builder()
@@ -80,6 +97,7 @@ public class ReservationService {
                 .build();
     }
 
+    // Interrogée juste après la création, par id : reste sur le primaire (pas de readOnly)
     public ReservationResponseDTO getReservationStatus(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée avec l'ID: " + id));
@@ -95,23 +113,21 @@ public class ReservationService {
                 .build();
     }
 
-    public List<ReservationResponseDTO> getUserReservations(String driverId) {
-        List<Reservation> reservations = reservationRepository.findByDriverId(driverId);
-
-        return reservations.stream()
-                .map(reservation -> ReservationResponseDTO.builder()
-                        .id(reservation.getId())
-                        .spotId(reservation.getSpot().getId())
-                        .spotNumber(reservation.getSpot().getSpotNumber())
-                        .driverId(reservation.getDriverId())
-                        .startTime(reservation.getStartTime())
-                        .endTime(reservation.getEndTime())
-                        .status(reservation.getStatus())
-                        .build())
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<ReservationResponseDTO> getUserReservations(String driverId, String cursor, Integer size) {
+        readYourWrites.pinIfRecentWrite(driverId);
+        // Réservations finies depuis plus de archive.retention-days : déplacées par HistoryArchiver
+        return historyPager.page(cursor, size,
+                reservation -> new KeysetCursor(reservation.getStartTime(), reservation.getId()),
+                (before, limit) -> reservationRepository.findPageByDriverId(driverId, before.time(), before.id(), limit),
+                (before, limit) -> reservationArchiveRepository.findPageByDriverId(driverId, before.time(), before.id(), limit));
     }
 
     public void cancelReservation(Long id) {
+        parkingMetrics.reservation("cancel", () -> releaseReservation(id));
+    }
+
+    private void releaseReservation(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée"));
 
@@ -135,7 +151,10 @@ public class ReservationService {
 
         // Libérer le spot (1/true)
         ParkingSpot spot = reservation.getSpot();
+        Boolean previousStatus = spot.getStatus();
         spot.setStatus(true);
         spotRepository.save(spot);
+        eventPublisher.publishEvent(SpotStatusChangedEvent.of(spot, previousStatus));
+        readYourWrites.recordWrite(reservation.getDriverId());
     }
 }
\ No newline at end of file
@@ -3,9 +3,12 @@ package org.example.backend.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.DTO.SensorInfoDTO;
+import org.example.backend.config.CacheConfig;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.repository.ParkingSpotRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,9 +21,12 @@ public class SensorService {
 
     private final ParkingSpotRepository spotRepository;
 
+    // En cache : invalidé à chaque changement de statut d'une place (le statut figure dans chaque capteur)
+    @Cacheable(CacheConfig.SENSORS)
+    @Transactional(readOnly = true)
     public List<SensorInfoDTO> getAllSensors() {
         log.info("Récupération de tous les capteurs...");
-        List<ParkingSpot> allSpots = spotRepository.findAll();
+        List<ParkingSpot> allSpots = spotRepository.findAllWithZone();
         log.info("Nombre total de spots trouvés: {}", allSpots.size());
 
         List<SensorInfoDTO> sensors = allSpots.stream()
@@ -40,17 +46,19 @@ public class SensorService {
         return sensors;
     }
 
+    @Transactional(readOnly = true)
     public List<SensorInfoDTO> getSensorsByZone(Long zoneId) {
-        return spotRepository.findByZoneId(zoneId).stream()
+        return spotRepository.findByZoneIdWithZone(zoneId).stream()
                 .filter(spot -> spot.getSensorId() != null)
                 .map(this::convertToSensorInfoDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<SensorInfoDTO> getSensorsByStatus(String status) {
         boolean isFree = "FREE".equalsIgnoreCase(status);
 
-        return spotRepository.findAll().stream()
+        return spotRepository.findAllWithZone().stream()
                 .filter(spot -> spot.getSensorId() != null)
                 .filter(spot -> {
                     if (isFree) {
@@ -63,11 +71,12 @@ public class SensorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Long getTotalSensorsCount() {
         return spotRepository.countBySensorIdIsNotNull();
     }
 
-    private SensorInfoDTO convertToSensorInfoDTO(ParkingSpot spot) {
+    SensorInfoDTO convertToSensorInfoDTO(ParkingSpot spot) {
         try {
             SensorInfoDTO dto = new SensorInfoDTO();
             dto.setId(spot.getId());
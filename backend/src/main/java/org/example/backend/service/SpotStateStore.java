@@ -0,0 +1,418 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.SpotStateDTO;
+import org.example.backend.DTO.ZoneNameDTO;
+import org.example.backend.DTO.ZoneSpotCountDTO;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.events.SpotStatusChangedEvent;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * État en mémoire des places : zone et statut de chaque place, plus le nom des zones.
+ * Tenu à jour après commit par SpotStatusChangedEvent.
+ *
+ * Ces événements sont locaux à l'instance : avec plusieurs instances derrière le répartiteur, une place
+ * modifiée ailleurs n'est vue qu'à la réconciliation suivante, qui relit périodiquement en base les places
+ * modifiées depuis le passage précédent (colonne updated_at, même marge que le redémarrage). Les compteurs
+ * servis par ce store peuvent donc retarder d'au plus reconcile-interval-seconds sur les autres instances ;
+ * les écritures, elles, relisent toujours la base.
+ *
+ * Un instantané binaire compact est écrit périodiquement et à l'arrêt. Au redémarrage il est
+ * rechargé, puis seules les places modifiées depuis sa date sont relues en base, avec une marge
+ * couvrant les transactions en vol et l'écart d'horloge entre instances : la relecture écrase
+ * l'état, la rejouer deux fois est sans effet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpotStateStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x50535332; // "PSS2" (PSS1 portait encore la session ACTIVE)
+    private static final byte FREE = 1;
+    private static final byte OCCUPIED = 0;
+    private static final byte UNKNOWN = -1;
+    private static final long NONE = 0L;
+
+    private final ParkingSpotRepository spotRepository;
+    private final ParkingZoneRepository zoneRepository;
+
+    @Value("${spot-state.snapshot-enabled:true}")
+    private boolean snapshotEnabled;
+
+    @Value("${spot-state.snapshot-path:spot-state.snapshot}")
+    private String snapshotPath;
+
+    @Value("${spot-state.snapshot-interval-seconds:60}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${spot-state.replay-overlap-seconds:60}")
+    private long replayOverlapSeconds;
+
+    @Value("${spot-state.reconcile-interval-seconds:10}")
+    private long reconcileIntervalSeconds;
+
+    private volatile State state = State.empty();
+    private ScheduledExecutorService scheduler;
+    // Début du dernier rechargement ou de la dernière relecture : borne de la réconciliation suivante
+    private volatile long syncedAtMillis;
+
+    /**
+     * Tableaux parallèles triés par id de place ; remplacés en bloc quand une place apparaît,
+     * modifiés sur place (sous le verrou du store) pour un changement de statut.
+     */
+    private record State(long[] spotIds, long[] zoneIds, byte[] statuses, Map<Long, String> zoneNames) {
+
+        static State empty() {
+            return new State(new long[0], new long[0], new byte[0], Map.of());
+        }
+
+        int indexOf(long spotId) {
+            return Arrays.binarySearch(spotIds, spotId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        long started = System.nanoTime();
+        Snapshot snapshot = snapshotEnabled ? readSnapshot() : null;
+
+        if (snapshot != null && restore(snapshot)) {
+            log.info("Spot state restored from snapshot ({} spots) in {} ms",
+                    state.spotIds().length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } else {
+            rebuild();
+        }
+
+        if (snapshotEnabled || reconcileIntervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("spot-state").daemon().factory());
+        }
+        if (snapshotEnabled) {
+            scheduler.scheduleWithFixedDelay(this::writeSnapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+        if (reconcileIntervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly,
+                    reconcileIntervalSeconds, reconcileIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (snapshotEnabled) {
+            writeSnapshotQuietly();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSpotStatusChanged(SpotStatusChangedEvent event) {
+        if (event.spotId() == null) {
+            return;
+        }
+        applySpot(event.spotId(), event.zoneId(), event.newStatus());
+    }
+
+    /**
+     * Rechargement complet depuis la base (premier démarrage, instantané absent ou incohérent).
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        List<SpotStateDTO> spots = new ArrayList<>(spotRepository.findAllStates());
+        spots.sort((a, b) -> Long.compare(a.spotId(), b.spotId()));
+
+        int n = spots.size();
+        long[] spotIds = new long[n];
+        long[] zoneIds = new long[n];
+        byte[] statuses = new byte[n];
+        for (int i = 0; i < n; i++) {
+            SpotStateDTO spot = spots.get(i);
+            spotIds[i] = spot.spotId();
+            zoneIds[i] = spot.zoneId() != null ? spot.zoneId() : NONE;
+            statuses[i] = encodeStatus(spot.status());
+        }
+
+        Map<Long, String> zoneNames = new HashMap<>();
+        for (ZoneNameDTO zone : zoneRepository.findAllNames()) {
+            zoneNames.put(zone.zoneId(), zone.name());
+        }
+
+        state = new State(spotIds, zoneIds, statuses, zoneNames);
+        syncedAtMillis = started;
+        log.info("Spot state rebuilt from database with {} spots", n);
+    }
+
+    // ------------------------------------------------------------------------
+    // Lecture
+    // ------------------------------------------------------------------------
+
+    public int totalSpots() {
+        return state.spotIds().length;
+    }
+
+    public int occupiedSpots() {
+        int occupied = 0;
+        for (byte status : state.statuses()) {
+            if (status == OCCUPIED) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Total et places libres par zone (une place sans statut compte comme libre).
+     */
+    public List<ZoneSpotCountDTO> countSpotsPerZone() {
+        State current = state;
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        for (int i = 0; i < current.spotIds().length; i++) {
+            if (current.zoneIds()[i] == NONE) {
+                continue;
+            }
+            long[] count = counts.computeIfAbsent(current.zoneIds()[i], k -> new long[2]);
+            count[0]++;
+            if (current.statuses()[i] != OCCUPIED) {
+                count[1]++;
+            }
+        }
+        List<ZoneSpotCountDTO> result = new ArrayList<>(counts.size());
+        counts.forEach((zoneId, count) -> result.add(new ZoneSpotCountDTO(zoneId, count[0], count[1])));
+        return result;
+    }
+
+    public String zoneName(Long zoneId) {
+        return state.zoneNames().get(zoneId);
+    }
+
+    // ------------------------------------------------------------------------
+    // Mise à jour (appelants synchronisés)
+    // ------------------------------------------------------------------------
+
+    private void applySpot(long spotId, Long zoneId, Boolean status) {
+        State current = state;
+        int index = current.indexOf(spotId);
+        if (index < 0) {
+            index = insertSpot(spotId, -index - 1);
+            current = state;
+        }
+        if (zoneId != null) {
+            current.zoneIds()[index] = zoneId;
+        }
+        current.statuses()[index] = encodeStatus(status);
+    }
+
+    private int insertSpot(long spotId, int at) {
+        State current = state;
+        int n = current.spotIds().length;
+        long[] spotIds = new long[n + 1];
+        long[] zoneIds = new long[n + 1];
+        byte[] statuses = new byte[n + 1];
+
+        System.arraycopy(current.spotIds(), 0, spotIds, 0, at);
+        System.arraycopy(current.zoneIds(), 0, zoneIds, 0, at);
+        System.arraycopy(current.statuses(), 0, statuses, 0, at);
+        System.arraycopy(current.spotIds(), at, spotIds, at + 1, n - at);
+        System.arraycopy(current.zoneIds(), at, zoneIds, at + 1, n - at);
+        System.arraycopy(current.statuses(), at, statuses, at + 1, n - at);
+
+        spotIds[at] = spotId;
+        statuses[at] = UNKNOWN;
+        state = new State(spotIds, zoneIds, statuses, current.zoneNames());
+        return at;
+    }
+
+    private static byte encodeStatus(Boolean status) {
+        return status == null ? UNKNOWN : status ? FREE : OCCUPIED;
+    }
+
+    // ------------------------------------------------------------------------
+    // Instantané disque
+    // ------------------------------------------------------------------------
+
+    private record Snapshot(long takenAtMillis, State state) {}
+
+    /**
+     * Charge l'instantané puis relit en base les changements postérieurs.
+     * Faux si l'état obtenu ne correspond pas à la base (base recréée, places supprimées) : rechargement complet.
+     */
+    private synchronized boolean restore(Snapshot snapshot) {
+        state = snapshot.state();
+        syncedAtMillis = snapshot.takenAtMillis();
+        int replayed = replayChanges();
+        log.info("Replayed {} spot changes since snapshot", replayed);
+
+        long expected = spotRepository.count();
+        if (expected != state.spotIds().length) {
+            log.warn("Spot state snapshot out of sync ({} spots, database has {}), rebuilding",
+                    state.spotIds().length, expected);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Relit les places modifiées depuis la relecture précédente, y compris par les autres instances.
+     */
+    public synchronized void reconcile() {
+        int replayed = replayChanges();
+        if (replayed > 0) {
+            log.debug("Spot state reconciled with {} changes from database", replayed);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // Réessayé au passage suivant, depuis la même borne
+            log.warn("Failed to reconcile spot state: {}", e.getMessage());
+        }
+    }
+
+    // Appelant synchronisé ; la borne n'avance qu'une fois la relecture appliquée
+    private int replayChanges() {
+        long started = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(syncedAtMillis).minusSeconds(replayOverlapSeconds), ZoneId.systemDefault());
+        List<SpotStateDTO> spots = spotRepository.findStatesChangedSince(since);
+        for (SpotStateDTO spot : spots) {
+            applySpot(spot.spotId(), spot.zoneId(), spot.status());
+        }
+        syncedAtMillis = started;
+        return spots.size();
+    }
+
+    private void writeSnapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            // L'instantané n'accélère que le redémarrage : un échec ne doit rien bloquer
+            log.warn("Failed to write spot state snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Format : magic, date (epoch ms), zones (id, nom), places (id, zone, statut), CRC32C.
+     */
+    public void writeSnapshot() throws IOException {
+        // Date de la dernière relecture en base plutôt que l'heure courante : les changements des autres
+        // instances pas encore réconciliés seront relus au redémarrage
+        long takenAt;
+        State copy;
+        synchronized (this) {
+            takenAt = syncedAtMillis;
+            State current = state;
+            copy = new State(current.spotIds().clone(), current.zoneIds().clone(), current.statuses().clone(),
+                    new HashMap<>(current.zoneNames()));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + copy.spotIds().length * 17);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(takenAt);
+        out.writeInt(copy.zoneNames().size());
+        for (Map.Entry<Long, String> zone : copy.zoneNames().entrySet()) {
+            out.writeLong(zone.getKey());
+            byte[] name = zone.getValue() != null ? zone.getValue().getBytes(StandardCharsets.UTF_8) : new byte[0];
+            out.writeInt(name.length);
+            out.write(name);
+        }
+        int n = copy.spotIds().length;
+        out.writeInt(n);
+        for (int i = 0; i < n; i++) {
+            out.writeLong(copy.spotIds()[i]);
+            out.writeLong(copy.zoneIds()[i]);
+            out.writeByte(copy.statuses()[i]);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Path target = Path.of(snapshotPath).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "spot-state", ".tmp");
+        Files.write(tmp, bytes.toByteArray());
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Spot state snapshot written: {} spots, {} bytes", n, bytes.size());
+    }
+
+    private Snapshot readSnapshot() {
+        Path path = Path.of(snapshotPath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            int contentLength = buffer.capacity() - Integer.BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.array(), 0, contentLength);
+            if (buffer.getInt(contentLength) != (int) crc.getValue() || buffer.getInt() != SNAPSHOT_MAGIC) {
+                log.warn("Spot state snapshot {} is corrupted, ignoring", path);
+                return null;
+            }
+
+            long takenAt = buffer.getLong();
+            int zoneCount = buffer.getInt();
+            Map<Long, String> zoneNames = new HashMap<>(zoneCount * 2);
+            for (int i = 0; i < zoneCount; i++) {
+                long zoneId = buffer.getLong();
+                byte[] name = new byte[buffer.getInt()];
+                buffer.get(name);
+                zoneNames.put(zoneId, new String(name, StandardCharsets.UTF_8));
+            }
+            int n = buffer.getInt();
+            long[] spotIds = new long[n];
+            long[] zoneIds = new long[n];
+            byte[] statuses = new byte[n];
+            for (int i = 0; i < n; i++) {
+                spotIds[i] = buffer.getLong();
+                zoneIds[i] = buffer.getLong();
+                statuses[i] = buffer.get();
+            }
+            return new Snapshot(takenAt, new State(spotIds, zoneIds, statuses, zoneNames));
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            log.warn("Failed to read spot state snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
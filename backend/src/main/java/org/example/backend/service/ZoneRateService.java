@@ -4,12 +4,19 @@ package org.example.backend.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.DTO.ZoneRateDTO;
+import org.example.backend.DTO.ZoneRevenueDTO;
+import org.example.backend.DTO.ZoneSpotCountDTO;
+import org.example.backend.config.CacheConfig;
 import org.example.backend.entities.ParkingZone;
 import org.example.backend.entities.ParkingSpot;
 import org.example.backend.entities.ParkingSession;
+import org.example.backend.events.ZoneRatesChangedEvent;
 import org.example.backend.repository.ParkingZoneRepository;
 import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingSessionArchiveRepository;
 import org.example.backend.repository.ParkingSessionRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +25,12 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,20 +41,44 @@ public class ZoneRateService {
     private final ParkingZoneRepository parkingZoneRepository;
     private final ParkingSpotRepository parkingSpotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
+    private final ParkingSessionArchiveRepository parkingSessionArchiveRepository;
+    private final HistoryArchiver historyArchiver;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<ZoneRateDTO> getAllZoneRates() {
         log.info("Récupération de tous les tarifs de zone...");
 
         List<ParkingZone> zones = parkingZoneRepository.findAll();
-        List<ZoneRateDTO> zoneRates = new ArrayList<>();
 
+        // Occupation et revenu de toutes les zones en deux requêtes GROUP BY (au lieu de deux par zone)
+        Map<Long, ZoneSpotCountDTO> spotCounts = new HashMap<>();
+        for (ZoneSpotCountDTO count : parkingSpotRepository.countSpotsPerZone()) {
+            spotCounts.put(count.zoneId(), count);
+        }
+        LocalDateTime endDate = LocalDateTime.now();
+        Map<Long, BigDecimal> revenues = new HashMap<>();
+        LocalDateTime startDate = endDate.minusDays(30);
+        for (ZoneRevenueDTO revenue : parkingSessionRepository.calculateRevenuePerZone(startDate, endDate)) {
+            revenues.put(revenue.zoneId(), revenue.revenue());
+        }
+        // Période plus longue que la rétention : sessions archivées ajoutées (aucune ligne n'est dans les deux tables)
+        if (historyArchiver.reachesArchive(startDate)) {
+            for (ZoneRevenueDTO revenue : parkingSessionArchiveRepository.calculateRevenuePerZone(startDate, endDate)) {
+                revenues.merge(revenue.zoneId(), revenue.revenue(), BigDecimal::add);
+            }
+        }
+
+        List<ZoneRateDTO> zoneRates = new ArrayList<>();
         for (ParkingZone zone : zones) {
-            try {
-                ZoneRateDTO dto = convertToZoneRateDTO(zone);
-                zoneRates.add(dto);
-            } catch (Exception e) {
-                log.error("Erreur lors de la conversion de la zone {}: {}", zone.getId(), e.getMessage());
+            ZoneSpotCountDTO count = spotCounts.get(zone.getId());
+            long occupiedSpots = 0;
+            if (count != null) {
+                occupiedSpots = count.totalSpots() - (count.freeSpots() != null ? count.freeSpots() : 0L);
             }
+            BigDecimal totalRevenue = revenues.getOrDefault(zone.getId(), BigDecimal.ZERO);
+            zoneRates.add(toZoneRateDTO(zone, occupiedSpots,
+                    totalRevenue.divide(BigDecimal.valueOf(30), 2, RoundingMode.HALF_UP)));
         }
 
         log.info("{} tarifs de zone récupérés", zoneRates.size());
@@ -52,6 +87,33 @@ public class ZoneRateService {
 
     @Transactional
     public boolean updateZoneRate(Long zoneId, BigDecimal newRate) {
+        if (!applyZoneRate(zoneId, newRate)) {
+            return false;
+        }
+        // Caches de lecture exposant le tarif : invalidés après commit (pas de reconstruction des index de zones)
+        eventPublisher.publishEvent(new ZoneRatesChangedEvent(List.of(zoneId)));
+        return true;
+    }
+
+    /**
+     * Mise à jour en masse dans une seule transaction : une seule invalidation des caches pour tout le lot.
+     * Retourne les zones effectivement mises à jour (les identifiants inconnus sont ignorés).
+     */
+    @Transactional
+    public Set<Long> updateZoneRates(Map<Long, BigDecimal> newRates) {
+        Set<Long> updated = new LinkedHashSet<>();
+        newRates.forEach((zoneId, newRate) -> {
+            if (applyZoneRate(zoneId, newRate)) {
+                updated.add(zoneId);
+            }
+        });
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new ZoneRatesChangedEvent(updated));
+        }
+        return updated;
+    }
+
+    private boolean applyZoneRate(Long zoneId, BigDecimal newRate) {
         log.info("Mise à jour du tarif de la zone {} à {}", zoneId, newRate);
 
         Optional<ParkingZone> zoneOpt = parkingZoneRepository.findById(zoneId);
@@ -70,6 +132,9 @@ public class ZoneRateService {
         return false;
     }
 
+    // En cache par zone : invalidé par un changement de tarif ou de statut d'une place de la zone
+    @Cacheable(cacheNames = CacheConfig.ZONE_RATES, unless = "#result == null")
+    @Transactional(readOnly = true)
     public ZoneRateDTO getZoneRateById(Long zoneId) {
         Optional<ParkingZone> zoneOpt = parkingZoneRepository.findById(zoneId);
 
@@ -81,20 +146,18 @@ public class ZoneRateService {
     }
 
     private ZoneRateDTO convertToZoneRateDTO(ParkingZone zone) {
+        // Calculer les spots occupés et le revenu moyen quotidien de cette zone
+        return toZoneRateDTO(zone, calculateOccupiedSpots(zone.getId()), calculateAverageDailyRevenue(zone.getId()));
+    }
+
+    private ZoneRateDTO toZoneRateDTO(ParkingZone zone, Long occupiedSpots, BigDecimal averageDailyRevenue) {
         ZoneRateDTO dto = new ZoneRateDTO();
         dto.setId(zone.getId());
         dto.setName(zone.getName());
         dto.setCurrentRate(zone.getHourlyRate());
         dto.setCapacity(zone.getCapacity());
-
-        // Calculer les spots occupés dans cette zone
-        Long occupiedSpots = calculateOccupiedSpots(zone.getId());
         dto.setOccupiedSpots(occupiedSpots);
-
-        // Calculer le revenu moyen quotidien
-        BigDecimal averageDailyRevenue = calculateAverageDailyRevenue(zone.getId());
         dto.setAverageDailyRevenue(averageDailyRevenue);
-
         return dto;
     }
 
@@ -120,6 +183,13 @@ public class ZoneRateService {
 
             // Méthode 1: Utiliser une requête personnalisée si elle existe
             BigDecimal totalRevenue = parkingSessionRepository.calculateRevenueForZone(zoneId, startDate, endDate);
+            if (historyArchiver.reachesArchive(startDate)) {
+                // Aucune session chaude sur la période (somme nulle) : le revenu archivé compte quand même
+                BigDecimal archived = parkingSessionArchiveRepository.calculateRevenueForZone(zoneId, startDate, endDate);
+                if (archived != null) {
+                    totalRevenue = (totalRevenue != null ? totalRevenue : BigDecimal.ZERO).add(archived);
+                }
+            }
 
             if (totalRevenue != null) {
                 // Diviser par 30 pour obtenir la moyenne quotidienne
@@ -0,0 +1,94 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.geo.GeoBox;
+import org.example.backend.geo.Polygon;
+import org.example.backend.geo.PolygonCodec;
+import org.example.backend.geo.STRtree;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index spatial en mémoire des zones (R-tree sur les emprises OSM).
+ * Répond à "quelle zone contient ce point" et "quelles zones sont dans ce viewport"
+ * sans parcourir toute la table parking_zones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ZoneSpatialIndex {
+
+    private final ParkingZoneRepository zoneRepository;
+
+    // Remplacé en bloc à chaque reconstruction : les lectures ne prennent aucun verrou
+    private volatile STRtree<IndexedZone> tree = new STRtree<>(List.of(), IndexedZone::box);
+
+    /**
+     * @param footprint null si la zone n'a qu'un centroïde (noeud OSM)
+     */
+    public record IndexedZone(Long id, GeoBox box, Polygon footprint, double latitude, double longitude) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonesChanged(ParkingZonesChangedEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<ParkingZone> zones = zoneRepository.findAll();
+        List<IndexedZone> entries = new ArrayList<>(zones.size());
+
+        for (ParkingZone zone : zones) {
+            if (zone.getFootprint() != null && zone.getFootprint().length > 0) {
+                Polygon polygon = PolygonCodec.decode(zone.getFootprint());
+                entries.add(new IndexedZone(zone.getId(), polygon.bounds(), polygon,
+                        zone.getLatitude(), zone.getLongitude()));
+            } else if (zone.getLatitude() != null && zone.getLongitude() != null) {
+                entries.add(new IndexedZone(zone.getId(), GeoBox.ofPoint(zone.getLatitude(), zone.getLongitude()),
+                        null, zone.getLatitude(), zone.getLongitude()));
+            }
+        }
+
+        tree = new STRtree<>(entries, IndexedZone::box);
+        log.info("Zone spatial index rebuilt with {} zones", entries.size());
+    }
+
+    /**
+     * Zone dont l'emprise contient le point. Si plusieurs emprises se chevauchent,
+     * la plus petite (la plus précise) l'emporte.
+     */
+    public Optional<Long> findZoneContaining(double lat, double lon) {
+        IndexedZone[] best = {null};
+        tree.searchPoint(lat, lon, candidate -> {
+            if (candidate.footprint() != null && candidate.footprint().contains(lat, lon)
+                    && (best[0] == null || candidate.box().area() < best[0].box().area())) {
+                best[0] = candidate;
+            }
+        });
+        return Optional.ofNullable(best[0]).map(IndexedZone::id);
+    }
+
+    public List<IndexedZone> findZonesIntersecting(GeoBox viewport) {
+        List<IndexedZone> result = new ArrayList<>();
+        tree.search(viewport, result::add);
+        return result;
+    }
+
+    public int size() {
+        return tree.size();
+    }
+}
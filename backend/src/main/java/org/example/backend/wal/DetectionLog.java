@@ -0,0 +1,578 @@
+package org.example.backend.wal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.config.DetectionLogProperties;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal local (write-ahead log) des détections capteurs, mappé en mémoire.
+ * Une détection y est ajoutée avant tout accès à la base : si MySQL ralentit ou bascule,
+ * l'événement est déjà sur disque et sera appliqué dès que la base répond.
+ *
+ * Segments de taille fixe {@code <directory>/<première séquence>.wal}, enregistrements
+ * [longueur int][crc32c int][séquence long][charge utile]. Le fichier {@code checkpoint}
+ * contient la dernière séquence appliquée en base ; au redémarrage la lecture reprend juste après.
+ * Les fsync sont groupés : un force() couvre toutes les écritures arrivées pendant le précédent.
+ * Un force() en échec (disque plein, erreur d'E/S) met le journal en échec : les ajouts en attente et
+ * les suivants sont refusés (DetectionLogUnavailableException, 503) au lieu d'attendre un fsync qui ne viendra pas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DetectionLog {
+
+    static final int HEADER_BYTES = 16;
+    // 2 : numéro de séquence capteur ; les enregistrements en version 1 restent lisibles
+    private static final byte FORMAT_VERSION = 2;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final DetectionLogProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition written = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    // Protégés par lock
+    private Segment active;
+    private int writePosition;
+    private long nextSequence;
+    private long writtenSequence;
+
+    private volatile long durableSequence;
+    private volatile long appliedSequence;
+    private volatile boolean open;
+    private volatile RuntimeException failure;
+    private MappedByteBuffer checkpoint;
+    private Thread flusher;
+
+    public record Entry(long sequence, ParkingDetectionRequest request) {}
+
+    private record Segment(long baseSequence, Path path, MappedByteBuffer buffer) {}
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+
+        checkpoint = map(directory.resolve(CHECKPOINT_FILE), Long.BYTES);
+        appliedSequence = checkpoint.getLong(0);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .forEach(path -> {
+                        long base = baseSequence(path);
+                        segments.put(base, new Segment(base, path, map(path, (int) sizeOf(path))));
+                    });
+        }
+
+        long lastSequence = segments.isEmpty() ? appliedSequence : recoverLastSegment();
+        if (segments.isEmpty() || appliedSequence > lastSequence) {
+            // Journal absent ou en retard sur le checkpoint : on repart d'un segment neuf
+            lastSequence = appliedSequence;
+            active = createSegment(directory, lastSequence + 1);
+            writePosition = 0;
+        }
+        nextSequence = lastSequence + 1;
+        writtenSequence = lastSequence;
+        durableSequence = lastSequence;
+        releaseSegmentsUpTo(appliedSequence);
+
+        open = true;
+        flusher = Thread.ofPlatform().name("detection-log-flusher").daemon().start(this::flushLoop);
+        log.info("Detection log opened in {}: {} segments, applied up to {}, {} pending",
+                directory.toAbsolutePath(), segments.size(), appliedSequence, lastSequence - appliedSequence);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (!open) {
+            return;
+        }
+        lock.lock();
+        try {
+            open = false;
+            written.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        if (failure == null) {
+            force(active.buffer());
+            force(checkpoint);
+        }
+        log.info("Detection log closed at sequence {}, applied up to {}", writtenSequence, appliedSequence);
+    }
+
+    public boolean isEnabled() {
+        return open;
+    }
+
+    // Échec d'écriture sur disque, ou null : le journal refuse alors tout ajout
+    public RuntimeException failure() {
+        return failure;
+    }
+
+    /**
+     * Ajoute la détection au journal et rend la main une fois l'écriture durable.
+     * {@code onSequence} reçoit la séquence attribuée avant que l'enregistrement ne soit visible
+     * du lecteur : l'appelant peut s'y abonner au résultat sans course avec l'application en base.
+     */
+    public long append(ParkingDetectionRequest request, LongConsumer onSequence) throws InterruptedException {
+        byte[] payload = encodeChecked(request);
+
+        long sequence;
+        lock.lock();
+        try {
+            sequence = write(payload);
+            onSequence.accept(sequence);
+            publish(sequence);
+            awaitDurableLocked(sequence);
+        } finally {
+            lock.unlock();
+        }
+        return sequence;
+    }
+
+    /**
+     * Ajoute un lot de détections (passerelles capteurs) : un seul fsync attendu pour tout le lot.
+     * Renvoie la séquence du dernier enregistrement, ou 0 si le lot est vide.
+     */
+    public long appendAll(List<ParkingDetectionRequest> requests) throws InterruptedException {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        byte[][] payloads = new byte[requests.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = encodeChecked(requests.get(i));
+        }
+
+        long sequence = 0;
+        lock.lock();
+        try {
+            for (byte[] payload : payloads) {
+                sequence = write(payload);
+            }
+            publish(sequence);
+            awaitDurableLocked(sequence);
+        } finally {
+            lock.unlock();
+        }
+        return sequence;
+    }
+
+    private byte[] encodeChecked(ParkingDetectionRequest request) {
+        byte[] payload = encode(request);
+        if (HEADER_BYTES + payload.length > segmentBytes()) {
+            throw new IllegalArgumentException("Détection trop volumineuse pour le journal: " + payload.length + " octets");
+        }
+        return payload;
+    }
+
+    // Appelé sous lock : écrit l'enregistrement sans le rendre visible du lecteur
+    private long write(byte[] payload) {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (!open) {
+            throw new IllegalStateException("Journal des détections fermé");
+        }
+        ensureWritable();
+        if (writePosition + recordBytes > active.buffer().capacity()) {
+            roll();
+        }
+        long sequence = nextSequence++;
+        writeRecord(active.buffer(), writePosition, sequence, payload);
+        writePosition += recordBytes;
+        return sequence;
+    }
+
+    private void publish(long sequence) {
+        writtenSequence = sequence;
+        written.signal();
+    }
+
+    // Une détection écrite mais refusée ici peut devenir durable ensuite : l'émetteur la renvoie, l'application est idempotente
+    private void awaitDurableLocked(long sequence) throws InterruptedException {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(properties.getDurableTimeoutMs());
+        while (durableSequence < sequence) {
+            ensureWritable();
+            if (nanos <= 0) {
+                throw new DetectionLogUnavailableException("Journal des détections: écriture sur disque non confirmée après "
+                        + properties.getDurableTimeoutMs() + " ms");
+            }
+            nanos = durable.awaitNanos(nanos);
+        }
+    }
+
+    private void ensureWritable() {
+        RuntimeException error = failure;
+        if (error != null) {
+            throw new DetectionLogUnavailableException("Journal des détections en échec: " + error.getMessage());
+        }
+    }
+
+    // Appelé sous lock
+    private void fail(RuntimeException error) {
+        if (failure == null) {
+            failure = error;
+            log.error("Detection log write failed, rejecting detections until restart", error);
+        }
+        durable.signalAll();
+    }
+
+    // Point d'extension des tests (disque en échec ou bloqué)
+    void force(MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    /**
+     * Marque la séquence comme appliquée en base. Les segments entièrement appliqués sont supprimés.
+     */
+    public void checkpoint(long sequence) {
+        checkpoint.putLong(0, sequence);
+        appliedSequence = sequence;
+        releaseSegmentsUpTo(sequence);
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    public long pending() {
+        return durableSequence - appliedSequence;
+    }
+
+    public Reader readerAfter(long sequence) {
+        return new Reader(sequence);
+    }
+
+    /**
+     * Lecture séquentielle des enregistrements durables, utilisée par un seul thread (l'applicateur).
+     */
+    public final class Reader {
+
+        private long lastSequence;
+        private Segment segment;
+        private int position;
+
+        private Reader(long lastSequence) {
+            this.lastSequence = lastSequence;
+        }
+
+        /**
+         * Prochain enregistrement durable, ou null si rien n'arrive avant le délai.
+         */
+        public Entry poll(long timeoutMs) throws InterruptedException {
+            if (!awaitDurable(lastSequence + 1, timeoutMs)) {
+                return null;
+            }
+            while (true) {
+                if (segment == null) {
+                    Map.Entry<Long, Segment> floor = segments.floorEntry(lastSequence + 1);
+                    segment = floor != null ? floor.getValue() : segments.firstEntry().getValue();
+                    position = 0;
+                }
+
+                MappedByteBuffer buffer = segment.buffer();
+                int length = position + HEADER_BYTES <= buffer.capacity() ? buffer.getInt(position) : 0;
+                if (length <= 0) {
+                    // Fin du segment : le suivant commence forcément après
+                    Map.Entry<Long, Segment> next = segments.higherEntry(segment.baseSequence());
+                    if (next == null) {
+                        return null;
+                    }
+                    segment = next.getValue();
+                    position = 0;
+                    continue;
+                }
+
+                long sequence = buffer.getLong(position + 8);
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                if (buffer.getInt(position + 4) != checksum(sequence, payload)) {
+                    throw new IllegalStateException("Enregistrement corrompu dans " + segment.path() + " à " + position);
+                }
+                position += HEADER_BYTES + length;
+
+                if (sequence > lastSequence) {
+                    lastSequence = sequence;
+                    return new Entry(sequence, decode(payload));
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Écriture et fsync groupés
+    // ------------------------------------------------------------------------
+
+    private void flushLoop() {
+        try {
+            while (true) {
+                long target;
+                Segment segment;
+                lock.lock();
+                try {
+                    while (open && writtenSequence == durableSequence) {
+                        written.await();
+                    }
+                    if (!open && writtenSequence == durableSequence) {
+                        return;
+                    }
+                    target = writtenSequence;
+                    segment = active;
+                } finally {
+                    lock.unlock();
+                }
+
+                if (properties.isFsync()) {
+                    try {
+                        force(segment.buffer());
+                        force(checkpoint);
+                    } catch (RuntimeException e) {
+                        lock.lock();
+                        try {
+                            fail(e);
+                        } finally {
+                            lock.unlock();
+                        }
+                        return;
+                    }
+                }
+
+                lock.lock();
+                try {
+                    durableSequence = target;
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void roll() {
+        // Appelé sous lock : le segment plein est forcé ici, le flusher ne suit que le segment actif
+        try {
+            force(active.buffer());
+        } catch (RuntimeException e) {
+            fail(e);
+            throw new DetectionLogUnavailableException("Journal des détections en échec: " + e.getMessage());
+        }
+        active = createSegment(Path.of(properties.getDirectory()), nextSequence);
+        writePosition = 0;
+    }
+
+    private boolean awaitDurable(long sequence, long timeoutMs) throws InterruptedException {
+        if (durableSequence >= sequence) {
+            return true;
+        }
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (durableSequence < sequence) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = durable.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void writeRecord(MappedByteBuffer buffer, int position, long sequence, byte[] payload) {
+        buffer.putLong(position + 8, sequence);
+        buffer.put(position + HEADER_BYTES, payload);
+        buffer.putInt(position + 4, checksum(sequence, payload));
+        // La longueur en dernier : un enregistrement de longueur non nulle est complet
+        buffer.putInt(position, payload.length);
+    }
+
+    // ------------------------------------------------------------------------
+    // Reprise après arrêt
+    // ------------------------------------------------------------------------
+
+    /**
+     * Parcourt le dernier segment jusqu'au premier enregistrement invalide (écriture interrompue)
+     * et renvoie la dernière séquence complète.
+     */
+    private long recoverLastSegment() {
+        Segment last = segments.lastEntry().getValue();
+        MappedByteBuffer buffer = last.buffer();
+        long sequence = last.baseSequence() - 1;
+        int position = 0;
+
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            long recordSequence = buffer.getLong(position + 8);
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            if (recordSequence != sequence + 1 || buffer.getInt(position + 4) != checksum(recordSequence, payload)) {
+                break;
+            }
+            sequence = recordSequence;
+            position += HEADER_BYTES + length;
+        }
+
+        if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            log.warn("Truncating torn record in {} at offset {}", last.path(), position);
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+
+        active = last;
+        writePosition = position;
+        return sequence;
+    }
+
+    private void releaseSegmentsUpTo(long sequence) {
+        Map.Entry<Long, Segment> first = segments.firstEntry();
+        while (first != null) {
+            Long next = segments.higherKey(first.getKey());
+            if (next == null || next > sequence + 1) {
+                return;
+            }
+            segments.remove(first.getKey());
+            try {
+                Files.deleteIfExists(first.getValue().path());
+            } catch (IOException e) {
+                log.warn("Failed to delete applied segment {}: {}", first.getValue().path(), e.getMessage());
+            }
+            first = segments.firstEntry();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Fichiers et encodage
+    // ------------------------------------------------------------------------
+
+    private Segment createSegment(Path directory, long baseSequence) {
+        Path path = directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX));
+        Segment segment = new Segment(baseSequence, path, map(path, segmentBytes()));
+        segments.put(baseSequence, segment);
+        return segment;
+    }
+
+    private int segmentBytes() {
+        return properties.getSegmentSizeMb() * 1024 * 1024;
+    }
+
+    private static MappedByteBuffer map(Path path, int size) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Le mapping reste valide après la fermeture du canal
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de mapper " + path, e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long baseSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (sequence >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static byte[] encode(ParkingDetectionRequest request) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, request.getSensorId());
+            writeString(out, request.getStatus());
+            writeString(out, request.getTimestamp());
+            out.writeBoolean(request.getSequence() != null);
+            if (request.getSequence() != null) {
+                out.writeLong(request.getSequence());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ParkingDetectionRequest decode(byte[] payload) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte version = in.readByte();
+            if (version < 1 || version > FORMAT_VERSION) {
+                throw new IllegalStateException("Version d'enregistrement inconnue: " + version);
+            }
+            ParkingDetectionRequest request = new ParkingDetectionRequest();
+            request.setSensorId(readString(in));
+            request.setStatus(readString(in));
+            request.setTimestamp(readString(in));
+            if (version >= 2 && in.readBoolean()) {
+                request.setSequence(in.readLong());
+            }
+            return request;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
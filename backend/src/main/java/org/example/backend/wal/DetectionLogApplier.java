@@ -0,0 +1,292 @@
+package org.example.backend.wal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.config.DetectionLogProperties;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.example.backend.ingest.SensorDebounceFilter;
+import org.example.backend.service.ParkingDetectionService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applique en base, dans l'ordre, les détections du journal local.
+ * Un seul thread lit le journal depuis le checkpoint ; tant que la base est indisponible
+ * la même détection est rejouée (backoff exponentiel) et le checkpoint n'avance pas.
+ * Une erreur métier (capteur inconnu, statut invalide) est définitive : la détection est sautée.
+ *
+ * L'anti-rebond (SensorDebounceFilter) s'applique ici, après journalisation : une lecture retenue dans un
+ * épisode en cours n'est pas appliquée et le checkpoint s'arrête juste avant la première lecture de l'épisode
+ * le plus ancien. Les lectures suivantes déjà appliquées seront rejouées après un arrêt brutal (au moins une
+ * fois, comme toute détection journalisée) ; aucune transition en attente n'est perdue. L'anti-rebond est
+ * amorcé avec le statut persisté des places et l'entrée comme la sortie sont idempotentes : une relecture ne
+ * crée pas de seconde session. Sans journal, pas d'anti-rebond.
+ *
+ * Toute autre erreur (journal illisible, bug) ne fait pas sauter de détection : le thread relit depuis le
+ * checkpoint avec le même backoff, le health indicator passe DOWN et les nouvelles détections sont refusées
+ * (503 / ack RETRY) au lieu d'être acquittées "queued" sans jamais être appliquées.
+ * Métrique : parking.detection.log.applier.failures.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DetectionLogApplier implements HealthIndicator {
+
+    private final DetectionLog detectionLog;
+    private final ParkingDetectionService detectionService;
+    private final SensorDebounceFilter debounceFilter;
+    private final DetectionLogProperties properties;
+    private final MeterRegistry registry;
+
+    // Appelants HTTP en attente du résultat de leur détection, par séquence
+    private final Map<Long, CompletableFuture<ParkingDetectionResponse>> waiting = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private boolean debouncing;
+    // Dernière erreur du thread d'application, null quand il avance normalement
+    private volatile RuntimeException failure;
+    private Thread worker;
+    private Counter failures;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!detectionLog.isEnabled()) {
+            return;
+        }
+        Gauge.builder("parking.detection.log.pending", detectionLog, DetectionLog::pending)
+                .description("Détections journalisées localement, pas encore appliquées en base")
+                .register(registry);
+        failures = Counter.builder("parking.detection.log.applier.failures")
+                .description("Erreurs du thread d'application du journal (hors base indisponible)")
+                .register(registry);
+
+        debouncing = debounceFilter.start(System.currentTimeMillis());
+        if (debouncing) {
+            seedDebounce();
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("detection-log-applier").daemon().start(this::applyLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Point d'entrée des détections : journalise puis attend le résultat au plus responseTimeoutMs.
+     * Vide si la base n'a pas répondu à temps ou si la lecture attend sa confirmation (anti-rebond) :
+     * la détection est durable et sera appliquée plus tard.
+     */
+    public Optional<ParkingDetectionResponse> submit(ParkingDetectionRequest request) throws InterruptedException {
+        if (!detectionLog.isEnabled()) {
+            return Optional.of(detectionService.handleDetection(request));
+        }
+        ensureApplying();
+
+        CompletableFuture<ParkingDetectionResponse> result = new CompletableFuture<>();
+        long sequence = detectionLog.append(request, seq -> waiting.put(seq, result));
+        try {
+            // null : lecture retenue par l'anti-rebond
+            return Optional.ofNullable(result.get(properties.getResponseTimeoutMs(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            log.warn("Detection {} from sensor {} queued: database did not answer within {} ms",
+                    sequence, request.getSensorId(), properties.getResponseTimeoutMs());
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            waiting.remove(sequence);
+        }
+    }
+
+    /**
+     * Journalise un lot (passerelles capteurs) en une seule écriture durable.
+     * Sans journal, chaque détection est appliquée ; seule une base indisponible fait échouer le lot.
+     */
+    public void enqueueAll(List<ParkingDetectionRequest> requests) throws InterruptedException {
+        if (detectionLog.isEnabled()) {
+            ensureApplying();
+            detectionLog.appendAll(requests);
+            return;
+        }
+        for (ParkingDetectionRequest request : requests) {
+            try {
+                detectionService.handleDetection(request);
+            } catch (RuntimeException e) {
+                if (isDatabaseUnavailable(e)) {
+                    throw e;
+                }
+                log.error("Detection from sensor {} rejected: {}", request.getSensorId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!detectionLog.isEnabled()) {
+            return Health.unknown().withDetail("enabled", false).build();
+        }
+        RuntimeException error = detectionLog.failure() != null ? detectionLog.failure() : failure;
+        Health.Builder health = error == null ? Health.up() : Health.down().withDetail("error", String.valueOf(error.getMessage()));
+        return health.withDetail("pending", detectionLog.pending())
+                .withDetail("appliedSequence", detectionLog.appliedSequence())
+                .build();
+    }
+
+    // Journal bloqué : mieux vaut refuser (l'émetteur réessaie) qu'acquitter une détection qui ne sera pas appliquée
+    private void ensureApplying() {
+        RuntimeException error = failure;
+        if (error != null) {
+            throw new DetectionLogUnavailableException("Journal des détections bloqué: " + error.getMessage());
+        }
+    }
+
+    private void applyLoop() {
+        long backoff = properties.getRetryInitialBackoffMs();
+        long pollMs = debouncing ? debounceFilter.tickMs() : 500;
+        long consumed = detectionLog.appliedSequence();
+        DetectionLog.Reader reader = detectionLog.readerAfter(consumed);
+        List<ParkingDetectionRequest> transitions = new ArrayList<>();
+        while (running) {
+            try {
+                DetectionLog.Entry entry = reader.poll(pollMs);
+                ParkingDetectionResponse response = null;
+                if (entry != null) {
+                    boolean held = debouncing
+                            && debounceFilter.offer(entry.request(), entry.sequence(), System.currentTimeMillis());
+                    if (!held) {
+                        response = apply("detection " + entry.sequence(), entry.request());
+                    }
+                    consumed = entry.sequence();
+                }
+                if (debouncing) {
+                    debounceFilter.expire(System.currentTimeMillis(), transitions);
+                    for (ParkingDetectionRequest transition : transitions) {
+                        apply("confirmed transition of sensor " + transition.getSensorId(), transition);
+                    }
+                    transitions.clear();
+                }
+
+                // Un épisode ouvert retient le checkpoint avant sa première lecture
+                long applied = debouncing ? Math.min(consumed, debounceFilter.heldSequence() - 1) : consumed;
+                if (applied > detectionLog.appliedSequence()) {
+                    detectionLog.checkpoint(applied);
+                }
+                if (entry == null) {
+                    continue;
+                }
+                if (failure != null) {
+                    log.info("Detection log applier recovered at sequence {}", entry.sequence());
+                    failure = null;
+                    backoff = properties.getRetryInitialBackoffMs();
+                }
+
+                CompletableFuture<ParkingDetectionResponse> result = waiting.remove(entry.sequence());
+                if (result != null) {
+                    result.complete(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Journal illisible ou erreur inattendue : on ne saute rien, on relit depuis le checkpoint
+                failure = e;
+                failures.increment();
+                log.error("Detection log applier failed after sequence {}, retrying in {} ms",
+                        detectionLog.appliedSequence(), backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, properties.getRetryMaxBackoffMs());
+                // Les épisodes en cours seront reconstruits par la relecture
+                debounceFilter.reset();
+                if (debouncing) {
+                    seedDebounce();
+                }
+                transitions.clear();
+                consumed = detectionLog.appliedSequence();
+                reader = detectionLog.readerAfter(consumed);
+            }
+        }
+    }
+
+    // Base indisponible : l'état confirmé reste inconnu, l'entrée et la sortie idempotentes écartent les doublons
+    private void seedDebounce() {
+        try {
+            debounceFilter.seed(detectionService.sensorStatuses());
+        } catch (RuntimeException e) {
+            log.warn("Could not seed sensor debounce from spot statuses: {}", e.getMessage());
+        }
+    }
+
+    private ParkingDetectionResponse apply(String what, ParkingDetectionRequest request) throws InterruptedException {
+        long backoff = properties.getRetryInitialBackoffMs();
+        while (true) {
+            try {
+                return detectionService.handleDetection(request);
+            } catch (RuntimeException e) {
+                if (!isDatabaseUnavailable(e)) {
+                    log.error("Failed to apply {}, skipping: {}", what, e.getMessage());
+                    return ParkingDetectionResponse.builder()
+                            .action("error")
+                            .message("Erreur interne: " + e.getMessage())
+                            .build();
+                }
+                log.warn("Database unavailable while applying {}, retrying in {} ms: {}",
+                        what, backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, properties.getRetryMaxBackoffMs());
+            }
+        }
+    }
+
+    /**
+     * Vrai si l'échec vient de la base (connexion, timeout, verrou) et non de la détection elle-même.
+     */
+    public static boolean isDatabaseUnavailable(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof TransientDataAccessException
+                    || e instanceof DataAccessResourceFailureException
+                    || e instanceof RecoverableDataAccessException
+                    || e instanceof CannotCreateTransactionException
+                    || e instanceof SQLTransientException
+                    || e instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,14 +2,18 @@ package org.example.backend.web;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.DTO.ClaimAttachmentDTO;
 import org.example.backend.DTO.ClaimCreatedDto;
+import org.example.backend.DTO.ClaimDTO;
+import org.example.backend.DTO.ClaimMessageViewDTO;
+import org.example.backend.DTO.ClaimStatusHistoryDTO;
 import org.example.backend.DTO.ServiceResponseDto;
 import org.example.backend.DTO.StatusUpdateDto;
 import org.example.backend.entities.Claim;
-import org.example.backend.entities.ClaimAttachment;
 import org.example.backend.entities.ClaimMessage;
 import org.example.backend.entities.ClaimStatusHistory;
 import org.example.backend.kafka.ClaimKafkaProducer;
+import org.example.backend.mappers.ClaimMapper;
 import org.example.backend.service.ClaimService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +28,7 @@ public class ClaimController {
 
     private final ClaimService claimService;
     private final ClaimKafkaProducer kafkaProducer;
+    private final ClaimMapper claimMapper;
 
     // ============================================
     // Query Endpoints
@@ -36,7 +41,7 @@ public class ClaimController {
      * GET /api/claims
      */
     @GetMapping
-    public ResponseEntity<List<Claim>> getAllClaims() {
+    public ResponseEntity<List<ClaimDTO>> getAllClaims() {
         return ResponseEntity.ok(claimService.getAllClaims());
     }
 
@@ -45,9 +50,8 @@ public class ClaimController {
      * GET /api/claims/{claimUuid}
      */
     @GetMapping("/{claimUuid}")
-    public ResponseEntity<Claim> getClaimByUuid(@PathVariable String claimUuid) {
-        Claim claim = claimService.getClaimByUuid(claimUuid);
-        return ResponseEntity.ok(claim);
+    public ResponseEntity<ClaimDTO> getClaimByUuid(@PathVariable String claimUuid) {
+        return ResponseEntity.ok(claimService.getClaimDTOByUuid(claimUuid));
     }
 
     /**
@@ -55,8 +59,8 @@ public class ClaimController {
      * GET /api/claims/{claimId}/messages
      */
     @GetMapping("/{claimId}/messages")
-    public ResponseEntity<List<ClaimMessage>> getClaimMessages(@PathVariable Long claimId) {
-        List<ClaimMessage> messages = claimService.getClaimMessages(claimId);
+    public ResponseEntity<List<ClaimMessageViewDTO>> getClaimMessages(@PathVariable Long claimId) {
+        List<ClaimMessageViewDTO> messages = claimService.getClaimMessages(claimId);
         return ResponseEntity.ok(messages);
     }
 
@@ -65,8 +69,8 @@ public class ClaimController {
      * GET /api/claims/{claimId}/status-history
      */
     @GetMapping("/{claimId}/status-history")
-    public ResponseEntity<List<ClaimStatusHistory>> getStatusHistory(@PathVariable Long claimId) {
-        List<ClaimStatusHistory> history = claimService.getClaimStatusHistory(claimId);
+    public ResponseEntity<List<ClaimStatusHistoryDTO>> getStatusHistory(@PathVariable Long claimId) {
+        List<ClaimStatusHistoryDTO> history = claimService.getClaimStatusHistory(claimId);
         return ResponseEntity.ok(history);
     }
 
@@ -75,8 +79,8 @@ public class ClaimController {
      * GET /api/claims/{claimId}/attachments
      */
     @GetMapping("/{claimId}/attachments")
-    public ResponseEntity<List<ClaimAttachment>> getAttachments(@PathVariable Long claimId) {
-        List<ClaimAttachment> attachments = claimService.getClaimAttachments(claimId);
+    public ResponseEntity<List<ClaimAttachmentDTO>> getAttachments(@PathVariable Long claimId) {
+        List<ClaimAttachmentDTO> attachments = claimService.getClaimAttachments(claimId);
         return ResponseEntity.ok(attachments);
     }
 
@@ -89,7 +93,7 @@ public class ClaimController {
      * POST /api/claims/{claimId}/respond
      */
     @PostMapping("/{claimId}/respond")
-    public ResponseEntity<ClaimMessage> sendResponse(
+    public ResponseEntity<ClaimMessageViewDTO> sendResponse(
             @PathVariable Long claimId,
             @RequestBody ResponseRequest request) {
 
@@ -105,8 +109,8 @@ public class ClaimController {
                 request.getAttachments()
         );
 
-        // Send to Kafka
-        Claim claim = claimService.getClaimByUuid(message.getClaim().getClaimUuid());
+        // Send to Kafka (la réclamation a été chargée par le service, pas de lazy loading ici)
+        Claim claim = message.getClaim();
 
         // Convert attachments to the correct type
         List<ServiceResponseDto.AttachmentDto> kafkaAttachments = null;
@@ -129,7 +133,7 @@ public class ClaimController {
                 kafkaAttachments
         );
 
-        return ResponseEntity.ok(message);
+        return ResponseEntity.ok(claimMapper.toDTO(message));
     }
 
     /**
@@ -137,7 +141,7 @@ public class ClaimController {
      * POST /api/claims/{claimId}/status
      */
     @PostMapping("/{claimId}/status")
-    public ResponseEntity<ClaimStatusHistory> updateStatus(
+    public ResponseEntity<ClaimStatusHistoryDTO> updateStatus(
             @PathVariable Long claimId,
             @RequestBody StatusUpdateRequest request) {
 
@@ -155,7 +159,7 @@ public class ClaimController {
         );
 
         // Send to Kafka
-        Claim claim = claimService.getClaimByUuid(statusHistory.getClaim().getClaimUuid());
+        Claim claim = statusHistory.getClaim();
         kafkaProducer.sendStatusUpdate(
                 claim,
                 statusHistory.getPreviousStatus(),
@@ -167,14 +171,14 @@ public class ClaimController {
                 request.getResolution()
         );
 
-        return ResponseEntity.ok(statusHistory);
+        return ResponseEntity.ok(claimMapper.toDTO(statusHistory));
     }
 
     @PostMapping("/test")
-    public ResponseEntity<Claim> testCreateClaim(@RequestBody ClaimCreatedDto dto) {
+    public ResponseEntity<ClaimDTO> testCreateClaim(@RequestBody ClaimCreatedDto dto) {
         log.info("TEST: Creating claim manually");
         Claim claim = claimService.processClaimCreated(dto);
-        return ResponseEntity.ok(claim);
+        return ResponseEntity.ok(claimMapper.toDTO(claim));
     }
     // ============================================
     // Request DTOs
@@ -0,0 +1,25 @@
+package org.example.backend.web;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.MapClusterDTO;
+import org.example.backend.geo.GeoBox;
+import org.example.backend.service.MapClusterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/map")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class MapController {
+
+    private final MapClusterService clusterService;
+
+    // GET /api/map/clusters?bbox=south,west,north,east&zoom=14
+    @GetMapping("/clusters")
+    public ResponseEntity<List<MapClusterDTO>> getClusters(@RequestParam String bbox, @RequestParam int zoom) {
+        return ResponseEntity.ok(clusterService.getClusters(GeoBox.parse(bbox), zoom));
+    }
+}
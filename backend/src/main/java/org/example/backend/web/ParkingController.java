@@ -2,7 +2,8 @@ package org.example.backend.web;
 
 import lombok.RequiredArgsConstructor;
 import org.example.backend.DTO.CheckInRequestDTO;
-import org.example.backend.entities.ParkingSession;
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.ParkingSessionDTO;
 import org.example.backend.service.ParkingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,8 +20,8 @@ public class ParkingController {
     // this will return the current active parking session for a user (it should be one active)
     // URL : GET /api/my-active-session?userId=user_123
     @GetMapping("/my-active-session")
-    public ResponseEntity<ParkingSession> getActiveSession(@RequestParam String userId) {
-        ParkingSession session = parkingService.getActiveSession(userId);
+    public ResponseEntity<ParkingSessionDTO> getActiveSession(@RequestParam String userId) {
+        ParkingSessionDTO session = parkingService.getActiveSession(userId);
         if (session == null) {
             return ResponseEntity.noContent().build(); // 204 No Content (Pas de session)
         }
@@ -59,12 +60,19 @@ public class ParkingController {
         }
     }
 
-    // URL : GET http://localhost:8080/api/my-history?userId=user_123
+    // URL : GET http://localhost:8080/api/my-history?userId=user_123[&cursor=...&size=20]
+    // Page suivante : rappeler avec cursor = en-tête X-Next-Cursor (absent sur la dernière page)
     @GetMapping("/my-history")
-    public ResponseEntity<List<ParkingSession>> getHistory(@RequestParam String userId) {
+    public ResponseEntity<List<ParkingSessionDTO>> getHistory(@RequestParam String userId,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
 
-        List<ParkingSession> history = parkingService.getUserCompletedHistory(userId);
+        CursorPage<ParkingSessionDTO> history = parkingService.getUserCompletedHistory(userId, cursor, size);
 
-        return ResponseEntity.ok(history);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (history.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, history.nextCursor());
+        }
+        return response.body(history.items());
     }
 }
@@ -1,31 +1,89 @@
 package org.example.backend.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.DTO.ParkingDetectionRequest;
 import org.example.backend.DTO.ParkingDetectionResponse;
-import org.example.backend.service.ParkingDetectionService;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.example.backend.exception.PayloadTooLargeException;
+import org.example.backend.ingest.DetectionPayloadDecoder;
+import org.example.backend.ingest.DetectionPipeline;
+import org.example.backend.wal.DetectionLogApplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/parking")
 @RequiredArgsConstructor
 public class ParkingDetectionController {
 
-    private final ParkingDetectionService detectionService;
+    private final DetectionPipeline detectionPipeline;
+    private final DetectionPayloadDecoder payloadDecoder;
+    private final ObjectMapper objectMapper;
 
-    @PostMapping("/detect")
-    public ResponseEntity<ParkingDetectionResponse> handleParkingDetection(
-            @RequestBody ParkingDetectionRequest request) {
+    @PostMapping(value = "/detect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ParkingDetectionResponse> handleParkingDetection(HttpServletRequest httpRequest) {
         try {
-            ParkingDetectionResponse response = detectionService.handleDetection(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            // Créer une réponse d'erreur
-            ParkingDetectionResponse errorResponse = ParkingDetectionResponse.builder()
+            // Corps lu dans le tampon du thread : décodage direct, Jackson seulement pour les formes inhabituelles
+            DetectionPayloadDecoder.Buffer body = payloadDecoder.read(httpRequest.getInputStream());
+            Optional<ParkingDetectionResponse> result = payloadDecoder.decode(body)
+                    ? detectionPipeline.submit(body.frame())
+                    : detectionPipeline.submit(objectMapper.readValue(body.bytes(), 0, body.length(), ParkingDetectionRequest.class));
+
+            // Transition en cours de confirmation ou base trop lente : acceptée (202) et appliquée plus tard
+            return result
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.accepted().body(ParkingDetectionResponse.builder()
+                            .action("queued")
+                            .message("Détection enregistrée, application en base différée")
+                            .build()));
+        } catch (PayloadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ParkingDetectionResponse.builder()
+                    .action("error")
+                    .message(e.getMessage())
+                    .build());
+        } catch (DetectionLogUnavailableException e) {
+            // Journal bloqué : rien n'est enregistré, le capteur doit réessayer
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ParkingDetectionResponse.builder()
+                    .action("error")
+                    .message(e.getMessage())
+                    .build());
+        } catch (JsonProcessingException e) {
+            // Corps qui n'est pas une détection : le renvoyer tel quel échouerait de nouveau
+            return ResponseEntity.badRequest().body(ParkingDetectionResponse.builder()
                     .action("error")
-                    .build();
-            return ResponseEntity.badRequest().body(errorResponse);
+                    .message("Détection illisible: " + e.getOriginalMessage())
+                    .build());
+        } catch (IOException e) {
+            // Corps interrompu en cours de lecture (client déconnecté)
+            return ResponseEntity.badRequest().body(ParkingDetectionResponse.builder()
+                    .action("error")
+                    .message("Corps de détection incomplet")
+                    .build());
+        } catch (InterruptedException e) {
+            // Arrêt de l'instance pendant l'attente du journal : issue inconnue, le capteur doit réessayer
+            Thread.currentThread().interrupt();
+            return unavailable("Service en cours d'arrêt");
+        } catch (RuntimeException e) {
+            if (DetectionLogApplier.isDatabaseUnavailable(e)) {
+                // Sans journal local la détection est appliquée directement : base indisponible, rien n'est enregistré
+                return unavailable("Base de données indisponible");
+            }
+            throw e;
         }
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<ParkingDetectionResponse> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ParkingDetectionResponse.builder()
+                .action("error")
+                .message(message)
+                .build());
+    }
+}
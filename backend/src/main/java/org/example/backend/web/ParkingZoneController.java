@@ -3,6 +3,7 @@ package org.example.backend.web;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.DTO.ParkingSpotDTO;
 import org.example.backend.DTO.ParkingZoneDTO;
+import org.example.backend.geo.GeoBox;
 import org.example.backend.service.ParkingZoneService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +23,22 @@ public class ParkingZoneController {
         return ResponseEntity.ok(service.getAllZones());
     }
 
+    // GET /api/zones/viewport?bbox=south,west,north,east
+    @GetMapping("/viewport")
+    public ResponseEntity<List<ParkingZoneDTO>> getZonesInViewport(@RequestParam String bbox) {
+        return ResponseEntity.ok(service.getZonesInViewport(GeoBox.parse(bbox)));
+    }
+
+    // GET /api/zones/locate?lat=35.57&lon=-5.37
+    @GetMapping("/locate")
+    public ResponseEntity<ParkingZoneDTO> locateZone(@RequestParam double lat, @RequestParam double lon) {
+        ParkingZoneDTO zone = service.getZoneAt(lat, lon);
+        if (zone == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(zone);
+    }
+
     @GetMapping("/{id}/spots")
     public ResponseEntity<List<ParkingSpotDTO>> getSpotsByZone(@PathVariable Long id) {
         return ResponseEntity.ok(service.getSpotsByZone(id));
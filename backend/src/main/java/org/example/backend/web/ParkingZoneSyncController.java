@@ -18,16 +18,20 @@ public class ParkingZoneSyncController {
     @PostMapping("/sync")
     public ResponseEntity<?> syncParkingZones() {
         try {
-            ParkingZoneSyncService.SyncResult result = syncService.syncParkingZonesFromOverpass();
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Parking zones synced successfully",
-                    "created", result.created(),
-                    "updated", result.updated(),
-                    "skipped", result.skipped(),
-                    "total", result.total()
+            return ok(syncService.syncParkingZonesFromOverpass());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of(
+                    "success", false,
+                    "message", "Failed to sync parking zones: " + e.getMessage()
             ));
+        }
+    }
+
+    // Synchronise une seule région configurée (overpass.regions.<region>)
+    @PostMapping("/sync/{region}")
+    public ResponseEntity<?> syncRegion(@PathVariable String region) {
+        try {
+            return ok(syncService.syncRegionFromOverpass(region));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
                     "success", false,
@@ -35,4 +39,16 @@ public class ParkingZoneSyncController {
             ));
         }
     }
+
+    private ResponseEntity<?> ok(ParkingZoneSyncService.SyncResult result) {
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Parking zones synced successfully",
+                "created", result.created(),
+                "updated", result.updated(),
+                "skipped", result.skipped(),
+                "total", result.total(),
+                "unchanged", result.unchanged()
+        ));
+    }
 }
@@ -1,13 +1,13 @@
 package org.example.backend.web;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.DTO.CursorPage;
 import org.example.backend.DTO.ReservationRequestDTO;
 import org.example.backend.DTO.ReservationResponseDTO;
 import org.example.backend.service.ReservationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -43,11 +43,18 @@ public class ReservationController {
         }
     }
 
+    // Page suivante : rappeler avec cursor = en-tête X-Next-Cursor (absent sur la dernière page)
     @GetMapping("/user/{driverId}")
-    public ResponseEntity<?> getUserReservations(@PathVariable String driverId) {
+    public ResponseEntity<?> getUserReservations(@PathVariable String driverId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size) {
         try {
-            List<ReservationResponseDTO> reservations = reservationService.getUserReservations(driverId);
-            return ResponseEntity.ok(reservations);
+            CursorPage<ReservationResponseDTO> reservations = reservationService.getUserReservations(driverId, cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (reservations.nextCursor() != null) {
+                response.header(CursorPage.NEXT_CURSOR_HEADER, reservations.nextCursor());
+            }
+            return response.body(reservations.items());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "error", true,
@@ -9,8 +9,10 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/zones")
@@ -130,29 +132,30 @@ public class ZoneRateController {
         try {
             log.info("PUT /api/zones/rates/bulk-update appelé avec {} mises à jour", updates.size());
 
-            int successCount = 0;
-            List<Map<String, Object>> results = new java.util.ArrayList<>();
-
+            // Lecture de tout le lot puis une seule transaction (et une seule invalidation des caches)
+            Map<Long, BigDecimal> newRates = new LinkedHashMap<>();
             for (Map<String, Object> update : updates) {
                 try {
                     Long zoneId = Long.valueOf(update.get("zoneId").toString());
                     BigDecimal newRate = new BigDecimal(update.get("newRate").toString());
-
-                    boolean updated = zoneRateService.updateZoneRate(zoneId, newRate);
-
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("zoneId", zoneId);
-                    result.put("success", updated);
-                    result.put("newRate", newRate);
-
-                    if (updated) successCount++;
-
-                    results.add(result);
+                    newRates.put(zoneId, newRate);
                 } catch (Exception e) {
                     log.warn("Échec de la mise à jour pour une zone: {}", e.getMessage());
                 }
             }
 
+            Set<Long> updated = zoneRateService.updateZoneRates(newRates);
+
+            List<Map<String, Object>> results = new java.util.ArrayList<>();
+            newRates.forEach((zoneId, newRate) -> {
+                Map<String, Object> result = new HashMap<>();
+                result.put("zoneId", zoneId);
+                result.put("success", updated.contains(zoneId));
+                result.put("newRate", newRate);
+                results.add(result);
+            });
+            int successCount = updated.size();
+
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", String.format("%d/%d tarifs mis à jour avec succès", successCount, updates.size()),
@@ -0,0 +1,167 @@
+-- Schéma tel que ddl-auto=update le produisait : les bases existantes sont marquées à cette version
+-- (spring.flyway.baseline-on-migrate) sans rejouer ce script, une base vide le crée entièrement.
+-- Les énumérations @Enumerated(STRING) sont des colonnes ENUM MySQL, comme Hibernate les créait.
+
+CREATE TABLE parking_zones (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255) NOT NULL,
+    hourly_rate  DECIMAL(38, 2),
+    latitude     FLOAT(53),
+    longitude    FLOAT(53),
+    capacity     INTEGER,
+    footprint    MEDIUMBLOB,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_parking_zones_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE parking_spots (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    spot_number  VARCHAR(255) NOT NULL,
+    sensor_id    VARCHAR(255) NOT NULL,
+    status       BIT,
+    hourly_rate  DECIMAL(38, 2),
+    zone_id      BIGINT,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_parking_spots_spot_number UNIQUE (spot_number),
+    CONSTRAINT uk_parking_spots_sensor_id UNIQUE (sensor_id),
+    CONSTRAINT fk_parking_spots_zone FOREIGN KEY (zone_id) REFERENCES parking_zones (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE parking_sessions (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    driver_id    VARCHAR(255),
+    spot_id      BIGINT,
+    start_time   DATETIME(6),
+    end_time     DATETIME(6),
+    total_cost   DECIMAL(38, 2) NOT NULL,
+    status       ENUM ('PENDING', 'ACTIVE', 'COMPLETED', 'CANCELLED'),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_parking_sessions_spot FOREIGN KEY (spot_id) REFERENCES parking_spots (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservations (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    spot_id      BIGINT      NOT NULL,
+    driver_id    VARCHAR(255),
+    start_time   DATETIME(6) NOT NULL,
+    end_time     DATETIME(6) NOT NULL,
+    status       VARCHAR(50),
+    created_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_spot FOREIGN KEY (spot_id) REFERENCES parking_spots (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE claims (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    message_id       VARCHAR(255) NOT NULL,
+    claim_uuid       VARCHAR(255) NOT NULL,
+    claim_number     VARCHAR(50)  NOT NULL,
+    correlation_uuid VARCHAR(255),
+    user_id          VARCHAR(255),
+    user_email       VARCHAR(255),
+    user_name        VARCHAR(255),
+    user_phone       VARCHAR(50),
+    service_type     VARCHAR(50),
+    title            VARCHAR(500),
+    description      TEXT,
+    priority         VARCHAR(20),
+    address          VARCHAR(500),
+    latitude         DECIMAL(10, 8),
+    longitude        DECIMAL(11, 8),
+    zone_id          BIGINT,
+    extra_data       JSON,
+    current_status   VARCHAR(50),
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_claims_claim_uuid UNIQUE (claim_uuid)
+) ENGINE = InnoDB;
+
+CREATE TABLE claim_messages (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    claim_id          BIGINT       NOT NULL,
+    message_id        VARCHAR(255) NOT NULL,
+    message_type      VARCHAR(50)  NOT NULL,
+    message_timestamp VARCHAR(50)  NOT NULL,
+    sender_type       VARCHAR(20)  NOT NULL,
+    sender_id         VARCHAR(255),
+    sender_name       VARCHAR(255),
+    message           TEXT         NOT NULL,
+    attachments       JSON,
+    service_reference VARCHAR(100),
+    created_at        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_claim_messages_claim FOREIGN KEY (claim_id) REFERENCES claims (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE claim_attachments (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    claim_id     BIGINT      NOT NULL,
+    url          TEXT        NOT NULL,
+    file_name    VARCHAR(255),
+    file_type    VARCHAR(100),
+    source       VARCHAR(50),
+    created_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_claim_attachments_claim FOREIGN KEY (claim_id) REFERENCES claims (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE claim_status_history (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    claim_id          BIGINT       NOT NULL,
+    message_id        VARCHAR(255) NOT NULL,
+    message_timestamp VARCHAR(50)  NOT NULL,
+    previous_status   VARCHAR(50),
+    new_status        VARCHAR(50)  NOT NULL,
+    reason            TEXT,
+    assigned_to       JSON,
+    resolution        JSON,
+    service_reference VARCHAR(100),
+    created_at        DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_claim_status_history_claim FOREIGN KEY (claim_id) REFERENCES claims (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE utilisateur (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    nom          VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    mot_de_passe VARCHAR(255),
+    telephone    VARCHAR(255),
+    role         ENUM ('CONDUCTEUR', 'ADMINISTRATEUR') NOT NULL,
+    clerk_id     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_utilisateur_email UNIQUE (email),
+    CONSTRAINT uk_utilisateur_clerk_id UNIQUE (clerk_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reclamation (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    user_id           VARCHAR(255),
+    user_email        VARCHAR(255),
+    user_name         VARCHAR(255),
+    user_phone        VARCHAR(255),
+    service_type      VARCHAR(255),
+    title             VARCHAR(255),
+    description       VARCHAR(255),
+    priority          VARCHAR(255),
+    address           VARCHAR(255),
+    latitude          FLOAT(53),
+    longitude         FLOAT(53),
+    attachments_json  TEXT,
+    extra_data_json   TEXT,
+    received_at       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE message_response (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    reclamation_id   BIGINT,
+    operator_id      VARCHAR(255),
+    operator_name    VARCHAR(255),
+    response_message TEXT,
+    created_at       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,67 @@
+-- Tables de séquence des générateurs pooled-lo (MySQL n'a pas de séquences, Hibernate les émule par une table
+-- à une ligne next_val). Créées vides ou laissées par ddl-auto=update à 1 : next_val est remonté au-delà du plus grand id.
+
+CREATE TABLE IF NOT EXISTS parking_sessions_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO parking_sessions_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM parking_sessions_seq);
+UPDATE parking_sessions_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM parking_sessions));
+
+CREATE TABLE IF NOT EXISTS reservations_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO reservations_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM reservations_seq);
+UPDATE reservations_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM reservations));
+
+CREATE TABLE IF NOT EXISTS claims_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO claims_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM claims_seq);
+UPDATE claims_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM claims));
+
+CREATE TABLE IF NOT EXISTS claim_messages_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO claim_messages_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM claim_messages_seq);
+UPDATE claim_messages_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM claim_messages));
+
+CREATE TABLE IF NOT EXISTS claim_attachments_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO claim_attachments_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM claim_attachments_seq);
+UPDATE claim_attachments_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM claim_attachments));
+
+CREATE TABLE IF NOT EXISTS claim_status_history_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO claim_status_history_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM claim_status_history_seq);
+UPDATE claim_status_history_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM claim_status_history));
+
+-- Index composites des requêtes de ParkingSessionRepository, ReservationRepository et des dépôts de réclamations.
+-- Les mêmes index sont déclarés sur les entités (@Table(indexes)) pour le schéma H2 des tests ;
+-- QueryIndexUsageTest vérifie par EXPLAIN que chaque requête les utilise.
+-- InnoDB ajoute la clé primaire à chaque index secondaire : un index qui contient les colonnes lues plus l'id est couvrant.
+
+-- findBySpotIdAndStatus, existsActiveSessionBySpotId
+CREATE INDEX idx_sessions_spot_status ON parking_sessions (spot_id, status);
+-- findByDriverIdAndStatus, findViewsByDriverIdAndStatus (ORDER BY start_time DESC), findByDriverId (préfixe)
+CREATE INDEX idx_sessions_driver_status_start ON parking_sessions (driver_id, status, start_time);
+-- findByStatus, countByStatus, findStatesByStatus, calculateRevenuePerZone / ForZone (couvrant : status, end_time, total_cost, spot_id)
+CREATE INDEX idx_sessions_status_end_cost ON parking_sessions (status, end_time, total_cost, spot_id);
+-- calculateRevenueBetween (couvrant)
+CREATE INDEX idx_sessions_end_cost ON parking_sessions (end_time, total_cost);
+-- findStatesChangedSince (ORDER BY updated_at, id : l'id est le suffixe implicite de l'index)
+CREATE INDEX idx_sessions_updated_at ON parking_sessions (updated_at);
+
+-- Recherches par place, statut et créneau (findBySpotIdAndStatus*, find*ReservationsForSpot*, isSpotReservedForPeriod)
+CREATE INDEX idx_reservations_spot_status_period ON reservations (spot_id, status, start_time, end_time);
+-- findByDriverId, findByDriverIdAndSpotIdAndStatus (ORDER BY start_time DESC), findActiveReservationForDriverAndSpot
+CREATE INDEX idx_reservations_driver_spot_status ON reservations (driver_id, spot_id, status, start_time);
+
+-- findByCurrentStatus, countByCurrentStatus (couvrant)
+CREATE INDEX idx_claims_current_status ON claims (current_status);
+CREATE INDEX idx_claims_user ON claims (user_id);
+CREATE INDEX idx_claims_claim_number ON claims (claim_number);
+CREATE INDEX idx_claims_service_type ON claims (service_type);
+
+-- findByClaimIdOrderByCreatedAtAsc, countByClaimId ; puis le filtre par type d'émetteur
+CREATE INDEX idx_claim_messages_claim_created ON claim_messages (claim_id, created_at);
+CREATE INDEX idx_claim_messages_claim_sender_created ON claim_messages (claim_id, sender_type, created_at);
+
+-- findByClaimId, findByClaimIdAndSource, countByClaimId
+CREATE INDEX idx_claim_attachments_claim_source ON claim_attachments (claim_id, source);
+
+-- findByClaimIdOrderByCreatedAtAsc, findFirstByClaimIdOrderByCreatedAtDesc ; findByNewStatus
+CREATE INDEX idx_claim_status_history_claim_created ON claim_status_history (claim_id, created_at);
+CREATE INDEX idx_claim_status_history_new_status ON claim_status_history (new_status);
+
+-- utilisateur(clerk_id) et utilisateur(email) sont déjà couverts par leurs contraintes d'unicité ; countByRole :
+CREATE INDEX idx_utilisateur_role ON utilisateur (role);
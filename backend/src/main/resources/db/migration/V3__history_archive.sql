@@ -0,0 +1,52 @@
+-- Archives des sessions terminées et des réservations finies, alimentées par HistoryArchiver.
+-- Partitionnement par mois (RANGE COLUMNS) : une requête bornée dans le temps ne lit que ses partitions.
+-- La clé de partition fait partie de la clé primaire (contrainte MySQL) ; pas de clé étrangère (non supportée).
+-- p_before reçoit tout ce qui précède le premier mois géré, p_future reste vide : HistoryArchiver la découpe en
+-- partitions mensuelles (REORGANIZE PARTITION) avant d'y déplacer des lignes.
+-- Partitionnement en commentaire versionné (/*!50500 ... */) : exécuté par MySQL, ignoré par H2
+-- (MigrationSchemaTest). Le statut reste un VARCHAR : pas d'ALTER de la table partitionnée pour un nouveau statut.
+
+CREATE TABLE parking_sessions_archive (
+    id           BIGINT         NOT NULL,
+    driver_id    VARCHAR(255),
+    spot_id      BIGINT,
+    spot_number  VARCHAR(255),
+    zone_id      BIGINT,
+    start_time   DATETIME(6),
+    end_time     DATETIME(6),
+    total_cost   DECIMAL(38, 2) NOT NULL,
+    status       VARCHAR(50),
+    updated_at   DATETIME(6),
+    closed_at    DATETIME(6)    NOT NULL,
+    archived_at  DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id, closed_at),
+    -- Historique d'un conducteur
+    INDEX idx_sessions_archive_driver_status_start (driver_id, status, start_time),
+    -- Revenus sur une période, total ou par zone (couvrant)
+    INDEX idx_sessions_archive_closed_status (closed_at, status, total_cost, zone_id)
+) ENGINE = InnoDB
+/*!50500 PARTITION BY RANGE COLUMNS (closed_at) (
+    PARTITION p_before VALUES LESS THAN ('2025-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+) */;
+
+CREATE TABLE reservations_archive (
+    id           BIGINT      NOT NULL,
+    spot_id      BIGINT,
+    spot_number  VARCHAR(255),
+    driver_id    VARCHAR(255),
+    start_time   DATETIME(6) NOT NULL,
+    end_time     DATETIME(6) NOT NULL,
+    status       VARCHAR(50),
+    created_at   DATETIME(6),
+    archived_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id, end_time),
+    INDEX idx_reservations_archive_driver_start (driver_id, start_time)
+) ENGINE = InnoDB
+/*!50500 PARTITION BY RANGE COLUMNS (end_time) (
+    PARTITION p_before VALUES LESS THAN ('2025-01-01 00:00:00'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+) */;
+
+-- Sélection des réservations à archiver (HistoryArchiver) : statut terminal et fin antérieure à la rétention
+CREATE INDEX idx_reservations_status_end ON reservations (status, end_time);
@@ -0,0 +1,10 @@
+-- Historique paginé par curseur : sessions triées par (end_time, id), réservations par (start_time, id).
+-- L'id est le suffixe implicite de chaque index InnoDB : la page suivante est une simple reprise de parcours.
+
+DROP INDEX idx_sessions_driver_status_start ON parking_sessions;
+CREATE INDEX idx_sessions_driver_status_end ON parking_sessions (driver_id, status, end_time);
+
+CREATE INDEX idx_reservations_driver_start ON reservations (driver_id, start_time);
+
+DROP INDEX idx_sessions_archive_driver_status_start ON parking_sessions_archive;
+CREATE INDEX idx_sessions_archive_driver_status_end ON parking_sessions_archive (driver_id, status, end_time);
@@ -0,0 +1,5 @@
+-- SpotStateStore ne suit plus les sessions : il relit les places modifiées au redémarrage et
+-- périodiquement (réconciliation entre instances), d'où l'index sur parking_spots.updated_at.
+
+DROP INDEX idx_sessions_updated_at ON parking_sessions;
+CREATE INDEX idx_spots_updated_at ON parking_spots (updated_at);
@@ -0,0 +1,56 @@
+package org.example.backend.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requête rejetée par le contrôle d'admission depuis le frontend (autre origine) : le 503 porte les en-têtes
+ * CORS et expose Retry-After, la preflight n'est pas rejetée. Limite globale à 0 : toute requête /api classée
+ * est rejetée.
+ */
+@SpringBootTest(properties = "admission-control.global-limit=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlCorsTest {
+
+    private static final String ORIGIN = "http://localhost:5173";
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    void shedResponseIsReadableFromTheFrontendOrigin() throws Exception {
+        mockMvc.perform(get("/api/parking/status").header(HttpHeaders.ORIGIN, ORIGIN))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ORIGIN))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true"))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString(HttpHeaders.RETRY_AFTER)));
+    }
+
+    @Test
+    void shedResponseDoesNotAllowAnUnknownOrigin() throws Exception {
+        mockMvc.perform(get("/api/parking/status").header(HttpHeaders.ORIGIN, "http://evil.example"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+    }
+
+    @Test
+    void preflightIsNotShed() throws Exception {
+        mockMvc.perform(options("/api/parking/status")
+                        .header(HttpHeaders.ORIGIN, ORIGIN)
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ORIGIN));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.backend.admission;
+
+import org.example.backend.config.AdmissionControlProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AIMD de la limite de concurrence : +1 par fenêtre de requêtes rapides quand la limite est utilisée,
+ * baisse multiplicative sur requête lente ou en échec, bornée par minLimit et maxLimit.
+ */
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(600);
+
+    private static ConcurrencyLimiter limiter(boolean adaptive, int initial, int min, int max) {
+        return new ConcurrencyLimiter(new AdmissionControlProperties.ClassLimit(adaptive, initial, min, max, 500, 0.5, 1.0, 1));
+    }
+
+    @Test
+    void rejectsBeyondTheLimitUntilARelease() {
+        ConcurrencyLimiter limiter = limiter(false, 2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inflight());
+
+        limiter.release(SLOW, true);
+        // Limite fixe : ni la lenteur ni l'échec ne la modifient
+        assertEquals(2, limiter.limit());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void fastRequestsAtHighUtilisationGrowTheLimitByOnePerWindow() {
+        ConcurrencyLimiter limiter = limiter(true, 4, 1, 10);
+
+        // +1/limite par requête rapide avec la limite pleine : un peu plus d'une fenêtre pour passer à 5
+        for (int i = 0; i < 4; i++) {
+            fill(limiter);
+            limiter.release(FAST, false);
+            drain(limiter);
+        }
+        assertEquals(4, limiter.limit());
+
+        fill(limiter);
+        limiter.release(FAST, false);
+        assertEquals(5, limiter.limit());
+    }
+
+    @Test
+    void underusedLimitDoesNotGrow() {
+        ConcurrencyLimiter limiter = limiter(true, 4, 1, 10);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void slowOrFailedRequestCutsTheLimit() {
+        ConcurrencyLimiter limiter = limiter(true, 8, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW, false);
+        assertEquals(4, limiter.limit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void limitStaysBetweenFloorAndCeiling() {
+        ConcurrencyLimiter limiter = limiter(true, 3, 2, 4);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, false);
+        }
+        assertEquals(2, limiter.limit());
+
+        for (int i = 0; i < 100; i++) {
+            fill(limiter);
+            limiter.release(FAST, false);
+            drain(limiter);
+        }
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void cancelFreesTheSlotWithoutAdjustingTheLimit() {
+        ConcurrencyLimiter limiter = limiter(true, 1, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.cancel();
+
+        assertEquals(0, limiter.inflight());
+        assertEquals(1, limiter.limit());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    private static void fill(ConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // jusqu'à la limite
+        }
+    }
+
+    private static void drain(ConcurrencyLimiter limiter) {
+        while (limiter.inflight() > 0) {
+            limiter.cancel();
+        }
+    }
+}
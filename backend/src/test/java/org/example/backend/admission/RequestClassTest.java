@@ -0,0 +1,50 @@
+package org.example.backend.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Classement des requêtes /api : capteurs, conducteurs, polling en lecture, back-office ;
+ * les chemins hors contrôle d'admission ne sont pas classés.
+ */
+class RequestClassTest {
+
+    @Test
+    void sensorDetections() {
+        assertEquals(RequestClass.SENSOR, RequestClass.of("POST", "/api/parking/detect"));
+    }
+
+    @Test
+    void driverActions() {
+        assertEquals(RequestClass.DRIVER, RequestClass.of("POST", "/api/spots/12/check-in"));
+        assertEquals(RequestClass.DRIVER, RequestClass.of("GET", "/api/reservations/user/3"));
+        assertEquals(RequestClass.DRIVER, RequestClass.of("POST", "/api/auth/login"));
+    }
+
+    @Test
+    void readsArePolling() {
+        assertEquals(RequestClass.POLLING, RequestClass.of("GET", "/api/parking/status"));
+        assertEquals(RequestClass.POLLING, RequestClass.of("GET", "/api/map/clusters"));
+        assertEquals(RequestClass.POLLING, RequestClass.of("GET", "/api/sensors"));
+        assertEquals(RequestClass.POLLING, RequestClass.of("GET", "/api/zones/rates"));
+    }
+
+    @Test
+    void backOffice() {
+        assertEquals(RequestClass.ADMIN, RequestClass.of("GET", "/api/admin/stats"));
+        assertEquals(RequestClass.ADMIN, RequestClass.of("POST", "/api/parking-zones/sync"));
+        assertEquals(RequestClass.ADMIN, RequestClass.of("GET", "/api/claims"));
+        assertEquals(RequestClass.ADMIN, RequestClass.of("POST", "/api/notifications/send"));
+        // Écriture des tarifs
+        assertEquals(RequestClass.ADMIN, RequestClass.of("PUT", "/api/zones/rates/bulk-update"));
+    }
+
+    @Test
+    void unclassifiedPaths() {
+        assertNull(RequestClass.of("POST", "/api/parking/other"));
+        assertNull(RequestClass.of("POST", "/api/webhooks/payment"));
+        assertNull(RequestClass.of("GET", "/api/unknown"));
+    }
+}
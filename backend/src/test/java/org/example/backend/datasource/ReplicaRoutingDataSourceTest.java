@@ -0,0 +1,145 @@
+package org.example.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.ReadReplicaProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routage primaire / réplique sur deux bases H2 indépendantes : chacune contient une ligne "marker"
+ * qui indique sur quelle base une requête a été exécutée. Le retard de réplication est simulé par
+ * la table replica_status de la réplique (read-replica.lag-query).
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final ReadReplicaProperties properties = new ReadReplicaProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWrites readYourWrites;
+    private JdbcTemplate jdbc;
+    private JdbcTemplate replicaAdmin;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setMaxLagSeconds(2);
+        properties.setLagQuery("SELECT seconds_behind_source FROM replica_status");
+        properties.setLagColumn("seconds_behind_source");
+
+        DataSource primary = database("primary");
+        replica = database("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replica_status (seconds_behind_source BIGINT)");
+        replicaAdmin.update("INSERT INTO replica_status VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, properties, registry);
+        lagMonitor.check();
+        readYourWrites = new ReadYourWrites(properties);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagMonitor, registry));
+        jdbc = new JdbcTemplate(routing);
+        transactionManager = new DataSourceTransactionManager(routing);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", readOnly(null));
+        assertEquals(1.0, registry.get("parking.datasource.reads").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void writesAndReadsOutsideTransactionsGoToThePrimary() {
+        assertEquals("primary", readWrite(null));
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    void laggingOrStoppedReplicaFallsBackToThePrimary() {
+        setLag(30L);
+        assertEquals("primary", readOnly(null));
+
+        setLag(null);
+        assertEquals("primary", readOnly(null), "Réplication arrêtée (retard NULL)");
+
+        setLag(1L);
+        assertEquals("replica", readOnly(null), "Réplique de nouveau à jour");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        replicaAdmin.execute("DROP TABLE replica_status");
+        lagMonitor.check();
+
+        assertEquals("primary", readOnly(null));
+        assertEquals(1.0, registry.get("parking.datasource.reads").tag("target", "primary_fallback").counter().count());
+    }
+
+    @Test
+    void driverReadsTheirOwnWritesFromThePrimary() {
+        readWrite("driver-1");
+
+        assertEquals("primary", readOnly("driver-1"));
+        assertEquals("replica", readOnly("driver-2"), "Les autres conducteurs restent sur la réplique");
+        assertEquals("replica", readOnly(null), "L'épinglage ne dure que la transaction");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinTheDriver() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            readYourWrites.recordWrite("driver-1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly("driver-1"));
+    }
+
+    // Transaction en écriture, enregistrée comme écriture du conducteur si driverId est renseigné
+    private String readWrite(String driverId) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            readYourWrites.recordWrite(driverId);
+            return marker();
+        });
+    }
+
+    private String readOnly(String driverId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            readYourWrites.pinIfRecentWrite(driverId);
+            return marker();
+        });
+    }
+
+    private String marker() {
+        return jdbc.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private void setLag(Long seconds) {
+        replicaAdmin.update("UPDATE replica_status SET seconds_behind_source = ?", seconds);
+        lagMonitor.check();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
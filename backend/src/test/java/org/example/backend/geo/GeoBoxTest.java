@@ -0,0 +1,26 @@
+package org.example.backend.geo;
+
+import org.example.backend.exception.InvalidGeometryException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Paramètre bbox des endpoints carte / viewport : toute valeur mal formée lève InvalidGeometryException (400).
+ */
+class GeoBoxTest {
+
+    @Test
+    void parsesSouthWestNorthEast() {
+        assertEquals(new GeoBox(35.5, -5.4, 35.6, -5.3), GeoBox.parse("35.5, -5.4,35.6 ,-5.3"));
+    }
+
+    @Test
+    void rejectsMalformedBoxes() {
+        assertThrows(InvalidGeometryException.class, () -> GeoBox.parse("35.5,-5.4,35.6"));
+        assertThrows(InvalidGeometryException.class, () -> GeoBox.parse("35.5,-5.4,abc,-5.3"));
+        assertThrows(InvalidGeometryException.class, () -> GeoBox.parse("35.5,-5.4,NaN,-5.3"));
+        assertThrows(InvalidGeometryException.class, () -> GeoBox.parse("35.6,-5.4,35.5,-5.3"));
+    }
+}
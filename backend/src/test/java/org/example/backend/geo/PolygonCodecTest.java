@@ -0,0 +1,73 @@
+package org.example.backend.geo;
+
+import org.example.backend.exception.InvalidGeometryException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Emprises de zones : encodage delta + varint zigzag sans perte au 1e-7 degré près, point de fermeture OSM
+ * retiré, test point-dans-polygone sur le résultat décodé.
+ */
+class PolygonCodecTest {
+
+    // Parking en L autour de Tétouan, anneau fermé comme dans une réponse Overpass
+    private static final double[] LATS = {35.5700000, 35.5700000, 35.5710000, 35.5710000, 35.5720000, 35.5720000, 35.5700000};
+    private static final double[] LONS = {-5.3700000, -5.3680000, -5.3680000, -5.3690000, -5.3690000, -5.3700000, -5.3700000};
+
+    @Test
+    void roundTripsCoordinatesAndDropsClosingPoint() {
+        Polygon polygon = PolygonCodec.decode(PolygonCodec.encode(LATS, LONS));
+
+        assertEquals(6, polygon.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(Math.round(LATS[i] * Polygon.E7), polygon.latE7()[i]);
+            assertEquals(Math.round(LONS[i] * Polygon.E7), polygon.lonE7()[i]);
+        }
+    }
+
+    @Test
+    void encodesSmallPolygonsCompactly() {
+        byte[] data = PolygonCodec.encode(LATS, LONS);
+
+        // Premier point en absolu (~4-5 octets par coordonnée), puis des deltas de quelques mètres
+        assertTrue(data.length < 40, "taille encodée: " + data.length);
+    }
+
+    @Test
+    void keepsOpenRingsAndSinglePoints() {
+        Polygon open = PolygonCodec.decode(PolygonCodec.encode(new double[]{1, 2, 3}, new double[]{4, 5, 6}));
+        assertEquals(3, open.size());
+
+        Polygon point = PolygonCodec.decode(PolygonCodec.encode(new double[]{-33.9}, new double[]{151.2}));
+        assertArrayEquals(new int[]{-339_000_000}, point.latE7());
+        assertArrayEquals(new int[]{1_512_000_000}, point.lonE7());
+    }
+
+    @Test
+    void decodedPolygonAnswersContainsAndBounds() {
+        Polygon polygon = PolygonCodec.decode(PolygonCodec.encode(LATS, LONS));
+
+        assertTrue(polygon.contains(35.5705, -5.3690));
+        assertTrue(polygon.contains(35.5715, -5.3695));
+        // Creux du L
+        assertFalse(polygon.contains(35.5715, -5.3685));
+        assertFalse(polygon.contains(35.5730, -5.3690));
+
+        GeoBox bounds = polygon.bounds();
+        assertEquals(35.57, bounds.minLat(), 1e-9);
+        assertEquals(35.572, bounds.maxLat(), 1e-9);
+        assertEquals(-5.37, bounds.minLon(), 1e-9);
+        assertEquals(-5.368, bounds.maxLon(), 1e-9);
+    }
+
+    @Test
+    void rejectsMismatchedCoordinateArrays() {
+        assertThrows(InvalidGeometryException.class,
+                () -> PolygonCodec.encode(new double[]{1, 2}, new double[]{1}));
+    }
+}
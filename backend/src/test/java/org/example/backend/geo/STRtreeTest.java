@@ -0,0 +1,82 @@
+package org.example.backend.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * R-tree STR : mêmes résultats qu'un parcours linéaire, quelle que soit la profondeur de l'arbre.
+ */
+class STRtreeTest {
+
+    private record Zone(int id, GeoBox box) {
+    }
+
+    @Test
+    void searchMatchesLinearScan() {
+        SplittableRandom random = new SplittableRandom(42);
+        // Plus de 16 * 16 entrées : au moins trois niveaux
+        List<Zone> zones = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            double lat = 35 + random.nextDouble();
+            double lon = -6 + random.nextDouble();
+            zones.add(new Zone(i, new GeoBox(lat, lon, lat + random.nextDouble(0.002), lon + random.nextDouble(0.002))));
+        }
+        STRtree<Zone> tree = new STRtree<>(zones, Zone::box);
+        assertEquals(5_000, tree.size());
+
+        for (int q = 0; q < 200; q++) {
+            double lat = 35 + random.nextDouble();
+            double lon = -6 + random.nextDouble();
+            GeoBox query = new GeoBox(lat, lon, lat + random.nextDouble(0.05), lon + random.nextDouble(0.05));
+
+            Set<Integer> expected = new HashSet<>();
+            for (Zone zone : zones) {
+                if (zone.box().intersects(query)) {
+                    expected.add(zone.id());
+                }
+            }
+            Set<Integer> found = new HashSet<>();
+            tree.search(query, zone -> assertTrue(found.add(zone.id()), "zone visitée deux fois: " + zone.id()));
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void searchPointHitsContainingBoxesOnly() {
+        List<Zone> zones = List.of(
+                new Zone(1, new GeoBox(0, 0, 1, 1)),
+                new Zone(2, new GeoBox(0.5, 0.5, 2, 2)),
+                new Zone(3, GeoBox.ofPoint(5, 5)));
+        STRtree<Zone> tree = new STRtree<>(zones, Zone::box);
+
+        Set<Integer> found = new HashSet<>();
+        tree.searchPoint(0.75, 0.75, zone -> found.add(zone.id()));
+        assertEquals(Set.of(1, 2), found);
+
+        found.clear();
+        tree.searchPoint(5, 5, zone -> found.add(zone.id()));
+        assertEquals(Set.of(3), found);
+
+        found.clear();
+        tree.searchPoint(3, 3, zone -> found.add(zone.id()));
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        STRtree<Zone> tree = new STRtree<>(List.of(), Zone::box);
+
+        List<Zone> found = new ArrayList<>();
+        tree.search(new GeoBox(-90, -180, 90, 180), found::add);
+        assertEquals(0, tree.size());
+        assertTrue(found.isEmpty());
+    }
+}
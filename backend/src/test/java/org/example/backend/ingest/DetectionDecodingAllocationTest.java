@@ -0,0 +1,184 @@
+package org.example.backend.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exception.PayloadTooLargeException;
+import org.example.backend.metrics.ParkingMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Chemin rapide des détections (DetectionPayloadDecoder, DetectionTimestamps, SensorSequenceWatermarks) :
+ * une fois chaud, décoder, dater et dédupliquer une lecture ne doit rien allouer.
+ * Mesure par ThreadMXBean.getCurrentThreadAllocatedBytes sur le thread du test.
+ * Le tampon de réception et la table des identifiants restent bornés quoi que l'on envoie.
+ */
+class DetectionDecodingAllocationTest {
+
+    private static final int SENSORS = 64;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 5_000;
+    // Quelques Ko de marge (compilation JIT, compteurs de la JVM) pour 320 000 lectures :
+    // un seul objet alloué par lecture dépasserait déjà 5 Mo
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+
+    private final DetectionPayloadDecoder decoder = new DetectionPayloadDecoder();
+    private final SensorSequenceWatermarks watermarks =
+            new SensorSequenceWatermarks(new ParkingMetrics(new SimpleMeterRegistry()));
+    private final DetectionFrame frame = new DetectionFrame();
+    private final DetectionPayloadDecoder.AsciiView view = new DetectionPayloadDecoder.AsciiView();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(watermarks, "resetGap", 100_000L);
+    }
+
+    @Test
+    void steadyStateDecodingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Mesure des allocations par thread indisponible");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        byte[][] payloads = new byte[SENSORS][];
+        for (int s = 0; s < SENSORS; s++) {
+            payloads[s] = payload(s).getBytes(StandardCharsets.UTF_8);
+        }
+
+        long checksum = run(payloads, 0, WARMUP_ROUNDS);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        checksum += run(payloads, WARMUP_ROUNDS, MEASURED_ROUNDS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(checksum != 0);
+        assertTrue(allocated < MAX_ALLOCATED_BYTES,
+                allocated + " octets alloués pour " + (long) MEASURED_ROUNDS * SENSORS + " lectures");
+    }
+
+    @Test
+    void decodesKnownFieldsAndSkipsTheRest() {
+        byte[] json = """
+                { "sensorId" : "SENSOR-3-7", "battery": 87, "meta": {"fw": "1.2", "rssi": [-71, -70]},
+                  "status": "OCCUPIED", "timestamp": "2026-03-14T09:26:53.589+01:00", "sequence": 42 }
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(decoder.decode(json, json.length, frame, view));
+        assertEquals("SENSOR-3-7", frame.sensorId());
+        assertEquals(DetectionFrame.STATUS_OCCUPIED, frame.status());
+        assertEquals(42, frame.sequence());
+        assertEquals(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000),
+                DetectionTimestamps.toLocalDateTime(frame.timestampMillis()));
+
+        String first = frame.sensorId();
+        assertTrue(decoder.decode(json, json.length, frame, view));
+        assertSame(first, frame.sensorId(), "Identifiant de capteur canonique réutilisé");
+    }
+
+    @Test
+    void fallsBackOnUnsupportedPayloads() {
+        assertFalse(decode("{\"sensorId\":\"S\\u0031\",\"status\":\"free\"}"));
+        assertFalse(decode("{\"sensorId\":\"SÉ-1\",\"status\":\"free\"}"));
+        assertFalse(decode("{\"sensorId\":\"S1\",\"status\":\"unknown\"}"));
+        assertFalse(decode("{\"sensorId\":\"S1\",\"status\":\"free\",\"timestamp\":\"14/03/2026\"}"));
+        assertFalse(decode("{\"sensorId\":\"S1\",\"status\":\"free\""));
+        assertFalse(decode("{\"status\":\"free\"}"));
+        assertTrue(decode("{\"sensorId\":\"S1\",\"status\":\"free\",\"timestamp\":null,\"sequence\":null}"));
+        assertEquals(DetectionFrame.NO_SEQUENCE, frame.sequence());
+    }
+
+    @Test
+    void parsesSupportedTimestampShapes() {
+        assertEquals(LocalDateTime.of(2026, 3, 14, 9, 26, 53), parse("2026-03-14T09:26:53Z"));
+        assertEquals(LocalDateTime.of(2026, 3, 14, 9, 26, 53), parse("2026-03-14T09:26:53+01:00"));
+        assertEquals(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 500_000_000), parse("2026-03-14T09:26:53.5"));
+        assertEquals(LocalDateTime.of(2026, 3, 14, 9, 26), parse("2026-03-14T09:26"));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), parse("2024-02-29T00:00:00"));
+        assertEquals(LocalDateTime.of(2026, 3, 14, 0, 0).toLocalDate(), parse("2026-03-14 09:26:53").toLocalDate());
+
+        assertEquals(DetectionTimestamps.INVALID, DetectionTimestamps.parse("2025-02-29T00:00:00"));
+        assertEquals(DetectionTimestamps.INVALID, DetectionTimestamps.parse("2026-03-14T25:00"));
+        assertEquals(DetectionTimestamps.INVALID, DetectionTimestamps.parse("not-a-timestamp"));
+    }
+
+    @Test
+    void readsBodiesUpToTheCapAndRejectsLargerOnes() throws IOException {
+        DetectionPayloadDecoder.Buffer buffer =
+                decoder.read(new ByteArrayInputStream(new byte[DetectionPayloadDecoder.MAX_PAYLOAD_BYTES]));
+        assertEquals(DetectionPayloadDecoder.MAX_PAYLOAD_BYTES, buffer.length());
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> decoder.read(new ByteArrayInputStream(new byte[DetectionPayloadDecoder.MAX_PAYLOAD_BYTES + 1])));
+        // Le tampon du thread n'a pas dépassé la borne et sert encore
+        assertEquals(DetectionPayloadDecoder.MAX_PAYLOAD_BYTES, buffer.bytes().length);
+        byte[] json = "{\"sensorId\":\"S1\",\"status\":\"free\"}".getBytes(StandardCharsets.UTF_8);
+        assertTrue(decoder.decode(decoder.read(new ByteArrayInputStream(json))));
+    }
+
+    @Test
+    void sensorIdTableStopsCanonicalizingWhenFull() {
+        DetectionPayloadDecoder.SensorIdTable table = new DetectionPayloadDecoder.SensorIdTable(2);
+        byte[] ids = "S1S2S3".getBytes(StandardCharsets.US_ASCII);
+
+        assertSame(table.canonical(ids, 0, 2), table.canonical(ids, 0, 2));
+        table.canonical(ids, 2, 4);
+        String third = table.canonical(ids, 4, 6);
+
+        assertEquals("S3", third);
+        assertNotSame(third, table.canonical(ids, 4, 6));
+        assertSame(table.canonical(ids, 2, 4), table.canonical(ids, 2, 4));
+    }
+
+    private long run(byte[][] payloads, int firstRound, int rounds) {
+        long checksum = 0;
+        for (int round = firstRound; round < firstRound + rounds; round++) {
+            for (byte[] payload : payloads) {
+                if (!decoder.decode(payload, payload.length, frame, view)) {
+                    throw new AssertionError(new String(payload, StandardCharsets.UTF_8));
+                }
+                // Séquence du message : écartée dès que le tour la dépasse ; séquence du tour : acceptée
+                checksum += watermarks.check(frame.sensorId(), frame.sequence()).ordinal();
+                checksum += watermarks.check(frame.sensorId(), (long) round).ordinal();
+                checksum += frame.timestampMillis() + frame.status();
+            }
+        }
+        return checksum;
+    }
+
+    private static String payload(int sensor) {
+        String sensorId = "SENSOR-" + sensor / 8 + "-" + sensor % 8;
+        String status = sensor % 2 == 0 ? "occupied" : "free";
+        String timestamp = switch (sensor % 6) {
+            case 0 -> "\"2026-03-14T09:26:53Z\"";
+            case 1 -> "\"2026-03-14T09:26:53+01:00\"";
+            case 2 -> "\"2026-03-14T09:26:53.589\"";
+            case 3 -> "\"2026-03-14T09:26\"";
+            case 4 -> "\"2026-03-14 09:26:53\"";
+            default -> "null";
+        };
+        return "{\"sensorId\":\"" + sensorId + "\",\"status\":\"" + status + "\",\"timestamp\":" + timestamp
+                + ",\"battery\":" + (60 + sensor) + ",\"sequence\":" + (sensor + 1) + "}";
+    }
+
+    private boolean decode(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return decoder.decode(bytes, bytes.length, frame, view);
+    }
+
+    private static LocalDateTime parse(String timestamp) {
+        return DetectionTimestamps.toLocalDateTime(DetectionTimestamps.parse(timestamp));
+    }
+}
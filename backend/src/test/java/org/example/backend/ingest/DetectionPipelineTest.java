@@ -0,0 +1,120 @@
+package org.example.backend.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.example.backend.metrics.ParkingMetrics;
+import org.example.backend.wal.DetectionLogApplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Une lecture que le journal refuse ne doit pas rester marquée comme reçue : renvoyée par son émetteur,
+ * elle est de nouveau acceptée au lieu d'être écartée comme doublon. Pour un lot refusé, chaque capteur
+ * retrouve le seuil qu'il avait avant le lot, même avec plusieurs lectures du même capteur.
+ */
+class DetectionPipelineTest {
+
+    private final SensorSequenceWatermarks watermarks =
+            new SensorSequenceWatermarks(new ParkingMetrics(new SimpleMeterRegistry()));
+    private final DetectionLogApplier applier = mock(DetectionLogApplier.class);
+    private final DetectionPipeline pipeline = new DetectionPipeline(watermarks, applier);
+    private final ParkingDetectionResponse applied = ParkingDetectionResponse.builder().action("entry").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(watermarks, "resetGap", 100_000L);
+    }
+
+    @Test
+    void requestRejectedByTheLogIsAcceptedAgainWhenResent() throws Exception {
+        when(applier.submit(any()))
+                .thenReturn(Optional.of(applied))
+                .thenThrow(new DetectionLogUnavailableException("journal bloqué"))
+                .thenReturn(Optional.of(applied));
+        assertEquals(Optional.of(applied), pipeline.submit(request(4)));
+
+        assertThrows(DetectionLogUnavailableException.class, () -> pipeline.submit(request(5)));
+        assertEquals(Optional.of(applied), pipeline.submit(request(5)));
+
+        assertEquals("ignored", pipeline.submit(request(5)).orElseThrow().getAction());
+        assertEquals("ignored", pipeline.submit(request(4)).orElseThrow().getAction());
+        verify(applier, times(3)).submit(any());
+    }
+
+    @Test
+    void decodedFrameRejectedByTheLogIsAcceptedAgainWhenResent() throws Exception {
+        when(applier.submit(any()))
+                .thenThrow(new DetectionLogUnavailableException("journal bloqué"))
+                .thenReturn(Optional.of(applied));
+
+        assertThrows(DetectionLogUnavailableException.class, () -> pipeline.submit(frame("S-1", 7)));
+        assertEquals(Optional.of(applied), pipeline.submit(frame("S-1", 7)));
+        assertEquals("ignored", pipeline.submit(frame("S-1", 7)).orElseThrow().getAction());
+    }
+
+    @Test
+    void rejectedBatchRestoresEachSensorsPreBatchWatermark() throws Exception {
+        doNothing().doThrow(new DetectionLogUnavailableException("journal bloqué")).doNothing()
+                .when(applier).enqueueAll(anyList());
+        assertEquals(2, pipeline.enqueueBatch(frames(frame("S-1", 3), frame("S-2", 10)), 2));
+
+        // Deux lectures consécutives de S-1, une lecture de S-2 avec un trou de séquence
+        DetectionFrame[] batch = frames(frame("S-1", 5), frame("S-1", 6), frame("S-2", 15));
+        assertThrows(DetectionLogUnavailableException.class, () -> pipeline.enqueueBatch(batch, 3));
+
+        // S-1 est revenu à 3 (et non à 4 ou 5) : la lecture 4, jamais reçue, passe encore
+        assertEquals(SensorSequenceWatermarks.Verdict.ACCEPTED, watermarks.check("S-1", 4));
+        // Lot renvoyé tel quel : tout est de nouveau accepté, une seule fois
+        assertEquals(3, pipeline.enqueueBatch(batch, 3));
+        assertEquals(0, pipeline.enqueueBatch(batch, 3));
+    }
+
+    @Test
+    void rejectedBatchForgetsSensorsSeenForTheFirstTime() throws Exception {
+        doThrow(new DetectionLogUnavailableException("journal bloqué")).doNothing()
+                .when(applier).enqueueAll(anyList());
+        DetectionFrame[] batch = frames(frame("S-1", 5), frame("S-1", 6));
+
+        assertThrows(DetectionLogUnavailableException.class, () -> pipeline.enqueueBatch(batch, 2));
+
+        assertEquals(SensorSequenceWatermarks.Verdict.ACCEPTED, watermarks.check("S-1", 1));
+    }
+
+    private static DetectionFrame[] frames(DetectionFrame... frames) {
+        return frames;
+    }
+
+    private static ParkingDetectionRequest request(long sequence) {
+        ParkingDetectionRequest request = new ParkingDetectionRequest();
+        request.setSensorId("S-1");
+        request.setStatus("occupied");
+        request.setTimestamp("2025-03-01T10:15:30");
+        request.setSequence(sequence);
+        return request;
+    }
+
+    static DetectionFrame frame(String sensorId, long sequence) {
+        DetectionFrame frame = new DetectionFrame();
+        frame.sensorId = sensorId;
+        frame.status = DetectionFrame.STATUS_OCCUPIED;
+        frame.timestampMillis = DetectionTimestamps.parse("2025-03-01T10:15:30");
+        frame.sequence = sequence;
+        return frame;
+    }
+}
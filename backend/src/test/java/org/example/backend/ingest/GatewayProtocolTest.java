@@ -0,0 +1,80 @@
+package org.example.backend.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Format binaire des passerelles : un lot écrit par putHeader / putFrame se relit champ par champ,
+ * à n'importe quel offset, sans déplacer la position du tampon.
+ */
+class GatewayProtocolTest {
+
+    @Test
+    void batchRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + GatewayProtocol.batchBytes(2));
+        buffer.position(8);
+        GatewayProtocol.putHeader(buffer, GatewayProtocol.TYPE_BATCH, 2, (short) 0, 77, 123_456_789_012L);
+        GatewayProtocol.putFrame(buffer, 42, true, 1_741_940_813_589L, 7);
+        // Index au-delà d'Integer.MAX_VALUE : lu non signé
+        GatewayProtocol.putFrame(buffer, (int) 3_000_000_000L, false, 0, -1);
+        assertEquals(buffer.capacity(), buffer.position());
+
+        int offset = 8;
+        assertTrue(GatewayProtocol.isHeader(buffer, offset, GatewayProtocol.TYPE_BATCH));
+        assertFalse(GatewayProtocol.isHeader(buffer, offset, GatewayProtocol.TYPE_ACK));
+        assertEquals(2, GatewayProtocol.count(buffer, offset));
+        assertEquals(0, GatewayProtocol.status(buffer, offset));
+        assertEquals(77, GatewayProtocol.gatewayId(buffer, offset));
+        assertEquals(123_456_789_012L, GatewayProtocol.batchSequence(buffer, offset));
+
+        int first = offset + GatewayProtocol.HEADER_BYTES;
+        assertEquals(42, GatewayProtocol.sensorIndex(buffer, first));
+        assertTrue(GatewayProtocol.occupied(buffer, first));
+        assertEquals(1_741_940_813_589L, GatewayProtocol.epochMillis(buffer, first));
+        assertEquals(7, GatewayProtocol.sequence(buffer, first));
+
+        int second = first + GatewayProtocol.FRAME_BYTES;
+        assertEquals(3_000_000_000L, GatewayProtocol.sensorIndex(buffer, second));
+        assertFalse(GatewayProtocol.occupied(buffer, second));
+        assertEquals(0, GatewayProtocol.epochMillis(buffer, second));
+        assertEquals(-1, GatewayProtocol.sequence(buffer, second));
+
+        // Lecture absolue : la position n'a pas bougé
+        assertEquals(buffer.capacity(), buffer.position());
+    }
+
+    @Test
+    void ackRoundTrip() {
+        ByteBuffer ack = ByteBuffer.allocate(GatewayProtocol.HEADER_BYTES);
+        GatewayProtocol.putHeader(ack, GatewayProtocol.TYPE_ACK, 3, GatewayProtocol.ACK_RETRY, 5, 99);
+
+        assertTrue(GatewayProtocol.isHeader(ack, 0, GatewayProtocol.TYPE_ACK));
+        assertEquals(3, GatewayProtocol.count(ack, 0));
+        assertEquals(GatewayProtocol.ACK_RETRY, GatewayProtocol.status(ack, 0));
+        assertEquals(5, GatewayProtocol.gatewayId(ack, 0));
+        assertEquals(99, GatewayProtocol.batchSequence(ack, 0));
+    }
+
+    @Test
+    void countIsUnsignedAndRejectsForeignHeaders() {
+        ByteBuffer buffer = ByteBuffer.allocate(GatewayProtocol.HEADER_BYTES);
+        GatewayProtocol.putHeader(buffer, GatewayProtocol.TYPE_BATCH, 40_000, (short) 0, 1, 1);
+        assertEquals(40_000, GatewayProtocol.count(buffer, 0));
+
+        buffer.put(2, (byte) (GatewayProtocol.VERSION + 1));
+        assertFalse(GatewayProtocol.isHeader(buffer, 0, GatewayProtocol.TYPE_BATCH));
+        buffer.put(2, GatewayProtocol.VERSION).putShort(0, (short) 0x4745);
+        assertFalse(GatewayProtocol.isHeader(buffer, 0, GatewayProtocol.TYPE_BATCH));
+    }
+
+    @Test
+    void largestUdpBatchFitsInADatagram() {
+        assertTrue(GatewayProtocol.batchBytes(GatewayProtocol.MAX_UDP_FRAMES) <= GatewayProtocol.MAX_UDP_PAYLOAD);
+        assertTrue(GatewayProtocol.batchBytes(GatewayProtocol.MAX_UDP_FRAMES + 1) > GatewayProtocol.MAX_UDP_PAYLOAD);
+    }
+}
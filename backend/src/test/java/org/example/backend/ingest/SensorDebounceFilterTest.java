@@ -0,0 +1,184 @@
+package org.example.backend.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.config.SensorDebounceProperties;
+import org.example.backend.metrics.ParkingMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roue temporelle de l'anti-rebond, pilotée par une horloge explicite : confirmation après stabilité
+ * (hystérésis occupied / free), annulation d'un rebond, échéance repoussée par une relecture,
+ * séquence du journal retenue tant qu'un épisode est ouvert, et bornes (durée d'épisode, capteurs suivis).
+ */
+class SensorDebounceFilterTest {
+
+    private static final long T0 = 1_000_000;
+    private static final byte OCCUPIED = DetectionFrame.STATUS_OCCUPIED;
+    private static final byte FREE = DetectionFrame.STATUS_FREE;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SensorDebounceProperties properties;
+    private SensorDebounceFilter filter;
+
+    @BeforeEach
+    void start() {
+        properties = new SensorDebounceProperties();
+        properties.setOccupiedSettleMs(3000);
+        properties.setFreeSettleMs(5000);
+        properties.setTickMs(10);
+        // Un tour de roue (640 ms) plus court que les délais : les échéances font plusieurs tours
+        properties.setWheelSize(64);
+        filter = new SensorDebounceFilter(properties, new ParkingMetrics(registry));
+        assertTrue(filter.start(T0));
+    }
+
+    @Test
+    void confirmsTransitionOnceStableDatedFromFirstEdge() {
+        assertTrue(filter.offer("S-1", OCCUPIED, 42_000, 7, T0));
+        assertEquals(7, filter.heldSequence());
+
+        assertEquals(List.of(), expire(T0 + 2990));
+        List<ParkingDetectionRequest> transitions = expire(T0 + 3000);
+
+        assertEquals(1, transitions.size());
+        assertEquals("S-1", transitions.get(0).getSensorId());
+        assertEquals("occupied", transitions.get(0).getStatus());
+        assertEquals(DetectionTimestamps.format(42_000), transitions.get(0).getTimestamp());
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+        assertEquals(1, counter("confirmed"));
+    }
+
+    @Test
+    void freeNeedsLongerStabilityThanOccupied() {
+        confirm("S-1", OCCUPIED, T0);
+
+        filter.offer("S-1", FREE, 50_000, 2, T0 + 4000);
+        assertEquals(List.of(), expire(T0 + 4000 + 3000));
+        List<ParkingDetectionRequest> transitions = expire(T0 + 4000 + 5000);
+
+        assertEquals(1, transitions.size());
+        assertEquals("free", transitions.get(0).getStatus());
+    }
+
+    @Test
+    void flapBackToConfirmedStateCancelsTheEpisode() {
+        confirm("S-1", OCCUPIED, T0);
+
+        // Manœuvre : free puis de nouveau occupied avant la confirmation
+        filter.offer("S-1", FREE, 50_000, 2, T0 + 4000);
+        filter.offer("S-1", OCCUPIED, 50_500, 3, T0 + 4500);
+        assertEquals(2, filter.heldSequence());
+
+        assertEquals(List.of(), expire(T0 + 20_000));
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+        assertEquals(1, counter("confirmed"));
+        assertEquals(2, counter("suppressed"));
+    }
+
+    @Test
+    void newReadingPushesTheDeadlineBack() {
+        filter.offer("S-1", OCCUPIED, 42_000, 1, T0);
+        filter.offer("S-1", OCCUPIED, 44_000, 2, T0 + 2000);
+
+        assertEquals(List.of(), expire(T0 + 3500));
+        assertEquals(1, filter.heldSequence());
+        List<ParkingDetectionRequest> transitions = expire(T0 + 5000);
+
+        assertEquals(1, transitions.size());
+        assertEquals(DetectionTimestamps.format(42_000), transitions.get(0).getTimestamp());
+    }
+
+    @Test
+    void repeatedConfirmedStateIsDroppedWithoutOpeningAnEpisode() {
+        confirm("S-1", OCCUPIED, T0);
+
+        assertTrue(filter.offer("S-1", OCCUPIED, 60_000, 5, T0 + 10_000));
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+        assertEquals(List.of(), expire(T0 + 30_000));
+    }
+
+    @Test
+    void seededStateDropsAReplayedTransitionAfterReset() {
+        confirm("S-1", OCCUPIED, T0);
+        filter.reset();
+        filter.seed(Map.of("S-1", false));
+
+        // Relecture depuis le checkpoint : l'entrée déjà appliquée en base n'ouvre pas d'épisode
+        assertTrue(filter.offer("S-1", OCCUPIED, 40_000, 1, T0 + 10_000));
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+        assertEquals(List.of(), expire(T0 + 30_000));
+    }
+
+    @Test
+    void unreadableStatusIsNotFiltered() {
+        assertFalse(filter.offer("S-1", DetectionFrame.STATUS_INVALID, 42_000, 1, T0));
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+    }
+
+    @Test
+    void heldSequenceIsTheOldestOpenEpisode() {
+        filter.offer("S-1", OCCUPIED, 42_000, 1, T0);
+        filter.offer("S-2", FREE, 42_000, 2, T0);
+        assertEquals(1, filter.heldSequence());
+
+        // S-1 confirmé à T0 + 3 s, S-2 attend encore (free : 5 s)
+        assertEquals(1, expire(T0 + 3000).size());
+        assertEquals(2, filter.heldSequence());
+
+        filter.reset();
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+        assertEquals(List.of(), expire(T0 + 10_000));
+    }
+
+    @Test
+    void sensorThatNeverSettlesIsDecidedAfterTheMaxEpisodeDuration() {
+        properties.setMaxEpisodeMs(10_000);
+        long now = T0;
+        long sequence = 1;
+        List<ParkingDetectionRequest> transitions = new ArrayList<>();
+        // Rebond toutes les secondes, sans jamais 3 s de stabilité
+        while (transitions.isEmpty() && now < T0 + 30_000) {
+            filter.offer("S-1", sequence % 2 == 0 ? FREE : OCCUPIED, 42_000, sequence++, now);
+            now += 1000;
+            filter.expire(now, transitions);
+        }
+
+        assertEquals(1, transitions.size());
+        assertTrue(now <= T0 + 10_000 + 5000 + 1000, "épisode tranché à " + (now - T0) + " ms");
+        assertEquals(Long.MAX_VALUE, filter.heldSequence());
+    }
+
+    @Test
+    void sensorsBeyondTheCapAreNotDebounced() {
+        properties.setMaxSensors(1);
+        assertTrue(filter.offer("S-1", OCCUPIED, 42_000, 1, T0));
+
+        assertFalse(filter.offer("S-2", OCCUPIED, 42_000, 2, T0));
+        assertEquals(1, filter.heldSequence());
+    }
+
+    private void confirm(String sensorId, byte status, long now) {
+        filter.offer(sensorId, status, 40_000, 1, now);
+        assertEquals(1, expire(now + 3000).size());
+    }
+
+    private List<ParkingDetectionRequest> expire(long now) {
+        List<ParkingDetectionRequest> transitions = new ArrayList<>();
+        filter.expire(now, transitions);
+        return transitions;
+    }
+
+    private double counter(String outcome) {
+        return registry.get("parking.detection.debounce").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.backend.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.SensorGatewayProperties;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.example.backend.metrics.ParkingMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Passerelle binaire sur la boucle locale : lots UDP et TCP décodés (capteurs inconnus écartés,
+ * horodatage et séquence traduits), transmis au pipeline puis acquittés ; un lot non journalisé
+ * est acquitté RETRY, un en-tête invalide est ignoré (UDP) ou coupe la connexion (TCP).
+ */
+class SensorGatewayTest {
+
+    private static final long UNKNOWN_SPOT = 99;
+
+    private final DetectionPipeline pipeline = mock(DetectionPipeline.class);
+    private final SensorDirectory directory = mock(SensorDirectory.class);
+    private final SensorGatewayProperties properties = new SensorGatewayProperties();
+    private final List<String> received = new ArrayList<>();
+    private SensorGateway gateway;
+
+    @BeforeEach
+    void start() throws Exception {
+        when(directory.sensorId(anyLong())).thenAnswer(call -> {
+            long spotId = call.getArgument(0);
+            return spotId == UNKNOWN_SPOT ? null : "S-" + spotId;
+        });
+        when(pipeline.enqueueBatch(any(), anyInt())).thenAnswer(call -> {
+            DetectionFrame[] frames = call.getArgument(0);
+            int count = call.getArgument(1);
+            // Tableau réutilisé d'un lot à l'autre : on copie ce qui compte
+            for (int i = 0; i < count; i++) {
+                DetectionFrame frame = frames[i];
+                received.add(frame.sensorId() + "/" + frame.status() + "/" + frame.sequence() + "/" + frame.timestampMillis());
+            }
+            return count;
+        });
+
+        properties.setEnabled(true);
+        properties.setBindAddress("127.0.0.1");
+        properties.setUdpPort(freeUdpPort());
+        properties.setTcpPort(freeTcpPort());
+        properties.setMaxBatchFrames(16);
+        properties.setReceiveBufferKb(64);
+        gateway = new SensorGateway(properties, pipeline, directory, new ParkingMetrics(new SimpleMeterRegistry()));
+        gateway.start();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        gateway.stop();
+    }
+
+    @Test
+    void udpBatchIsDecodedForwardedAndAcked() throws Exception {
+        ByteBuffer batch = batch(12, 7, new long[]{1, UNKNOWN_SPOT, 2}, 1_741_940_813_000L);
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(5000);
+            ByteBuffer ack = sendUdp(socket, batch);
+
+            assertTrue(GatewayProtocol.isHeader(ack, 0, GatewayProtocol.TYPE_ACK));
+            assertEquals(GatewayProtocol.ACK_OK, GatewayProtocol.status(ack, 0));
+            assertEquals(1, GatewayProtocol.count(ack, 0), "lectures de capteurs inconnus");
+            assertEquals(12, GatewayProtocol.gatewayId(ack, 0));
+            assertEquals(7, GatewayProtocol.batchSequence(ack, 0));
+        }
+
+        long local = DetectionTimestamps.fromEpochMillis(1_741_940_813_000L);
+        assertEquals(List.of(
+                "S-1/" + DetectionFrame.STATUS_OCCUPIED + "/10/" + local,
+                // Séquence négative : lecture sans numérotation
+                "S-2/" + DetectionFrame.STATUS_OCCUPIED + "/" + DetectionFrame.NO_SEQUENCE + "/" + local), received);
+    }
+
+    @Test
+    void udpBatchNotJournaledIsAckedRetry() throws Exception {
+        when(pipeline.enqueueBatch(any(), anyInt())).thenThrow(new DetectionLogUnavailableException("journal bloqué"));
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(5000);
+            ByteBuffer ack = sendUdp(socket, batch(1, 8, new long[]{1}, 0));
+
+            assertEquals(GatewayProtocol.ACK_RETRY, GatewayProtocol.status(ack, 0));
+            assertEquals(8, GatewayProtocol.batchSequence(ack, 0));
+        }
+    }
+
+    @Test
+    void malformedDatagramIsDroppedWithoutAck() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(5000);
+            InetSocketAddress target = new InetSocketAddress("127.0.0.1", properties.getUdpPort());
+            // Lot annonçant deux lectures mais n'en contenant qu'une
+            ByteBuffer truncated = batch(1, 1, new long[]{1, 2}, 0);
+            socket.send(new DatagramPacket(truncated.array(), truncated.limit() - GatewayProtocol.FRAME_BYTES, target));
+
+            ByteBuffer ack = sendUdp(socket, batch(1, 2, new long[]{1}, 0));
+            assertEquals(2, GatewayProtocol.batchSequence(ack, 0), "seul le lot valide est acquitté");
+        }
+    }
+
+    @Test
+    void tcpBatchesSplitAcrossWritesAreReassembled() throws Exception {
+        ByteBuffer first = batch(3, 1, new long[]{1, 2}, 0);
+        ByteBuffer second = batch(3, 2, new long[]{3}, 0);
+        ByteBuffer stream = ByteBuffer.allocate(first.limit() + second.limit()).put(first).put(second).flip();
+
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", properties.getTcpPort()))) {
+            // Premier lot et moitié du second, puis le reste
+            int split = first.limit() + second.limit() / 2;
+            channel.write(stream.duplicate().limit(split));
+            Thread.sleep(100);
+            channel.write(stream.duplicate().position(split));
+
+            ByteBuffer acks = readFully(channel, 2 * GatewayProtocol.HEADER_BYTES);
+            assertEquals(1, GatewayProtocol.batchSequence(acks, 0));
+            assertEquals(2, GatewayProtocol.batchSequence(acks, GatewayProtocol.HEADER_BYTES));
+            assertEquals(GatewayProtocol.ACK_OK, GatewayProtocol.status(acks, GatewayProtocol.HEADER_BYTES));
+        }
+        assertEquals(3, received.size());
+        assertTrue(received.get(2).startsWith("S-3/"));
+    }
+
+    @Test
+    void tcpConnectionIsClosedOnMalformedHeader() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", properties.getTcpPort()))) {
+            channel.write(ByteBuffer.allocate(GatewayProtocol.HEADER_BYTES));
+            channel.socket().setSoTimeout(5000);
+
+            assertEquals(-1, channel.socket().getInputStream().read());
+        }
+    }
+
+    // Lot : une lecture par place, occupée, séquence 10 puis négative
+    private static ByteBuffer batch(int gatewayId, long batchSequence, long[] spotIds, long epochMillis) {
+        ByteBuffer batch = ByteBuffer.allocate(GatewayProtocol.batchBytes(spotIds.length));
+        GatewayProtocol.putHeader(batch, GatewayProtocol.TYPE_BATCH, spotIds.length, (short) 0, gatewayId, batchSequence);
+        for (int i = 0; i < spotIds.length; i++) {
+            GatewayProtocol.putFrame(batch, (int) spotIds[i], true, epochMillis, i == 0 ? 10 : -1);
+        }
+        return batch.flip();
+    }
+
+    private ByteBuffer sendUdp(DatagramSocket socket, ByteBuffer batch) throws IOException {
+        socket.send(new DatagramPacket(batch.array(), batch.limit(),
+                new InetSocketAddress("127.0.0.1", properties.getUdpPort())));
+        DatagramPacket ack = new DatagramPacket(new byte[GatewayProtocol.HEADER_BYTES], GatewayProtocol.HEADER_BYTES);
+        try {
+            socket.receive(ack);
+        } catch (SocketTimeoutException e) {
+            throw new AssertionError("pas d'ack en 5 s", e);
+        }
+        assertEquals(GatewayProtocol.HEADER_BYTES, ack.getLength());
+        return ByteBuffer.wrap(ack.getData());
+    }
+
+    private static ByteBuffer readFully(SocketChannel channel, int bytes) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(bytes);
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0) {
+                throw new AssertionError("connexion fermée après " + in.position() + " octets");
+            }
+        }
+        return in.flip();
+    }
+
+    private static int freeUdpPort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static int freeTcpPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.backend.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.ingest.SensorSequenceWatermarks.Verdict;
+import org.example.backend.metrics.ParkingMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seuils de séquence par capteur : acceptation, doublon, lecture périmée, redémarrage du compteur,
+ * retour au seuil précédent (rewind), agrandissement de la table et nombre de capteurs borné.
+ */
+class SensorSequenceWatermarksTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SensorSequenceWatermarks watermarks = new SensorSequenceWatermarks(new ParkingMetrics(registry));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(watermarks, "resetGap", 1000L);
+    }
+
+    @Test
+    void acceptsIncreasingSequences() {
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 5));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 6));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 9));
+        // Chaque capteur a son propre seuil
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-2", 1));
+    }
+
+    @Test
+    void rejectsDuplicateAndStaleReadings() {
+        watermarks.check("S-1", 5);
+
+        assertEquals(Verdict.DUPLICATE, watermarks.check("S-1", 5));
+        assertEquals(Verdict.STALE, watermarks.check("S-1", 4));
+        assertEquals(1, registry.get("parking.detection.dropped").tag("reason", "duplicate").counter().count());
+        assertEquals(1, registry.get("parking.detection.dropped").tag("reason", "stale").counter().count());
+    }
+
+    @Test
+    void readingsWithoutSequenceAreAlwaysAccepted() {
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", DetectionFrame.NO_SEQUENCE));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", DetectionFrame.NO_SEQUENCE));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", (Long) null));
+    }
+
+    @Test
+    void muchSmallerSequenceIsACounterReset() {
+        watermarks.check("S-1", 50_000);
+
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 3));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 4));
+    }
+
+    @Test
+    void rewindRestoresThePreviousWatermark() {
+        long[] previous = new long[1];
+        watermarks.check("S-1", 3);
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 8, previous, 0));
+        assertEquals(3, previous[0]);
+
+        watermarks.rewind("S-1", 8, previous[0]);
+
+        // La lecture renvoyée est acceptée, comme les séquences intermédiaires
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 5));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 8));
+    }
+
+    @Test
+    void rewindOfFirstReadingForgetsTheSensor() {
+        long[] previous = new long[1];
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 8, previous, 0));
+        assertEquals(SensorSequenceWatermarks.NO_WATERMARK, previous[0]);
+
+        watermarks.rewind("S-1", 8, previous[0]);
+
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-1", 2));
+    }
+
+    @Test
+    void rewindIsIgnoredOnceANewerSequenceArrived() {
+        long[] previous = new long[1];
+        watermarks.check("S-1", 3);
+        watermarks.check("S-1", 4, previous, 0);
+        watermarks.check("S-1", 5);
+
+        watermarks.rewind("S-1", 4, previous[0]);
+
+        assertEquals(Verdict.DUPLICATE, watermarks.check("S-1", 5));
+    }
+
+    @Test
+    void sensorsBeyondTheCapAreAcceptedWithoutTracking() {
+        ReflectionTestUtils.setField(watermarks, "maxSensors", 2);
+        watermarks.check("S-1", 5);
+        watermarks.check("S-2", 5);
+
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-3", 5));
+        assertEquals(Verdict.ACCEPTED, watermarks.check("S-3", 5));
+        assertEquals(Verdict.DUPLICATE, watermarks.check("S-1", 5));
+    }
+
+    @Test
+    void keepsEveryWatermarkWhenTheTableGrows() {
+        // Table initiale de 1024 cases, agrandie à demi-pleine
+        for (int s = 0; s < 3000; s++) {
+            assertEquals(Verdict.ACCEPTED, watermarks.check("S-" + s, s + 10));
+        }
+        for (int s = 0; s < 3000; s++) {
+            assertEquals(Verdict.DUPLICATE, watermarks.check("S-" + s, s + 10));
+            assertEquals(Verdict.ACCEPTED, watermarks.check("S-" + s, s + 11));
+        }
+    }
+}
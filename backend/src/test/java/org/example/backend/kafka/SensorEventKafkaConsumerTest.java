@@ -0,0 +1,161 @@
+package org.example.backend.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Lectures capteurs via le topic parking.sensor-events sur un broker embarqué : application en base,
+ * déduplication par séquence, offsets commités une fois les détections en base, et lectures en erreur
+ * (illisibles, capteur inconnu) sautées sans bloquer la partition.
+ * Les seuils de séquence sont un singleton du contexte partagé : chaque test a son propre capteur,
+ * les séquences d'un test n'écartent rien dans le suivant.
+ */
+@SpringBootTest(properties = {
+        "kafka.sensor-events.enabled=true",
+        "kafka.sensor-events.concurrency=1"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 3, topics = SensorEventKafkaConsumerTest.TOPIC,
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@DirtiesContext
+class SensorEventKafkaConsumerTest {
+
+    static final String TOPIC = "parking.sensor-events";
+    private static final String GROUP = "parking-service-sensors";
+    private static final AtomicInteger SENSORS = new AtomicInteger();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired private KafkaTemplate<String, String> kafkaTemplate;
+    @Autowired private EmbeddedKafkaBroker broker;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private ParkingSpot spot;
+    private String sensor;
+
+    @BeforeEach
+    void seed() {
+        sensor = "KAFKA-SENSOR-" + SENSORS.incrementAndGet();
+        ParkingZone zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone Kafka")
+                .latitude(35.57)
+                .longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00"))
+                .capacity(1)
+                .build());
+        spot = spotRepository.save(ParkingSpot.builder()
+                .spotNumber("K-" + sensor)
+                .sensorId(sensor)
+                .status(true)
+                .zone(zone)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void appliesSensorEventsAndCommitsOffsetsAfterTheDatabase() throws Exception {
+        send(sensor, "occupied", 1);
+        // Réémission de la même lecture : écartée par sa séquence
+        RecordMetadata duplicate = send(sensor, "occupied", 1);
+
+        awaitUntil(() -> sessionRepository.findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE).isPresent(),
+                "session ACTIVE créée par la lecture occupied");
+        awaitUntil(() -> committedOffset(duplicate.partition()) == duplicate.offset() + 1, "offsets des deux lectures commités");
+        assertEquals(1, sessionRepository.findByStatus(SessionStatus.ACTIVE).size());
+
+        RecordMetadata exit = send(sensor, "free", 2);
+        assertEquals(duplicate.partition(), exit.partition(), "Toutes les lectures d'un capteur dans la même partition");
+        awaitUntil(() -> sessionRepository.findByStatus(SessionStatus.COMPLETED).size() == 1,
+                "session terminée par la lecture free");
+        awaitUntil(() -> committedOffset(exit.partition()) == exit.offset() + 1, "offset de la lecture free commité");
+        assertTrue(spotRepository.findById(spot.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void skipsUnreadableEventsWithoutBlockingThePartition() throws Exception {
+        kafkaTemplate.send(TOPIC, sensor, "{not json").get();
+        RecordMetadata valid = send(sensor, "occupied", 10);
+
+        awaitUntil(() -> sessionRepository.findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE).isPresent(),
+                "lecture valide appliquée après la lecture illisible");
+        awaitUntil(() -> committedOffset(valid.partition()) == valid.offset() + 1, "offsets commités malgré la lecture illisible");
+    }
+
+    @Test
+    void skipsEventsOfUnknownSensorsWithoutBlockingThePartition() throws Exception {
+        double rejected = sensorEvents("rejected");
+        // Même clé que la lecture valide : même partition, derrière la lecture en erreur
+        kafkaTemplate.send(TOPIC, sensor, "{\"sensorId\":\"UNKNOWN-" + sensor + "\",\"status\":\"occupied\",\"sequence\":1}").get();
+        RecordMetadata valid = send(sensor, "occupied", 20);
+
+        awaitUntil(() -> sessionRepository.findBySpotIdAndStatus(spot.getId(), SessionStatus.ACTIVE).isPresent(),
+                "lecture valide appliquée après la lecture d'un capteur inconnu");
+        awaitUntil(() -> committedOffset(valid.partition()) == valid.offset() + 1, "offsets commités malgré le capteur inconnu");
+        assertEquals(rejected + 1, sensorEvents("rejected"));
+    }
+
+    private double sensorEvents(String outcome) {
+        Counter counter = meterRegistry.find("parking.kafka.sensor-events").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private RecordMetadata send(String sensorId, String status, long sequence) throws Exception {
+        String json = "{\"sensorId\":\"" + sensorId + "\",\"status\":\"" + status + "\",\"sequence\":" + sequence + "}";
+        return kafkaTemplate.send(TOPIC, sensorId, json).get().getRecordMetadata();
+    }
+
+    private long committedOffset(int partition) {
+        try {
+            OffsetAndMetadata committed = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC, partition);
+            return committed != null ? committed.offset() : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timeout: " + description);
+            }
+            Thread.sleep(100);
+        }
+    }
+}
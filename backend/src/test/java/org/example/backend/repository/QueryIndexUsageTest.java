@@ -0,0 +1,172 @@
+package org.example.backend.repository;
+
+import org.example.backend.entities.Claim;
+import org.example.backend.entities.ParkingSession;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.entities.Reservation;
+import org.example.backend.enums.SessionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plan d'exécution (EXPLAIN) des requêtes chaudes de ParkingSessionRepository, ReservationRepository
+ * et des dépôts de réclamations : chacune doit passer par son index composite et non par un parcours de table.
+ * Le SQL reprend celui qu'Hibernate génère pour la requête JPQL / dérivée citée en commentaire.
+ *
+ * Limite : les plans sont ceux de H2 (schéma créé depuis les entités), pas ceux de MySQL. Le test garantit que
+ * l'index existe et qu'il est utilisable par la requête ; le choix de l'optimiseur InnoDB (statistiques,
+ * index couvrant, tri évité) se vérifie par EXPLAIN sur une base MySQL réelle.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryIndexUsageTest {
+
+    private static final int SPOTS = 20;
+    private static final int SESSIONS_PER_SPOT = 20;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private ClaimRepository claimRepository;
+
+    private long spotId;
+
+    @BeforeEach
+    void seed() {
+        ParkingZone zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone index")
+                .latitude(35.57)
+                .longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00"))
+                .capacity(SPOTS)
+                .build());
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<ParkingSession> sessions = new ArrayList<>();
+        List<Reservation> reservations = new ArrayList<>();
+        for (int s = 0; s < SPOTS; s++) {
+            ParkingSpot spot = spotRepository.save(ParkingSpot.builder()
+                    .spotNumber("IDX-" + s)
+                    .sensorId("IDX-SENSOR-" + s)
+                    .status(true)
+                    .zone(zone)
+                    .build());
+            spotId = spot.getId();
+            for (int i = 0; i < SESSIONS_PER_SPOT; i++) {
+                LocalDateTime begin = start.plusHours(s * SESSIONS_PER_SPOT + i);
+                sessions.add(ParkingSession.builder()
+                        .spot(spot).driverId("driver_" + i)
+                        .startTime(begin).endTime(begin.plusHours(1))
+                        .status(SessionStatus.COMPLETED).totalCost(new BigDecimal("10.00")).build());
+                reservations.add(Reservation.builder()
+                        .spot(spot).driverId("driver_" + i)
+                        .startTime(begin).endTime(begin.plusHours(1))
+                        .status("COMPLETED").build());
+            }
+        }
+        sessionRepository.saveAll(sessions);
+        reservationRepository.saveAll(reservations);
+
+        for (int c = 0; c < 50; c++) {
+            claimRepository.save(Claim.builder()
+                    .messageId("msg-" + c).claimUuid("uuid-idx-" + c).claimNumber("CLM-IDX-" + c)
+                    .userId("driver_" + c).title("Réclamation " + c).currentStatus(c % 10 == 0 ? "PENDING" : "closed").build());
+        }
+        // Statistiques de sélectivité des colonnes pour l'optimiseur H2
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        claimRepository.deleteAll();
+        reservationRepository.deleteAll();
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void parkingSessionQueriesUseCompositeIndexes() {
+        // findBySpotIdAndStatus, existsActiveSessionBySpotId
+        assertUsesIndex("idx_sessions_spot_status",
+                "SELECT id FROM parking_sessions WHERE spot_id = " + spotId + " AND status = 'ACTIVE'");
+        // findHistoryPage
+        assertUsesIndex("idx_sessions_driver_status_end",
+                "SELECT id, end_time FROM parking_sessions WHERE driver_id = 'driver_1' AND status = 'COMPLETED'"
+                        + " AND (end_time < '2030-01-01 00:00:00' OR (end_time = '2030-01-01 00:00:00' AND id < 100))"
+                        + " ORDER BY end_time DESC, id DESC LIMIT 21");
+        // calculateRevenuePerZone
+        assertUsesIndex("idx_sessions_status_end_cost",
+                "SELECT z.id, SUM(ps.total_cost) FROM parking_sessions ps"
+                        + " JOIN parking_spots s ON s.id = ps.spot_id JOIN parking_zones z ON z.id = s.zone_id"
+                        + " WHERE ps.status = 'COMPLETED' AND ps.end_time BETWEEN '2030-01-01 00:00:00' AND '2030-01-02 00:00:00'"
+                        + " AND ps.total_cost IS NOT NULL GROUP BY z.id");
+        // calculateRevenueBetween
+        assertUsesIndex("idx_sessions_end_cost",
+                "SELECT SUM(total_cost) FROM parking_sessions"
+                        + " WHERE end_time >= '2030-01-01 00:00:00' AND end_time < '2030-01-02 00:00:00' AND total_cost IS NOT NULL");
+    }
+
+    @Test
+    void spotStateReplayUsesUpdatedAtIndex() {
+        // ParkingSpotRepository.findStatesChangedSince (redémarrage et réconciliation de SpotStateStore)
+        assertUsesIndex("idx_spots_updated_at",
+                "SELECT s.id, z.id, s.status FROM parking_spots s LEFT JOIN parking_zones z ON z.id = s.zone_id"
+                        + " WHERE s.updated_at >= '2030-01-01 00:00:00'");
+    }
+
+    @Test
+    void reservationQueriesUseCompositeIndexes() {
+        // isSpotReservedForPeriod
+        assertUsesIndex("idx_reservations_spot_status_period",
+                "SELECT COUNT(*) FROM reservations WHERE spot_id = " + spotId + " AND status IN ('PENDING', 'ACTIVE')"
+                        + " AND start_time <= '2030-01-01 10:00:00' AND end_time >= '2030-01-01 09:00:00'");
+        // findPageByDriverId
+        assertUsesIndex("idx_reservations_driver_start",
+                "SELECT id FROM reservations WHERE driver_id = 'driver_1'"
+                        + " AND (start_time < '2030-01-01 00:00:00' OR (start_time = '2030-01-01 00:00:00' AND id < 100))"
+                        + " ORDER BY start_time DESC, id DESC LIMIT 21");
+        // findByDriverIdAndSpotIdAndStatus
+        assertUsesIndex("idx_reservations_driver_spot_status",
+                "SELECT id FROM reservations WHERE driver_id = 'driver_1' AND spot_id = " + spotId
+                        + " AND status = 'ACTIVE' ORDER BY start_time DESC");
+    }
+
+    @Test
+    void claimQueriesUseCompositeIndexes() {
+        // countByCurrentStatus
+        assertUsesIndex("idx_claims_current_status",
+                "SELECT COUNT(id) FROM claims WHERE current_status = 'PENDING'");
+        // ClaimMessageRepository.findByClaimIdOrderByCreatedAtAsc
+        assertUsesIndex("idx_claim_messages_claim_created",
+                "SELECT id FROM claim_messages WHERE claim_id = 1 ORDER BY created_at");
+        // ClaimAttachmentRepository.findByClaimIdAndSource
+        assertUsesIndex("idx_claim_attachments_claim_source",
+                "SELECT id FROM claim_attachments WHERE claim_id = 1 AND source = 'driver'");
+        // ClaimStatusHistoryRepository.findFirstByClaimIdOrderByCreatedAtDesc
+        assertUsesIndex("idx_claim_status_history_claim_created",
+                "SELECT id FROM claim_status_history WHERE claim_id = 1 ORDER BY created_at DESC LIMIT 1");
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        // H2 indique l'index retenu en commentaire : /* public.idx_...: colonne = valeur */
+        assertTrue(plan.toLowerCase().contains("." + index),
+                () -> "Plan sans " + index + " :\n" + plan);
+    }
+}
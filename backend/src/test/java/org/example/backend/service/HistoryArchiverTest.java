@@ -0,0 +1,146 @@
+package org.example.backend.service;
+
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.ParkingSessionDTO;
+import org.example.backend.DTO.ReservationResponseDTO;
+import org.example.backend.DTO.ZoneRateDTO;
+import org.example.backend.entities.ParkingSession;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.entities.Reservation;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.repository.ParkingSessionArchiveRepository;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.repository.ReservationArchiveRepository;
+import org.example.backend.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Sessions et réservations terminées depuis plus de archive.retention-days : déplacées vers l'archive,
+ * toujours visibles dans l'historique et les revenus ; les lignes récentes ou en cours restent en place.
+ */
+@SpringBootTest(properties = {"archive.retention-days=10", "archive.batch-size=2"})
+@ActiveProfiles("test")
+class HistoryArchiverTest {
+
+    private static final String DRIVER = "driver_archive";
+
+    @Autowired private HistoryArchiver historyArchiver;
+    @Autowired private ParkingService parkingService;
+    @Autowired private ReservationService reservationService;
+    @Autowired private ZoneRateService zoneRateService;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private ParkingSessionArchiveRepository sessionArchiveRepository;
+    @Autowired private ReservationArchiveRepository reservationArchiveRepository;
+
+    private ParkingZone zone;
+    private ParkingSpot spot;
+
+    @BeforeEach
+    void seed() {
+        zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone archive")
+                .latitude(35.57)
+                .longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00"))
+                .capacity(1)
+                .build());
+        spot = spotRepository.save(ParkingSpot.builder()
+                .spotNumber("ARC-1")
+                .sensorId("ARC-SENSOR-1")
+                .status(true)
+                .zone(zone)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionArchiveRepository.deleteAll();
+        reservationArchiveRepository.deleteAll();
+        reservationRepository.deleteAll();
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void movesOldTerminalRowsAndKeepsThemInHistory() throws InterruptedException {
+        // 5 sessions terminées il y a 20 jours (3 lots de 2), une récente, une active ancienne
+        for (int i = 0; i < 5; i++) {
+            session(SessionStatus.COMPLETED, LocalDateTime.now().minusDays(20).plusHours(i), "4.00");
+        }
+        session(SessionStatus.COMPLETED, LocalDateTime.now().minusDays(2), "6.00");
+        session(SessionStatus.ACTIVE, LocalDateTime.now().minusDays(20), "0.00");
+        reservation("COMPLETED", LocalDateTime.now().minusDays(20));
+        reservation("CONFIRMED", LocalDateTime.now().minusDays(20));
+
+        assertEquals(6, historyArchiver.archive());
+
+        assertEquals(2, sessionRepository.count());
+        assertEquals(5, sessionArchiveRepository.count());
+        assertEquals(1, reservationRepository.count());
+        assertEquals(1, reservationArchiveRepository.count());
+
+        CursorPage<ParkingSessionDTO> history = parkingService.getUserCompletedHistory(DRIVER, null, null);
+        assertEquals(6, history.items().size());
+        assertNull(history.nextCursor());
+        assertEquals(new BigDecimal("6.00"), history.items().get(0).getTotalCost());
+        assertEquals("Zone archive", history.items().get(5).getZoneName());
+        assertEquals("ARC-1", history.items().get(5).getSpotNumber());
+
+        // Pages de 4 : la première mêle table chaude et archive, la seconde ne lit que l'archive
+        CursorPage<ParkingSessionDTO> first = parkingService.getUserCompletedHistory(DRIVER, null, 4);
+        assertEquals(4, first.items().size());
+        assertNotNull(first.nextCursor());
+        CursorPage<ParkingSessionDTO> second = parkingService.getUserCompletedHistory(DRIVER, first.nextCursor(), 4);
+        assertEquals(List.of(history.items().get(4).getId(), history.items().get(5).getId()),
+                second.items().stream().map(ParkingSessionDTO::getId).toList());
+        assertNull(second.nextCursor());
+
+        List<ReservationResponseDTO> reservations = reservationService.getUserReservations(DRIVER, null, null).items();
+        assertEquals(2, reservations.size());
+
+        // Revenu sur 30 jours : au-delà de la rétention de 10 jours, l'archive est comptée
+        ZoneRateDTO rate = zoneRateService.getAllZoneRates().stream()
+                .filter(r -> zone.getId().equals(r.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(new BigDecimal("0.87"), rate.getAverageDailyRevenue());
+
+        // Passage suivant : plus rien à déplacer
+        assertEquals(0, historyArchiver.archive());
+    }
+
+    private void session(SessionStatus status, LocalDateTime start, String cost) {
+        sessionRepository.save(ParkingSession.builder()
+                .spot(spot).driverId(DRIVER)
+                .startTime(start)
+                .endTime(status == SessionStatus.ACTIVE ? null : start.plusHours(1))
+                .status(status).totalCost(new BigDecimal(cost)).build());
+    }
+
+    private void reservation(String status, LocalDateTime start) {
+        reservationRepository.save(Reservation.builder()
+                .spot(spot).driverId(DRIVER)
+                .startTime(start).endTime(start.plusHours(1))
+                .status(status).build());
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.backend.service;
+
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.DTO.KeysetCursor;
+import org.example.backend.config.HistoryPageProperties;
+import org.example.backend.exception.InvalidCursorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pagination keyset : lignes de même date départagées par l'id sans doublon ni trou, taille bornée,
+ * fusion de la table chaude et de l'archive, curseur illisible refusé.
+ */
+class HistoryPagerTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private record Row(LocalDateTime time, long id) {}
+
+    private final HistoryArchiver historyArchiver = mock(HistoryArchiver.class);
+    private HistoryPageProperties properties;
+    private HistoryPager pager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoryPageProperties();
+        properties.setDefaultSize(2);
+        properties.setMaxSize(3);
+        pager = new HistoryPager(properties, historyArchiver);
+        when(historyArchiver.reachesArchive(any())).thenReturn(true);
+    }
+
+    @Test
+    void rowsWithTheSameTimeAreSplitByIdAcrossPages() {
+        List<Row> hot = List.of(new Row(T, 5), new Row(T, 4), new Row(T, 3), new Row(T, 2), new Row(T, 1));
+
+        List<List<Long>> pages = readAll(hot, List.of(), 2);
+
+        assertEquals(List.of(List.of(5L, 4L), List.of(3L, 2L), List.of(1L)), pages);
+    }
+
+    @Test
+    void hotAndArchivedRowsAreMergedInOrder() {
+        // Même date des deux côtés : l'id seul décide
+        List<Row> hot = List.of(new Row(T.plusHours(1), 9), new Row(T, 8), new Row(T, 6));
+        List<Row> archive = List.of(new Row(T, 7), new Row(T, 5), new Row(T.minusHours(1), 10));
+
+        List<List<Long>> pages = readAll(hot, archive, 2);
+
+        assertEquals(List.of(List.of(9L, 8L), List.of(7L, 6L), List.of(5L, 10L)), pages);
+    }
+
+    @Test
+    void pageSizeIsDefaultedAndCapped() {
+        List<Row> hot = new ArrayList<>();
+        for (long id = 10; id > 0; id--) {
+            hot.add(new Row(T.minusMinutes(id), id));
+        }
+
+        assertEquals(2, page(hot, List.of(), null, null).items().size());
+        assertEquals(2, page(hot, List.of(), null, 0).items().size());
+        assertEquals(3, page(hot, List.of(), null, 50).items().size());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> page(List.of(), List.of(), "pas-un-curseur", 2));
+        assertThrows(InvalidCursorException.class, () -> page(List.of(), List.of(), KeysetCursor.FIRST.encode() + "x", 2));
+    }
+
+    private List<List<Long>> readAll(List<Row> hot, List<Row> archive, int size) {
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Row> page = page(hot, archive, cursor, size);
+            pages.add(page.items().stream().map(Row::id).toList());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private CursorPage<Row> page(List<Row> hot, List<Row> archive, String cursor, Integer size) {
+        return pager.page(cursor, size, row -> new KeysetCursor(row.time(), row.id()),
+                (before, limit) -> before(hot, before, limit),
+                (before, limit) -> before(archive, before, limit));
+    }
+
+    // Même filtre et même ordre que les requêtes findPage* : strictement avant le curseur, (date, id) décroissants
+    private static List<Row> before(List<Row> rows, KeysetCursor cursor, Pageable limit) {
+        return rows.stream()
+                .map(row -> new KeysetCursor(row.time(), row.id()))
+                .filter(key -> KeysetCursor.NEWEST_FIRST.compare(key, cursor) > 0)
+                .sorted(KeysetCursor.NEWEST_FIRST)
+                .limit(limit.getPageSize())
+                .map(key -> new Row(key.time(), key.id()))
+                .toList();
+    }
+}
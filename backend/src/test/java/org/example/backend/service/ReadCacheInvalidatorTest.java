@@ -0,0 +1,40 @@
+package org.example.backend.service;
+
+import org.example.backend.config.CacheConfig;
+import org.example.backend.events.ZoneRatesChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Changement de tarif : seules les entrées qui exposent le tarif des zones concernées sont invalidées.
+ */
+class ReadCacheInvalidatorTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+            CacheConfig.ZONES, CacheConfig.ZONE_SPOTS, CacheConfig.SENSORS, CacheConfig.ZONE_RATES);
+    private final ReadCacheInvalidator invalidator = new ReadCacheInvalidator(cacheManager);
+
+    @Test
+    void rateChangeEvictsOnlyTheChangedZones() {
+        for (String name : List.of(CacheConfig.ZONE_SPOTS, CacheConfig.ZONE_RATES)) {
+            cacheManager.getCache(name).put(1L, "zone 1");
+            cacheManager.getCache(name).put(2L, "zone 2");
+        }
+        cacheManager.getCache(CacheConfig.ZONES).put("all", "zones");
+        cacheManager.getCache(CacheConfig.SENSORS).put("all", "sensors");
+
+        invalidator.onZoneRatesChanged(new ZoneRatesChangedEvent(List.of(1L)));
+
+        assertNull(cacheManager.getCache(CacheConfig.ZONES).get("all"));
+        assertNull(cacheManager.getCache(CacheConfig.SENSORS).get("all"));
+        assertNull(cacheManager.getCache(CacheConfig.ZONE_RATES).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.ZONE_SPOTS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.ZONE_RATES).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.ZONE_SPOTS).get(2L));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.backend.service;
+
+import org.example.backend.DTO.SpotStateDTO;
+import org.example.backend.DTO.ZoneNameDTO;
+import org.example.backend.DTO.ZoneSpotCountDTO;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Instantané binaire : relu à l'identique au redémarrage puis complété par les places modifiées depuis,
+ * ignoré s'il est corrompu ; la réconciliation applique les changements faits par les autres instances.
+ */
+class SpotStateStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<SpotStore> stores = new ArrayList<>();
+
+    private record SpotStore(SpotStateStore store, ParkingSpotRepository spots, ParkingZoneRepository zones) {}
+
+    @AfterEach
+    void stop() {
+        stores.forEach(s -> s.store().onShutdown());
+    }
+
+    private SpotStore store(List<SpotStateDTO> spots, long reconcileIntervalSeconds) {
+        ParkingSpotRepository spotRepository = mock(ParkingSpotRepository.class);
+        ParkingZoneRepository zoneRepository = mock(ParkingZoneRepository.class);
+        when(spotRepository.findAllStates()).thenReturn(spots);
+        when(spotRepository.findStatesChangedSince(any())).thenReturn(List.of());
+        when(spotRepository.count()).thenReturn((long) spots.size());
+        when(zoneRepository.findAllNames()).thenReturn(List.of(new ZoneNameDTO(10L, "Centre"), new ZoneNameDTO(20L, "Gare")));
+
+        SpotStateStore store = new SpotStateStore(spotRepository, zoneRepository);
+        ReflectionTestUtils.setField(store, "snapshotEnabled", true);
+        ReflectionTestUtils.setField(store, "snapshotPath", directory.resolve("spot-state.snapshot").toString());
+        ReflectionTestUtils.setField(store, "snapshotIntervalSeconds", 3600L);
+        ReflectionTestUtils.setField(store, "replayOverlapSeconds", 60L);
+        ReflectionTestUtils.setField(store, "reconcileIntervalSeconds", reconcileIntervalSeconds);
+        SpotStore spotStore = new SpotStore(store, spotRepository, zoneRepository);
+        stores.add(spotStore);
+        return spotStore;
+    }
+
+    private static List<SpotStateDTO> spots() {
+        return List.of(
+                new SpotStateDTO(1L, 10L, true),
+                new SpotStateDTO(2L, 10L, false),
+                new SpotStateDTO(3L, 20L, null),
+                new SpotStateDTO(5L, null, false));
+    }
+
+    @Test
+    void snapshotRoundTripRestoresStateWithoutFullReload() throws IOException {
+        SpotStore first = store(spots(), 0);
+        first.store().onStartup();
+        first.store().writeSnapshot();
+
+        SpotStore second = store(spots(), 0);
+        when(second.spots().findStatesChangedSince(any())).thenReturn(List.of(new SpotStateDTO(1L, 10L, false)));
+        second.store().onStartup();
+
+        verify(second.spots(), never()).findAllStates();
+        verify(second.zones(), never()).findAllNames();
+        assertEquals(4, second.store().totalSpots());
+        // Places 2 et 5 de l'instantané, place 1 occupée depuis
+        assertEquals(3, second.store().occupiedSpots());
+        assertEquals("Centre", second.store().zoneName(10L));
+        assertEquals("Gare", second.store().zoneName(20L));
+        assertEquals(List.of(new ZoneSpotCountDTO(10L, 2L, 0L), new ZoneSpotCountDTO(20L, 1L, 1L)),
+                second.store().countSpotsPerZone());
+    }
+
+    @Test
+    void corruptedSnapshotFallsBackToRebuild() throws IOException {
+        SpotStore first = store(spots(), 0);
+        first.store().onStartup();
+        first.store().writeSnapshot();
+        Path snapshot = directory.resolve("spot-state.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        SpotStore second = store(spots(), 0);
+        second.store().onStartup();
+
+        verify(second.spots()).findAllStates();
+        assertEquals(4, second.store().totalSpots());
+        assertEquals(2, second.store().occupiedSpots());
+    }
+
+    @Test
+    void snapshotMissingSpotsFallsBackToRebuild() throws IOException {
+        SpotStore first = store(spots(), 0);
+        first.store().onStartup();
+        first.store().writeSnapshot();
+
+        // Places supprimées en base depuis l'instantané
+        SpotStore second = store(spots().subList(0, 2), 0);
+        second.store().onStartup();
+
+        verify(second.spots()).findAllStates();
+        assertEquals(2, second.store().totalSpots());
+    }
+
+    @Test
+    void reconcileAppliesChangesFromOtherInstancesSinceLastPass() {
+        SpotStore spotStore = store(spots(), 0);
+        spotStore.store().onStartup();
+        when(spotStore.spots().findStatesChangedSince(any())).thenReturn(List.of(
+                new SpotStateDTO(1L, 10L, false),
+                new SpotStateDTO(4L, 20L, false)));
+
+        spotStore.store().reconcile();
+
+        assertEquals(5, spotStore.store().totalSpots());
+        assertEquals(4, spotStore.store().occupiedSpots());
+        verify(spotStore.spots(), times(1)).findStatesChangedSince(any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.backend.service;
+
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.events.ParkingZonesChangedEvent;
+import org.example.backend.events.ZoneRatesChangedEvent;
+import org.example.backend.repository.ParkingSessionArchiveRepository;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Changement de tarif : un seul ZoneRatesChangedEvent par mise à jour (unitaire ou en masse),
+ * jamais de ParkingZonesChangedEvent qui reconstruirait les index de zones.
+ * Revenu moyen d'une zone : sessions chaudes et archivées additionnées, même sans session chaude.
+ */
+class ZoneRateServiceTest {
+
+    private final ParkingZoneRepository zoneRepository = mock(ParkingZoneRepository.class);
+    private final ParkingSessionRepository sessionRepository = mock(ParkingSessionRepository.class);
+    private final ParkingSessionArchiveRepository sessionArchiveRepository = mock(ParkingSessionArchiveRepository.class);
+    private final HistoryArchiver historyArchiver = mock(HistoryArchiver.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final ZoneRateService service = new ZoneRateService(zoneRepository, mock(ParkingSpotRepository.class),
+            sessionRepository, sessionArchiveRepository, historyArchiver, eventPublisher);
+
+    private ParkingZone zone(long id) {
+        ParkingZone zone = new ParkingZone();
+        zone.setId(id);
+        zone.setHourlyRate(BigDecimal.ONE);
+        when(zoneRepository.findById(id)).thenReturn(Optional.of(zone));
+        return zone;
+    }
+
+    @Test
+    void singleUpdatePublishesARateEventOnly() {
+        ParkingZone zone = zone(1L);
+
+        assertTrue(service.updateZoneRate(1L, new BigDecimal("2.50")));
+
+        assertEquals(new BigDecimal("2.50"), zone.getHourlyRate());
+        verify(eventPublisher).publishEvent(new ZoneRatesChangedEvent(List.of(1L)));
+        verify(eventPublisher, never()).publishEvent(any(ParkingZonesChangedEvent.class));
+    }
+
+    @Test
+    void bulkUpdatePublishesOneEventForTheUpdatedZones() {
+        zone(1L);
+        zone(2L);
+        when(zoneRepository.findById(99L)).thenReturn(Optional.empty());
+        Map<Long, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put(1L, new BigDecimal("2.00"));
+        rates.put(99L, new BigDecimal("3.00"));
+        rates.put(2L, new BigDecimal("4.00"));
+
+        Set<Long> updated = service.updateZoneRates(rates);
+
+        assertEquals(Set.of(1L, 2L), updated);
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(events.capture());
+        assertEquals(List.of(1L, 2L), List.copyOf(((ZoneRatesChangedEvent) events.getValue()).zoneIds()));
+    }
+
+    @Test
+    void unknownZonesPublishNothing() {
+        when(zoneRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertFalse(service.updateZoneRate(7L, BigDecimal.TEN));
+        assertTrue(service.updateZoneRates(Map.of(7L, BigDecimal.TEN)).isEmpty());
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void archivedRevenueCountsWhenNoHotSessionIsInThePeriod() {
+        zone(1L);
+        when(sessionRepository.calculateRevenueForZone(eq(1L), any(), any())).thenReturn(null);
+        when(historyArchiver.reachesArchive(any())).thenReturn(true);
+        when(sessionArchiveRepository.calculateRevenueForZone(eq(1L), any(), any())).thenReturn(new BigDecimal("300.00"));
+
+        assertEquals(new BigDecimal("10.00"), service.getZoneRateById(1L).getAverageDailyRevenue());
+        verify(sessionRepository, never()).findAll();
+    }
+}
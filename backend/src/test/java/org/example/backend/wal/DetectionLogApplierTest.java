@@ -0,0 +1,188 @@
+package org.example.backend.wal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.config.DetectionLogProperties;
+import org.example.backend.config.SensorDebounceProperties;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.example.backend.ingest.DetectionTimestamps;
+import org.example.backend.ingest.SensorDebounceFilter;
+import org.example.backend.metrics.ParkingMetrics;
+import org.example.backend.service.ParkingDetectionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Thread d'application du journal : rejoue pendant une panne de base, et sur une erreur inattendue reste vivant,
+ * passe DOWN et refuse les nouvelles détections jusqu'à ce qu'il avance de nouveau. Une lecture retenue par
+ * l'anti-rebond retient le checkpoint : après un arrêt brutal, l'épisode est reconstruit depuis le journal.
+ */
+class DetectionLogApplierTest {
+
+    @TempDir
+    Path directory;
+
+    private final ParkingDetectionService detectionService = mock(ParkingDetectionService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DetectionLog detectionLog;
+    private DetectionLogApplier applier;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        applier.stop();
+        detectionLog.close();
+    }
+
+    @Test
+    void retriesTheSameDetectionWhileTheDatabaseIsDown() throws Exception {
+        ParkingDetectionResponse applied = ParkingDetectionResponse.builder().action("entry").build();
+        when(detectionService.handleDetection(any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(applied);
+        start();
+
+        Optional<ParkingDetectionResponse> result = applier.submit(DetectionLogTest.request("S-1", 1));
+
+        assertEquals(Optional.of(applied), result);
+        assertEquals(1, detectionLog.appliedSequence());
+        verify(detectionService, times(2)).handleDetection(any());
+    }
+
+    @Test
+    void staysAliveReportsDownAndRejectsDetectionsWhileTheLogIsUnreadable() throws Exception {
+        when(detectionService.handleDetection(any())).thenReturn(ParkingDetectionResponse.builder().action("entry").build());
+        DetectionLogProperties properties = properties();
+        detectionLog = new DetectionLog(properties);
+        detectionLog.open();
+        detectionLog.append(DetectionLogTest.request("S-1", 1), seq -> { });
+        detectionLog.append(DetectionLogTest.request("S-2", 2), seq -> { });
+
+        // CRC du premier enregistrement faussé après ouverture : le lecteur le refuse
+        Path segment = segment();
+        flipByte(segment, 4);
+        applier = new DetectionLogApplier(detectionLog, detectionService, debounceFilter(false, 0), properties, registry);
+        applier.onStartup();
+
+        await(() -> applier.health().getStatus().equals(Status.DOWN));
+        assertThrows(DetectionLogUnavailableException.class,
+                () -> applier.enqueueAll(List.of(DetectionLogTest.request("S-3", 3))));
+        verify(detectionService, never()).handleDetection(any());
+        assertTrue(registry.get("parking.detection.log.applier.failures").counter().count() >= 1);
+
+        // Enregistrement réparé : le même thread reprend depuis le checkpoint, rien n'est sauté
+        flipByte(segment, 4);
+        await(() -> detectionLog.appliedSequence() == 2);
+        verify(detectionService, times(2)).handleDetection(any());
+        assertEquals(Status.UP, applier.health().getStatus());
+    }
+
+    private void start() throws IOException {
+        DetectionLogProperties properties = properties();
+        detectionLog = new DetectionLog(properties);
+        detectionLog.open();
+        applier = new DetectionLogApplier(detectionLog, detectionService, debounceFilter(false, 0), properties, registry);
+        applier.onStartup();
+    }
+
+    @Test
+    void pendingDebounceEpisodeSurvivesACrash() throws Exception {
+        when(detectionService.handleDetection(any())).thenReturn(ParkingDetectionResponse.builder().action("entry").build());
+        DetectionLogProperties properties = properties();
+        detectionLog = new DetectionLog(properties);
+        detectionLog.open();
+        applier = new DetectionLogApplier(detectionLog, detectionService, debounceFilter(true, 60_000), properties, registry);
+        applier.onStartup();
+
+        // Lecture journalisée mais retenue : pas appliquée, checkpoint inchangé
+        assertEquals(Optional.empty(), applier.submit(DetectionLogTest.request("S-1", 1)));
+        assertEquals(0, detectionLog.appliedSequence());
+
+        // Arrêt brutal avant la confirmation, puis redémarrage sur le même journal
+        applier.stop();
+        detectionLog.close();
+        detectionLog = new DetectionLog(properties);
+        detectionLog.open();
+        assertEquals(1, detectionLog.pending());
+        applier = new DetectionLogApplier(detectionLog, detectionService, debounceFilter(true, 50), properties, registry);
+        applier.onStartup();
+
+        await(() -> detectionLog.appliedSequence() == 1);
+        ArgumentCaptor<ParkingDetectionRequest> applied = ArgumentCaptor.forClass(ParkingDetectionRequest.class);
+        verify(detectionService).handleDetection(applied.capture());
+        assertEquals("S-1", applied.getValue().getSensorId());
+        assertEquals("occupied", applied.getValue().getStatus());
+        // Datée de la lecture d'origine, pas du rejeu
+        assertEquals(DetectionTimestamps.parse("2025-03-01T10:15:30"), DetectionTimestamps.parse(applied.getValue().getTimestamp()));
+    }
+
+    private SensorDebounceFilter debounceFilter(boolean enabled, long settleMs) {
+        SensorDebounceProperties properties = new SensorDebounceProperties();
+        properties.setEnabled(enabled);
+        properties.setOccupiedSettleMs(settleMs);
+        properties.setFreeSettleMs(settleMs);
+        properties.setTickMs(10);
+        properties.setWheelSize(64);
+        return new SensorDebounceFilter(properties, new ParkingMetrics(registry));
+    }
+
+    private DetectionLogProperties properties() {
+        DetectionLogProperties properties = new DetectionLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeMb(1);
+        properties.setFsync(false);
+        properties.setResponseTimeoutMs(5000);
+        properties.setRetryInitialBackoffMs(10);
+        properties.setRetryMaxBackoffMs(50);
+        return properties;
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+    }
+
+    private static void flipByte(Path segment, int offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, offset);
+            one.put(0, (byte) ~one.get(0));
+            one.rewind();
+            channel.write(one, offset);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition non atteinte en 10 s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.backend.wal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.config.DetectionLogProperties;
+import org.example.backend.config.SensorDebounceProperties;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.ingest.SensorDebounceFilter;
+import org.example.backend.metrics.ParkingMetrics;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.service.ParkingDetectionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Journal rejoué sur une vraie base (H2) : une entrée déjà appliquée mais dont le checkpoint n'a pas été écrit
+ * (arrêt brutal) est relue au redémarrage du thread d'application sans ouvrir de seconde session ACTIVE,
+ * avec ou sans anti-rebond.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DetectionLogReplayTest {
+
+    private static final String SENSOR = "REPLAY-SENSOR-1";
+
+    @TempDir
+    Path directory;
+
+    @Autowired private ParkingDetectionService detectionService;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+
+    private ParkingSpot spot;
+    private DetectionLog detectionLog;
+    private DetectionLogApplier applier;
+
+    @BeforeEach
+    void seed() {
+        ParkingZone zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone Replay")
+                .latitude(35.57)
+                .longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00"))
+                .capacity(1)
+                .build());
+        spot = spotRepository.save(ParkingSpot.builder()
+                .spotNumber("R-01")
+                .sensorId(SENSOR)
+                .status(true)
+                .zone(zone)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        stop();
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void replayedEntryDoesNotOpenASecondSession() throws Exception {
+        start(0);
+        applier.submit(DetectionLogTest.request(SENSOR, 1));
+        assertEquals(1, activeSessions());
+
+        crashBeforeCheckpoint();
+        start(0);
+
+        await(() -> detectionLog.appliedSequence() == 1);
+        assertEquals(1, activeSessions());
+        assertEquals(1, sessionRepository.count());
+    }
+
+    @Test
+    void replayedEntryIsDroppedByTheSeededDebounce() throws Exception {
+        start(50);
+        applier.submit(DetectionLogTest.request(SENSOR, 1));
+        await(() -> detectionLog.appliedSequence() == 1);
+        assertEquals(1, activeSessions());
+
+        crashBeforeCheckpoint();
+        start(50);
+
+        await(() -> detectionLog.appliedSequence() == 1);
+        assertEquals(1, activeSessions());
+        assertEquals(1, sessionRepository.count());
+    }
+
+    private long activeSessions() {
+        return sessionRepository.findByStatus(SessionStatus.ACTIVE).stream()
+                .filter(session -> session.getSpot().getId().equals(spot.getId()))
+                .count();
+    }
+
+    // Arrêt brutal : la détection est en base mais le checkpoint est resté à 0, elle sera relue
+    private void crashBeforeCheckpoint() throws Exception {
+        stop();
+        try (FileChannel channel = FileChannel.open(directory.resolve("checkpoint"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), 0);
+        }
+    }
+
+    private void start(long settleMs) throws IOException {
+        DetectionLogProperties properties = new DetectionLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeMb(1);
+        properties.setFsync(false);
+        properties.setResponseTimeoutMs(5000);
+        properties.setRetryInitialBackoffMs(10);
+        properties.setRetryMaxBackoffMs(50);
+        detectionLog = new DetectionLog(properties);
+        detectionLog.open();
+
+        SensorDebounceProperties debounce = new SensorDebounceProperties();
+        debounce.setEnabled(settleMs > 0);
+        debounce.setOccupiedSettleMs(settleMs);
+        debounce.setFreeSettleMs(settleMs);
+        debounce.setTickMs(10);
+        debounce.setWheelSize(64);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        applier = new DetectionLogApplier(detectionLog, detectionService,
+                new SensorDebounceFilter(debounce, new ParkingMetrics(registry)), properties, registry);
+        applier.onStartup();
+    }
+
+    private void stop() throws InterruptedException {
+        if (applier != null) {
+            applier.stop();
+            applier = null;
+        }
+        if (detectionLog != null) {
+            detectionLog.close();
+            detectionLog = null;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition non atteinte en 10 s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.backend.wal;
+
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.config.DetectionLogProperties;
+import org.example.backend.exception.DetectionLogUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Journal des détections sur un répertoire temporaire : reprise après redémarrage depuis le checkpoint,
+ * troncature d'un enregistrement incomplet, passage d'un segment à l'autre et suppression des segments appliqués,
+ * refus des ajouts quand le fsync échoue ou ne rend pas la main.
+ */
+class DetectionLogTest {
+
+    @TempDir
+    Path directory;
+
+    private DetectionLog detectionLog;
+
+    @AfterEach
+    void close() throws InterruptedException {
+        if (detectionLog != null) {
+            detectionLog.close();
+        }
+    }
+
+    @Test
+    void replaysEntriesAfterTheCheckpointOnRestart() throws Exception {
+        detectionLog = open();
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, detectionLog.append(request("S-" + i, i), seq -> { }));
+        }
+        detectionLog.checkpoint(2);
+        detectionLog.close();
+
+        detectionLog = open();
+        assertEquals(2, detectionLog.appliedSequence());
+        assertEquals(3, detectionLog.pending());
+
+        DetectionLog.Reader reader = detectionLog.readerAfter(detectionLog.appliedSequence());
+        for (int i = 3; i <= 5; i++) {
+            DetectionLog.Entry entry = reader.poll(1000);
+            assertEquals(i, entry.sequence());
+            assertEquals("S-" + i, entry.request().getSensorId());
+            assertEquals(i, entry.request().getSequence());
+        }
+        assertNull(reader.poll(50));
+        assertEquals(6, detectionLog.append(request("S-6", 6), seq -> { }));
+    }
+
+    @Test
+    void truncatesATornRecordAndReusesItsSequence() throws Exception {
+        detectionLog = open();
+        for (int i = 1; i <= 3; i++) {
+            detectionLog.append(request("S-" + i, i), seq -> { });
+        }
+        detectionLog.close();
+        detectionLog = null;
+
+        // Crash au milieu de l'écriture du 3e enregistrement : charge utile incomplète, CRC faux
+        int third = 2 * recordBytes("S-1", 1);
+        corrupt(segments().get(0), third + DetectionLog.HEADER_BYTES + 2);
+
+        detectionLog = open();
+        assertEquals(2, detectionLog.pending());
+        assertEquals(3, detectionLog.append(request("S-3bis", 3), seq -> { }));
+
+        DetectionLog.Reader reader = detectionLog.readerAfter(0);
+        assertEquals("S-1", reader.poll(1000).request().getSensorId());
+        assertEquals("S-2", reader.poll(1000).request().getSensorId());
+        DetectionLog.Entry rewritten = reader.poll(1000);
+        assertEquals(3, rewritten.sequence());
+        assertEquals("S-3bis", rewritten.request().getSensorId());
+        assertNull(reader.poll(50));
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesThoseFullyApplied() throws Exception {
+        detectionLog = open();
+        // ~50 octets par enregistrement : 40 000 remplissent au moins deux segments de 1 Mo
+        int total = 40_000;
+        for (int batch = 0; batch < total / 1000; batch++) {
+            List<ParkingDetectionRequest> requests = new ArrayList<>(1000);
+            for (int i = 1; i <= 1000; i++) {
+                long sequence = batch * 1000L + i;
+                requests.add(request("S-" + sequence, sequence));
+            }
+            detectionLog.appendAll(requests);
+        }
+        assertTrue(segments().size() >= 3, "segments: " + segments().size());
+
+        DetectionLog.Reader reader = detectionLog.readerAfter(0);
+        for (long expected = 1; expected <= total; expected++) {
+            DetectionLog.Entry entry = reader.poll(1000);
+            assertEquals(expected, entry.sequence());
+            assertEquals(expected, entry.request().getSequence());
+        }
+
+        detectionLog.checkpoint(total);
+        assertEquals(1, segments().size());
+        detectionLog.close();
+
+        detectionLog = open();
+        assertEquals(0, detectionLog.pending());
+        assertEquals(total + 1, detectionLog.append(request("S-next", total + 1), seq -> { }));
+    }
+
+    @Test
+    void rejectsAppendsOnceTheFsyncFails() throws Exception {
+        DetectionLogProperties properties = properties(true);
+        detectionLog = new DetectionLog(properties) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        };
+        detectionLog.open();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            assertThrows(DetectionLogUnavailableException.class, () -> detectionLog.append(request("S-1", 1), seq -> { }));
+            assertThrows(DetectionLogUnavailableException.class, () -> detectionLog.append(request("S-2", 2), seq -> { }));
+        });
+        assertNotNull(detectionLog.failure());
+    }
+
+    @Test
+    void rejectsAppendsWhenTheFsyncDoesNotReturn() throws Exception {
+        DetectionLogProperties properties = properties(true);
+        properties.setDurableTimeoutMs(200);
+        CountDownLatch disk = new CountDownLatch(1);
+        detectionLog = new DetectionLog(properties) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                try {
+                    disk.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        detectionLog.open();
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> assertThrows(DetectionLogUnavailableException.class, () -> detectionLog.append(request("S-1", 1), seq -> { })));
+        } finally {
+            disk.countDown();
+        }
+        // Disque débloqué : le journal reprend
+        assertEquals(2, detectionLog.append(request("S-2", 2), seq -> { }));
+    }
+
+    private DetectionLog open() throws IOException {
+        DetectionLog opened = new DetectionLog(properties(false));
+        opened.open();
+        return opened;
+    }
+
+    private DetectionLogProperties properties(boolean fsync) {
+        DetectionLogProperties properties = new DetectionLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeMb(1);
+        properties.setFsync(fsync);
+        return properties;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+
+    private static int recordBytes(String sensorId, long sequence) {
+        return DetectionLog.HEADER_BYTES + DetectionLog.encode(request(sensorId, sequence)).length;
+    }
+
+    private static void corrupt(Path segment, int offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, offset);
+            one.put(0, (byte) ~one.get(0));
+            one.rewind();
+            channel.write(one, offset);
+        }
+    }
+
+    static ParkingDetectionRequest request(String sensorId, long sequence) {
+        ParkingDetectionRequest request = new ParkingDetectionRequest();
+        request.setSensorId(sensorId);
+        request.setStatus("occupied");
+        request.setTimestamp("2025-03-01T10:15:30");
+        request.setSequence(sequence);
+        return request;
+    }
+}
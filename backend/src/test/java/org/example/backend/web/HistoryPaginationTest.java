@@ -0,0 +1,127 @@
+package org.example.backend.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.DTO.CursorPage;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.entities.Reservation;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Historique paginé de bout en bout : réservations lues page par page via X-Next-Cursor (dont des réservations
+ * au même créneau), taille par défaut et plafond (history-page.*), curseur illisible refusé en 400.
+ */
+@SpringBootTest(properties = {"history-page.default-size=3", "history-page.max-size=4"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HistoryPaginationTest {
+
+    private static final String DRIVER_ID = "user_pagination_test";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ReservationRepository reservationRepository;
+
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        ParkingZone zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone pagination").latitude(35.57).longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00")).capacity(1).build());
+        ParkingSpot spot = spotRepository.save(ParkingSpot.builder()
+                .spotNumber("PG-01").sensorId("SENSOR-PG-01").status(true).zone(zone).build());
+
+        // 3 créneaux, dont deux partagés par plusieurs réservations : l'id départage
+        LocalDateTime start = LocalDateTime.now().minusDays(1).withNano(0);
+        List<LocalDateTime> starts = List.of(start, start, start, start.minusHours(1), start.minusHours(1),
+                start.minusHours(2), start.minusHours(2));
+        List<Reservation> reservations = new ArrayList<>();
+        for (LocalDateTime begin : starts) {
+            reservations.add(reservationRepository.save(Reservation.builder()
+                    .spot(spot).driverId(DRIVER_ID).startTime(begin).endTime(begin.plusHours(1))
+                    .status("COMPLETED").build()));
+        }
+        reservations.sort((a, b) -> b.getStartTime().equals(a.getStartTime())
+                ? Long.compare(b.getId(), a.getId()) : b.getStartTime().compareTo(a.getStartTime()));
+        reservations.forEach(r -> newestFirst.add(r.getId()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        reservationRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void reservationsArePagedWithoutDuplicatesOrGaps() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/reservations/user/" + DRIVER_ID).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+            assertEquals(200, response.getStatus());
+            JsonNode page = objectMapper.readTree(response.getContentAsString());
+            page.forEach(reservation -> ids.add(reservation.get("id").asLong()));
+            pageSizes.add(page.size());
+            cursor = response.getHeader(CursorPage.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(newestFirst, ids);
+        assertEquals(List.of(2, 2, 2, 1), pageSizes);
+    }
+
+    @Test
+    void requestedSizeIsCappedAndDefaulted() throws Exception {
+        MockHttpServletResponse capped = mockMvc.perform(get("/api/reservations/user/" + DRIVER_ID).param("size", "1000"))
+                .andReturn().getResponse();
+        assertEquals(newestFirst.subList(0, 4), ids(capped));
+
+        MockHttpServletResponse byDefault = mockMvc.perform(get("/api/reservations/user/" + DRIVER_ID))
+                .andReturn().getResponse();
+        assertEquals(newestFirst.subList(0, 3), ids(byDefault));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        assertEquals(400, mockMvc.perform(get("/api/reservations/user/" + DRIVER_ID).param("cursor", "%%%"))
+                .andReturn().getResponse().getStatus());
+        // base64url valide, contenu illisible
+        assertEquals(400, mockMvc.perform(get("/api/spots/my-history").param("userId", DRIVER_ID).param("cursor", "bm90LWEtY3Vyc29y"))
+                .andReturn().getResponse().getStatus());
+    }
+
+    private List<Long> ids(MockHttpServletResponse response) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        objectMapper.readTree(response.getContentAsString()).forEach(r -> ids.add(r.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.backend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.DTO.ParkingDetectionRequest;
+import org.example.backend.DTO.ParkingDetectionResponse;
+import org.example.backend.ingest.DetectionFrame;
+import org.example.backend.ingest.DetectionPayloadDecoder;
+import org.example.backend.ingest.DetectionPipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statut HTTP des échecs de détection : 400 seulement pour un corps illisible, 503 (le capteur réessaie) quand
+ * l'instance s'arrête ou que la base ne répond pas, les autres erreurs remontent telles quelles.
+ */
+class ParkingDetectionControllerTest {
+
+    private final DetectionPipeline detectionPipeline = mock(DetectionPipeline.class);
+    private final ParkingDetectionController controller =
+            new ParkingDetectionController(detectionPipeline, new DetectionPayloadDecoder(), new ObjectMapper());
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    void malformedBodyIsABadRequest() throws Exception {
+        ResponseEntity<ParkingDetectionResponse> response = controller.handleParkingDetection(body("{\"sensorId\": "));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(detectionPipeline, never()).submit(any(ParkingDetectionRequest.class));
+    }
+
+    @Test
+    void interruptedWaitIsUnavailableAndKeepsTheInterruptFlag() throws Exception {
+        when(detectionPipeline.submit(any(DetectionFrame.class))).thenThrow(new InterruptedException());
+
+        ResponseEntity<ParkingDetectionResponse> response = controller.handleParkingDetection(detection());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void databaseDownIsUnavailable() throws Exception {
+        when(detectionPipeline.submit(any(DetectionFrame.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.handleParkingDetection(detection()).getStatusCode());
+    }
+
+    @Test
+    void unexpectedErrorIsNotReportedAsABadRequest() throws Exception {
+        when(detectionPipeline.submit(any(DetectionFrame.class))).thenThrow(new IllegalStateException("bug"));
+
+        assertThrows(IllegalStateException.class, () -> controller.handleParkingDetection(detection()));
+    }
+
+    private static MockHttpServletRequest detection() {
+        return body("{\"sensorId\":\"S-1\",\"status\":\"occupied\",\"timestamp\":\"2025-03-01T10:15:30\",\"sequence\":1}");
+    }
+
+    private static MockHttpServletRequest body(String json) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/parking/detect");
+        request.setContentType("application/json");
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.backend.web;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.entities.Claim;
+import org.example.backend.entities.ClaimAttachment;
+import org.example.backend.entities.ClaimMessage;
+import org.example.backend.entities.ClaimStatusHistory;
+import org.example.backend.entities.ParkingSession;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.entities.Reservation;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.metrics.SqlStatementCountFilter;
+import org.example.backend.repository.ClaimAttachmentRepository;
+import org.example.backend.repository.ClaimMessageRepository;
+import org.example.backend.repository.ClaimRepository;
+import org.example.backend.repository.ClaimStatusHistoryRepository;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.repository.ReservationRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * open-in-view est désactivé : un chargement LAZY déclenché après la couche service
+ * (sérialisation Jackson d'une entité, accès dans un contrôleur) lève une
+ * LazyInitializationException. Ce test appelle chaque endpoint de lecture sur des données
+ * réelles (deux zones) et échoue si l'un d'eux ne répond pas 2xx, initialise une association
+ * ou une collection à la demande (statistiques Hibernate), ou dépasse son budget de requêtes SQL.
+ *
+ * Pas de @Transactional ici : une transaction de test garderait la session ouverte
+ * et masquerait justement les chargements tardifs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadEndpointsLazyLoadingTest {
+
+    private static final String DRIVER_ID = "user_lazy_test";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private ClaimRepository claimRepository;
+    @Autowired private ClaimMessageRepository messageRepository;
+    @Autowired private ClaimStatusHistoryRepository statusHistoryRepository;
+    @Autowired private ClaimAttachmentRepository attachmentRepository;
+
+    private ParkingZone zone;
+    private Reservation reservation;
+    private Claim claim;
+
+    @BeforeEach
+    void seed() {
+        zone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone Test")
+                .latitude(35.57)
+                .longitude(-5.37)
+                .hourlyRate(new BigDecimal("10.00"))
+                .capacity(2)
+                .build());
+
+        ParkingSpot occupied = spotRepository.save(ParkingSpot.builder()
+                .spotNumber("T-01").sensorId("SENSOR-T-01").status(false).zone(zone).build());
+        spotRepository.save(ParkingSpot.builder()
+                .spotNumber("T-02").sensorId("SENSOR-T-02").status(true).zone(zone).build());
+        // Seconde zone : un chargement de la zone place par place ferait plusieurs requêtes
+        ParkingZone otherZone = zoneRepository.save(ParkingZone.builder()
+                .name("Zone Test 2")
+                .latitude(35.58)
+                .longitude(-5.36)
+                .hourlyRate(new BigDecimal("8.00"))
+                .capacity(1)
+                .build());
+        spotRepository.save(ParkingSpot.builder()
+                .spotNumber("T-03").sensorId("SENSOR-T-03").status(true).zone(otherZone).build());
+
+        sessionRepository.save(ParkingSession.builder()
+                .spot(occupied).driverId(DRIVER_ID).startTime(LocalDateTime.now().minusMinutes(30))
+                .status(SessionStatus.ACTIVE).totalCost(BigDecimal.ZERO).build());
+        sessionRepository.save(ParkingSession.builder()
+                .spot(occupied).driverId(DRIVER_ID).startTime(LocalDateTime.now().minusDays(1))
+                .endTime(LocalDateTime.now().minusDays(1).plusHours(2))
+                .status(SessionStatus.COMPLETED).totalCost(new BigDecimal("20.00")).build());
+
+        reservation = reservationRepository.save(Reservation.builder()
+                .spot(occupied).driverId(DRIVER_ID)
+                .startTime(LocalDateTime.now()).endTime(LocalDateTime.now().plusHours(1))
+                .status("PENDING").build());
+
+        claim = claimRepository.save(Claim.builder()
+                .messageId("msg-1").claimUuid("claim-uuid-1").claimNumber("CLM-1")
+                .userId(DRIVER_ID).title("Test").currentStatus("submitted").build());
+        messageRepository.save(ClaimMessage.builder()
+                .claim(claim).messageId("msg-2").messageType("CLAIM_MESSAGE")
+                .messageTimestamp("2026-01-01T00:00:00Z").senderType("USER").message("Bonjour").build());
+        statusHistoryRepository.save(ClaimStatusHistory.builder()
+                .claim(claim).messageId("msg-3").messageTimestamp("2026-01-01T00:00:00Z")
+                .newStatus("submitted").build());
+        attachmentRepository.save(ClaimAttachment.builder()
+                .claim(claim).url("https://example.org/a.jpg").source("INITIAL_CLAIM").build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        attachmentRepository.deleteAll();
+        statusHistoryRepository.deleteAll();
+        messageRepository.deleteAll();
+        claimRepository.deleteAll();
+        reservationRepository.deleteAll();
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void readEndpointsDoNotLoadLazilyAfterTheServiceLayer() throws Exception {
+        // Budget de requêtes SQL par endpoint (en-tête X-SQL-Statement-Count) ; 0 : servi par l'état en mémoire
+        Map<String, Integer> budgets = new LinkedHashMap<>();
+        budgets.put("/api/zones", 1);
+        budgets.put("/api/zones/" + zone.getId() + "/spots", 2);
+        budgets.put("/api/zones/viewport?bbox=35.5,-5.5,35.6,-5.3", 1);
+        budgets.put("/api/zones/rates", 3);
+        budgets.put("/api/zones/" + zone.getId() + "/rate", 3);
+        budgets.put("/api/map/clusters?bbox=35.5,-5.5,35.6,-5.3&zoom=14", 0);
+        budgets.put("/api/spots/my-active-session?userId=" + DRIVER_ID, 1);
+        budgets.put("/api/spots/my-history?userId=" + DRIVER_ID, 2);
+        budgets.put("/api/parking/status", 0);
+        budgets.put("/api/parking/spots/status", 1);
+        budgets.put("/api/sensors", 1);
+        budgets.put("/api/sensors/zone/" + zone.getId(), 1);
+        budgets.put("/api/reservations/user/" + DRIVER_ID, 2);
+        budgets.put("/api/reservations/" + reservation.getId() + "/status", 1);
+        budgets.put("/api/admin/statistics", 15);
+        budgets.put("/api/claims", 1);
+        budgets.put("/api/claims/" + claim.getClaimUuid(), 1);
+        budgets.put("/api/claims/" + claim.getId() + "/messages", 1);
+        budgets.put("/api/claims/" + claim.getId() + "/status-history", 1);
+        budgets.put("/api/claims/" + claim.getId() + "/attachments", 1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        for (Map.Entry<String, Integer> endpoint : budgets.entrySet()) {
+            String url = endpoint.getKey();
+            statistics.clear();
+            MockHttpServletResponse response = mockMvc.perform(get(url)).andReturn().getResponse();
+
+            int status = response.getStatus();
+            assertTrue(status >= 200 && status < 300, "GET " + url + " returned " + status);
+            // Association ou collection initialisée une à une (proxy LAZY), même dans la transaction : N+1
+            assertEquals(0, statistics.getEntityFetchCount(), "GET " + url + " fetched entities lazily");
+            assertEquals(0, statistics.getCollectionFetchCount(), "GET " + url + " fetched collections lazily");
+            int statements = Integer.parseInt(response.getHeader(SqlStatementCountFilter.HEADER));
+            assertTrue(statements <= endpoint.getValue(),
+                    "GET " + url + " issued " + statements + " SQL statements, budget is " + endpoint.getValue());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.backend.web;
+
+import org.example.backend.entities.Claim;
+import org.example.backend.entities.ParkingSession;
+import org.example.backend.entities.ParkingSpot;
+import org.example.backend.entities.ParkingZone;
+import org.example.backend.enums.SessionStatus;
+import org.example.backend.metrics.SqlStatementCountFilter;
+import org.example.backend.repository.ClaimRepository;
+import org.example.backend.repository.ParkingSessionRepository;
+import org.example.backend.repository.ParkingSpotRepository;
+import org.example.backend.repository.ParkingZoneRepository;
+import org.example.backend.repository.ReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budget de requêtes SQL par endpoint, lu dans l'en-tête X-SQL-Statement-Count.
+ * Les données contiennent plusieurs zones, places et réclamations : une boucle
+ * "une requête par ligne" (N+1) dépasse le budget et fait échouer le build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlStatementBudgetTest {
+
+    private static final int ZONES = 6;
+    private static final int SPOTS_PER_ZONE = 3;
+    private static final int CLAIMS = 4;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ParkingZoneRepository zoneRepository;
+    @Autowired private ParkingSpotRepository spotRepository;
+    @Autowired private ParkingSessionRepository sessionRepository;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private ClaimRepository claimRepository;
+
+    @BeforeEach
+    void seed() {
+        for (int z = 0; z < ZONES; z++) {
+            ParkingZone zone = zoneRepository.save(ParkingZone.builder()
+                    .name("Zone " + z)
+                    .latitude(35.55 + z * 0.01)
+                    .longitude(-5.37)
+                    .hourlyRate(new BigDecimal("10.00"))
+                    .capacity(SPOTS_PER_ZONE)
+                    .build());
+
+            for (int s = 0; s < SPOTS_PER_ZONE; s++) {
+                ParkingSpot spot = spotRepository.save(ParkingSpot.builder()
+                        .spotNumber("Z" + z + "-" + s)
+                        .sensorId("SENSOR-" + z + "-" + s)
+                        .status(s != 0)
+                        .zone(zone)
+                        .build());
+
+                sessionRepository.save(ParkingSession.builder()
+                        .spot(spot).driverId("driver_" + z)
+                        .startTime(LocalDateTime.now().minusDays(2))
+                        .endTime(LocalDateTime.now().minusDays(2).plusHours(1))
+                        .status(SessionStatus.COMPLETED).totalCost(new BigDecimal("10.00")).build());
+            }
+        }
+
+        for (int c = 0; c < CLAIMS; c++) {
+            claimRepository.save(Claim.builder()
+                    .messageId("msg-" + c).claimUuid("uuid-" + c).claimNumber("CLM-" + c)
+                    .userId("driver_0").title("Réclamation " + c).currentStatus("PENDING").build());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        claimRepository.deleteAll();
+        reservationRepository.deleteAll();
+        sessionRepository.deleteAll();
+        spotRepository.deleteAll();
+        zoneRepository.deleteAll();
+    }
+
+    @Test
+    void zoneRatesUseAConstantNumberOfStatements() throws Exception {
+        assertBudget(get("/api/zones/rates"), 3);
+    }
+
+    @Test
+    void adminStatisticsUseAConstantNumberOfStatements() throws Exception {
+        assertBudget(get("/api/admin/statistics"), 15);
+    }
+
+    @Test
+    void claimsListUsesOneStatement() throws Exception {
+        assertBudget(get("/api/claims"), 1);
+    }
+
+    @Test
+    void sensorsListLoadsZonesWithTheSpots() throws Exception {
+        assertBudget(get("/api/sensors"), 1);
+    }
+
+    @Test
+    void detectionEntryAndExitStayWithinBudget() throws Exception {
+        MvcResult entry = assertBudget(detection("SENSOR-0-1", "occupied"), 8);
+        jsonPath("$.action").value("entry_detected").match(entry);
+
+        MvcResult exit = assertBudget(detection("SENSOR-0-1", "free"), 8);
+        jsonPath("$.action").value("exit_detected").match(exit);
+    }
+
+    private MockHttpServletRequestBuilder detection(String sensorId, String detectedStatus) {
+        return post("/api/parking/detect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sensorId\":\"" + sensorId + "\",\"status\":\"" + detectedStatus + "\"}");
+    }
+
+    private MvcResult assertBudget(MockHttpServletRequestBuilder request, int maxStatements) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn();
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header, "Missing " + SqlStatementCountFilter.HEADER + " header");
+
+        int statements = Integer.parseInt(header);
+        assertTrue(statements <= maxStatements, result.getRequest().getMethod() + " "
+                + result.getRequest().getRequestURI() + " issued " + statements
+                + " SQL statements, budget is " + maxStatements);
+        return result;
+    }
+}
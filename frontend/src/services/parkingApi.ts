@@ -41,6 +41,14 @@ export interface ReservationResponse {
   status: 'PENDING' | 'ACTIVE' | 'COMPLETED' | 'CANCELLED';
 }
 
+// Page d'une liste paginée par le backend (curseur de la page suivante dans l'en-tête X-Next-Cursor)
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
 /**
  * Helper: fetch qui gère
  * - Authorization Bearer token si présent
@@ -52,6 +60,17 @@ async function apiFetch<T>(
   options: RequestInit = {},
   withAuth: boolean = true
 ): Promise<T> {
+  return (await apiFetchWithHeaders<T>(path, options, withAuth)).data;
+}
+
+/**
+ * Comme apiFetch, en gardant les en-têtes de la réponse (ex: X-Next-Cursor des listes paginées)
+ */
+async function apiFetchWithHeaders<T>(
+  path: string,
+  options: RequestInit = {},
+  withAuth: boolean = true
+): Promise<{ data: T; headers: Headers }> {
   const token = localStorage.getItem('token');
 
   const response = await fetch(`${API_BASE_URL}${path}`, {
@@ -94,7 +113,7 @@ async function apiFetch<T>(
     );
   }
 
-  return JSON.parse(text) as T;
+  return { data: JSON.parse(text) as T, headers: response.headers };
 }
 
 export const parkingApi = {
@@ -126,9 +145,12 @@ export const parkingApi = {
     return apiFetch<ReservationResponse>(`/reservations/${reservationId}/status`, { method: 'GET' });
   },
 
-  // Get user's reservations
-  async getUserReservations(driverId: string): Promise<ReservationResponse[]> {
-    return apiFetch<ReservationResponse[]>(`/reservations/user/${driverId}`, { method: 'GET' });
+  // Get one page of user's reservations : passer le nextCursor de la page précédente pour la suivante
+  // (bouton "Voir plus"), nextCursor null sur la dernière page
+  async getUserReservations(driverId: string, cursor?: string | null): Promise<CursorPage<ReservationResponse>> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    const page = await apiFetchWithHeaders<ReservationResponse[]>(`/reservations/user/${driverId}${query}`, { method: 'GET' });
+    return { items: page.data, nextCursor: page.headers.get(NEXT_CURSOR_HEADER) };
   },
 
   // Cancel a reservation